@@ -315,6 +315,33 @@ jmh {
     jmhVersion = "1.37"
 }
 
+// Встроенные JSON-паки типов и глобального контекста компилируются в бинарную форму
+// (BuiltinTypesBinaryFormat), которую рантайм читает вместо разбора JSON. JSON остаётся
+// источником истины: компилятор использует те же парсеры, что и fallback в рантайме.
+val builtinTypesBinaryDir = layout.buildDirectory.dir("generated/resources/builtin-types")
+
+val compileBuiltinTypes by tasks.registering(JavaExec::class) {
+    description = "Compiles builtin platform types JSON resources into the binary runtime format."
+    group = "build"
+    dependsOn(tasks.compileJava, tasks.processResources)
+    classpath = files(
+        sourceSets.main.get().java.classesDirectory,
+        tasks.processResources.get().destinationDir
+    ) + configurations.runtimeClasspath.get()
+    mainClass.set("com.github._1c_syntax.bsl.languageserver.types.registry.BuiltinTypesPackCompiler")
+    inputs.files(fileTree("src/main/resources/com/github/_1c_syntax/bsl/languageserver/types/registry") {
+        include("builtin-*.json")
+    })
+    outputs.dir(builtinTypesBinaryDir)
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf(builtinTypesBinaryDir.get().asFile.absolutePath)
+    })
+}
+
+sourceSets.main {
+    output.dir(mapOf("builtBy" to compileBuiltinTypes), builtinTypesBinaryDir)
+}
+
 sentry {
     org.set("1c-syntax")
     projectName.set("bsl-language-server")
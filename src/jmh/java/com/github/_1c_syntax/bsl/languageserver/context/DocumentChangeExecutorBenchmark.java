@@ -0,0 +1,168 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.context;
+
+import com.github._1c_syntax.bsl.languageserver.client.ClientCapabilitiesHolder;
+import com.github._1c_syntax.bsl.languageserver.client.LanguageClientHolder;
+import com.github._1c_syntax.bsl.languageserver.client.WorkDoneProgressHelper;
+import com.github._1c_syntax.bsl.languageserver.configuration.GlobalLanguageServerConfiguration;
+import com.github._1c_syntax.utils.StringInterner;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.eclipse.lsp4j.ServerInfo;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark для {@link DocumentChangeExecutor}.
+ * <p>
+ * Открывает N документов и в каждой итерации одновременно редактирует все, дожидаясь применения
+ * изменений через {@link DocumentChangeExecutor#awaitLatest()}. Время итерации - задержка применения
+ * пакета правок. После прогона в stdout выводится число потоков платформы (живых и пиковое).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+public class DocumentChangeExecutorBenchmark {
+
+  @Param({"10", "200", "1000"})
+  private int documentCount;
+
+  private ExecutorService contextExecutor;
+  private List<DocumentChangeExecutor> executors;
+  private List<TextDocumentContentChangeEvent> changes;
+  private int version;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    contextExecutor = Executors.newSingleThreadExecutor();
+    var serverContext = new ServerContext(
+      new DefaultListableBeanFactory().getBeanProvider(DocumentContext.class),
+      new WorkDoneProgressHelper(new LanguageClientHolder(), new ClientCapabilitiesHolder()),
+      new GlobalLanguageServerConfiguration(),
+      contextExecutor,
+      contextExecutor,
+      Caffeine.newBuilder().build(),
+      new ClosedDocumentAstCache(0),
+      new SymbolTreeSnapshot(new NoOpCacheManager(), new ServerInfo(), new StringInterner())
+    );
+    serverContext.setWorkspaceUri(URI.create("file:///workspace/"));
+
+    changes = List.of(new TextDocumentContentChangeEvent("Процедура Тест()\nКонецПроцедуры\n"));
+    executors = new ArrayList<>(documentCount);
+    for (var i = 0; i < documentCount; i++) {
+      var documentContext = new InMemoryDocumentContext(URI.create("file:///workspace/doc" + i + ".bsl"), serverContext);
+      executors.add(new DocumentChangeExecutor(
+        documentContext,
+        (DocumentText content, List<TextDocumentContentChangeEvent> contentChanges) ->
+          DocumentText.of(contentChanges.get(0).getText()),
+        (DocumentContext context, DocumentText newContent, int newVersion) ->
+          ((InMemoryDocumentContext) context).update(newContent, newVersion),
+        "doc-" + i + "-"
+      ));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws InterruptedException {
+    var threadMXBean = ManagementFactory.getThreadMXBean();
+    System.out.printf(
+      "%nDocuments: %d, platform threads: %d, peak platform threads: %d%n",
+      documentCount,
+      threadMXBean.getThreadCount(),
+      threadMXBean.getPeakThreadCount()
+    );
+
+    for (var executor : executors) {
+      executor.shutdown();
+    }
+    for (var executor : executors) {
+      executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+    contextExecutor.shutdownNow();
+  }
+
+  @Benchmark
+  public void editAllDocuments() {
+    version++;
+    var futures = new CompletableFuture<?>[executors.size()];
+    for (var i = 0; i < futures.length; i++) {
+      var executor = executors.get(i);
+      executor.submit(version, changes);
+      futures[i] = executor.awaitLatest();
+    }
+    CompletableFuture.allOf(futures).join();
+  }
+
+  /**
+   * Контекст документа, хранящий только текст и версию, без разбора содержимого.
+   */
+  private static final class InMemoryDocumentContext extends DocumentContext {
+
+    private volatile DocumentText text = DocumentText.of("");
+    private volatile int textVersion;
+
+    private InMemoryDocumentContext(URI uri, ServerContext context) {
+      super(uri, context);
+    }
+
+    @Override
+    public DocumentText getDocumentText() {
+      return text;
+    }
+
+    @Override
+    public int getVersion() {
+      return textVersion;
+    }
+
+    private void update(DocumentText newContent, int newVersion) {
+      text = newContent;
+      textVersion = newVersion;
+    }
+  }
+}
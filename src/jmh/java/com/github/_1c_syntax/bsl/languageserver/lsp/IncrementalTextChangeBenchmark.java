@@ -19,8 +19,9 @@
  * You should have received a copy of the GNU Lesser General Public
  * License along with BSL Language Server.
  */
-package com.github._1c_syntax.bsl.languageserver;
+package com.github._1c_syntax.bsl.languageserver.lsp;
 
+import com.github._1c_syntax.bsl.languageserver.context.DocumentText;
 import com.github._1c_syntax.bsl.languageserver.utils.Ranges;
 import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -36,11 +37,16 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
  * JMH Benchmark для тестирования производительности инкрементальных изменений текста.
  * Тестирует обработку файлов разного размера (100, 1000, 10000 строк).
+ * <p>
+ * Бенчмарки {@code benchmark*} применяют изменение к строке (с построением индекса строк на каждый вызов),
+ * бенчмарки {@code documentText*} - к уже построенному {@link DocumentText}, как при последовательных
+ * {@code didChange} открытого документа.
  */
 @State(Scope.Benchmark)
 @BenchmarkMode(Mode.AverageTime)
@@ -54,6 +60,7 @@ public class IncrementalTextChangeBenchmark {
   private int lineCount;
 
   private String documentContent;
+  private DocumentText documentText;
   private TextDocumentContentChangeEvent changeAtStart;
   private TextDocumentContentChangeEvent changeInMiddle;
   private TextDocumentContentChangeEvent changeAtEnd;
@@ -70,6 +77,7 @@ public class IncrementalTextChangeBenchmark {
       sb.append("\n");
     }
     documentContent = sb.toString();
+    documentText = DocumentText.of(documentContent);
 
     // Изменение в начале документа
     changeAtStart = new TextDocumentContentChangeEvent(
@@ -115,4 +123,37 @@ public class IncrementalTextChangeBenchmark {
     result = BSLTextDocumentService.applyIncrementalChange(result, changeAtEnd);
     return result;
   }
+
+  @Benchmark
+  public DocumentText documentTextChangeAtStart() {
+    return BSLTextDocumentService.applyIncrementalChange(documentText, changeAtStart);
+  }
+
+  @Benchmark
+  public DocumentText documentTextChangeInMiddle() {
+    return BSLTextDocumentService.applyIncrementalChange(documentText, changeInMiddle);
+  }
+
+  @Benchmark
+  public DocumentText documentTextChangeAtEnd() {
+    return BSLTextDocumentService.applyIncrementalChange(documentText, changeAtEnd);
+  }
+
+  @Benchmark
+  public DocumentText documentTextMultipleChanges() {
+    return BSLTextDocumentService.applyTextDocumentChanges(
+      documentText,
+      List.of(changeAtStart, changeInMiddle, changeAtEnd)
+    );
+  }
+
+  @Benchmark
+  public String documentTextGetLineInMiddle() {
+    return documentText.getLine(lineCount * 2);
+  }
+
+  @Benchmark
+  public String[] documentTextGetLines() {
+    return documentText.getLines();
+  }
 }
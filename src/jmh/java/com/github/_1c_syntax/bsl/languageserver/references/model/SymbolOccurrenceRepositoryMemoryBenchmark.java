@@ -0,0 +1,195 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.references.model;
+
+import com.github._1c_syntax.bsl.types.ModuleType;
+import org.eclipse.lsp4j.SymbolKind;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * JMH Benchmark потребления памяти хранилищем обращений к символам.
+ * <p>
+ * Заполняет хранилище обращениями синтетической «большой конфигурации»: {@code fileCount} модулей
+ * по {@code occurrencesPerFile} обращений к словарю из общих модулей с экспортными методами и
+ * локальных переменных. Время итерации - время заполнения. После каждой итерации в stdout выводится
+ * удерживаемый хранилищем объем кучи и байты на обращение. Режим {@code records} воспроизводит
+ * прежнюю раскладку ({@link ConcurrentSkipListSet} по символам и множества по URI) для сравнения.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx6g"})
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class SymbolOccurrenceRepositoryMemoryBenchmark {
+
+  private static final int COMMON_MODULE_COUNT = 800;
+  private static final int METHODS_PER_COMMON_MODULE = 40;
+  private static final int LOCAL_VARIABLES_PER_FILE = 60;
+
+  @Param({"2000", "20000"})
+  private int fileCount;
+
+  @Param({"250"})
+  private int occurrencesPerFile;
+
+  @Param({"columnar", "records"})
+  private String storage;
+
+  private List<URI> uris;
+  private List<Symbol> commonModuleMethods;
+
+  private Object repository;
+  private long heapBeforeFill;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    uris = new ArrayList<>(fileCount);
+    for (var i = 0; i < fileCount; i++) {
+      uris.add(URI.create("file:///configuration/src/CommonModules/Модуль" + i + "/Ext/Module.bsl"));
+    }
+
+    commonModuleMethods = new ArrayList<>(COMMON_MODULE_COUNT * METHODS_PER_COMMON_MODULE);
+    for (var module = 0; module < COMMON_MODULE_COUNT; module++) {
+      for (var method = 0; method < METHODS_PER_COMMON_MODULE; method++) {
+        commonModuleMethods.add(Symbol.builder()
+          .mdoRef("CommonModule.ОбщийМодуль" + module)
+          .moduleType(ModuleType.CommonModule)
+          .scopeName("")
+          .symbolKind(SymbolKind.Method)
+          .symbolName("экспортныйметод" + method)
+          .build()
+          .intern());
+      }
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void prepareIteration() {
+    repository = null;
+    heapBeforeFill = usedHeap();
+  }
+
+  @TearDown(Level.Iteration)
+  public void printRetainedHeap() {
+    var retained = usedHeap() - heapBeforeFill;
+    var total = (long) fileCount * occurrencesPerFile;
+    System.out.printf(
+      "%nStorage: %s, occurrences: %d, retained heap: %d MB, bytes per occurrence: %d%n",
+      storage,
+      total,
+      retained / (1024 * 1024),
+      retained / total
+    );
+    if (repository == null) {
+      throw new IllegalStateException("Repository must stay reachable until the heap is measured");
+    }
+  }
+
+  @Benchmark
+  public Object fill() {
+    if ("columnar".equals(storage)) {
+      var columnar = new SymbolOccurrenceRepository();
+      forEachOccurrence(columnar::save);
+      repository = columnar;
+    } else {
+      var records = new RecordsRepository();
+      forEachOccurrence(records::save);
+      repository = records;
+    }
+    return repository;
+  }
+
+  private void forEachOccurrence(Consumer<SymbolOccurrence> consumer) {
+    for (var fileIndex = 0; fileIndex < fileCount; fileIndex++) {
+      var uri = uris.get(fileIndex);
+      var mdoRef = "CommonModule.Модуль" + fileIndex;
+      for (var i = 0; i < occurrencesPerFile; i++) {
+        var line = i * 3;
+        Symbol symbol;
+        OccurrenceType occurrenceType;
+        if (i % 2 == 0) {
+          symbol = commonModuleMethods.get((fileIndex * 31 + i * 17) % commonModuleMethods.size());
+          occurrenceType = OccurrenceType.REFERENCE;
+        } else {
+          symbol = Symbol.builder()
+            .mdoRef(mdoRef)
+            .moduleType(ModuleType.CommonModule)
+            .scopeName("метод" + (i / 20))
+            .symbolKind(SymbolKind.Variable)
+            .symbolName("переменная" + (i % LOCAL_VARIABLES_PER_FILE))
+            .build()
+            .intern();
+          occurrenceType = i % 3 == 0 ? OccurrenceType.DEFINITION : OccurrenceType.REFERENCE;
+        }
+        consumer.accept(new SymbolOccurrence(occurrenceType, symbol, new Location(uri, line, 4, line, 24)));
+      }
+    }
+  }
+
+  private static long usedHeap() {
+    var memoryMXBean = ManagementFactory.getMemoryMXBean();
+    for (var i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return memoryMXBean.getHeapMemoryUsage().getUsed();
+  }
+
+  /**
+   * Прежняя раскладка хранилища: записи в сортированных множествах по символам и множествах по URI.
+   */
+  private static final class RecordsRepository {
+
+    private final Map<Symbol, Set<SymbolOccurrence>> occurrencesToSymbols = new ConcurrentHashMap<>();
+    private final Map<URI, Set<SymbolOccurrence>> locations = new ConcurrentHashMap<>();
+
+    private void save(SymbolOccurrence symbolOccurrence) {
+      occurrencesToSymbols.computeIfAbsent(symbolOccurrence.symbol(), symbol -> new ConcurrentSkipListSet<>())
+        .add(symbolOccurrence);
+      locations.computeIfAbsent(symbolOccurrence.location().uri(), uri -> ConcurrentHashMap.newKeySet())
+        .add(symbolOccurrence);
+    }
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.types.index;
+
+import com.github._1c_syntax.bsl.languageserver.utils.FuzzyMatcher;
+import com.github._1c_syntax.bsl.languageserver.utils.Ranges;
+import org.eclipse.lsp4j.SymbolKind;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark fuzzy-хвоста {@link WorkspaceSymbolIndex#searchFuzzyTail(String, java.util.Collection, CancelChecker)}.
+ * <p>
+ * Индекс наполняется синтетической рабочей областью из {@code entryCount} символов: имена собираются
+ * из 2-4 CamelCase-слов типового словаря 1С, часть имён повторяется между модулями, как
+ * {@code ПриСозданииНаСервере} в формах. Режим {@code index} измеряет поиск через постинговый индекс
+ * символов, режим {@code scan} - прежний линейный проход со скорингом каждой записи.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class WorkspaceSymbolFuzzyTailBenchmark {
+
+  private static final int ENTRIES_PER_DOCUMENT = 100;
+
+  private static final CancelChecker NO_CANCEL = () -> {
+    // no-op: отмена в бенчмарке не нужна
+  };
+
+  private static final List<String> WORDS = List.of(
+    "Получить", "Установить", "Провести", "Записать", "Заполнить", "Проверить", "Создать", "Удалить",
+    "Документ", "Ссылку", "Объект", "Реквизит", "Товары", "Контрагента", "Договор", "Склад",
+    "Номенклатуры", "Остатки", "Движения", "Регистра", "Сервер", "Клиент", "Форма", "Параметры",
+    "Настройки", "Отбора", "Данные", "Таблицу", "Значение", "Цены", "Скидки", "Оплаты"
+  );
+
+  @Param({"500000"})
+  private int entryCount;
+
+  @Param({"кумен", "ПрвДкм", "ткнт", "ьзщ"})
+  private String query;
+
+  @Param({"index", "scan"})
+  private String mode;
+
+  private WorkspaceSymbolIndex index;
+  private List<Entry> entries;
+  private FuzzyMatcher fuzzyMatcher;
+
+  @Setup
+  public void setup() {
+    fuzzyMatcher = new FuzzyMatcher();
+    index = new WorkspaceSymbolIndex(fuzzyMatcher);
+    entries = new ArrayList<>(entryCount);
+
+    var random = new Random(42);
+    var documentCount = entryCount / ENTRIES_PER_DOCUMENT;
+    for (var document = 0; document < documentCount; document++) {
+      var uri = URI.create("file:///configuration/src/CommonModules/Модуль" + document + "/Ext/Module.bsl");
+      var documentEntries = new ArrayList<Entry>(ENTRIES_PER_DOCUMENT);
+      for (var i = 0; i < ENTRIES_PER_DOCUMENT; i++) {
+        var name = randomName(random);
+        documentEntries.add(new Entry(
+          uri,
+          name,
+          name.toLowerCase(Locale.ENGLISH),
+          SymbolKind.Method,
+          Ranges.create(i, 0, i, name.length()),
+          List.of(),
+          "ОбщийМодуль.Модуль" + document
+        ));
+      }
+      index.index(uri, List.copyOf(documentEntries));
+      entries.addAll(documentEntries);
+    }
+  }
+
+  @Benchmark
+  public List<Entry> searchFuzzyTail() {
+    if ("index".equals(mode)) {
+      return index.searchFuzzyTail(query, Set.of(), NO_CANCEL);
+    }
+    return scan();
+  }
+
+  private List<Entry> scan() {
+    var lowerQuery = query.toLowerCase(Locale.ENGLISH);
+    var matches = new ArrayList<Entry>();
+    for (var entry : entries) {
+      if (fuzzyMatcher.fuzzyScore(entry.lowerName(), lowerQuery) >= 0) {
+        matches.add(entry);
+      }
+    }
+    matches.sort(Comparator.comparingInt((Entry entry) -> fuzzyMatcher.fuzzyScore(entry.lowerName(), lowerQuery))
+      .thenComparingInt(entry -> entry.name().length()));
+    return matches;
+  }
+
+  private static String randomName(Random random) {
+    var wordCount = 2 + random.nextInt(3);
+    var name = new StringBuilder();
+    for (var i = 0; i < wordCount; i++) {
+      name.append(WORDS.get(random.nextInt(WORDS.size())));
+    }
+    // Около трети имён уникальны в пределах рабочей области.
+    if (random.nextInt(3) == 0) {
+      name.append(random.nextInt(100_000));
+    }
+    return name.toString();
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.types.registry;
+
+import com.github._1c_syntax.bsl.languageserver.types.registry.TypePackProvider.TypeDecl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH Benchmark загрузки встроенных паков платформенных типов.
+ * <p>
+ * Режим {@code json} разбирает JSON-ресурс через {@link BuiltinTypesJsonLoader#parse(String)},
+ * режим {@code binary} читает ресурс, собранный {@link BuiltinTypesPackCompiler}, и распаковывает
+ * его через {@link BuiltinTypesBinaryFormat}. Оба режима включают чтение ресурса из classpath,
+ * как при холодном старте.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BuiltinTypesLoaderBenchmark {
+
+  @Param({
+    "com/github/_1c_syntax/bsl/languageserver/types/registry/builtin-platform-types.json",
+    "com/github/_1c_syntax/bsl/languageserver/types/registry/builtin-oscript-platform-types.json"
+  })
+  private String resource;
+
+  private String binaryResource;
+
+  @Setup
+  public void setup() throws IOException {
+    binaryResource = BuiltinTypesBinaryFormat.binaryResourceOf(resource);
+    if (BuiltinTypesBinaryFormat.readResource(binaryResource).isEmpty()) {
+      throw new IllegalStateException("Precompiled resource is missing, run compileBuiltinTypes: " + binaryResource);
+    }
+  }
+
+  @Benchmark
+  public List<TypeDecl> json() {
+    return BuiltinTypesJsonLoader.parse(resource);
+  }
+
+  @Benchmark
+  public List<TypeDecl> binary() throws IOException {
+    return BuiltinTypesBinaryFormat.readTypes(BuiltinTypesBinaryFormat.readResource(binaryResource).orElseThrow());
+  }
+}
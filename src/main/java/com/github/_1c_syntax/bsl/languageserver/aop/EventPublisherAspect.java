@@ -35,6 +35,7 @@ import com.github._1c_syntax.bsl.languageserver.context.events.ServerContextDocu
 import com.github._1c_syntax.bsl.languageserver.context.events.ServerContextDocumentClosedEvent;
 import com.github._1c_syntax.bsl.languageserver.context.events.ServerContextDocumentRemovedEvent;
 import com.github._1c_syntax.bsl.languageserver.context.events.ServerContextPopulatedEvent;
+import com.github._1c_syntax.bsl.languageserver.context.events.ServerContextPopulationStartedEvent;
 import com.github._1c_syntax.bsl.languageserver.events.BeforeWorkspaceRemovedEvent;
 import com.github._1c_syntax.bsl.languageserver.events.LanguageServerInitializedEvent;
 import com.github._1c_syntax.bsl.languageserver.events.WorkspaceAddedEvent;
@@ -141,6 +142,11 @@ public class EventPublisherAspect {
     publishEvent(new DocumentContextContentChangedEvent((DocumentContext) joinPoint.getThis()));
   }
 
+  @Before("Pointcuts.isServerContext() && Pointcuts.isPopulateContextCall() && args(files)")
+  public void serverContextPopulationStarted(JoinPoint joinPoint, Collection<File> files) {
+    publishEvent(new ServerContextPopulationStartedEvent((ServerContext) joinPoint.getThis()));
+  }
+
   @AfterReturning("Pointcuts.isServerContext() && Pointcuts.isPopulateContextCall() && args(files)")
   public void serverContextPopulated(JoinPoint joinPoint, Collection<File> files) {
     publishEvent(new ServerContextPopulatedEvent((ServerContext) joinPoint.getThis()));
@@ -22,9 +22,12 @@
 package com.github._1c_syntax.bsl.languageserver.aop;
 
 import com.github._1c_syntax.bsl.languageserver.aop.measures.MeasureCollector;
+import com.github._1c_syntax.bsl.languageserver.context.ClosedDocumentAstCache;
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
 import com.github._1c_syntax.bsl.languageserver.context.ServerContext;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.BSLDiagnostic;
+import com.github._1c_syntax.bsl.languageserver.diagnostics.FusedDiagnosticsWalker;
+import com.github._1c_syntax.bsl.languageserver.semantictokens.strings.LambdaStringTokenizer;
 import jakarta.annotation.PreDestroy;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -39,6 +42,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.io.File;
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Аспект для сбора метрик производительности.
@@ -50,6 +56,11 @@ import java.util.Collection;
 @NoArgsConstructor
 public class MeasuresAspect {
 
+  /**
+   * Ключи замеров LSP-запросов по имени метода: запросы частые, строка ключа не собирается заново.
+   */
+  private static final Map<String, String> LSP_MEASURE_TYPES = new ConcurrentHashMap<>();
+
   @Setter(onMethod_ = {@Autowired})
   private @Nullable MeasureCollector measureCollector;
 
@@ -64,8 +75,24 @@ public class MeasuresAspect {
       return jp.proceed();
     }
     var diagnostic = (BSLDiagnostic) jp.getThis();
-    var diagnosticCode = diagnostic.getInfo().getCode().getStringValue();
-    return measureCollector.measureIt(jp::proceed, "diagnostic: " + diagnosticCode);
+    return measureCollector.measureIt(jp::proceed, diagnosticMeasureType(diagnostic));
+  }
+
+  @Around("Pointcuts.isFusedDiagnosticsWalker() && Pointcuts.isWalkCall()")
+  public Object measureFusedDiagnosticsWalk(ProceedingJoinPoint jp) throws Throwable {
+    var collector = measureCollector;
+    if (collector == null) {
+      return jp.proceed();
+    }
+    // диагностики совмещённого обхода не вызывают getDiagnostics: их время замеряет обходчик
+    var walker = (FusedDiagnosticsWalker) jp.getThis();
+    walker.setElapsedTimeConsumer((BSLDiagnostic diagnostic, long nanos) ->
+      collector.record(diagnosticMeasureType(diagnostic), nanos));
+    try {
+      return collector.measureIt(jp::proceed, "diagnostics: fused walk");
+    } finally {
+      walker.setElapsedTimeConsumer(null);
+    }
   }
 
   @Before("Pointcuts.isDocumentContext() && execution(* computeSymbolTree(..))")
@@ -86,6 +113,25 @@ public class MeasuresAspect {
     return measureCollector.measureIt(jp::proceed, "context: symbolTree");
   }
 
+  @AfterReturning(
+    pointcut = "Pointcuts.isClosedDocumentAstCache() && execution(* take(..)) "
+      + "&& this(astCache) && args(documentContext, ..)",
+    returning = "parsedContent"
+  )
+  public void countClosedDocumentAstCacheLookup(
+    ClosedDocumentAstCache astCache,
+    DocumentContext documentContext,
+    @Nullable Object parsedContent
+  ) {
+    // Промахи выключенного кэша и виртуальных документов лямбда-выражений не говорят о нехватке бюджета.
+    if (measureCollector == null
+      || !astCache.isEnabled()
+      || LambdaStringTokenizer.isVirtualDocument(documentContext.getUri())) {
+      return;
+    }
+    measureCollector.increment(parsedContent == null ? "context: ast cache miss" : "context: ast cache hit");
+  }
+
   @Before("Pointcuts.isServerContext() && execution(* populateContext(..)) && args(files)")
   public void initializeConfiguration(JoinPoint jp, Collection<File> files) {
     if (measureCollector == null) {
@@ -104,6 +150,24 @@ public class MeasuresAspect {
     return measureCollector.measureIt(jp::proceed, "computer: " + simpleName);
   }
 
+  @Around("Pointcuts.isLspRequestCall()")
+  public Object measureLspRequest(ProceedingJoinPoint jp) throws Throwable {
+    var collector = measureCollector;
+    if (collector == null) {
+      return jp.proceed();
+    }
+    var measureType = LSP_MEASURE_TYPES.computeIfAbsent(jp.getSignature().getName(), name -> "lsp: " + name);
+    var start = System.nanoTime();
+    var result = jp.proceed();
+    // время запроса - до завершения future, а не до возврата из метода
+    if (result instanceof CompletableFuture<?> future) {
+      future.whenComplete((value, throwable) -> collector.record(measureType, System.nanoTime() - start));
+    } else {
+      collector.record(measureType, System.nanoTime() - start);
+    }
+    return result;
+  }
+
   @AfterReturning("within(com.github._1c_syntax.bsl.languageserver.cli.AnalyzeCommand) && execution(* call(..))")
   public void printMeasures() {
     if (measureCollector == null) {
@@ -111,4 +175,8 @@ public class MeasuresAspect {
     }
     measureCollector.printMeasures();
   }
+
+  private static String diagnosticMeasureType(BSLDiagnostic diagnostic) {
+    return "diagnostic: " + diagnostic.getInfo().getCode().getStringValue();
+  }
 }
@@ -23,10 +23,12 @@ package com.github._1c_syntax.bsl.languageserver.aop;
 
 import com.github._1c_syntax.bsl.languageserver.configuration.GlobalLanguageServerConfiguration;
 import com.github._1c_syntax.bsl.languageserver.configuration.LanguageServerConfiguration;
+import com.github._1c_syntax.bsl.languageserver.context.ClosedDocumentAstCache;
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
 import com.github._1c_syntax.bsl.languageserver.context.ServerContext;
 import com.github._1c_syntax.bsl.languageserver.context.ServerContextProvider;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.BSLDiagnostic;
+import com.github._1c_syntax.bsl.languageserver.diagnostics.FusedDiagnosticsWalker;
 import org.aspectj.lang.annotation.Pointcut;
 import org.eclipse.lsp4j.services.LanguageServer;
 import org.eclipse.lsp4j.services.TextDocumentService;
@@ -101,6 +103,14 @@ public class Pointcuts {
     // no-op
   }
 
+  /**
+   * Это обращение к классу {@link ClosedDocumentAstCache}.
+   */
+  @Pointcut("within(com.github._1c_syntax.bsl.languageserver.context.ClosedDocumentAstCache)")
+  public void isClosedDocumentAstCache() {
+    // no-op
+  }
+
   /**
    * Это обращение к классу {@link ServerContextProvider}.
    */
@@ -117,6 +127,14 @@ public class Pointcuts {
     // no-op
   }
 
+  /**
+   * Это обращение к классу {@link FusedDiagnosticsWalker}.
+   */
+  @Pointcut("within(com.github._1c_syntax.bsl.languageserver.diagnostics.FusedDiagnosticsWalker)")
+  public void isFusedDiagnosticsWalker() {
+    // no-op
+  }
+
   /**
    * Это обращение к классу {@code OScriptLibraryIndex}.
    */
@@ -197,6 +215,14 @@ public class Pointcuts {
     // no-op
   }
 
+  /**
+   * Это вызов публичного метода walk.
+   */
+  @Pointcut("isBSLLanguageServerScope() && execution(public * walk(..))")
+  public void isWalkCall() {
+    // no-op
+  }
+
   /**
    * Это вызов метода initialize.
    */
@@ -245,6 +271,15 @@ public class Pointcuts {
     // no-op
   }
 
+  /**
+   * Это обработка запроса LSP, возвращающего {@link java.util.concurrent.CompletableFuture}.
+   */
+  @Pointcut("(isTextDocumentService() || isWorkspaceService()) "
+    + "&& execution(public java.util.concurrent.CompletableFuture *(..))")
+  public void isLspRequestCall() {
+    // no-op
+  }
+
   /**
    * Это вызов публичного метода.
    */
@@ -29,16 +29,22 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.Comparator;
-import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Сборщик и агрегатор замеров производительности операций.
  * <p>
  * Выполняет замеры времени выполнения операций и агрегирует результаты
  * для анализа производительности различных компонентов language server.
+ * Длительности измеряются в наносекундах и накапливаются в {@link MeasureHistogram} по типу замера,
+ * поэтому перцентили доступны в любой момент работы сервера, а не только по завершении анализа.
+ * Помимо длительностей собираются счетчики событий (например, попаданий и промахов кэшей).
  */
 @Component
 @ConditionalOnMeasuresEnabled
@@ -46,41 +52,156 @@ import java.util.concurrent.CopyOnWriteArrayList;
 @Slf4j
 public class MeasureCollector {
 
+  private static final String PROMETHEUS_METRIC = "bsl_ls_measure_seconds";
+  private static final String PROMETHEUS_COUNTER = "bsl_ls_events_total";
+  private static final double NANOS_IN_SECOND = TimeUnit.SECONDS.toNanos(1);
+  private static final double NANOS_IN_MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
   /**
    * Коллекция замеров.
    * <p>
    * В качестве ключа выступает тип замера (метрики, дерево разбора, диагностика, и т. д.), в качестве значений -
-   * список длительностей выполнения замера.
+   * гистограмма длительностей выполнения замера.
+   */
+  @Getter
+  private final Map<String, MeasureHistogram> measures = new ConcurrentHashMap<>();
+
+  /**
+   * Коллекция счетчиков событий.
+   * <p>
+   * В качестве ключа выступает тип счетчика, в качестве значения - количество событий.
    */
   @Getter
-  private final Map<String, List<Long>> measures = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
 
   /**
    * Выполнить операцию замера.
    *
    * @param supplier    Замеряемая операция.
    * @param measureType Текстовый идентификатор замера.
-   *                    Результаты замеров с совпадающим идентификатором будут просуммированы.
+   *                    Результаты замеров с совпадающим идентификатором будут агрегированы.
    * @return Результат работы замеряемой операции.
    */
   @SneakyThrows
   public Object measureIt(ThrowingSupplier<?> supplier, String measureType) {
-    long startDI = System.currentTimeMillis();
-    var result = supplier.get();
-    long endDI = System.currentTimeMillis();
+    long start = System.nanoTime();
+    try {
+      return supplier.get();
+    } finally {
+      record(measureType, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Учесть длительность операции, измеренную вызывающим.
+   *
+   * @param measureType Текстовый идентификатор замера.
+   * @param nanos       Длительность в наносекундах.
+   */
+  public void record(String measureType, long nanos) {
+    measures.computeIfAbsent(measureType, key -> new MeasureHistogram()).record(nanos);
+  }
+
+  /**
+   * Учесть событие.
+   *
+   * @param counterType Текстовый идентификатор счетчика.
+   */
+  public void increment(String counterType) {
+    counters.computeIfAbsent(counterType, key -> new LongAdder()).increment();
+  }
+
+  /**
+   * Получить значения всех счетчиков, упорядоченные по идентификатору.
+   *
+   * @return Количество событий по типу счетчика
+   */
+  public SortedMap<String, Long> countersSnapshot() {
+    var result = new TreeMap<String, Long>();
+    counters.forEach((counterType, counter) -> result.put(counterType, counter.sum()));
+    return result;
+  }
 
-    measures.computeIfAbsent(measureType, s -> new CopyOnWriteArrayList<>()).add(endDI - startDI);
+  /**
+   * Получить снимки всех замеров, упорядоченные по идентификатору.
+   *
+   * @return Снимки гистограмм по типу замера
+   */
+  public SortedMap<String, MeasureHistogram.Snapshot> snapshot() {
+    var result = new TreeMap<String, MeasureHistogram.Snapshot>();
+    measures.forEach((measureType, histogram) -> result.put(measureType, histogram.snapshot()));
     return result;
   }
 
+  /**
+   * Сбросить накопленные замеры и счетчики.
+   */
+  public void reset() {
+    measures.values().forEach(MeasureHistogram::reset);
+    counters.values().forEach(LongAdder::reset);
+  }
+
+  /**
+   * Выгрузить замеры в текстовом формате Prometheus (summary в секундах, счетчики событий - counter).
+   *
+   * @return Текст в формате Prometheus exposition
+   */
+  public String toPrometheusText() {
+    var text = new StringBuilder()
+      .append("# HELP ").append(PROMETHEUS_METRIC).append(" BSL Language Server operation durations.\n")
+      .append("# TYPE ").append(PROMETHEUS_METRIC).append(" summary\n");
+    snapshot().forEach((String measureType, MeasureHistogram.Snapshot snapshot) -> {
+      var label = escapeLabelValue(measureType);
+      appendQuantile(text, label, "0.5", snapshot.p50());
+      appendQuantile(text, label, "0.9", snapshot.p90());
+      appendQuantile(text, label, "0.99", snapshot.p99());
+      appendQuantile(text, label, "0.999", snapshot.p999());
+      text.append(PROMETHEUS_METRIC).append("_sum{measure=\"").append(label).append("\"} ")
+        .append(toSeconds(snapshot.totalNanos())).append('\n');
+      text.append(PROMETHEUS_METRIC).append("_count{measure=\"").append(label).append("\"} ")
+        .append(snapshot.count()).append('\n');
+    });
+    text.append("# HELP ").append(PROMETHEUS_COUNTER).append(" BSL Language Server event counters.\n")
+      .append("# TYPE ").append(PROMETHEUS_COUNTER).append(" counter\n");
+    countersSnapshot().forEach((String counterType, Long count) ->
+      text.append(PROMETHEUS_COUNTER).append("{counter=\"").append(escapeLabelValue(counterType)).append("\"} ")
+        .append(count).append('\n')
+    );
+    return text.toString();
+  }
+
   /**
    * Вывод накопленных замеров в лог.
    */
   public void printMeasures() {
-    measures.entrySet().stream()
-      .map(entry -> Map.entry(entry.getKey(), entry.getValue().stream().mapToLong(value -> value).sum()))
-      .sorted(Comparator.comparingLong(Map.Entry::getValue))
-      .map(entry -> "%s - %d".formatted(entry.getKey(), entry.getValue()))
+    snapshot().entrySet().stream()
+      .sorted(Comparator.comparingLong(entry -> entry.getValue().totalNanos()))
+      .map(entry -> "%s - %d ms (count %d, p50 %s ms, p99 %s ms, max %s ms)".formatted(
+        entry.getKey(),
+        TimeUnit.NANOSECONDS.toMillis(entry.getValue().totalNanos()),
+        entry.getValue().count(),
+        toMillis(entry.getValue().p50()),
+        toMillis(entry.getValue().p99()),
+        toMillis(entry.getValue().maxNanos())
+      ))
       .forEach(LOGGER::info);
+    countersSnapshot().forEach((String counterType, Long count) -> LOGGER.info("{} - {}", counterType, count));
+  }
+
+  private static void appendQuantile(StringBuilder text, String label, String quantile, long nanos) {
+    text.append(PROMETHEUS_METRIC).append("{measure=\"").append(label).append("\",quantile=\"").append(quantile)
+      .append("\"} ").append(toSeconds(nanos)).append('\n');
+  }
+
+  private static String toSeconds(long nanos) {
+    return String.format(Locale.ROOT, "%.9f", nanos / NANOS_IN_SECOND);
+  }
+
+  private static String toMillis(long nanos) {
+    return String.format(Locale.ROOT, "%.3f", nanos / NANOS_IN_MILLISECOND);
+  }
+
+  private static String escapeLabelValue(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
   }
 }
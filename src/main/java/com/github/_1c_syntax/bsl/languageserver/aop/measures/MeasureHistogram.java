@@ -0,0 +1,159 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.aop.measures;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Гистограмма длительностей замера в наносекундах.
+ * <p>
+ * Корзины устроены как в HdrHistogram: значения до {@code 2^SUB_BUCKET_BITS} хранятся точно,
+ * далее каждый диапазон {@code [2^k, 2^(k+1))} делится на {@code 2^SUB_BUCKET_BITS} равных частей,
+ * поэтому относительная погрешность перцентилей не превышает {@code 1/2^SUB_BUCKET_BITS}.
+ * Запись значения - несколько атомарных операций без блокировок и без выделения памяти.
+ * Значения больше {@link #HIGHEST_TRACKABLE_VALUE} учитываются в последней корзине.
+ */
+public final class MeasureHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int HIGHEST_BIT = 42;
+
+  /**
+   * Наибольшее различимое значение (около 73 минут).
+   */
+  public static final long HIGHEST_TRACKABLE_VALUE = (1L << (HIGHEST_BIT + 1)) - 1;
+
+  private static final int BUCKET_COUNT = (HIGHEST_BIT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong totalCount = new AtomicLong();
+  private final AtomicLong totalNanos = new AtomicLong();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  /**
+   * Учесть значение.
+   *
+   * @param nanos Длительность в наносекундах; отрицательные значения считаются нулём
+   */
+  public void record(long nanos) {
+    var value = Math.clamp(nanos, 0, HIGHEST_TRACKABLE_VALUE);
+    counts.incrementAndGet(bucketIndex(value));
+    totalCount.incrementAndGet();
+    totalNanos.addAndGet(value);
+    maxNanos.accumulateAndGet(value, Math::max);
+  }
+
+  /**
+   * @return Количество учтённых значений
+   */
+  public long getCount() {
+    return totalCount.get();
+  }
+
+  /**
+   * Сбросить накопленные значения.
+   * Конкурентно записываемые значения могут быть учтены частично.
+   */
+  public void reset() {
+    for (var i = 0; i < BUCKET_COUNT; i++) {
+      counts.set(i, 0);
+    }
+    totalCount.set(0);
+    totalNanos.set(0);
+    maxNanos.set(0);
+  }
+
+  /**
+   * Получить снимок гистограммы с основными перцентилями.
+   *
+   * @return Снимок
+   */
+  public Snapshot snapshot() {
+    var bucketCounts = new long[BUCKET_COUNT];
+    long count = 0;
+    for (var i = 0; i < BUCKET_COUNT; i++) {
+      bucketCounts[i] = counts.get(i);
+      count += bucketCounts[i];
+    }
+    var max = maxNanos.get();
+    return new Snapshot(
+      count,
+      totalNanos.get(),
+      max,
+      percentile(bucketCounts, count, 0.5, max),
+      percentile(bucketCounts, count, 0.9, max),
+      percentile(bucketCounts, count, 0.99, max),
+      percentile(bucketCounts, count, 0.999, max)
+    );
+  }
+
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    var highestBit = 63 - Long.numberOfLeadingZeros(value);
+    var shift = highestBit - SUB_BUCKET_BITS;
+    var subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+    return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  static long highestEquivalentValue(int index) {
+    var group = index >>> SUB_BUCKET_BITS;
+    if (group == 0) {
+      return index;
+    }
+    var shift = group - 1;
+    var lowest = (long) (SUB_BUCKET_COUNT + (index & (SUB_BUCKET_COUNT - 1))) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+
+  private static long percentile(long[] bucketCounts, long count, double percentile, long max) {
+    if (count == 0) {
+      return 0;
+    }
+    var rank = Math.max(1, (long) Math.ceil(percentile * count));
+    long accumulated = 0;
+    for (var i = 0; i < bucketCounts.length; i++) {
+      accumulated += bucketCounts[i];
+      if (accumulated >= rank) {
+        return Math.min(highestEquivalentValue(i), max);
+      }
+    }
+    return max;
+  }
+
+  /**
+   * Снимок гистограммы. Все длительности - в наносекундах.
+   *
+   * @param count      Количество значений
+   * @param totalNanos Сумма значений
+   * @param maxNanos   Наибольшее значение
+   * @param p50        Медиана
+   * @param p90        90-й перцентиль
+   * @param p99        99-й перцентиль
+   * @param p999       99,9-й перцентиль
+   */
+  public record Snapshot(long count, long totalNanos, long maxNanos, long p50, long p90, long p99, long p999) {
+  }
+}
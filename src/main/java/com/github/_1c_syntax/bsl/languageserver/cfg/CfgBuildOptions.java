@@ -0,0 +1,54 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.cfg;
+
+/**
+ * Параметры построения графа потока управления.
+ * <p>
+ * Соответствуют настройкам {@link CfgBuildingParseTreeVisitor} и входят в ключ
+ * кэша графов {@link ControlFlowGraphCache}: графы, построенные с разными параметрами,
+ * хранятся раздельно.
+ *
+ * @param loopIterations         строить ребра повторной итерации цикла
+ * @param preprocessorConditions строить вершины условий препроцессора
+ * @param adjacentDeadCode       выделять недостижимый код после операторов перехода в отдельные блоки
+ */
+public record CfgBuildOptions(boolean loopIterations, boolean preprocessorConditions, boolean adjacentDeadCode) {
+
+  /**
+   * Параметры по умолчанию {@link CfgBuildingParseTreeVisitor}.
+   */
+  public static final CfgBuildOptions DEFAULT = new CfgBuildOptions(true, true, false);
+
+  /**
+   * Построитель графа, настроенный этими параметрами.
+   *
+   * @return новый построитель графа
+   */
+  public CfgBuildingParseTreeVisitor createBuilder() {
+    var builder = new CfgBuildingParseTreeVisitor();
+    builder.produceLoopIterations(loopIterations);
+    builder.producePreprocessorConditions(preprocessorConditions);
+    builder.determineAdjacentDeadCode(adjacentDeadCode);
+    return builder;
+  }
+}
@@ -0,0 +1,323 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.cfg;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Компактное неизменяемое представление графа потока управления.
+ * <p>
+ * Вершины пронумерованы от {@code 0} до {@code vertexCount() - 1} в порядке их добавления в исходный
+ * {@link ControlFlowGraph}. Смежность хранится в форме CSR (compressed sparse row): исходящие ребра вершины
+ * {@code v} занимают отрезок {@code [successorOffsets[v], successorOffsets[v + 1])} массивов целей и типов ребер,
+ * входящие ребра хранятся так же. Обход графа не обращается к хэш-таблицам и не создает объектов.
+ * <p>
+ * Для алгоритмов JGraphT граф доступен через адаптер {@link #asGraph()}.
+ */
+public final class CompactControlFlowGraph {
+
+  /**
+   * Признак отсутствия вершины в графе.
+   */
+  public static final int NOT_FOUND = -1;
+
+  private static final CfgEdgeType[] EDGE_TYPES = CfgEdgeType.values();
+
+  private final CfgVertex[] vertices;
+  private final Map<CfgVertex, Integer> indexes;
+  private final int entryPoint;
+  private final int exitPoint;
+
+  private final int[] successorOffsets;
+  private final int[] successors;
+  private final byte[] successorEdgeTypes;
+
+  private final int[] predecessorOffsets;
+  private final int[] predecessors;
+  private final byte[] predecessorEdgeTypes;
+
+  private CompactControlFlowGraph(CfgVertex[] vertices,
+                                  Map<CfgVertex, Integer> indexes,
+                                  int entryPoint,
+                                  int exitPoint,
+                                  int[] successorOffsets,
+                                  int[] successors,
+                                  byte[] successorEdgeTypes) {
+    this.vertices = vertices;
+    this.indexes = indexes;
+    this.entryPoint = entryPoint;
+    this.exitPoint = exitPoint;
+    this.successorOffsets = successorOffsets;
+    this.successors = successors;
+    this.successorEdgeTypes = successorEdgeTypes;
+
+    var vertexCount = vertices.length;
+    var edgeCount = successors.length;
+
+    // Входящие ребра - сортировка подсчетом по вершине-цели, порядок источников сохраняется
+    predecessorOffsets = new int[vertexCount + 1];
+    for (var target : successors) {
+      predecessorOffsets[target + 1]++;
+    }
+    for (var v = 0; v < vertexCount; v++) {
+      predecessorOffsets[v + 1] += predecessorOffsets[v];
+    }
+    predecessors = new int[edgeCount];
+    predecessorEdgeTypes = new byte[edgeCount];
+    var fill = new int[vertexCount];
+    for (var source = 0; source < vertexCount; source++) {
+      for (var edge = successorOffsets[source]; edge < successorOffsets[source + 1]; edge++) {
+        var target = successors[edge];
+        var position = predecessorOffsets[target] + fill[target]++;
+        predecessors[position] = source;
+        predecessorEdgeTypes[position] = successorEdgeTypes[edge];
+      }
+    }
+  }
+
+  /**
+   * Построить компактное представление графа.
+   *
+   * @param graph исходный граф потока управления
+   * @return компактный граф с теми же вершинами и ребрами
+   */
+  public static CompactControlFlowGraph from(ControlFlowGraph graph) {
+    var vertices = graph.vertexSet().toArray(new CfgVertex[0]);
+    // Вершины сравниваются по ссылке: часть вершин реализует equals по содержимому
+    var indexes = new IdentityHashMap<CfgVertex, Integer>(vertices.length);
+    for (var i = 0; i < vertices.length; i++) {
+      indexes.put(vertices[i], i);
+    }
+
+    var edgeCount = graph.edgeSet().size();
+    var successorOffsets = new int[vertices.length + 1];
+    var successors = new int[edgeCount];
+    var successorEdgeTypes = new byte[edgeCount];
+
+    var position = 0;
+    for (var v = 0; v < vertices.length; v++) {
+      successorOffsets[v] = position;
+      for (var edge : graph.outgoingEdgesOf(vertices[v])) {
+        successors[position] = indexes.get(graph.getEdgeTarget(edge));
+        successorEdgeTypes[position] = (byte) edge.getType().ordinal();
+        position++;
+      }
+    }
+    successorOffsets[vertices.length] = position;
+
+    return new CompactControlFlowGraph(
+      vertices,
+      indexes,
+      indexes.get(graph.getEntryPoint()),
+      indexes.get(graph.getExitPoint()),
+      successorOffsets,
+      successors,
+      successorEdgeTypes
+    );
+  }
+
+  /**
+   * @return количество вершин графа
+   */
+  public int vertexCount() {
+    return vertices.length;
+  }
+
+  /**
+   * @return количество ребер графа
+   */
+  public int edgeCount() {
+    return successors.length;
+  }
+
+  /**
+   * @param index номер вершины
+   * @return вершина графа
+   */
+  public CfgVertex vertex(int index) {
+    return vertices[index];
+  }
+
+  /**
+   * Номер вершины в графе.
+   *
+   * @param vertex вершина
+   * @return номер вершины или {@link #NOT_FOUND}, если вершина не принадлежит графу
+   */
+  public int indexOf(CfgVertex vertex) {
+    var index = indexes.get(vertex);
+    return index == null ? NOT_FOUND : index;
+  }
+
+  /**
+   * @return номер точки входа
+   */
+  public int entryPoint() {
+    return entryPoint;
+  }
+
+  /**
+   * @return номер точки выхода
+   */
+  public int exitPoint() {
+    return exitPoint;
+  }
+
+  /**
+   * @param vertex номер вершины
+   * @return количество исходящих ребер вершины
+   */
+  public int outDegree(int vertex) {
+    return successorOffsets[vertex + 1] - successorOffsets[vertex];
+  }
+
+  /**
+   * @param vertex номер вершины
+   * @param edge   порядковый номер исходящего ребра, от {@code 0} до {@code outDegree(vertex) - 1}
+   * @return номер вершины, в которую ведет ребро
+   */
+  public int successor(int vertex, int edge) {
+    return successors[successorOffsets[vertex] + edge];
+  }
+
+  /**
+   * @param vertex номер вершины
+   * @param edge   порядковый номер исходящего ребра, от {@code 0} до {@code outDegree(vertex) - 1}
+   * @return тип ребра
+   */
+  public CfgEdgeType successorEdgeType(int vertex, int edge) {
+    return EDGE_TYPES[successorEdgeTypes[successorOffsets[vertex] + edge]];
+  }
+
+  /**
+   * @param vertex номер вершины
+   * @return количество входящих ребер вершины
+   */
+  public int inDegree(int vertex) {
+    return predecessorOffsets[vertex + 1] - predecessorOffsets[vertex];
+  }
+
+  /**
+   * @param vertex номер вершины
+   * @param edge   порядковый номер входящего ребра, от {@code 0} до {@code inDegree(vertex) - 1}
+   * @return номер вершины, из которой выходит ребро
+   */
+  public int predecessor(int vertex, int edge) {
+    return predecessors[predecessorOffsets[vertex] + edge];
+  }
+
+  /**
+   * @param vertex номер вершины
+   * @param edge   порядковый номер входящего ребра, от {@code 0} до {@code inDegree(vertex) - 1}
+   * @return тип ребра
+   */
+  public CfgEdgeType predecessorEdgeType(int vertex, int edge) {
+    return EDGE_TYPES[predecessorEdgeTypes[predecessorOffsets[vertex] + edge]];
+  }
+
+  /**
+   * Проверить наличие ребра заданного типа.
+   *
+   * @param source номер вершины-источника
+   * @param target номер вершины-цели
+   * @param type   тип ребра
+   * @return {@code true}, если ребро есть в графе
+   */
+  public boolean containsEdge(int source, int target, CfgEdgeType type) {
+    for (var edge = successorOffsets[source]; edge < successorOffsets[source + 1]; edge++) {
+      if (successors[edge] == target && EDGE_TYPES[successorEdgeTypes[edge]] == type) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Вершины в обратном порядке обхода в глубину от точки входа (reverse postorder).
+   * <p>
+   * В этом порядке каждая вершина, кроме заголовков циклов, идет после всех своих предшественников,
+   * что минимизирует число итераций прямых задач анализа потока данных.
+   * Недостижимые из точки входа вершины добавляются в конец в порядке номеров.
+   *
+   * @return номера всех вершин графа
+   */
+  public int[] reversePostorder() {
+    var vertexCount = vertices.length;
+    var order = new int[vertexCount];
+    var visited = new boolean[vertexCount];
+    var stack = new int[vertexCount];
+    var nextEdge = new int[vertexCount];
+    var position = vertexCount;
+
+    var depth = 0;
+    stack[depth++] = entryPoint;
+    visited[entryPoint] = true;
+    while (depth > 0) {
+      var vertex = stack[depth - 1];
+      if (nextEdge[vertex] < outDegree(vertex)) {
+        var target = successor(vertex, nextEdge[vertex]++);
+        if (!visited[target]) {
+          visited[target] = true;
+          stack[depth++] = target;
+        }
+      } else {
+        depth--;
+        order[--position] = vertex;
+      }
+    }
+
+    if (position > 0) {
+      // недостижимые вершины сдвигаются в конец
+      System.arraycopy(order, position, order, 0, vertexCount - position);
+      var tail = vertexCount - position;
+      for (var v = 0; v < vertexCount; v++) {
+        if (!visited[v]) {
+          order[tail++] = v;
+        }
+      }
+    }
+
+    return order;
+  }
+
+  /**
+   * Представление графа в виде {@link ControlFlowGraph} для алгоритмов JGraphT.
+   * <p>
+   * Каждый вызов создает новый граф над теми же вершинами; изменения в нем не отражаются на компактном графе.
+   *
+   * @return граф JGraphT с теми же вершинами, ребрами и точками входа и выхода
+   */
+  public ControlFlowGraph asGraph() {
+    var graph = new ControlFlowGraph((ExitVertex) vertices[exitPoint]);
+    for (var vertex : vertices) {
+      graph.addVertex(vertex);
+    }
+    for (var source = 0; source < vertices.length; source++) {
+      for (var edge = successorOffsets[source]; edge < successorOffsets[source + 1]; edge++) {
+        graph.addEdge(vertices[source], vertices[successors[edge]], EDGE_TYPES[successorEdgeTypes[edge]]);
+      }
+    }
+    graph.setEntryPoint(vertices[entryPoint]);
+    return graph;
+  }
+}
@@ -35,8 +35,12 @@ public class ControlFlowGraph extends DefaultDirectedGraph<CfgVertex, CfgEdge> {
   private final ExitVertex exitPoint;
 
   public ControlFlowGraph() {
+    this(new ExitVertex());
+  }
+
+  ControlFlowGraph(ExitVertex exitPoint) {
     super(CfgEdge.class);
-    exitPoint = new ExitVertex();
+    this.exitPoint = exitPoint;
     addVertex(exitPoint);
   }
 
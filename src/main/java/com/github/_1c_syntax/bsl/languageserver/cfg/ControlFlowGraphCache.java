@@ -0,0 +1,68 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.cfg;
+
+import com.github._1c_syntax.bsl.parser.BSLParser;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Кэш графов потока управления блоков кода документа.
+ * <p>
+ * Граф строится при первом запросе для пары "блок кода - параметры построения" и переиспользуется
+ * всеми потребителями (диагностиками, анализом потока данных) до пересборки документа.
+ * Блоки кода сравниваются по ссылке, поэтому кэш действителен только для того AST, по которому он заполнялся.
+ */
+public final class ControlFlowGraphCache {
+
+  private final Map<Key, CompactControlFlowGraph> graphs = new ConcurrentHashMap<>();
+
+  /**
+   * Граф потока управления блока кода с параметрами построения по умолчанию.
+   *
+   * @param codeBlock блок кода метода или тела модуля
+   * @return граф потока управления
+   */
+  public CompactControlFlowGraph get(BSLParser.CodeBlockContext codeBlock) {
+    return get(codeBlock, CfgBuildOptions.DEFAULT);
+  }
+
+  /**
+   * Граф потока управления блока кода.
+   *
+   * @param codeBlock блок кода метода или тела модуля
+   * @param options   параметры построения графа
+   * @return граф потока управления
+   */
+  public CompactControlFlowGraph get(BSLParser.CodeBlockContext codeBlock, CfgBuildOptions options) {
+    return graphs.computeIfAbsent(new Key(codeBlock, options), ControlFlowGraphCache::build);
+  }
+
+  private static CompactControlFlowGraph build(Key key) {
+    var graph = key.options().createBuilder().buildGraph(key.codeBlock());
+    return CompactControlFlowGraph.from(graph);
+  }
+
+  private record Key(BSLParser.CodeBlockContext codeBlock, CfgBuildOptions options) {
+  }
+}
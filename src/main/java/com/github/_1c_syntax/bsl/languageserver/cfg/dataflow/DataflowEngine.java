@@ -0,0 +1,111 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.cfg.dataflow;
+
+import com.github._1c_syntax.bsl.languageserver.cfg.CompactControlFlowGraph;
+import lombok.experimental.UtilityClass;
+
+import java.util.BitSet;
+
+/**
+ * Итеративный решатель задач анализа потока данных.
+ * <p>
+ * Использует список вершин к обработке, заполняемый в обратном порядке обхода в глубину
+ * (для обратных задач - в прямом). В списке вершина присутствует не более одного раза, поэтому
+ * он хранится в кольцевом буфере размером с число вершин. Для решетки битовых множеств с монотонной
+ * передаточной функцией решение сходится к наименьшей неподвижной точке.
+ */
+@UtilityClass
+public class DataflowEngine {
+
+  /**
+   * Решить задачу анализа потока данных на графе.
+   * <p>
+   * Граничное значение на точке входа (для прямых задач) и на точке выхода (для обратных) - пустое множество.
+   *
+   * @param graph   граф потока управления
+   * @param problem задача анализа
+   * @return значения до и после каждой вершины
+   */
+  public DataflowResult solve(CompactControlFlowGraph graph, GenKillProblem problem) {
+    var vertexCount = graph.vertexCount();
+    var forward = problem.direction() == GenKillProblem.Direction.FORWARD;
+
+    var in = new BitSet[vertexCount];
+    var out = new BitSet[vertexCount];
+    for (var v = 0; v < vertexCount; v++) {
+      in[v] = new BitSet();
+      out[v] = new BitSet();
+    }
+
+    // Для прямой задачи значение вершины считается по выходам предшественников и передается на ее выход,
+    // для обратной - по входам последователей на ее вход.
+    var joined = forward ? in : out;
+    var transferred = forward ? out : in;
+
+    var queue = new int[vertexCount];
+    var queued = new boolean[vertexCount];
+    var order = graph.reversePostorder();
+    for (var i = 0; i < vertexCount; i++) {
+      var v = forward ? order[i] : order[vertexCount - 1 - i];
+      queue[i] = v;
+      queued[v] = true;
+    }
+    var head = 0;
+    var size = vertexCount;
+
+    while (size > 0) {
+      var vertex = queue[head];
+      head = (head + 1) % vertexCount;
+      size--;
+      queued[vertex] = false;
+
+      var value = joined[vertex];
+      value.clear();
+      var neighbours = forward ? graph.inDegree(vertex) : graph.outDegree(vertex);
+      for (var edge = 0; edge < neighbours; edge++) {
+        var neighbour = forward ? graph.predecessor(vertex, edge) : graph.successor(vertex, edge);
+        value.or(transferred[neighbour]);
+      }
+
+      var result = (BitSet) value.clone();
+      result.andNot(problem.kill(vertex));
+      result.or(problem.gen(vertex));
+      if (result.equals(transferred[vertex])) {
+        continue;
+      }
+      transferred[vertex] = result;
+
+      var dependants = forward ? graph.outDegree(vertex) : graph.inDegree(vertex);
+      for (var edge = 0; edge < dependants; edge++) {
+        var dependant = forward ? graph.successor(vertex, edge) : graph.predecessor(vertex, edge);
+        if (!queued[dependant]) {
+          queued[dependant] = true;
+          queue[(head + size) % vertexCount] = dependant;
+          size++;
+        }
+      }
+    }
+
+    return new DataflowResult(in, out);
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.cfg.dataflow;
+
+import java.util.BitSet;
+
+/**
+ * Решение задачи анализа потока данных: значения до и после каждой вершины графа.
+ * <p>
+ * "До" и "после" понимаются в порядке выполнения кода независимо от направления анализа.
+ */
+public final class DataflowResult {
+
+  private final BitSet[] in;
+  private final BitSet[] out;
+
+  DataflowResult(BitSet[] in, BitSet[] out) {
+    this.in = in;
+    this.out = out;
+  }
+
+  /**
+   * @param vertex номер вершины графа
+   * @return значение перед выполнением вершины (копия)
+   */
+  public BitSet in(int vertex) {
+    return (BitSet) in[vertex].clone();
+  }
+
+  /**
+   * @param vertex номер вершины графа
+   * @return значение после выполнения вершины (копия)
+   */
+  public BitSet out(int vertex) {
+    return (BitSet) out[vertex].clone();
+  }
+}
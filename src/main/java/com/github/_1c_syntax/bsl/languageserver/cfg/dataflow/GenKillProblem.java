@@ -0,0 +1,68 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.cfg.dataflow;
+
+import java.util.BitSet;
+
+/**
+ * Задача анализа потока данных в решетке битовых множеств.
+ * <p>
+ * Значения в точках слияния объединяются, передаточная функция вершины имеет вид
+ * {@code gen ∪ (x \ kill)}, где {@code x} - значение на входе вершины в направлении анализа.
+ */
+public interface GenKillProblem {
+
+  /**
+   * @return направление анализа
+   */
+  Direction direction();
+
+  /**
+   * Множество, порождаемое вершиной. Решатель не изменяет возвращаемое множество.
+   *
+   * @param vertex номер вершины графа
+   * @return порождаемые элементы
+   */
+  BitSet gen(int vertex);
+
+  /**
+   * Множество, уничтожаемое вершиной. Решатель не изменяет возвращаемое множество.
+   *
+   * @param vertex номер вершины графа
+   * @return уничтожаемые элементы
+   */
+  BitSet kill(int vertex);
+
+  /**
+   * Направление распространения значений по графу.
+   */
+  enum Direction {
+    /**
+     * От точки входа по ребрам графа.
+     */
+    FORWARD,
+    /**
+     * От точки выхода против ребер графа.
+     */
+    BACKWARD
+  }
+}
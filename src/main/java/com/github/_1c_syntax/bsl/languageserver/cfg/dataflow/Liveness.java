@@ -0,0 +1,144 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.cfg.dataflow;
+
+import com.github._1c_syntax.bsl.languageserver.cfg.CompactControlFlowGraph;
+
+import java.util.BitSet;
+
+/**
+ * Живость переменных: значение каких переменных может быть прочитано после каждой точки метода.
+ * <p>
+ * Элементы множеств - номера переменных в {@link VariableAccesses}. После выхода из метода
+ * ни одна переменная не считается живой, поэтому переменные модуля и параметры, передаваемые
+ * по ссылке, потребитель анализа должен учитывать самостоятельно.
+ */
+public final class Liveness {
+
+  private final VariableAccesses accesses;
+  private final DataflowResult result;
+
+  private Liveness(CompactControlFlowGraph graph, VariableAccesses accesses) {
+    this.accesses = accesses;
+
+    var vertexCount = graph.vertexCount();
+    var used = new BitSet[vertexCount];
+    var defined = new BitSet[vertexCount];
+    for (var v = 0; v < vertexCount; v++) {
+      var vertexUsed = new BitSet();
+      var vertexDefined = new BitSet();
+      for (var access : accesses.accesses(v)) {
+        if (access.write()) {
+          vertexDefined.set(access.variable());
+        } else if (!vertexDefined.get(access.variable())) {
+          vertexUsed.set(access.variable());
+        }
+      }
+      used[v] = vertexUsed;
+      defined[v] = vertexDefined;
+    }
+
+    result = DataflowEngine.solve(graph, new GenKillProblem() {
+      @Override
+      public Direction direction() {
+        return Direction.BACKWARD;
+      }
+
+      @Override
+      public BitSet gen(int vertex) {
+        return used[vertex];
+      }
+
+      @Override
+      public BitSet kill(int vertex) {
+        return defined[vertex];
+      }
+    });
+  }
+
+  /**
+   * Вычислить живость переменных.
+   *
+   * @param graph граф потока управления
+   * @return результат анализа
+   */
+  public static Liveness compute(CompactControlFlowGraph graph) {
+    return compute(graph, VariableAccesses.collect(graph));
+  }
+
+  /**
+   * Вычислить живость переменных по ранее собранным обращениям к переменным.
+   *
+   * @param graph    граф потока управления
+   * @param accesses обращения к переменным в вершинах графа
+   * @return результат анализа
+   */
+  public static Liveness compute(CompactControlFlowGraph graph, VariableAccesses accesses) {
+    return new Liveness(graph, accesses);
+  }
+
+  /**
+   * @return обращения к переменным, по которым выполнен анализ
+   */
+  public VariableAccesses getAccesses() {
+    return accesses;
+  }
+
+  /**
+   * @param vertex номер вершины графа
+   * @return номера переменных, живых перед выполнением вершины
+   */
+  public BitSet liveIn(int vertex) {
+    return result.in(vertex);
+  }
+
+  /**
+   * @param vertex номер вершины графа
+   * @return номера переменных, живых после выполнения вершины
+   */
+  public BitSet liveOut(int vertex) {
+    return result.out(vertex);
+  }
+
+  /**
+   * Проверить, может ли значение переменной быть прочитано после обращения к ней.
+   * <p>
+   * Для присваивания {@code false} означает, что записанное значение не используется.
+   *
+   * @param vertex номер вершины графа
+   * @param access порядковый номер обращения в {@link VariableAccesses#accesses(int)}
+   * @return {@code true}, если переменная жива сразу после обращения
+   */
+  public boolean isLiveAfter(int vertex, int access) {
+    var live = result.out(vertex);
+    var vertexAccesses = accesses.accesses(vertex);
+    for (var i = vertexAccesses.size() - 1; i > access; i--) {
+      var next = vertexAccesses.get(i);
+      if (next.write()) {
+        live.clear(next.variable());
+      } else {
+        live.set(next.variable());
+      }
+    }
+    return live.get(vertexAccesses.get(access).variable());
+  }
+}
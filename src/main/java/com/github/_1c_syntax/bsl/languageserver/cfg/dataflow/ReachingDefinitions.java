@@ -0,0 +1,184 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.cfg.dataflow;
+
+import com.github._1c_syntax.bsl.languageserver.cfg.CompactControlFlowGraph;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Достигающие определения: какие присваивания переменных могут быть видны в каждой точке метода.
+ * <p>
+ * Определения нумеруются по порядку вершин графа и обращений внутри вершины. Значения параметров
+ * и переменных модуля на входе в метод определениями не считаются.
+ */
+public final class ReachingDefinitions {
+
+  private final VariableAccesses accesses;
+  private final List<VariableAccess> definitions = new ArrayList<>();
+  private final int[] firstDefinition;
+  private final List<BitSet> definitionsByVariable;
+  private final BitSet[] gen;
+  private final BitSet[] kill;
+  private final DataflowResult result;
+
+  private ReachingDefinitions(CompactControlFlowGraph graph, VariableAccesses accesses) {
+    this.accesses = accesses;
+
+    var vertexCount = graph.vertexCount();
+    firstDefinition = new int[vertexCount];
+    definitionsByVariable = new ArrayList<>(accesses.variableCount());
+    for (var variable = 0; variable < accesses.variableCount(); variable++) {
+      definitionsByVariable.add(new BitSet());
+    }
+    for (var v = 0; v < vertexCount; v++) {
+      firstDefinition[v] = definitions.size();
+      for (var access : accesses.accesses(v)) {
+        if (access.write()) {
+          definitionsByVariable.get(access.variable()).set(definitions.size());
+          definitions.add(access);
+        }
+      }
+    }
+
+    gen = new BitSet[vertexCount];
+    kill = new BitSet[vertexCount];
+    for (var v = 0; v < vertexCount; v++) {
+      var vertexGen = new BitSet();
+      var vertexKill = new BitSet();
+      var definition = firstDefinition[v];
+      for (var access : accesses.accesses(v)) {
+        if (access.write()) {
+          var sameVariable = definitionsByVariable.get(access.variable());
+          vertexGen.andNot(sameVariable);
+          vertexGen.set(definition++);
+          vertexKill.or(sameVariable);
+        }
+      }
+      gen[v] = vertexGen;
+      kill[v] = vertexKill;
+    }
+
+    result = DataflowEngine.solve(graph, new GenKillProblem() {
+      @Override
+      public Direction direction() {
+        return Direction.FORWARD;
+      }
+
+      @Override
+      public BitSet gen(int vertex) {
+        return gen[vertex];
+      }
+
+      @Override
+      public BitSet kill(int vertex) {
+        return kill[vertex];
+      }
+    });
+  }
+
+  /**
+   * Вычислить достигающие определения.
+   *
+   * @param graph граф потока управления
+   * @return результат анализа
+   */
+  public static ReachingDefinitions compute(CompactControlFlowGraph graph) {
+    return compute(graph, VariableAccesses.collect(graph));
+  }
+
+  /**
+   * Вычислить достигающие определения по ранее собранным обращениям к переменным.
+   *
+   * @param graph    граф потока управления
+   * @param accesses обращения к переменным в вершинах графа
+   * @return результат анализа
+   */
+  public static ReachingDefinitions compute(CompactControlFlowGraph graph, VariableAccesses accesses) {
+    return new ReachingDefinitions(graph, accesses);
+  }
+
+  /**
+   * @return обращения к переменным, по которым выполнен анализ
+   */
+  public VariableAccesses getAccesses() {
+    return accesses;
+  }
+
+  /**
+   * @return количество определений
+   */
+  public int definitionCount() {
+    return definitions.size();
+  }
+
+  /**
+   * @param definition номер определения
+   * @return присваивание, соответствующее определению
+   */
+  public VariableAccess definition(int definition) {
+    return definitions.get(definition);
+  }
+
+  /**
+   * @param vertex номер вершины графа
+   * @return номера определений, достигающих начала вершины
+   */
+  public BitSet in(int vertex) {
+    return result.in(vertex);
+  }
+
+  /**
+   * @param vertex номер вершины графа
+   * @return номера определений, достигающих конца вершины
+   */
+  public BitSet out(int vertex) {
+    return result.out(vertex);
+  }
+
+  /**
+   * Определения переменной, видимые в точке обращения к ней.
+   *
+   * @param vertex номер вершины графа
+   * @param access порядковый номер обращения в {@link VariableAccesses#accesses(int)}
+   * @return присваивания переменной, значение которых может быть прочитано в этой точке
+   */
+  public List<VariableAccess> reachingDefinitions(int vertex, int access) {
+    var reaching = result.in(vertex);
+    var vertexAccesses = accesses.accesses(vertex);
+    var definition = firstDefinition[vertex];
+    for (var i = 0; i < access; i++) {
+      var previous = vertexAccesses.get(i);
+      if (previous.write()) {
+        reaching.andNot(definitionsByVariable.get(previous.variable()));
+        reaching.set(definition++);
+      }
+    }
+    reaching.and(definitionsByVariable.get(vertexAccesses.get(access).variable()));
+
+    var reachingDefinitions = new ArrayList<VariableAccess>(reaching.cardinality());
+    reaching.stream().forEach(index -> reachingDefinitions.add(definitions.get(index)));
+    return reachingDefinitions;
+  }
+}
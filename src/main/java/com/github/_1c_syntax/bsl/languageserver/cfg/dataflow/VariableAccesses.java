@@ -0,0 +1,194 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.cfg.dataflow;
+
+import com.github._1c_syntax.bsl.languageserver.cfg.BasicBlockVertex;
+import com.github._1c_syntax.bsl.languageserver.cfg.CfgVertex;
+import com.github._1c_syntax.bsl.languageserver.cfg.CompactControlFlowGraph;
+import com.github._1c_syntax.bsl.languageserver.cfg.ConditionalVertex;
+import com.github._1c_syntax.bsl.languageserver.cfg.ForLoopVertex;
+import com.github._1c_syntax.bsl.languageserver.cfg.ForeachLoopVertex;
+import com.github._1c_syntax.bsl.languageserver.cfg.WhileLoopVertex;
+import com.github._1c_syntax.bsl.languageserver.utils.Trees;
+import com.github._1c_syntax.bsl.parser.BSLLexer;
+import com.github._1c_syntax.bsl.parser.BSLParser;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Обращения к переменным в вершинах графа потока управления.
+ * <p>
+ * Для каждой вершины в порядке выполнения собираются чтения и присваивания переменных:
+ * <ul>
+ *   <li>присваивание {@code Перем = ...} - чтения правой части, затем запись {@code Перем};</li>
+ *   <li>присваивание {@code Перем.Поле = ...} и {@code Перем[...] = ...} - только чтения,
+ *   в том числе чтение {@code Перем};</li>
+ *   <li>заголовки циклов {@code Для} и {@code Для Каждого} - чтения выражений, затем запись переменной цикла;</li>
+ *   <li>условия и прочие операторы - только чтения.</li>
+ * </ul>
+ * Переменные различаются по имени без учета регистра и нумеруются в порядке первого появления.
+ */
+public final class VariableAccesses {
+
+  /**
+   * Признак отсутствия переменной.
+   */
+  public static final int NOT_FOUND = -1;
+
+  private final List<String> variables = new ArrayList<>();
+  private final Map<String, Integer> variableIndexes = new HashMap<>();
+  private final List<List<VariableAccess>> accesses;
+
+  private VariableAccesses(int vertexCount) {
+    accesses = new ArrayList<>(vertexCount);
+  }
+
+  /**
+   * Собрать обращения к переменным во всех вершинах графа.
+   *
+   * @param graph граф потока управления
+   * @return обращения к переменным
+   */
+  public static VariableAccesses collect(CompactControlFlowGraph graph) {
+    var result = new VariableAccesses(graph.vertexCount());
+    for (var v = 0; v < graph.vertexCount(); v++) {
+      var vertexAccesses = new ArrayList<VariableAccess>();
+      result.collect(graph.vertex(v), vertexAccesses);
+      result.accesses.add(vertexAccesses.isEmpty()
+        ? Collections.emptyList()
+        : Collections.unmodifiableList(vertexAccesses));
+    }
+    return result;
+  }
+
+  /**
+   * @return количество различных переменных
+   */
+  public int variableCount() {
+    return variables.size();
+  }
+
+  /**
+   * @param variable номер переменной
+   * @return имя переменной в нижнем регистре
+   */
+  public String variableName(int variable) {
+    return variables.get(variable);
+  }
+
+  /**
+   * @param name имя переменной в любом регистре
+   * @return номер переменной или {@link #NOT_FOUND}
+   */
+  public int variableIndex(String name) {
+    return variableIndexes.getOrDefault(name.toLowerCase(Locale.ENGLISH), NOT_FOUND);
+  }
+
+  /**
+   * @param vertex номер вершины графа
+   * @return обращения к переменным в порядке выполнения
+   */
+  public List<VariableAccess> accesses(int vertex) {
+    return accesses.get(vertex);
+  }
+
+  private void collect(CfgVertex vertex, List<VariableAccess> result) {
+    switch (vertex) {
+      case BasicBlockVertex block -> block.statements().forEach(statement -> collectStatement(statement, result));
+      case ConditionalVertex conditional -> collectReads(conditional.getExpression(), result);
+      case WhileLoopVertex whileLoop -> collectReads(whileLoop.getExpression(), result);
+      case ForLoopVertex forLoop -> {
+        var header = forLoop.getLoopHeader();
+        header.expression().forEach(expression -> collectReads(expression, result));
+        addWrite(header.IDENTIFIER(), result);
+      }
+      case ForeachLoopVertex foreachLoop -> {
+        var header = foreachLoop.getLoopHeader();
+        collectReads(header.expression(), result);
+        addWrite(header.IDENTIFIER(), result);
+      }
+      default -> {
+        // вершины без выражений
+      }
+    }
+  }
+
+  private void collectStatement(ParseTree statement, List<VariableAccess> result) {
+    if (statement instanceof BSLParser.AssignmentContext assignment) {
+      collectReads(assignment.expression(), result);
+      var lValue = assignment.lValue();
+      if (lValue != null) {
+        collectReads(lValue, result);
+        if (lValue.acceptor() == null) {
+          addWrite(lValue.IDENTIFIER(), result);
+        }
+      }
+      return;
+    }
+    collectReads(statement, result);
+  }
+
+  private void collectReads(@Nullable ParseTree tree, List<VariableAccess> result) {
+    if (tree == null) {
+      return;
+    }
+    for (var node : Trees.findAllTokenNodes(tree, BSLLexer.IDENTIFIER)) {
+      var identifier = (TerminalNode) node;
+      if (isVariableRead(identifier)) {
+        result.add(new VariableAccess(variableIndexOrAdd(identifier), false, identifier));
+      }
+    }
+  }
+
+  private void addWrite(@Nullable TerminalNode identifier, List<VariableAccess> result) {
+    if (identifier == null) {
+      return;
+    }
+    result.add(new VariableAccess(variableIndexOrAdd(identifier), true, identifier));
+  }
+
+  private int variableIndexOrAdd(TerminalNode identifier) {
+    var name = identifier.getText().toLowerCase(Locale.ENGLISH);
+    return variableIndexes.computeIfAbsent(name, (String key) -> {
+      variables.add(key);
+      return variables.size() - 1;
+    });
+  }
+
+  private static boolean isVariableRead(TerminalNode identifier) {
+    // имена методов и свойств имеют других родителей
+    var parent = identifier.getParent();
+    if (parent instanceof BSLParser.LValueContext lValue) {
+      return lValue.acceptor() != null;
+    }
+    return parent instanceof BSLParser.ComplexIdentifierContext
+      || parent instanceof BSLParser.CallStatementContext;
+  }
+}
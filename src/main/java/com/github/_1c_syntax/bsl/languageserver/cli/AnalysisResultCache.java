@@ -0,0 +1,385 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.cli;
+
+import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.context.MdoRefBuilder;
+import com.github._1c_syntax.bsl.languageserver.context.ServerContext;
+import com.github._1c_syntax.bsl.languageserver.references.ReferenceIndex;
+import com.github._1c_syntax.bsl.languageserver.references.model.SymbolOccurrence;
+import com.github._1c_syntax.bsl.languageserver.reporters.data.FileInfo;
+import com.github._1c_syntax.bsl.languageserver.reporters.databind.AnalysisInfoJsonMapper;
+import com.github._1c_syntax.bsl.parser.BSLParser;
+import com.github._1c_syntax.bsl.types.ModuleType;
+import com.github._1c_syntax.utils.Absolute;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Дисковый кэш результатов анализа файлов для инкрементального режима команды {@code analyze}.
+ * <p>
+ * Запись кэша адресуется по содержимому: ключ - хэш окружения анализа (версия сервера, настройки,
+ * дескриптор конфигурации), относительного пути файла и хэша его содержимого. В записи, помимо
+ * диагностик и метрик, хранятся хэши содержимого файлов, от которых зависят межфайловые диагностики
+ * файла: модулей, к символам которых он обращается, и модулей, обращающихся к его символам, а также
+ * дескрипторов объектов метаданных, которым принадлежат эти модули. Запись используется, только если
+ * все эти файлы не изменились, иначе файл анализируется заново.
+ * <p>
+ * Обращение к модулю, которого еще нет в проекте (например, к общему модулю без файла {@code Module.bsl}),
+ * в индекс ссылок не попадает. Поэтому для каждого объекта метаданных, к которому обращаются вызовы и
+ * выражения файла, в записи дополнительно хранится отпечаток набора его модулей - их типов и хэшей
+ * содержимого. Появление, удаление или правка такого модуля делает запись неактуальной.
+ * <p>
+ * После прогона из каталога удаляются записи, которые в нем не использовались, поэтому размер кэша
+ * соответствует последнему анализу.
+ */
+@Slf4j
+public class AnalysisResultCache {
+
+  private static final int FORMAT_VERSION = 3;
+  private static final String ENTRY_EXTENSION = ".json";
+
+  /**
+   * Префикс ключа зависимости от набора модулей объекта метаданных (в отличие от ключей-путей файлов).
+   */
+  private static final String MODULES_DEPENDENCY_PREFIX = "mdo:";
+
+  /**
+   * Дескрипторы конфигурации в форматах конфигуратора и EDT. Состав объектов метаданных влияет
+   * на разрешение ссылок и на диагностики, использующие метаданные.
+   */
+  private static final Set<String> CONFIGURATION_DESCRIPTORS = Set.of(
+    "Configuration.xml",
+    "Configuration/Configuration.mdo"
+  );
+
+  private final Path cacheDir;
+  private final Path workspaceDir;
+  private final ServerContext serverContext;
+  private final ReferenceIndex referenceIndex;
+  private final String environment;
+  private final JsonMapper mapper = new AnalysisInfoJsonMapper();
+
+  private final Map<URI, String> contentHashes = new ConcurrentHashMap<>();
+  private final Map<String, String> modulesHashes = new ConcurrentHashMap<>();
+  private final Map<URI, List<URI>> descriptorsByModule = new ConcurrentHashMap<>();
+  private final Set<Path> usedEntries = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger hits = new AtomicInteger();
+  private final AtomicInteger misses = new AtomicInteger();
+
+  /**
+   * @param cacheDir          каталог кэша
+   * @param workspaceDir      каталог проекта, относительно которого указываются пути файлов
+   * @param serverContext     контекст сервера с заполненным индексом ссылок
+   * @param referenceIndex    индекс ссылок
+   * @param serverVersion     версия сервера
+   * @param configurationFile файл настроек сервера (может отсутствовать)
+   */
+  public AnalysisResultCache(
+    Path cacheDir,
+    Path workspaceDir,
+    ServerContext serverContext,
+    ReferenceIndex referenceIndex,
+    String serverVersion,
+    Path configurationFile
+  ) {
+    this.cacheDir = cacheDir;
+    this.workspaceDir = workspaceDir;
+    this.serverContext = serverContext;
+    this.referenceIndex = referenceIndex;
+    this.environment = computeEnvironment(serverVersion, configurationFile);
+  }
+
+  /**
+   * Получить результат анализа файла из кэша.
+   *
+   * @param uri URI файла
+   * @return результат анализа, если файл и все файлы, от которых зависят его диагностики, не изменились
+   */
+  public Optional<FileInfo> get(URI uri) {
+    var entryPath = entryPath(uri);
+    usedEntries.add(entryPath);
+
+    Entry entry;
+    try {
+      entry = mapper.readValue(entryPath.toFile(), Entry.class);
+    } catch (JacksonException e) {
+      if (Files.exists(entryPath)) {
+        LOGGER.debug("Can't read analysis cache entry {}", entryPath, e);
+      }
+      misses.incrementAndGet();
+      return Optional.empty();
+    }
+
+    var upToDate = entry.dependencies().entrySet().stream()
+      .allMatch(dependency -> dependency.getValue().equals(currentHash(dependency.getKey())));
+    if (!upToDate) {
+      misses.incrementAndGet();
+      return Optional.empty();
+    }
+
+    hits.incrementAndGet();
+    return Optional.of(entry.fileInfo());
+  }
+
+  /**
+   * Сохранить результат анализа файла в кэш.
+   * <p>
+   * Вызывается, пока документ разобран: зависимости файла определяются по индексу ссылок.
+   *
+   * @param documentContext документ
+   * @param fileInfo        результат анализа документа
+   */
+  public void put(DocumentContext documentContext, FileInfo fileInfo) {
+    var uri = documentContext.getUri();
+    var dependencies = new TreeMap<String, String>();
+    dependencies(documentContext).forEach(dependency ->
+      dependencies.put(toRelativePath(dependency), contentHash(dependency)));
+    calledMdoRefs(documentContext).forEach(mdoRef ->
+      dependencies.put(MODULES_DEPENDENCY_PREFIX + mdoRef, modulesHash(mdoRef)));
+
+    var entryPath = entryPath(uri);
+    usedEntries.add(entryPath);
+    try {
+      Files.createDirectories(entryPath.getParent());
+      var tempFile = Files.createTempFile(entryPath.getParent(), "entry", ".tmp");
+      mapper.writeValue(tempFile.toFile(), new Entry(dependencies, fileInfo));
+      Files.move(tempFile, entryPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException | JacksonException e) {
+      LOGGER.warn("Can't write analysis cache entry {}", entryPath, e);
+    }
+  }
+
+  /**
+   * Удалить записи, не использованные в текущем прогоне, и вывести статистику кэша.
+   */
+  public void prune() {
+    LOGGER.info("Analysis cache: {} file(s) reused, {} file(s) analyzed", hits.get(), misses.get());
+
+    if (!Files.isDirectory(cacheDir)) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(cacheDir)) {
+      paths
+        .filter(Files::isRegularFile)
+        .filter(path -> path.getFileName().toString().endsWith(ENTRY_EXTENSION))
+        .filter(path -> !usedEntries.contains(path))
+        .forEach(AnalysisResultCache::deleteQuietly);
+    } catch (IOException e) {
+      LOGGER.warn("Can't prune analysis cache {}", cacheDir, e);
+    }
+  }
+
+  /**
+   * Файлы, от которых зависят межфайловые диагностики документа.
+   */
+  private Set<URI> dependencies(DocumentContext documentContext) {
+    var uri = documentContext.getUri();
+    var dependencies = new HashSet<URI>();
+    dependencies.add(uri);
+
+    referenceIndex.getOccurrencesFrom(uri).stream()
+      .map(SymbolOccurrence::symbol)
+      .distinct()
+      .map(symbol -> serverContext.getDocument(symbol.mdoRef(), symbol.moduleType()))
+      .flatMap(Optional::stream)
+      .map(DocumentContext::getUri)
+      .forEach(dependencies::add);
+
+    referenceIndex.getDependentDocuments(documentContext).stream()
+      .filter(serverContext::isReferenceableModule)
+      .forEach(dependencies::add);
+
+    List.copyOf(dependencies).forEach(module -> dependencies.addAll(descriptors(module)));
+    return dependencies;
+  }
+
+  /**
+   * Объекты метаданных, к методам и свойствам которых обращается документ, в том числе не разрешенные
+   * индексом ссылок из-за отсутствия модуля.
+   */
+  private static Set<String> calledMdoRefs(DocumentContext documentContext) {
+    var parseTreeIndex = documentContext.getParseTreeIndex();
+    var mdoRefs = new TreeSet<String>();
+    parseTreeIndex.<BSLParser.CallStatementContext>findAllRuleNodes(BSLParser.RULE_callStatement).stream()
+      .filter(callStatement -> callStatement.globalMethodCall() == null)
+      .map(callStatement -> MdoRefBuilder.getMdoRef(documentContext, callStatement))
+      .forEach(mdoRefs::add);
+    parseTreeIndex.<BSLParser.ComplexIdentifierContext>findAllRuleNodes(BSLParser.RULE_complexIdentifier).stream()
+      .filter(complexIdentifier -> !complexIdentifier.modifier().isEmpty())
+      .map(complexIdentifier -> MdoRefBuilder.getMdoRef(documentContext, complexIdentifier))
+      .forEach(mdoRefs::add);
+    mdoRefs.remove("");
+    mdoRefs.remove(documentContext.getMdoRef());
+    return mdoRefs;
+  }
+
+  /**
+   * Отпечаток набора модулей объекта метаданных: типы модулей и хэши их содержимого.
+   */
+  private String modulesHash(String mdoRef) {
+    return modulesHashes.computeIfAbsent(mdoRef, (String key) -> {
+      var digest = DigestUtils.getSha256Digest();
+      serverContext.getDocuments(key).entrySet().stream()
+        .sorted(Map.Entry.comparingByKey(Comparator.comparing(ModuleType::name)))
+        .forEach(module -> DigestUtils.updateDigest(
+          digest,
+          module.getKey().name() + ":" + contentHash(module.getValue().getUri()) + "\n"
+        ));
+      return Hex.encodeHexString(digest.digest());
+    });
+  }
+
+  private String currentHash(String dependency) {
+    if (dependency.startsWith(MODULES_DEPENDENCY_PREFIX)) {
+      return modulesHash(dependency.substring(MODULES_DEPENDENCY_PREFIX.length()));
+    }
+    return contentHash(fromRelativePath(dependency));
+  }
+
+  /**
+   * Дескрипторы объектов метаданных, которым принадлежит модуль: для каждого каталога между модулем
+   * и корнем конфигурации - {@code Каталог.xml} рядом с ним (формат конфигуратора) и
+   * {@code Каталог/Каталог.mdo} (EDT). Свойства объекта (флаги общего модуля, имя метода регламентного
+   * задания) читаются диагностиками, но в тексте модуля не видны.
+   */
+  private List<URI> descriptors(URI module) {
+    var configurationRoot = serverContext.getConfigurationRoot();
+    if (configurationRoot == null) {
+      return List.of();
+    }
+    return descriptorsByModule.computeIfAbsent(module, (URI key) -> {
+      var root = Absolute.path(configurationRoot.toFile());
+      var descriptors = new ArrayList<URI>();
+      var directory = Absolute.path(key).getParent();
+      while (directory != null && directory.startsWith(root) && !directory.equals(root)) {
+        var name = directory.getFileName().toString();
+        Stream.of(directory.resolveSibling(name + ".xml"), directory.resolve(name + ".mdo"))
+          .filter(Files::isRegularFile)
+          .map(path -> Absolute.uri(path.toUri()))
+          .forEach(descriptors::add);
+        directory = directory.getParent();
+      }
+      return List.copyOf(descriptors);
+    });
+  }
+
+  private Path entryPath(URI uri) {
+    var digest = DigestUtils.getSha256Digest();
+    DigestUtils.updateDigest(digest, environment);
+    DigestUtils.updateDigest(digest, toRelativePath(uri));
+    DigestUtils.updateDigest(digest, "\n");
+    DigestUtils.updateDigest(digest, contentHash(uri));
+    var key = Hex.encodeHexString(digest.digest());
+    return cacheDir.resolve(key.substring(0, 2)).resolve(key + ENTRY_EXTENSION);
+  }
+
+  // Пути в ключах и записях относительны каталога проекта: кэш переносим между рабочими копиями CI.
+  private String toRelativePath(URI uri) {
+    return workspaceDir.relativize(Absolute.path(uri)).toString().replace('\\', '/');
+  }
+
+  private URI fromRelativePath(String relativePath) {
+    return Absolute.uri(workspaceDir.resolve(relativePath).normalize().toUri());
+  }
+
+  private String contentHash(URI uri) {
+    return contentHashes.computeIfAbsent(uri, (URI key) -> {
+      try {
+        return DigestUtils.sha256Hex(Files.readAllBytes(Absolute.path(key)));
+      } catch (NoSuchFileException e) {
+        return "";
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+  private String computeEnvironment(String serverVersion, Path configurationFile) {
+    var digest = DigestUtils.getSha256Digest();
+    DigestUtils.updateDigest(digest, FORMAT_VERSION + "\n" + serverVersion + "\n");
+    DigestUtils.updateDigest(digest, fileHash(configurationFile));
+
+    var configurationRoot = serverContext.getConfigurationRoot();
+    if (configurationRoot != null) {
+      CONFIGURATION_DESCRIPTORS.stream()
+        .sorted()
+        .forEach(descriptor -> DigestUtils.updateDigest(
+          digest,
+          descriptor + ":" + fileHash(configurationRoot.resolve(descriptor)) + "\n"
+        ));
+    }
+    return Hex.encodeHexString(digest.digest());
+  }
+
+  private static String fileHash(Path path) {
+    if (!Files.isRegularFile(path)) {
+      return "";
+    }
+    try {
+      return DigestUtils.sha256Hex(Files.readAllBytes(path));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      LOGGER.debug("Can't delete stale analysis cache entry {}", path, e);
+    }
+  }
+
+  /**
+   * Запись кэша.
+   *
+   * @param dependencies хэши содержимого файлов, от которых зависит результат, по путям относительно проекта,
+   *                     и отпечатки наборов модулей объектов метаданных по ключам {@code mdo:<ссылка>}
+   * @param fileInfo     результат анализа файла
+   */
+  record Entry(Map<String, String> dependencies, FileInfo fileInfo) {
+  }
+}
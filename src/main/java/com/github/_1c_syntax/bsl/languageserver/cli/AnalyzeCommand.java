@@ -23,11 +23,13 @@ package com.github._1c_syntax.bsl.languageserver.cli;
 
 import com.github._1c_syntax.bsl.languageserver.configuration.GlobalLanguageServerConfiguration;
 import com.github._1c_syntax.bsl.languageserver.configuration.LanguageServerConfiguration;
+import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.context.GitBlameService;
 import com.github._1c_syntax.bsl.languageserver.context.ServerContext;
 import com.github._1c_syntax.bsl.languageserver.context.ServerContextProvider;
 import com.github._1c_syntax.bsl.languageserver.infrastructure.WorkspaceContextHolder;
+import com.github._1c_syntax.bsl.languageserver.references.ReferenceIndex;
 import com.github._1c_syntax.bsl.languageserver.reporters.ReportersAggregator;
-import com.github._1c_syntax.bsl.languageserver.reporters.data.AnalysisInfo;
 import com.github._1c_syntax.bsl.languageserver.reporters.data.FileInfo;
 import com.github._1c_syntax.bsl.languageserver.utils.BSLFiles;
 import com.github._1c_syntax.utils.Absolute;
@@ -36,15 +38,19 @@ import lombok.extern.slf4j.Slf4j;
 import me.tongfei.progressbar.ProgressBar;
 import me.tongfei.progressbar.ProgressBarBuilder;
 import me.tongfei.progressbar.ProgressBarStyle;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.lsp4j.ServerInfo;
+import org.jspecify.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import picocli.CommandLine.Command;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -72,6 +78,11 @@ import static picocli.CommandLine.Option;
  * выполнения анализа. Может быть указано более одного ключа. Если параметр опущен,
  * то вывод результата будет призведен в консоль.
  * -q, (--silent)              -       Флаг для отключения вывода прогресс-бара и дополнительных сообщений в консоль
+ * --changed-since &lt;arg&gt;      -     Ревизия git (ветка, тег, коммит). Анализируются только файлы, измененные
+ * относительно нее, и модули, обращающиеся к измененным модулям.
+ * --cache &lt;arg&gt;              -     Путь к каталогу кэша результатов анализа (инкрементальный режим).
+ * Файлы, не изменившиеся вместе с файлами, от которых зависят их диагностики, не анализируются повторно,
+ * а берутся из кэша. Если параметр опущен, анализируются все файлы.
  * Выводимая информация:
  * Выполняет анализ каталога исходных файлов и генерацию файлов отчета. Для каждого указанного ключа "Репортера"
  * создается отдельный файл (каталог файлов). Реализованные "репортеры" находятся в пакете "reporter".
@@ -139,14 +150,33 @@ public class AnalyzeCommand implements Callable<Integer> {
     description = "Silent mode")
   private boolean silentMode;
 
+  @Option(
+    names = {"--changed-since"},
+    description = "Analyze only files changed since the git revision and modules referring to them",
+    paramLabel = "<ref>",
+    defaultValue = "")
+  private String changedSinceOption = "";
+
+  @Option(
+    names = {"--cache"},
+    description = "Incremental analysis cache directory",
+    paramLabel = "<path>",
+    defaultValue = "")
+  private String cacheDirOption = "";
+
   private final ReportersAggregator aggregator;
   private final GlobalLanguageServerConfiguration globalConfiguration;
   private final ServerContextProvider serverContextProvider;
   private final LanguageServerConfiguration configuration;
+  private final GitBlameService gitBlameService;
+  private final ReferenceIndex referenceIndex;
+  private final ServerInfo serverInfo;
   @Qualifier("cliExecutor")
   private final ExecutorService cliExecutor;
 
   private ServerContext serverContext;
+  @Nullable
+  private AnalysisResultCache analysisResultCache;
 
   public Integer call() {
 
@@ -162,6 +192,16 @@ public class AnalyzeCommand implements Callable<Integer> {
       return 1;
     }
 
+    @Nullable Set<Path> changedPaths = null;
+    if (!changedSinceOption.isEmpty()) {
+      try {
+        changedPaths = ChangedSinceScope.changedPaths(srcDir, changedSinceOption);
+      } catch (IOException | GitAPIException e) {
+        LOGGER.error("Can't find files changed since `{}`", changedSinceOption, e);
+        return 1;
+      }
+    }
+
     var configurationFile = new File(configurationOption);
 
     // Update global configuration
@@ -178,37 +218,63 @@ public class AnalyzeCommand implements Callable<Integer> {
       var configurationPath = LanguageServerConfiguration.getCustomConfigurationRoot(configuration, srcDir);
       serverContext.setConfigurationRoot(configurationPath);
 
-      var files = new ArrayList<>(BSLFiles.listBslFiles(srcDir, configuration.getExcludePaths()));
-
-      serverContext.populateContext(files);
-
-      List<FileInfo> fileInfos;
-      if (silentMode) {
-        fileInfos = cliExecutor.submit(() ->
-          files.parallelStream()
-            .map((File file) -> getFileInfoFromFile(workspaceDir, file))
-            .toList()
-        ).get();
-      } else {
-        try (ProgressBar pb = new ProgressBarBuilder()
-          .setTaskName("Analyzing files...")
-          .setInitialMax(files.size())
-          .setStyle(ProgressBarStyle.ASCII)
-          .build()) {
-          fileInfos = cliExecutor.submit(() ->
+      var allFiles = new ArrayList<>(BSLFiles.listBslFiles(srcDir, configuration.getExcludePaths()));
+
+      // Модули форм и команд не нужны для анализа других модулей, поэтому в контекст заранее
+      // загружаются только остальные: формы и команды разбираются один раз при анализе.
+      var referenceableFiles = allFiles.stream()
+        .filter((File file) -> serverContext.isReferenceableModule(Absolute.uri(file)))
+        .toList();
+      serverContext.populateContext(referenceableFiles);
+
+      // В режиме --changed-since анализируются только измененные файлы и обращающиеся к ним модули.
+      List<File> files = changedPaths == null
+        ? allFiles
+        : new ChangedSinceScope(serverContext, referenceIndex).select(allFiles, changedPaths);
+
+      if (!configuration.getDiagnosticsOptions().getIgnoredAuthors().isEmpty()) {
+        gitBlameService.prefetch(files.stream().map((File file) -> Absolute.uri(file)).toList());
+      }
+
+      analysisResultCache = cacheDirOption.isEmpty() ? null : new AnalysisResultCache(
+        Absolute.path(cacheDirOption),
+        workspaceDir,
+        serverContext,
+        referenceIndex,
+        serverInfo.getVersion(),
+        configurationFile.toPath()
+      );
+
+      // Результаты передаются репортерам по мере завершения анализа файлов,
+      // без накопления всего набора FileInfo в памяти.
+      var outputDir = Absolute.path(outputDirOption);
+      try (var report = aggregator.startReport(srcDir.toString(), outputDir)) {
+        if (silentMode) {
+          cliExecutor.submit(() ->
             files.parallelStream()
-              .map((File file) -> {
-                pb.step();
-                return getFileInfoFromFile(workspaceDir, file);
-              })
-              .toList()
+              .forEach((File file) -> report.accept(getFileInfoFromFile(workspaceDir, file)))
           ).get();
+        } else {
+          try (ProgressBar pb = new ProgressBarBuilder()
+            .setTaskName("Analyzing files...")
+            .setInitialMax(files.size())
+            .setStyle(ProgressBarStyle.ASCII)
+            .build()) {
+            cliExecutor.submit(() ->
+              files.parallelStream()
+                .forEach((File file) -> {
+                  pb.step();
+                  report.accept(getFileInfoFromFile(workspaceDir, file));
+                })
+            ).get();
+          }
         }
-      }
 
-      var analysisInfo = new AnalysisInfo(LocalDateTime.now(), fileInfos, srcDir.toString());
-      var outputDir = Absolute.path(outputDirOption);
-      aggregator.report(analysisInfo, outputDir);
+        // Прогон по части файлов не должен вытеснять из кэша результаты остальных.
+        if (analysisResultCache != null && changedPaths == null) {
+          analysisResultCache.prune();
+        }
+      }
       return 0;
     } catch (ExecutionException e) {
       throw new IllegalStateException("Error analyzing files", e);
@@ -223,19 +289,27 @@ public class AnalyzeCommand implements Callable<Integer> {
   }
 
   private FileInfo getFileInfoFromFile(Path srcDir, File file) {
-    var documentContext = serverContext.addDocument(Absolute.uri(file));
-    serverContext.rebuildDocument(documentContext);
+    var uri = Absolute.uri(file);
+    var cache = analysisResultCache;
+    if (cache != null) {
+      var cachedFileInfo = cache.get(uri);
+      if (cachedFileInfo.isPresent()) {
+        return cachedFileInfo.get();
+      }
+    }
 
     var filePath = srcDir.relativize(Absolute.path(file));
-    var diagnostics = documentContext.getDiagnostics();
-    var metrics = documentContext.getMetrics();
-    var mdoRef = documentContext.getMdoRef();
 
-    var fileInfo = new FileInfo(filePath, mdoRef, diagnostics, metrics);
-
-    // clean up AST after diagnostic computing to free up RAM.
-    serverContext.tryClearDocument(documentContext);
-
-    return fileInfo;
+    // AST освобождается сразу после расчета диагностик и метрик.
+    return serverContext.analyzeDocument(uri, (DocumentContext documentContext) -> {
+      var diagnostics = documentContext.getDiagnostics();
+      var metrics = documentContext.getMetrics();
+      var mdoRef = documentContext.getMdoRef();
+      var fileInfo = new FileInfo(filePath, mdoRef, diagnostics, metrics);
+      if (cache != null) {
+        cache.put(documentContext, fileInfo);
+      }
+      return fileInfo;
+    });
   }
 }
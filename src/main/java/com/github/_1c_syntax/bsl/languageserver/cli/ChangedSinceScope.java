@@ -0,0 +1,202 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.cli;
+
+import com.github._1c_syntax.bsl.languageserver.context.ServerContext;
+import com.github._1c_syntax.bsl.languageserver.references.ReferenceIndex;
+import com.github._1c_syntax.bsl.mdo.MD;
+import com.github._1c_syntax.utils.Absolute;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+import org.jspecify.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Область анализа режима {@code analyze --changed-since}.
+ * <p>
+ * В область входят файлы, измененные относительно указанной ревизии git (включая незафиксированные
+ * и неотслеживаемые), и модули, обращающиеся к символам измененных модулей: их диагностики могут
+ * поменяться вслед за изменением вызываемого кода. Обращающиеся модули определяются по индексу ссылок,
+ * заполненному при наполнении контекста. Модули форм и команд в контекст заранее не загружаются,
+ * поэтому для них используется текстовый отбор: модуль попадает в область, если в его тексте
+ * встречается обращение вида {@code ИмяОбъекта.} к объекту измененного модуля.
+ * <p>
+ * Удаленные модули в индексе ссылок уже не представлены, поэтому обращающиеся к ним модули (любого вида)
+ * отбираются тем же текстовым способом по имени объекта, вычисленному из бывшего пути модуля.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class ChangedSinceScope {
+
+  private final ServerContext serverContext;
+  private final ReferenceIndex referenceIndex;
+
+  /**
+   * Получить файлы, измененные в рабочей копии относительно ревизии.
+   *
+   * @param srcDir   каталог исходников внутри рабочей копии git
+   * @param revision ревизия git (ветка, тег, хэш коммита или выражение вида {@code HEAD~3})
+   * @return абсолютные пути измененных, добавленных, удаленных и неотслеживаемых файлов
+   * @throws IOException     при ошибке чтения репозитория или если ревизия не найдена
+   * @throws GitAPIException при ошибке вычисления разницы
+   */
+  static Set<Path> changedPaths(Path srcDir, String revision) throws IOException, GitAPIException {
+    try (
+      var repository = new FileRepositoryBuilder().findGitDir(srcDir.toFile()).setMustExist(true).build();
+      var git = new Git(repository);
+      var reader = repository.newObjectReader()
+    ) {
+      var treeId = repository.resolve(revision + "^{tree}");
+      if (treeId == null) {
+        throw new IOException("Unknown git revision: " + revision);
+      }
+      var oldTree = new CanonicalTreeParser();
+      oldTree.reset(reader, treeId);
+
+      var workTree = repository.getWorkTree().toPath();
+      Set<Path> changedPaths = new HashSet<>();
+      git.diff()
+        .setOldTree(oldTree)
+        .setShowNameAndStatusOnly(true)
+        .call()
+        .stream()
+        .map((DiffEntry diffEntry) -> diffEntry.getChangeType() == DiffEntry.ChangeType.DELETE
+          ? diffEntry.getOldPath()
+          : diffEntry.getNewPath())
+        .forEach(path -> changedPaths.add(Absolute.path(workTree.resolve(path).toString())));
+      git.status().call().getUntracked()
+        .forEach(path -> changedPaths.add(Absolute.path(workTree.resolve(path).toString())));
+
+      return changedPaths;
+    }
+  }
+
+  /**
+   * Отобрать файлы для анализа: измененные и обращающиеся к ним.
+   *
+   * @param files        все файлы исходников
+   * @param changedPaths абсолютные пути измененных (в том числе удаленных) файлов
+   * @return файлы области анализа в исходном порядке
+   */
+  List<File> select(Collection<File> files, Set<Path> changedPaths) {
+    Set<URI> selected = new HashSet<>();
+    Set<String> changedObjectNames = new HashSet<>();
+    Set<String> deletedObjectNames = changedPaths.stream()
+      .filter(path -> path.toString().endsWith(".bsl") && !Files.exists(path))
+      .map(ChangedSinceScope::formerObjectName)
+      .flatMap(Optional::stream)
+      .map(name -> name.toLowerCase(Locale.ROOT) + ".")
+      .collect(Collectors.toSet());
+
+    files.stream()
+      .filter((File file) -> changedPaths.contains(Absolute.path(file)))
+      .map((File file) -> Absolute.uri(file))
+      .forEach((URI uri) -> {
+        selected.add(uri);
+        var documentContext = serverContext.getDocument(uri);
+        if (documentContext == null) {
+          return;
+        }
+        selected.addAll(referenceIndex.getDependentDocuments(documentContext));
+        documentContext.getMdObject()
+          .map(MD::getName)
+          .map(name -> name.toLowerCase(Locale.ROOT) + ".")
+          .ifPresent(changedObjectNames::add);
+      });
+
+    var scope = files.stream()
+      .filter((File file) -> {
+        var uri = Absolute.uri(file);
+        return selected.contains(uri)
+          || mentionsAny(file, deletedObjectNames)
+          || !serverContext.isReferenceableModule(uri) && mentionsAny(file, changedObjectNames);
+      })
+      .toList();
+
+    LOGGER.info("Changed files: {}, files to analyze with dependents: {}", changedPaths.size(), scope.size());
+    return scope;
+  }
+
+  /**
+   * Вычислить имя объекта метаданных по пути его модуля.
+   * <p>
+   * Поддерживаются выгрузки конфигуратора ({@code Тип/Имя/Ext/ObjectModule.bsl},
+   * {@code Тип/Имя/Forms/Форма/Ext/Form/Module.bsl}) и EDT ({@code Тип/Имя/ObjectModule.bsl},
+   * {@code Тип/Имя/Forms/Форма/Module.bsl}). Для модулей форм и команд объекта возвращается имя объекта-владельца.
+   *
+   * @param modulePath путь модуля
+   * @return имя объекта, если путь соответствует одной из структур выгрузки
+   */
+  static Optional<String> formerObjectName(Path modulePath) {
+    var directory = parentOf(modulePath);
+    if (hasName(directory, "Form") && hasName(parentOf(directory), "Ext")) {
+      directory = parentOf(parentOf(directory));
+    } else if (hasName(directory, "Ext")) {
+      directory = parentOf(directory);
+    }
+    if (hasName(parentOf(directory), "Forms") || hasName(parentOf(directory), "Commands")) {
+      directory = parentOf(parentOf(directory));
+    }
+    return Optional.ofNullable(directory)
+      .map(Path::getFileName)
+      .map(Path::toString);
+  }
+
+  private static @Nullable Path parentOf(@Nullable Path path) {
+    return path == null ? null : path.getParent();
+  }
+
+  private static boolean hasName(@Nullable Path path, String name) {
+    return path != null && path.getFileName() != null && name.equals(path.getFileName().toString());
+  }
+
+  private static boolean mentionsAny(File file, Set<String> objectNames) {
+    if (objectNames.isEmpty()) {
+      return false;
+    }
+    try {
+      var content = Files.readString(file.toPath(), StandardCharsets.UTF_8).toLowerCase(Locale.ROOT);
+      return objectNames.stream().anyMatch(content::contains);
+    } catch (IOException e) {
+      LOGGER.debug("Can't read {}", file, e);
+      return true;
+    }
+  }
+}
@@ -23,7 +23,6 @@ package com.github._1c_syntax.bsl.languageserver.color;
 
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
 import com.github._1c_syntax.bsl.languageserver.utils.Ranges;
-import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.languageserver.utils.bsl.Constructors;
 import com.github._1c_syntax.bsl.parser.BSLParser;
 import com.github._1c_syntax.utils.CaseInsensitivePattern;
@@ -51,10 +50,8 @@ public class ConstructorColorInformationSupplier implements ColorInformationSupp
 
   @Override
   public List<ColorInformation> getColorInformation(DocumentContext documentContext) {
-    var newExpressions = Trees.findAllRuleNodes(
-      documentContext.getAst(),
-      BSLParser.RULE_newExpression
-    );
+    var newExpressions = documentContext.getParseTreeIndex()
+      .findAllRuleNodes(BSLParser.RULE_newExpression);
 
     return newExpressions.stream()
       .map(BSLParser.NewExpressionContext.class::cast)
@@ -23,7 +23,6 @@ package com.github._1c_syntax.bsl.languageserver.color;
 
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
 import com.github._1c_syntax.bsl.languageserver.utils.Ranges;
-import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.parser.BSLParser;
 import com.github._1c_syntax.utils.CaseInsensitivePattern;
 import org.eclipse.lsp4j.Color;
@@ -52,10 +51,8 @@ public class WebColorInformationSupplier implements ColorInformationSupplier {
 
   @Override
   public List<ColorInformation> getColorInformation(DocumentContext documentContext) {
-    var complexIdentifiers = Trees.findAllRuleNodes(
-      documentContext.getAst(),
-      BSLParser.RULE_complexIdentifier
-    );
+    var complexIdentifiers = documentContext.getParseTreeIndex()
+      .findAllRuleNodes(BSLParser.RULE_complexIdentifier);
 
     return complexIdentifiers.stream()
       .map(BSLParser.ComplexIdentifierContext.class::cast)
@@ -54,7 +54,17 @@ import java.util.stream.Collectors;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class DiagnosticsOptions {
   private ComputeTrigger computeTrigger = ComputeTrigger.ONSAVE;
+  /**
+   * Задержка (мс) перед расчетом диагностик при {@link ComputeTrigger#ONTYPE}: правки, пришедшие
+   * за это время, схлопываются в один расчет по последней версии.
+   */
+  private int computeDelay = 200;
   private boolean analyzeOnStart;
+  /**
+   * Количество потоков фонового анализа проекта при {@link #analyzeOnStart}.
+   * {@code 0} - половина доступных процессоров, но не меньше одного.
+   */
+  private int analyzeOnStartThreads;
   private SkipSupport skipSupport = SkipSupport.NEVER;
   private Mode mode = Mode.ON;
   private boolean ordinaryAppSupport = true;
@@ -0,0 +1,131 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.context;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Кэш результатов разбора закрытых документов.
+ * <p>
+ * При освобождении документа ({@link ServerContext#tryClearDocument(DocumentContext)},
+ * {@link ServerContext#closeDocument(DocumentContext)}) его текст, токены и AST переносятся сюда,
+ * а при следующей пересборке документа с тем же содержимым возвращаются ему без повторного разбора.
+ * <p>
+ * Объем кэша ограничен бюджетом кучи {@code app.ast-cache.heap-budget-mb} по оценке занимаемой каждым
+ * документом памяти: при превышении бюджета вытесняются давно не использовавшиеся документы.
+ * Значения хранятся по мягким ссылкам, поэтому при нехватке памяти сборщик мусора освобождает их раньше.
+ * Документы сравниваются по ссылке, поэтому одинаковые URI разных рабочих областей не смешиваются.
+ */
+@Component
+public class ClosedDocumentAstCache {
+
+  /**
+   * Строка текста документа и буфер символов лексера.
+   */
+  private static final long BYTES_PER_CHAR = 4;
+  /**
+   * Токен, терминальный узел AST и в среднем один узел правила на токен.
+   */
+  private static final long BYTES_PER_TOKEN = 200;
+  private static final long BYTES_IN_KILOBYTE = 1024;
+
+  /**
+   * Кэш включен: бюджет кучи больше нуля.
+   */
+  @Getter
+  private final boolean enabled;
+  private final Cache<DocumentContext, ParsedContent> cache;
+
+  public ClosedDocumentAstCache(@Value("${app.ast-cache.heap-budget-mb:256}") long heapBudgetMb) {
+    enabled = heapBudgetMb > 0;
+    cache = Caffeine.newBuilder()
+      .weakKeys()
+      .softValues()
+      .maximumWeight(Math.max(heapBudgetMb, 0) * BYTES_IN_KILOBYTE)
+      .weigher((DocumentContext documentContext, ParsedContent parsedContent) -> weightInKilobytes(parsedContent))
+      .build();
+  }
+
+  /**
+   * Сохранить результат разбора освобожденного документа.
+   *
+   * @param documentContext документ
+   * @param parsedContent   результат разбора документа
+   */
+  void put(DocumentContext documentContext, ParsedContent parsedContent) {
+    if (enabled) {
+      cache.put(documentContext, parsedContent);
+    }
+  }
+
+  /**
+   * Извлечь результат разбора документа, если он построен по указанному тексту.
+   * <p>
+   * Запись удаляется из кэша в любом случае: дальше результат разбора принадлежит документу,
+   * а устаревший результат больше не нужен.
+   *
+   * @param documentContext документ
+   * @param content         текущее содержимое документа
+   * @return результат разбора или {@code null}, если его нет в кэше или текст документа изменился
+   */
+  @Nullable
+  ParsedContent take(DocumentContext documentContext, String content) {
+    var parsedContent = cache.asMap().remove(documentContext);
+    if (parsedContent == null || !parsedContent.content().equals(content)) {
+      return null;
+    }
+    return parsedContent;
+  }
+
+  /**
+   * Удалить результат разбора документа из кэша.
+   *
+   * @param documentContext документ
+   */
+  void invalidate(DocumentContext documentContext) {
+    cache.invalidate(documentContext);
+  }
+
+  /**
+   * @return примерное количество документов в кэше
+   */
+  public long estimatedSize() {
+    return cache.estimatedSize();
+  }
+
+  /**
+   * Оценка памяти, занимаемой результатом разбора документа.
+   *
+   * @param parsedContent результат разбора
+   * @return оценка в килобайтах
+   */
+  static int weightInKilobytes(ParsedContent parsedContent) {
+    var bytes = parsedContent.content().length() * BYTES_PER_CHAR
+      + parsedContent.tokens().size() * BYTES_PER_TOKEN;
+    return (int) Math.min(Integer.MAX_VALUE, Math.ceilDiv(bytes, BYTES_IN_KILOBYTE));
+  }
+}
@@ -31,8 +31,11 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 
@@ -43,20 +46,25 @@ import java.util.function.BiFunction;
  * что позволяет консистентно накапливать изменения и применять их одним вызовом обработчика.
  * Дополнительно класс предоставляет барьер {@link #awaitLatest()}, позволяющий клиентским потокам дождаться
  * применения всех поставленных изменений и тем самым читать консистентное состояние документа.
+ * <p>
+ *   Выделенного потока у executor'а нет: очередь разбирается виртуальным потоком, который запускается
+ * при поступлении задач и завершается, как только очередь опустела. Одновременно очередь разбирает
+ * не более одного потока, поэтому изменения документа по-прежнему применяются последовательно,
+ * а простаивающие открытые документы не держат потоков ОС.
  */
 public final class DocumentChangeExecutor {
 
   @FunctionalInterface
   public interface DocumentChangeListener {
-    void onChange(DocumentContext documentContext, String newContent, int version);
+    void onChange(DocumentContext documentContext, DocumentText newContent, int version);
   }
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DocumentChangeExecutor.class);
 
   private final DocumentContext documentContext;
   private final PriorityBlockingQueue<ChangeTask> queue = new PriorityBlockingQueue<>();
-  private final Thread worker;
-  private final BiFunction<String, List<TextDocumentContentChangeEvent>, String> changeApplier;
+  private final String workerName;
+  private final BiFunction<DocumentText, List<TextDocumentContentChangeEvent>, DocumentText> changeApplier;
   private final DocumentChangeListener changeListener;
   /**
    * Наибольшая версия документа, для которой уже был поставлен {@code didChange}.
@@ -71,12 +79,20 @@ public final class DocumentChangeExecutor {
    */
   private final ConcurrentSkipListMap<Integer, CopyOnWriteArrayList<CompletableFuture<Void>>> versionWaiters
     = new ConcurrentSkipListMap<>();
+  /**
+   * Признак того, что очередь прямо сейчас разбирается рабочим потоком.
+   */
+  private final AtomicBoolean draining = new AtomicBoolean();
+  /**
+   * Завершается, когда после остановки executor'а рабочий поток применил все поставленные изменения.
+   */
+  private final CompletableFuture<Void> terminated = new CompletableFuture<>();
   private volatile boolean running = true;
-  private @Nullable String pendingContent;
+  private @Nullable DocumentText pendingContent;
   private int pendingVersion = -1;
 
   /**
-   * Создаёт executor для конкретного документа и запускает рабочий поток.
+   * Создаёт executor для конкретного документа.
    *
    * @param documentContext контекст документа, для которого обрабатываются изменения
    * @param changeApplier функция, применяющая набор изменений к переданному тексту
@@ -85,7 +101,7 @@ public final class DocumentChangeExecutor {
    */
   public DocumentChangeExecutor(
     DocumentContext documentContext,
-    BiFunction<String, List<TextDocumentContentChangeEvent>, String> changeApplier,
+    BiFunction<DocumentText, List<TextDocumentContentChangeEvent>, DocumentText> changeApplier,
     DocumentChangeListener changeListener,
     String threadName
   ) {
@@ -95,10 +111,7 @@ public final class DocumentChangeExecutor {
     int initialVersion = documentContext.getVersion();
     this.latestSubmittedVersion = new AtomicInteger(initialVersion);
     this.latestAppliedVersion = new AtomicInteger(initialVersion);
-    worker = new Thread(this::runWorker);
-    worker.setName(threadName + "executor");
-    worker.setDaemon(true);
-    worker.start();
+    this.workerName = threadName + "executor";
   }
 
   /**
@@ -108,8 +121,13 @@ public final class DocumentChangeExecutor {
    * @param contentChanges список изменений, которые необходимо применить
    */
   public void submit(int version, List<TextDocumentContentChangeEvent> contentChanges) {
+    if (!running) {
+      LOGGER.debug("Document executor {} is shut down, change of version {} is ignored", workerName, version);
+      return;
+    }
     latestSubmittedVersion.accumulateAndGet(version, Math::max);
     queue.put(new ChangeTask(version, List.copyOf(contentChanges)));
+    scheduleDrain();
   }
 
   /**
@@ -117,30 +135,47 @@ public final class DocumentChangeExecutor {
    */
   public void shutdown() {
     running = false;
-    worker.interrupt();
+    tryTerminate();
   }
 
   /**
    * Немедленно останавливает executor и очищает очередь.
+   * <p>
+   *   Изменения, уже накопленные рабочим потоком, применяются перед его завершением.
    */
   public void shutdownNow() {
     running = false;
     queue.clear();
-    worker.interrupt();
+    tryTerminate();
   }
 
   /**
-   * Ожидает завершения рабочего потока в течение указанного таймаута.
+   * Ожидает завершения обработки поставленных изменений после остановки executor'а.
    *
    * @param timeout длительность ожидания
    * @param unit единица измерения таймаута
-   * @return {@code true}, если поток завершился за отведённое время; иначе {@code false}
+   * @return {@code true}, если обработка завершилась за отведённое время; иначе {@code false}
    * @throws InterruptedException если ожидание было прервано
    */
   public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
-    long millis = unit.toMillis(timeout);
-    worker.join(millis);
-    return !worker.isAlive();
+    try {
+      terminated.get(timeout, unit);
+      return true;
+    } catch (TimeoutException e) {
+      return false;
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Наибольшая версия документа, для которой поставлено изменение.
+   * Вычисления для более ранних версий можно прерывать как устаревшие.
+   *
+   * @return версия последнего поставленного изменения
+   */
+  public int getLatestSubmittedVersion() {
+    return latestSubmittedVersion.get();
   }
 
   /**
@@ -161,35 +196,61 @@ public final class DocumentChangeExecutor {
     return registerWaiter(targetVersion);
   }
 
-  private void runWorker() {
-    var interrupted = false;
+  /**
+   * Запускает рабочий поток, если очередь сейчас никем не разбирается.
+   */
+  private void scheduleDrain() {
+    if (!draining.compareAndSet(false, true)) {
+      return;
+    }
     try {
-      while (running || !queue.isEmpty()) {
-        ChangeTask task;
-        try {
-          task = queue.take();
-        } catch (InterruptedException ie) {
-          interrupted = true;
-          if (!running && queue.isEmpty()) {
-            break;
-          }
-          continue;
-        }
+      Thread.ofVirtual().name(workerName).start(this::drain);
+    } catch (RuntimeException e) {
+      draining.set(false);
+      throw e;
+    }
+  }
 
-        accumulate(task);
+  /**
+   * Разбирает очередь до опустошения, накапливая изменения и применяя их одним вызовом обработчика.
+   * <p>
+   *   После освобождения признака {@link #draining} очередь проверяется повторно: задача, поставленная
+   *   в этот момент, либо будет разобрана текущим потоком, либо запустит новый. Если разбор прерван
+   *   непредвиденной ошибкой, оставшиеся в очереди задачи разбирает новый поток: их постановка могла
+   *   прийтись на время, когда признак был занят, и сама поток не запустила.
+   */
+  private void drain() {
+    try {
+      do {
+        ChangeTask task;
+        while ((task = queue.poll()) != null) {
+          accumulate(task);
 
-        if (queue.isEmpty()) {
-          flushPendingChanges();
+          if (queue.isEmpty()) {
+            flushPendingChanges();
+          }
         }
-      }
+        flushPendingChanges();
+        draining.set(false);
+      } while (!queue.isEmpty() && draining.compareAndSet(false, true));
     } catch (Exception e) {
       LOGGER.error("Unexpected error in document executor worker: {}", e.getMessage(), e);
-    } finally {
       flushPendingChanges();
+      draining.set(false);
+      if (!queue.isEmpty()) {
+        scheduleDrain();
+      }
+    } finally {
+      tryTerminate();
     }
+  }
 
-    if (interrupted) {
-      Thread.currentThread().interrupt();
+  /**
+   * Отмечает executor завершённым, если он остановлен и в очереди не осталось задач.
+   */
+  private void tryTerminate() {
+    if (!running && !draining.get() && queue.isEmpty()) {
+      terminated.complete(null);
     }
   }
 
@@ -222,7 +283,7 @@ public final class DocumentChangeExecutor {
    */
   private void accumulate(ChangeTask task) {
     try {
-      var baseContent = pendingContent == null ? documentContext.getContent() : pendingContent;
+      var baseContent = pendingContent == null ? documentContext.getDocumentText() : pendingContent;
       pendingContent = changeApplier.apply(baseContent, task.contentChanges);
       pendingVersion = task.version;
     } catch (Exception e) {
@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.context;
 
+import com.github._1c_syntax.bsl.languageserver.cfg.ControlFlowGraphCache;
 import com.github._1c_syntax.bsl.languageserver.configuration.Language;
 import com.github._1c_syntax.bsl.languageserver.configuration.LanguageServerConfiguration;
 import com.github._1c_syntax.bsl.languageserver.context.computer.CognitiveComplexityComputer;
@@ -30,10 +31,10 @@ import com.github._1c_syntax.bsl.languageserver.context.computer.CyclomaticCompl
 import com.github._1c_syntax.bsl.languageserver.context.computer.DiagnosticComputer;
 import com.github._1c_syntax.bsl.languageserver.context.computer.DiagnosticIgnoranceComputer;
 import com.github._1c_syntax.bsl.languageserver.context.computer.QueryComputer;
+import com.github._1c_syntax.bsl.languageserver.context.computer.QueryTokenizerCache;
 import com.github._1c_syntax.bsl.languageserver.context.computer.SymbolTreeComputer;
 import com.github._1c_syntax.bsl.languageserver.context.symbol.MethodSymbol;
 import com.github._1c_syntax.bsl.languageserver.context.symbol.SymbolTree;
-import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.mdo.MD;
 import com.github._1c_syntax.bsl.parser.BSLLexer;
 import com.github._1c_syntax.bsl.parser.BSLParser;
@@ -71,7 +72,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.regex.Pattern;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
 
 import static java.util.Objects.requireNonNull;
 import static org.antlr.v4.runtime.Token.DEFAULT_CHANNEL;
@@ -90,8 +92,6 @@ import static org.antlr.v4.runtime.Token.DEFAULT_CHANNEL;
 //@NullUnmarked
 public class DocumentContext implements Comparable<DocumentContext> {
 
-  private static final Pattern CONTENT_SPLIT_PATTERN = Pattern.compile("\r?\n|\r");
-
   @Getter
   @EqualsAndHashCode.Include
   private final URI uri;
@@ -121,6 +121,20 @@ public class DocumentContext implements Comparable<DocumentContext> {
   @Nullable
   private BSLTokenizer tokenizer;
 
+  /**
+   * Текст документа с индексом строк. Строится по требованию и передается при инкрементальном
+   * изменении документа, чтобы не разбирать содержимое на строки заново.
+   */
+  @Nullable
+  private DocumentText documentText;
+
+  /**
+   * Токены после инкрементального разбора метода (см. {@link IncrementalSubParser}).
+   * Если заданы, замещают токены {@link #tokenizer}, AST которого изменен на месте.
+   */
+  @Nullable
+  private List<Token> splicedTokens;
+
   @Getter(onMethod_ = {@Locked("computeLock")})
   private SymbolTree symbolTree = SymbolTreeComputer.empty(this);
 
@@ -151,6 +165,12 @@ public class DocumentContext implements Comparable<DocumentContext> {
   private final Lazy<List<Diagnostic>> diagnostics = new Lazy<>(this::computeDiagnostics, diagnosticsLock);
 
   private final Lazy<List<SDBLTokenizer>> queries = new Lazy<>(this::computeQueries, computeLock);
+  // Переживает пересборку документа, чтобы неизмененные запросы не разбирались повторно;
+  // очищается только при освобождении вторичных данных.
+  private final QueryTokenizerCache queryTokenizerCache = new QueryTokenizerCache();
+  private final Lazy<ParseTreeIndex> parseTreeIndex = new Lazy<>(this::computeParseTreeIndex, computeLock);
+  private final Lazy<ControlFlowGraphCache> controlFlowGraphs
+    = new Lazy<>(ControlFlowGraphCache::new, computeLock);
 
   public DocumentContext(URI uri, ServerContext context) {
     this.uri = uri;
@@ -168,6 +188,21 @@ public class DocumentContext implements Comparable<DocumentContext> {
     return content;
   }
 
+  /**
+   * Текст документа с индексом начала строк.
+   *
+   * @return текст документа
+   */
+  @Locked("computeLock")
+  public DocumentText getDocumentText() {
+    var text = documentText;
+    if (text == null) {
+      text = DocumentText.of(getContent());
+      documentText = text;
+    }
+    return text;
+  }
+
   @Locked("computeLock")
   public String[] getContentList() {
     return contentList.getOrCompute();
@@ -175,14 +210,38 @@ public class DocumentContext implements Comparable<DocumentContext> {
 
   @Locked("computeLock")
   public BSLParser.FileContext getAst() {
-    requireNonNull(tokenizer);
-    return tokenizer.getAst();
+    return getTokenizer().getAst();
+  }
+
+  /**
+   * Индекс узлов AST документа по типам правил и токенов.
+   * <p>
+   * Строится при первом обращении после разбора документа и сбрасывается вместе с AST.
+   * Предпочтителен вместо обхода всего AST через {@code Trees.findAllRuleNodes(getAst(), ruleIndex)}.
+   *
+   * @return индекс узлов дерева разбора
+   */
+  public ParseTreeIndex getParseTreeIndex() {
+    return parseTreeIndex.getOrCompute();
+  }
+
+  /**
+   * Графы потока управления методов и тела модуля.
+   * <p>
+   * Графы строятся по запросу и разделяются всеми потребителями до пересборки документа.
+   *
+   * @return кэш графов потока управления
+   */
+  public ControlFlowGraphCache getControlFlowGraphs() {
+    return controlFlowGraphs.getOrCompute();
   }
 
   @Locked("computeLock")
   public List<Token> getTokens() {
-    requireNonNull(tokenizer);
-    return tokenizer.getTokens();
+    if (splicedTokens != null) {
+      return splicedTokens;
+    }
+    return getTokenizer().getTokens();
   }
 
   public List<Token> getTokensFromDefaultChannel() {
@@ -200,13 +259,23 @@ public class DocumentContext implements Comparable<DocumentContext> {
     Position start = range.getStart();
     Position end = range.getEnd();
 
-    String[] contentListUnboxed = getContentList();
+    IntFunction<String> lines;
+    int lineCount;
+    var text = documentText;
+    if (text == null) {
+      String[] contentListUnboxed = getContentList();
+      lines = (int line) -> contentListUnboxed[line];
+      lineCount = contentListUnboxed.length;
+    } else {
+      lines = text::getLine;
+      lineCount = text.getLineCount();
+    }
 
-    if (start.getLine() > contentListUnboxed.length || end.getLine() > contentListUnboxed.length) {
+    if (start.getLine() >= lineCount || end.getLine() >= lineCount) {
       throw new ArrayIndexOutOfBoundsException("Range goes beyond the boundaries of the parsed document");
     }
 
-    var startString = contentListUnboxed[start.getLine()];
+    var startString = lines.apply(start.getLine());
     var sb = new StringBuilder();
 
     if (start.getLine() == end.getLine()) {
@@ -216,11 +285,11 @@ public class DocumentContext implements Comparable<DocumentContext> {
     }
 
     for (int i = start.getLine() + 1; i <= end.getLine() - 1; i++) {
-      sb.append(contentListUnboxed[i]).append("\n");
+      sb.append(lines.apply(i)).append("\n");
     }
 
     if (start.getLine() != end.getLine()) {
-      sb.append(contentListUnboxed[end.getLine()], 0, end.getCharacter());
+      sb.append(lines.apply(end.getLine()), 0, end.getCharacter());
     }
 
     return sb.toString();
@@ -332,6 +401,50 @@ public class DocumentContext implements Comparable<DocumentContext> {
   }
 
   protected void rebuild(String content, int version) {
+    rebuildContent(content, null, version, null, null);
+  }
+
+  /**
+   * Перестроить документ, переиспользуя ранее отсоединенный результат разбора.
+   * <p>
+   * Если {@code parsedContent} построен по тому же тексту, токены и AST берутся из него без повторного разбора.
+   *
+   * @param content       новое содержимое документа
+   * @param version       версия документа
+   * @param parsedContent результат разбора, полученный из {@link #releaseSecondaryData()}
+   */
+  protected void rebuild(String content, int version, @Nullable ParsedContent parsedContent) {
+    rebuildContent(content, null, version, parsedContent, null);
+  }
+
+  /**
+   * Перестроить документ по тексту, полученному инкрементальным изменением.
+   * Индекс строк текста переиспользуется для {@link #getContentList()} и {@link #getText(Range)}.
+   * Если изменение лежит внутри одного метода, заново разбирается только этот метод.
+   *
+   * @param text    новый текст документа
+   * @param version версия документа
+   */
+  protected void rebuild(DocumentText text, int version) {
+    rebuildContent(text.toString(), text, version, null, null);
+  }
+
+  /**
+   * Перестроить документ по содержимому файла с деревом символов, восстановленным из снимка.
+   * Документ не разбирается: токены и AST строятся при первом обращении к ним.
+   *
+   * @param content    содержимое файла
+   * @param symbolTree дерево символов, построенное ранее по тому же содержимому
+   */
+  private void rebuild(String content, SymbolTree symbolTree) {
+    rebuildContent(content, null, 0, null, symbolTree);
+  }
+
+  private void rebuildContent(String content,
+                              @Nullable DocumentText text,
+                              int version,
+                              @Nullable ParsedContent parsedContent,
+                              @Nullable SymbolTree restoredSymbolTree) {
     acquireLocks();
 
     try {
@@ -343,18 +456,53 @@ public class DocumentContext implements Comparable<DocumentContext> {
         return;
       }
 
+      var previousContent = this.content;
+      var previousTokenizer = tokenizer;
+      var previousTokens = previousTokenizer == null ? null : getTokens();
+
       if (!isComputedDataFrozen) {
-        clearSecondaryData();
+        clearSecondaryData(false);
       }
 
       this.content = content;
-      if (tokenizer != null) {
-        tokenizer.rebuild(content);
+      this.documentText = text;
+      contentList.clear();
+      parseTreeIndex.clear();
+      controlFlowGraphs.clear();
+
+      var restoredContent = parsedContent != null && parsedContent.content().equals(content) ? parsedContent : null;
+
+      // AST перестраивается на месте: только под блокировкой записи документа его никто не читает
+      Optional<List<Token>> incrementalTokens = Optional.empty();
+      if (restoredContent == null && holdsDocumentWriteLock()
+        && text != null && previousContent != null && previousTokenizer != null && previousTokens != null) {
+        incrementalTokens = IncrementalSubParser.reparse(
+          previousContent,
+          previousTokens,
+          previousTokenizer.getAst(),
+          content
+        );
+      }
+
+      if (restoredContent != null) {
+        tokenizer = restoredContent.tokenizer();
+        splicedTokens = restoredContent.splicedTokens();
+      } else if (incrementalTokens.isPresent()) {
+        tokenizer = previousTokenizer;
+        splicedTokens = incrementalTokens.get();
+      } else if (restoredSymbolTree != null) {
+        splicedTokens = null;
+        tokenizer = null;
       } else {
-        tokenizer = new BSLTokenizer(content);
+        splicedTokens = null;
+        if (tokenizer != null) {
+          tokenizer.rebuild(content);
+        } else {
+          tokenizer = new BSLTokenizer(content);
+        }
       }
       this.version = version;
-      symbolTree = computeSymbolTree();
+      symbolTree = restoredSymbolTree == null ? computeSymbolTree() : restoredSymbolTree;
 
     } finally {
       releaseLocks();
@@ -362,23 +510,80 @@ public class DocumentContext implements Comparable<DocumentContext> {
 
   }
 
-  protected void rebuildFromFileSystem() {
+  /**
+   * Перестроить документ по содержимому файла.
+   * <p>
+   * Если результата разбора нет в кэше, дерево символов берется из снимка, и файл не разбирается.
+   * Дерево символов, построенное разбором, сохраняется в снимок для следующих запусков.
+   *
+   * @param astCache           кэш, из которого берется результат разбора, если файл не изменился с момента
+   *                           его сохранения
+   * @param symbolTreeSnapshot снимок деревьев символов
+   */
+  protected void rebuildFromFileSystem(ClosedDocumentAstCache astCache, SymbolTreeSnapshot symbolTreeSnapshot) {
     try {
       var newContent = FileUtils.readFileToString(new File(uri), StandardCharsets.UTF_8);
-      rebuild(newContent, 0);
+      var parsedContent = astCache.take(this, newContent);
+      var restoredSymbolTree = parsedContent == null ? symbolTreeSnapshot.restore(this, newContent) : null;
+      if (restoredSymbolTree != null) {
+        rebuild(newContent, restoredSymbolTree);
+        return;
+      }
+      rebuild(newContent, 0, parsedContent);
+      if (parsedContent == null) {
+        symbolTreeSnapshot.store(this, newContent);
+      }
     } catch (IOException e) {
       LOGGER.error("Can't rebuild content from uri", e);
     }
   }
 
   protected void clearSecondaryData() {
+    clearSecondaryData(true);
+  }
+
+  /**
+   * Освободить вторичные данные документа, отсоединив от него результат разбора.
+   * <p>
+   * Документ очищается так же, как {@link #clearSecondaryData()}, но текст, токены и AST не теряются:
+   * их можно сохранить вне документа и вернуть ему при пересборке с тем же содержимым.
+   *
+   * @return результат разбора или {@code null}, если документ не был разобран
+   */
+  @Nullable
+  protected ParsedContent releaseSecondaryData() {
     acquireLocks();
 
     try {
+      var currentContent = content;
+      var currentTokenizer = tokenizer;
+      ParsedContent parsedContent = null;
+      if (currentContent != null && currentTokenizer != null) {
+        parsedContent = new ParsedContent(currentContent, currentTokenizer, splicedTokens);
+      }
+      clearSecondaryData(true);
+      return parsedContent;
+    } finally {
+      releaseLocks();
+    }
+  }
+
+  private void clearSecondaryData(boolean releaseQueryTokenizers) {
+    acquireLocks();
+
+    try {
+
+      if (releaseQueryTokenizers) {
+        queryTokenizerCache.clear();
+      }
 
       content = null;
+      documentText = null;
+      splicedTokens = null;
       contentList.clear();
       tokenizer = null;
+      parseTreeIndex.clear();
+      controlFlowGraphs.clear();
       queries.clear();
       moduleType.clear();
       clearDependantData();
@@ -401,6 +606,10 @@ public class DocumentContext implements Comparable<DocumentContext> {
     diagnostics.clear();
   }
 
+  private boolean holdsDocumentWriteLock() {
+    return context.getDocumentLock(uri) instanceof ReentrantReadWriteLock lock && lock.isWriteLockedByCurrentThread();
+  }
+
   private void acquireLocks() {
     diagnosticsLock.lock();
     computeLock.lock();
@@ -430,7 +639,21 @@ public class DocumentContext implements Comparable<DocumentContext> {
   }
 
   private String[] computeContentList() {
-    return CONTENT_SPLIT_PATTERN.split(getContent(), -1);
+    var text = documentText;
+    return text == null ? DocumentText.splitLines(getContent()) : text.getLines();
+  }
+
+  /**
+   * Токенизатор документа. Если документ перестроен без разбора (дерево символов восстановлено из
+   * снимка), токенизатор создается при первом обращении.
+   */
+  private BSLTokenizer getTokenizer() {
+    var currentTokenizer = tokenizer;
+    if (currentTokenizer == null) {
+      currentTokenizer = new BSLTokenizer(getContent());
+      tokenizer = currentTokenizer;
+    }
+    return currentTokenizer;
   }
 
   private SymbolTree computeSymbolTree() {
@@ -493,7 +716,7 @@ public class DocumentContext implements Comparable<DocumentContext> {
       .count();
     metricsTemp.setComments(comments);
 
-    int statements = Trees.findAllRuleNodes(getAst(), BSLParser.RULE_statement).size();
+    int statements = getParseTreeIndex().findAllRuleNodes(BSLParser.RULE_statement).size();
     metricsTemp.setStatements(statements);
 
     metricsTemp.setCognitiveComplexity(getCognitiveComplexityData().fileComplexity());
@@ -511,8 +734,12 @@ public class DocumentContext implements Comparable<DocumentContext> {
     return diagnosticComputer.compute(this);
   }
 
+  private ParseTreeIndex computeParseTreeIndex() {
+    return ParseTreeIndex.build(getAst(), BSLParser.ruleNames.length, BSLLexer.VOCABULARY.getMaxTokenType());
+  }
+
   private List<SDBLTokenizer> computeQueries() {
-    return (new QueryComputer(this)).compute();
+    return (new QueryComputer(this, queryTokenizerCache)).compute();
   }
 
   @Override
@@ -0,0 +1,419 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.context;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Неизменяемый текст документа с индексом начала строк.
+ * <p>
+ * Текст хранится как персистентное декартово дерево (treap) по неявному ключу, листьями которого
+ * являются строки документа вместе с их переводом строки ({@code \n}, {@code \r\n} или {@code \r}).
+ * Последняя строка хранится без перевода строки и может быть пустой, поэтому число строк всегда
+ * на единицу больше числа переводов строк - как при разбиении по {@code \r?\n|\r} с лимитом {@code -1}.
+ * <p>
+ * Каждый узел хранит число строк и символов в своем поддереве, поэтому поиск смещения по позиции,
+ * получение строки по номеру и замена диапазона выполняются за ожидаемое {@code O(log n)}
+ * (плюс размер затронутых строк). Замена возвращает новый экземпляр, разделяющий с исходным
+ * все незатронутые узлы, так что предыдущие версии текста остаются валидными и их можно
+ * безопасно читать из других потоков.
+ */
+public final class DocumentText {
+
+  private final Node root;
+
+  private volatile @Nullable String content;
+
+  private DocumentText(Node root) {
+    this.root = root;
+  }
+
+  /**
+   * Построить текст документа из строки.
+   *
+   * @param content содержимое документа
+   * @return текст документа
+   */
+  public static DocumentText of(String content) {
+    var documentText = new DocumentText(Objects.requireNonNull(build(splitToLeaves(content, true))));
+    documentText.content = content;
+    return documentText;
+  }
+
+  /**
+   * Разбить содержимое на строки без переводов строк.
+   * <p>
+   * Результат совпадает с {@code Pattern.compile("\r?\n|\r").split(content, -1)}.
+   *
+   * @param content содержимое документа
+   * @return строки документа
+   */
+  public static String[] splitLines(String content) {
+    var leaves = splitToLeaves(content, true);
+    var lines = new String[leaves.size()];
+    for (var i = 0; i < lines.length; i++) {
+      lines[i] = stripLineBreak(leaves.get(i));
+    }
+    return lines;
+  }
+
+  /**
+   * @return длина текста в символах
+   */
+  public int length() {
+    return root.length;
+  }
+
+  /**
+   * @return число строк документа
+   */
+  public int getLineCount() {
+    return root.count;
+  }
+
+  /**
+   * Получить строку документа без перевода строки.
+   *
+   * @param line номер строки (0-based)
+   * @return содержимое строки
+   * @throws IndexOutOfBoundsException если строки с таким номером нет
+   */
+  public String getLine(int line) {
+    if (line < 0 || line >= root.count) {
+      throw new IndexOutOfBoundsException("Line " + line + " is out of bounds for " + root.count + " lines");
+    }
+    return stripLineBreak(leafAt(root, line).text);
+  }
+
+  /**
+   * Получить все строки документа без переводов строк.
+   *
+   * @return строки документа
+   */
+  public String[] getLines() {
+    var lines = new String[root.count];
+    var index = 0;
+    for (var leaf : leaves()) {
+      lines[index++] = stripLineBreak(leaf);
+    }
+    return lines;
+  }
+
+  /**
+   * Вычислить абсолютное смещение символа по номеру строки и позиции в строке.
+   * <p>
+   * Позиция за пределами строки продолжает отсчет по следующим строкам, строка за пределами
+   * документа соответствует концу текста.
+   *
+   * @param line номер строки (0-based)
+   * @param character позиция символа в строке (0-based)
+   * @return абсолютное смещение, не превышающее длины текста
+   */
+  public int getOffset(int line, int character) {
+    if (line >= root.count) {
+      return root.length;
+    }
+    var lineStart = line <= 0 ? 0 : lengthOfFirst(root, line);
+    return (int) Math.min((long) lineStart + character, root.length);
+  }
+
+  /**
+   * Заменить диапазон текста.
+   *
+   * @param startOffset начало заменяемого диапазона (включительно)
+   * @param endOffset конец заменяемого диапазона (не включительно)
+   * @param text новый текст
+   * @return текст документа после замены
+   */
+  public DocumentText replace(int startOffset, int endOffset, String text) {
+    var start = Math.clamp(startOffset, 0, root.length);
+    var end = Math.clamp(endOffset, start, root.length);
+
+    var from = leafIndexAt(start);
+    var to = leafIndexAt(end);
+    var fromLeaf = leafAt(root, from);
+    var toLeaf = leafAt(root, to);
+
+    var chunk = fromLeaf.text.substring(0, start - lengthOfFirst(root, from))
+      + text
+      + toLeaf.text.substring(end - lengthOfFirst(root, to));
+
+    // \r и \n по разные стороны границы замены образуют один перевод строки.
+    if (from > 0 && chunk.startsWith("\n") && leafAt(root, from - 1).text.endsWith("\r")) {
+      from--;
+      chunk = leafAt(root, from).text + chunk;
+    }
+    if (to + 1 < root.count && chunk.endsWith("\r") && leafAt(root, to + 1).text.startsWith("\n")) {
+      to++;
+      chunk = chunk + leafAt(root, to).text;
+    }
+
+    var isLastLeaf = to == root.count - 1;
+    var left = split(root, from)[0];
+    var right = split(root, to + 1)[1];
+    var middle = build(splitToLeaves(chunk, isLastLeaf));
+
+    return new DocumentText(Objects.requireNonNull(merge(merge(left, middle), right)));
+  }
+
+  /**
+   * @return содержимое документа
+   */
+  @Override
+  public String toString() {
+    var result = content;
+    if (result == null) {
+      var sb = new StringBuilder(root.length);
+      for (var leaf : leaves()) {
+        sb.append(leaf);
+      }
+      result = sb.toString();
+      content = result;
+    }
+    return result;
+  }
+
+  private int leafIndexAt(int offset) {
+    if (offset >= root.length) {
+      return root.count - 1;
+    }
+    Node node = root;
+    var index = 0;
+    var remaining = offset;
+    while (true) {
+      var leftLength = length(node.left);
+      if (remaining < leftLength) {
+        node = Objects.requireNonNull(node.left);
+      } else if (remaining < leftLength + node.text.length()) {
+        return index + count(node.left);
+      } else {
+        remaining -= leftLength + node.text.length();
+        index += count(node.left) + 1;
+        node = Objects.requireNonNull(node.right);
+      }
+    }
+  }
+
+  private List<String> leaves() {
+    var result = new ArrayList<String>(root.count);
+    var stack = new ArrayDeque<Node>();
+    @Nullable Node node = root;
+    while (node != null || !stack.isEmpty()) {
+      while (node != null) {
+        stack.push(node);
+        node = node.left;
+      }
+      node = stack.pop();
+      result.add(node.text);
+      node = node.right;
+    }
+    return result;
+  }
+
+  private static Node leafAt(Node root, int index) {
+    Node node = root;
+    var remaining = index;
+    while (true) {
+      var leftCount = count(node.left);
+      if (remaining < leftCount) {
+        node = Objects.requireNonNull(node.left);
+      } else if (remaining == leftCount) {
+        return node;
+      } else {
+        remaining -= leftCount + 1;
+        node = Objects.requireNonNull(node.right);
+      }
+    }
+  }
+
+  /**
+   * Суммарная длина первых {@code leafCount} строк.
+   */
+  private static int lengthOfFirst(Node root, int leafCount) {
+    @Nullable Node node = root;
+    var remaining = leafCount;
+    var result = 0;
+    while (node != null && remaining > 0) {
+      var leftCount = count(node.left);
+      if (remaining <= leftCount) {
+        node = node.left;
+      } else {
+        result += length(node.left) + node.text.length();
+        remaining -= leftCount + 1;
+        node = node.right;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Разделить дерево на первые {@code leafCount} строк и остальные.
+   */
+  private static @Nullable Node[] split(@Nullable Node node, int leafCount) {
+    if (node == null) {
+      return new Node[]{null, null};
+    }
+    var leftCount = count(node.left);
+    if (leafCount <= leftCount) {
+      var parts = split(node.left, leafCount);
+      parts[1] = node.with(parts[1], node.right);
+      return parts;
+    }
+    var parts = split(node.right, leafCount - leftCount - 1);
+    parts[0] = node.with(node.left, parts[0]);
+    return parts;
+  }
+
+  private static @Nullable Node merge(@Nullable Node left, @Nullable Node right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+    if (left.priority >= right.priority) {
+      return left.with(left.left, merge(left.right, right));
+    }
+    return right.with(merge(left, right.left), right.right);
+  }
+
+  /**
+   * Построить дерево из строк за линейное время (стековое построение декартова дерева).
+   */
+  private static @Nullable Node build(List<String> leaves) {
+    var random = ThreadLocalRandom.current();
+    var stack = new ArrayDeque<Node>();
+    for (var leaf : leaves) {
+      var node = new Node(leaf, random.nextInt());
+      @Nullable Node last = null;
+      var top = stack.peek();
+      while (top != null && top.priority < node.priority) {
+        last = stack.pop();
+        top = stack.peek();
+      }
+      node.left = last;
+      if (top != null) {
+        top.right = node;
+      }
+      stack.push(node);
+    }
+    var root = stack.peekLast();
+    updateAggregates(root);
+    return root;
+  }
+
+  private static void updateAggregates(@Nullable Node node) {
+    if (node == null) {
+      return;
+    }
+    updateAggregates(node.left);
+    updateAggregates(node.right);
+    node.update();
+  }
+
+  /**
+   * Разбить текст на строки вместе с переводами строк.
+   *
+   * @param text разбиваемый текст
+   * @param keepTail добавлять ли остаток после последнего перевода строки, даже если он пуст
+   */
+  private static List<String> splitToLeaves(String text, boolean keepTail) {
+    var result = new ArrayList<String>();
+    var lineStart = 0;
+    var length = text.length();
+    for (var i = 0; i < length; i++) {
+      var c = text.charAt(i);
+      if (c == '\n') {
+        result.add(text.substring(lineStart, i + 1));
+        lineStart = i + 1;
+      } else if (c == '\r') {
+        if (i + 1 < length && text.charAt(i + 1) == '\n') {
+          i++;
+        }
+        result.add(text.substring(lineStart, i + 1));
+        lineStart = i + 1;
+      }
+    }
+    if (keepTail || lineStart < length) {
+      result.add(text.substring(lineStart));
+    }
+    return result;
+  }
+
+  private static String stripLineBreak(String leaf) {
+    var end = leaf.length();
+    if (end > 0 && leaf.charAt(end - 1) == '\n') {
+      end--;
+    }
+    if (end > 0 && leaf.charAt(end - 1) == '\r') {
+      end--;
+    }
+    return leaf.substring(0, end);
+  }
+
+  private static int count(@Nullable Node node) {
+    return node == null ? 0 : node.count;
+  }
+
+  private static int length(@Nullable Node node) {
+    return node == null ? 0 : node.length;
+  }
+
+  /**
+   * Узел дерева - одна строка документа. Поля-ссылки изменяются только при построении дерева
+   * в {@link #build(List)}, до публикации; дальнейшие изменения создают новые узлы.
+   */
+  private static final class Node {
+    private final String text;
+    private final int priority;
+    private @Nullable Node left;
+    private @Nullable Node right;
+    private int count;
+    private int length;
+
+    private Node(String text, int priority) {
+      this.text = text;
+      this.priority = priority;
+      this.count = 1;
+      this.length = text.length();
+    }
+
+    private Node with(@Nullable Node newLeft, @Nullable Node newRight) {
+      var node = new Node(text, priority);
+      node.left = newLeft;
+      node.right = newRight;
+      node.update();
+      return node;
+    }
+
+    private void update() {
+      count = 1 + DocumentText.count(left) + DocumentText.count(right);
+      length = text.length() + DocumentText.length(left) + DocumentText.length(right);
+    }
+  }
+}
@@ -0,0 +1,338 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.context;
+
+import com.github._1c_syntax.bsl.languageserver.infrastructure.WorkspaceScope;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.blame.BlameResult;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.lsp4j.Diagnostic;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Сервис git blame в рамках workspace.
+ * <p>
+ * Репозиторий открывается один раз на workspace. Результат blame хранится по файлу как номера строк,
+ * сгруппированные по email автора, и переиспользуется, пока не изменились ни blob файла в HEAD,
+ * ни содержимое файла в рабочем каталоге. Смена списка игнорируемых авторов кеш не сбрасывает:
+ * игнорируемые строки собираются из сохраненных строк авторов.
+ * <p>
+ * Через те же репозитории сервис отвечает, какие файлы имеют незафиксированные изменения.
+ */
+@Slf4j
+@Component
+@WorkspaceScope
+public class GitBlameService {
+
+  private final Map<Path, Optional<Repository>> repositoryByDirectory = new ConcurrentHashMap<>();
+  private final Map<File, Repository> repositoryByGitDir = new ConcurrentHashMap<>();
+  private final Map<URI, BlameEntry> blameCache = new ConcurrentHashMap<>();
+
+  /**
+   * Получить данные игнорирования диагностик по авторам строк файла.
+   *
+   * @param uri            URI файла
+   * @param ignoredAuthors Email игнорируемых авторов в нижнем регистре
+   * @return Данные игнорирования; пустые, если файл вне git-репозитория или blame не удался
+   */
+  public Ignorance getIgnorance(URI uri, Set<String> ignoredAuthors) {
+    if (ignoredAuthors.isEmpty()) {
+      return Ignorance.empty();
+    }
+    return Ignorance.of(getLinesByAuthor(uri), ignoredAuthors);
+  }
+
+  /**
+   * Заранее вычислить blame для набора файлов, например перед анализом всего проекта.
+   * <p>
+   * Файлы группируются по репозиториям, и blame каждой группы выполняется через один экземпляр
+   * {@link Git}. Уже актуальные записи кеша повторно не вычисляются.
+   *
+   * @param uris URI файлов
+   */
+  public void prefetch(Collection<URI> uris) {
+    Map<Repository, List<Path>> pathsByRepository = new LinkedHashMap<>();
+    uris.forEach((URI uri) -> toFile(uri).ifPresent((Path path) ->
+      findRepository(path).ifPresent(repository ->
+        pathsByRepository.computeIfAbsent(repository, key -> new ArrayList<>()).add(path)
+      )
+    ));
+
+    pathsByRepository.forEach((Repository repository, List<Path> paths) -> {
+      try (var git = new Git(repository)) {
+        paths.parallelStream().forEach(path -> computeLinesByAuthor(git, path));
+      }
+    });
+  }
+
+  /**
+   * Отобрать файлы с незафиксированными изменениями: измененные относительно HEAD (в том числе
+   * проиндексированные) и неотслеживаемые.
+   * <p>
+   * Статус вычисляется одним проходом на репозиторий. Файлы вне git-репозитория в результат не попадают.
+   *
+   * @param uris URI файлов
+   * @return URI файлов из {@code uris}, измененных в рабочем каталоге
+   */
+  public Set<URI> getUncommittedChanges(Collection<URI> uris) {
+    Map<Repository, Map<Path, URI>> urisByRepository = new LinkedHashMap<>();
+    uris.forEach((URI uri) -> toFile(uri).ifPresent((Path path) ->
+      findRepository(path).ifPresent(repository ->
+        urisByRepository.computeIfAbsent(repository, key -> new HashMap<>()).put(path, uri)
+      )
+    ));
+
+    Set<URI> changed = new HashSet<>();
+    urisByRepository.forEach((Repository repository, Map<Path, URI> urisByPath) -> {
+      try (var git = new Git(repository)) {
+        var status = git.status().call();
+        var workTree = repository.getWorkTree().toPath().toAbsolutePath();
+        Stream.of(status.getModified(), status.getChanged(), status.getAdded(), status.getUntracked())
+          .flatMap(Collection::stream)
+          .map(path -> urisByPath.get(workTree.resolve(path)))
+          .forEach(uri -> {
+            if (uri != null) {
+              changed.add(uri);
+            }
+          });
+      } catch (GitAPIException | RuntimeException e) {
+        LOGGER.debug("Failed to compute git status of {}", repository.getWorkTree(), e);
+      }
+    });
+    return changed;
+  }
+
+  /**
+   * Закрыть открытые репозитории и очистить кеш.
+   */
+  @PreDestroy
+  public void close() {
+    blameCache.clear();
+    repositoryByDirectory.clear();
+    repositoryByGitDir.values().forEach(Repository::close);
+    repositoryByGitDir.clear();
+  }
+
+  private Map<String, BitSet> getLinesByAuthor(URI uri) {
+    var file = toFile(uri);
+    if (file.isEmpty()) {
+      return Map.of();
+    }
+    var path = file.get();
+    var repository = findRepository(path);
+    if (repository.isEmpty()) {
+      return Map.of();
+    }
+    try (var git = new Git(repository.get())) {
+      return computeLinesByAuthor(git, path);
+    }
+  }
+
+  private Map<String, BitSet> computeLinesByAuthor(Git git, Path path) {
+    var uri = path.toUri();
+    try {
+      var repository = git.getRepository();
+      var relativePath = repository.getWorkTree().toPath().relativize(path).toString().replace('\\', '/');
+      var headBlobId = headBlobId(repository, relativePath);
+      var workTreeBlobId = workTreeBlobId(path);
+
+      var cached = blameCache.get(uri);
+      if (cached != null && cached.matches(headBlobId, workTreeBlobId)) {
+        return cached.linesByAuthor();
+      }
+
+      var blameResult = git.blame().setFilePath(relativePath).call();
+      Map<String, BitSet> linesByAuthor = blameResult == null
+        ? Map.of()
+        : linesByAuthor(blameResult);
+      blameCache.put(uri, new BlameEntry(headBlobId, workTreeBlobId, linesByAuthor));
+      return linesByAuthor;
+    } catch (IOException | GitAPIException | RuntimeException e) {
+      LOGGER.debug("Failed to compute git blame for {}", uri, e);
+      return Map.of();
+    }
+  }
+
+  private static Map<String, BitSet> linesByAuthor(BlameResult blameResult) {
+    var lineCount = blameResult.getResultContents().size();
+    Map<String, BitSet> linesByAuthor = new HashMap<>();
+    for (var line = 0; line < lineCount; line++) {
+      @Nullable PersonIdent author = blameResult.getSourceAuthor(line);
+      if (author == null) {
+        continue;
+      }
+      var email = author.getEmailAddress().toLowerCase(Locale.ROOT);
+      linesByAuthor.computeIfAbsent(email, key -> new BitSet(lineCount)).set(line);
+    }
+    return Collections.unmodifiableMap(linesByAuthor);
+  }
+
+  private Optional<Repository> findRepository(Path path) {
+    var directory = path.getParent();
+    if (directory == null) {
+      return Optional.empty();
+    }
+    return repositoryByDirectory.computeIfAbsent(directory, this::openRepository);
+  }
+
+  private Optional<Repository> openRepository(Path directory) {
+    var builder = new FileRepositoryBuilder().findGitDir(directory.toFile());
+    var gitDir = builder.getGitDir();
+    if (gitDir == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(repositoryByGitDir.computeIfAbsent(gitDir.getAbsoluteFile(), (File key) -> {
+        try {
+          return builder.build();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }));
+    } catch (UncheckedIOException e) {
+      LOGGER.debug("Failed to open git repository {}", gitDir, e);
+      return Optional.empty();
+    }
+  }
+
+  private static Optional<Path> toFile(URI uri) {
+    if (!"file".equals(uri.getScheme())) {
+      return Optional.empty();
+    }
+    var path = Path.of(uri).toAbsolutePath();
+    return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+  }
+
+  private static ObjectId headBlobId(Repository repository, String relativePath) throws IOException {
+    var head = repository.resolve(Constants.HEAD);
+    if (head == null) {
+      return ObjectId.zeroId();
+    }
+    try (var revWalk = new RevWalk(repository);
+         var treeWalk = TreeWalk.forPath(repository, relativePath, revWalk.parseCommit(head).getTree())) {
+      return treeWalk == null ? ObjectId.zeroId() : treeWalk.getObjectId(0);
+    }
+  }
+
+  private static ObjectId workTreeBlobId(Path path) throws IOException {
+    try (var formatter = new ObjectInserter.Formatter()) {
+      return formatter.idFor(Constants.OBJ_BLOB, Files.readAllBytes(path));
+    }
+  }
+
+  /**
+   * Закешированный результат blame файла.
+   *
+   * @param headBlobId     Идентификатор blob файла в HEAD
+   * @param workTreeBlobId Идентификатор blob содержимого файла в рабочем каталоге
+   * @param linesByAuthor  Номера строк по email автора
+   */
+  private record BlameEntry(ObjectId headBlobId, ObjectId workTreeBlobId, Map<String, BitSet> linesByAuthor) {
+    boolean matches(ObjectId headBlobId, ObjectId workTreeBlobId) {
+      return this.headBlobId.equals(headBlobId) && this.workTreeBlobId.equals(workTreeBlobId);
+    }
+  }
+
+  /**
+   * Данные игнорирования диагностик по авторам строк файла.
+   */
+  @AllArgsConstructor(access = AccessLevel.PRIVATE)
+  public static class Ignorance {
+
+    private static final Ignorance EMPTY = new Ignorance(new BitSet());
+
+    private final BitSet ignoredLines;
+
+    /**
+     * @return Пустой экземпляр (нет игнорируемых строк).
+     */
+    public static Ignorance empty() {
+      return EMPTY;
+    }
+
+    /**
+     * Собрать данные игнорирования из строк, сгруппированных по авторам.
+     *
+     * @param linesByAuthor  Номера строк (с нуля) по email автора в нижнем регистре
+     * @param ignoredAuthors Email игнорируемых авторов в нижнем регистре
+     * @return Данные игнорирования
+     */
+    public static Ignorance of(Map<String, BitSet> linesByAuthor, Set<String> ignoredAuthors) {
+      var ignoredLines = new BitSet();
+      ignoredAuthors.forEach((String author) -> {
+        var lines = linesByAuthor.get(author);
+        if (lines != null) {
+          ignoredLines.or(lines);
+        }
+      });
+      return ignoredLines.isEmpty() ? EMPTY : new Ignorance(ignoredLines);
+    }
+
+    /**
+     * Проверить, должна ли диагностика быть проигнорирована на основе git blame.
+     *
+     * @param diagnostic Диагностика для проверки
+     * @return {@code true}, если строка начала диагностики написана автором из списка игнорируемых
+     */
+    public boolean diagnosticShouldBeIgnored(Diagnostic diagnostic) {
+      if (ignoredLines.isEmpty()) {
+        return false;
+      }
+      int line = diagnostic.getRange().getStart().getLine();
+      return ignoredLines.get(line);
+    }
+  }
+}
@@ -0,0 +1,436 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.context;
+
+import com.github._1c_syntax.bsl.languageserver.utils.Trees;
+import com.github._1c_syntax.bsl.parser.BSLLexer;
+import com.github._1c_syntax.bsl.parser.BSLParser;
+import com.github._1c_syntax.bsl.parser.BSLTokenizer;
+import lombok.experimental.UtilityClass;
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ListTokenSource;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenSource;
+import org.antlr.v4.runtime.misc.Pair;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNodeImpl;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Инкрементальный разбор модуля в пределах одного метода.
+ * <p>
+ * Если изменение целиком лежит внутри одного метода верхнего уровня (процедуры или функции),
+ * заново лексируется и разбирается только текст этого метода, а полученное поддерево
+ * подставляется в существующее {@link BSLParser.FileContext} вместо прежнего. Остальные токены
+ * пересоздаются в координатах нового содержимого и перепривязываются в узлах дерева: токены до метода -
+ * с прежними позициями, токены после метода - со сдвигом позиций и индексов. Поэтому ни один токен
+ * результата не ссылается на поток символов прежнего содержимого.
+ * <p>
+ * Во всех случаях, когда результат мог бы отличаться от полного разбора (изменение затрагивает
+ * границы метода или несколько методов, заменяемый метод содержит ошибки, новый текст метода
+ * не разбирается как ровно один метод без ошибок), возвращается пустой результат,
+ * и вызывающий выполняет полный разбор.
+ * <p>
+ * Дерево исходного разбора изменяется на месте. Вызывающий обязан гарантировать, что AST никто
+ * не читает: {@link DocumentContext} выполняет инкрементальный разбор, только удерживая блокировку
+ * записи документа ({@link ServerContext#getDocumentLock}), под блокировкой чтения которой работают
+ * все читатели AST.
+ */
+@UtilityClass
+class IncrementalSubParser {
+
+  private static final char BOM = '\uFEFF';
+
+  /**
+   * Попытаться перестроить токены и AST модуля после изменения текста.
+   *
+   * @param oldContent прежнее содержимое модуля
+   * @param oldTokens  токены прежнего содержимого
+   * @param ast        AST прежнего содержимого; при успехе изменяется на месте
+   * @param newContent новое содержимое модуля
+   * @return токены нового содержимого, если инкрементальный разбор удался
+   */
+  Optional<List<Token>> reparse(
+    String oldContent,
+    List<Token> oldTokens,
+    BSLParser.FileContext ast,
+    String newContent
+  ) {
+    if (!isPlainText(oldContent) || !isPlainText(newContent)) {
+      return Optional.empty();
+    }
+
+    var prefix = commonPrefix(oldContent, newContent);
+    if (prefix == oldContent.length() && prefix == newContent.length()) {
+      return Optional.empty();
+    }
+    var suffix = commonSuffix(oldContent, newContent, prefix);
+    var changeStart = prefix;
+    var changeEnd = oldContent.length() - suffix;
+
+    var oldSub = findEnclosingSub(ast, changeStart, changeEnd);
+    if (oldSub == null || !(oldSub.getParent() instanceof ParserRuleContext) || containsErrors(oldSub)) {
+      return Optional.empty();
+    }
+
+    var delta = newContent.length() - oldContent.length();
+    var oldStart = oldSub.getStart();
+    var oldStop = oldSub.getStop();
+    var firstIndex = oldStart.getTokenIndex();
+    var lastIndex = oldStop.getTokenIndex();
+    if (lastIndex >= oldTokens.size() || oldTokens.get(firstIndex) != oldStart || oldTokens.get(lastIndex) != oldStop) {
+      return Optional.empty();
+    }
+    var windowStart = oldStart.getStartIndex();
+    var windowEnd = oldStop.getStopIndex() + 1 + delta;
+
+    var newStream = CharStreams.fromString(newContent);
+    var windowTokens = lexWindow(newContent.substring(windowStart, windowEnd), newStream, oldStart);
+    if (windowTokens.isEmpty()) {
+      return Optional.empty();
+    }
+
+    var newSub = parseSub(windowTokens.get());
+    if (newSub == null) {
+      return Optional.empty();
+    }
+
+    // Поток токенов парсера нумерует токены окна с нуля - возвращаем сквозные индексы модуля.
+    for (var i = 0; i < windowTokens.get().size(); i++) {
+      ((CommonToken) windowTokens.get().get(i)).setTokenIndex(firstIndex + i);
+    }
+
+    var newStop = newSub.getStop();
+    var shiftedTokens = shiftTokens(
+      oldTokens.subList(lastIndex + 1, oldTokens.size()),
+      newStream,
+      delta,
+      newStop.getTokenIndex() - lastIndex,
+      oldStop,
+      newStop
+    );
+
+    var prefixTokens = reanchorTokens(oldTokens.subList(0, firstIndex), newStream);
+
+    var newTokens = new ArrayList<Token>(firstIndex + windowTokens.get().size() + shiftedTokens.size());
+    newTokens.addAll(prefixTokens);
+    newTokens.addAll(windowTokens.get());
+    newTokens.addAll(shiftedTokens);
+
+    splice(ast, oldSub, newSub, new TokenRemapper(oldSub, newSub, prefixTokens, lastIndex, shiftedTokens));
+
+    return Optional.of(newTokens);
+  }
+
+  /**
+   * Проверить, что смещения символов в строке совпадают со смещениями в потоке символов лексера:
+   * нет BOM и символов за пределами базовой многоязыковой плоскости.
+   */
+  private boolean isPlainText(String content) {
+    if (content.isEmpty() || content.charAt(0) == BOM) {
+      return false;
+    }
+    for (var i = 0; i < content.length(); i++) {
+      if (Character.isSurrogate(content.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Проверить заменяемый метод на ошибки разбора: сам метод и узлы на пути от него к корню.
+   * Ошибки в других методах на результат разбора этого метода не влияют.
+   */
+  private boolean containsErrors(BSLParser.SubContext sub) {
+    if (Trees.treeContainsErrors(sub)) {
+      return true;
+    }
+    for (var ctx = sub.getParent(); ctx != null; ctx = ctx.getParent()) {
+      if (ctx.exception != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int commonPrefix(String left, String right) {
+    var length = Math.min(left.length(), right.length());
+    var index = 0;
+    while (index < length && left.charAt(index) == right.charAt(index)) {
+      index++;
+    }
+    return index;
+  }
+
+  private int commonSuffix(String left, String right, int prefix) {
+    var length = Math.min(left.length(), right.length()) - prefix;
+    var index = 0;
+    while (index < length
+      && left.charAt(left.length() - 1 - index) == right.charAt(right.length() - 1 - index)) {
+      index++;
+    }
+    return index;
+  }
+
+  /**
+   * Найти метод верхнего уровня, строго внутри которого лежит измененный диапазон:
+   * первый и последний символы метода должны остаться неизменными.
+   */
+  private BSLParser.@Nullable SubContext findEnclosingSub(
+    BSLParser.FileContext ast,
+    int changeStart,
+    int changeEnd
+  ) {
+    var subs = ast.subs();
+    if (subs == null) {
+      return null;
+    }
+    var subList = subs.sub();
+    var low = 0;
+    var high = subList.size() - 1;
+    while (low <= high) {
+      var middle = (low + high) >>> 1;
+      var sub = subList.get(middle);
+      if (sub.getStop().getStopIndex() < changeStart) {
+        low = middle + 1;
+      } else if (sub.getStart().getStartIndex() >= changeStart) {
+        high = middle - 1;
+      } else {
+        return changeEnd <= sub.getStop().getStopIndex() ? sub : null;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Лексировать текст метода и перенести токены в координаты нового содержимого.
+   * Лексирование выполняется тем же токенизатором, что и полный разбор, чтобы совпадали
+   * настройки лексера. Текст метода обязан заканчиваться ключевым словом конца метода:
+   * тогда лексер после окна находится в начальном режиме и токены за окном не меняются.
+   */
+  private Optional<List<Token>> lexWindow(String windowText, CharStream newStream, Token oldStart) {
+    var tokens = new BSLTokenizer(windowText).getTokens();
+
+    @Nullable Token lastToken = null;
+    for (var token : tokens) {
+      if (token.getType() != Token.EOF && token.getChannel() == Token.DEFAULT_CHANNEL) {
+        lastToken = token;
+      }
+    }
+    if (lastToken == null
+      || lastToken.getStopIndex() != windowText.length() - 1
+      || (lastToken.getType() != BSLLexer.ENDPROCEDURE_KEYWORD && lastToken.getType() != BSLLexer.ENDFUNCTION_KEYWORD)) {
+      return Optional.empty();
+    }
+
+    var offset = oldStart.getStartIndex();
+    var firstLine = oldStart.getLine();
+    var firstColumn = oldStart.getCharPositionInLine();
+    var result = new ArrayList<Token>(tokens.size());
+    for (var token : tokens) {
+      if (token.getType() == Token.EOF) {
+        continue;
+      }
+      var column = token.getLine() == 1
+        ? token.getCharPositionInLine() + firstColumn
+        : token.getCharPositionInLine();
+      result.add(copyToken(
+        token,
+        newStream,
+        token.getStartIndex() + offset,
+        token.getStopIndex() + offset,
+        token.getLine() + firstLine - 1,
+        column,
+        result.size()
+      ));
+    }
+    return Optional.of(result);
+  }
+
+  /**
+   * Разобрать токены окна как ровно один метод без синтаксических ошибок.
+   */
+  private BSLParser.@Nullable SubContext parseSub(List<Token> windowTokens) {
+    var tokenStream = new CommonTokenStream(new ListTokenSource(windowTokens));
+    var parser = new BSLParser(tokenStream);
+    parser.removeErrorListeners();
+    parser.setErrorHandler(new BailErrorStrategy());
+    try {
+      var sub = parser.sub();
+      if (tokenStream.LA(1) != Token.EOF || parser.getNumberOfSyntaxErrors() > 0) {
+        return null;
+      }
+      return sub;
+    } catch (ParseCancellationException e) {
+      return null;
+    }
+  }
+
+  private List<Token> shiftTokens(
+    List<Token> tokens,
+    CharStream newStream,
+    int delta,
+    int tokenIndexDelta,
+    Token oldStop,
+    Token newStop
+  ) {
+    var lineDelta = newStop.getLine() - oldStop.getLine();
+    var stopLine = oldStop.getLine();
+    var columnDelta = newStop.getCharPositionInLine() - oldStop.getCharPositionInLine();
+
+    var result = new ArrayList<Token>(tokens.size());
+    for (var token : tokens) {
+      var column = token.getLine() == stopLine
+        ? token.getCharPositionInLine() + columnDelta
+        : token.getCharPositionInLine();
+      result.add(copyToken(
+        token,
+        newStream,
+        token.getStartIndex() + delta,
+        token.getStopIndex() + delta,
+        token.getLine() + lineDelta,
+        column,
+        token.getTokenIndex() + tokenIndexDelta
+      ));
+    }
+    return result;
+  }
+
+  /**
+   * Пересоздать токены, предшествующие методу, в потоке символов нового содержимого.
+   * Позиции и индексы этих токенов не меняются.
+   */
+  private List<Token> reanchorTokens(List<Token> tokens, CharStream newStream) {
+    var result = new ArrayList<Token>(tokens.size());
+    for (var token : tokens) {
+      result.add(copyToken(
+        token,
+        newStream,
+        token.getStartIndex(),
+        token.getStopIndex(),
+        token.getLine(),
+        token.getCharPositionInLine(),
+        token.getTokenIndex()
+      ));
+    }
+    return result;
+  }
+
+  private Token copyToken(
+    Token token,
+    CharStream stream,
+    int start,
+    int stop,
+    int line,
+    int column,
+    int tokenIndex
+  ) {
+    var source = new Pair<@Nullable TokenSource, @Nullable CharStream>(token.getTokenSource(), stream);
+    var copy = new CommonToken(source, token.getType(), token.getChannel(), start, stop);
+    if (token.getType() == Token.EOF) {
+      copy.setText(token.getText());
+    }
+    copy.setLine(line);
+    copy.setCharPositionInLine(column);
+    copy.setTokenIndex(tokenIndex);
+    return copy;
+  }
+
+  /**
+   * Подставить новое поддерево метода вместо старого и перепривязать к пересозданным токенам
+   * все остальные узлы дерева.
+   */
+  private void splice(
+    BSLParser.FileContext ast,
+    BSLParser.SubContext oldSub,
+    BSLParser.SubContext newSub,
+    TokenRemapper remapper
+  ) {
+    var parent = (ParserRuleContext) oldSub.getParent();
+    var children = parent.children;
+    children.set(children.indexOf(oldSub), newSub);
+    newSub.setParent(parent);
+    newSub.invokingState = oldSub.invokingState;
+
+    remapper.remapTree(ast);
+  }
+
+  private record TokenRemapper(
+    BSLParser.SubContext oldSub,
+    BSLParser.SubContext newSub,
+    List<Token> prefixTokens,
+    int lastIndex,
+    List<Token> shiftedTokens
+  ) {
+
+    /**
+     * Перепривязать узлы дерева, кроме нового метода: его токены уже созданы в новом содержимом.
+     */
+    void remapTree(ParseTree tree) {
+      if (tree == newSub) {
+        return;
+      }
+      if (tree instanceof TerminalNodeImpl terminal) {
+        terminal.symbol = remap(terminal.symbol);
+      } else if (tree instanceof ParserRuleContext ctx) {
+        ctx.start = remap(ctx.start);
+        ctx.stop = remap(ctx.stop);
+        if (ctx.children != null) {
+          for (var child : ctx.children) {
+            remapTree(child);
+          }
+        }
+      }
+    }
+
+    private @Nullable Token remap(@Nullable Token token) {
+      if (token == null) {
+        return null;
+      }
+      if (token == oldSub.getStart()) {
+        return newSub.getStart();
+      }
+      if (token == oldSub.getStop()) {
+        return newSub.getStop();
+      }
+      var index = token.getTokenIndex();
+      if (index > lastIndex) {
+        return shiftedTokens.get(index - lastIndex - 1);
+      }
+      if (index >= 0 && index < prefixTokens.size()) {
+        return prefixTokens.get(index);
+      }
+      return token;
+    }
+  }
+}
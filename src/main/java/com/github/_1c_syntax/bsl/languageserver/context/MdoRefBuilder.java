@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.context;
 
+import com.github._1c_syntax.bsl.mdo.CommonModule;
 import com.github._1c_syntax.bsl.mdo.MD;
 import com.github._1c_syntax.bsl.parser.BSLParser;
 import com.github._1c_syntax.bsl.types.MDOType;
@@ -32,6 +33,8 @@ import org.antlr.v4.runtime.tree.TerminalNode;
 import org.jspecify.annotations.Nullable;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Утилитный класс для построения ссылок на объекты метаданных (MDO).
@@ -100,13 +103,29 @@ public class MdoRefBuilder {
     DocumentContext documentContext,
     @Nullable TerminalNode identifier,
     List<? extends BSLParser.ModifierContext> modifiers
+  ) {
+    return getMdoRef(identifier, modifiers, documentContext.getServerContext()::findCommonModule);
+  }
+
+  /**
+   * Формирует ссылку на объект-владелец метода или свойства, разрешая общие модули переданной функцией
+   *
+   * @param identifier         Имя общего модуля или типа объекта метаданных
+   * @param modifiers          "Модификаторы", т.е. части имени между "точками" (используется только второй)
+   * @param commonModuleFinder Поиск общего модуля по имени
+   * @return Ссылка
+   */
+  public String getMdoRef(
+    @Nullable TerminalNode identifier,
+    List<? extends BSLParser.ModifierContext> modifiers,
+    Function<String, Optional<CommonModule>> commonModuleFinder
   ) {
     if (identifier == null) {
       return "";
     }
 
     // предполагаем, что это вызов метода общего модуля
-    var commonModule = documentContext.getServerContext().findCommonModule(identifier.getText());
+    var commonModule = commonModuleFinder.apply(identifier.getText());
     if (commonModule.isPresent()) {
       return commonModule.get().getMdoRef();
     }
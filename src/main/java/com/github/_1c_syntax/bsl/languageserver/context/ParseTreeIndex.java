@@ -0,0 +1,281 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.context;
+
+import com.github._1c_syntax.bsl.languageserver.utils.Trees;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Индекс узлов дерева разбора документа по типам правил и токенов.
+ * <p>
+ * Строится одним обходом дерева. Для каждого индекса правила хранится непрерывный массив узлов
+ * в порядке документа (прямой обход) и параллельный массив индексов их первых токенов; для каждого
+ * типа токена - массив терминальных узлов, упорядоченный по индексу токена. Поиск всех узлов правила
+ * в документе возвращает представление массива без копирования, а поиск внутри поддерева сводится
+ * к двоичному поиску по интервалу токенов поддерева.
+ * <p>
+ * Индекс отражает дерево на момент построения и должен сбрасываться при любом изменении AST.
+ */
+public final class ParseTreeIndex {
+
+  private static final ParserRuleContext[] EMPTY_RULE_NODES = new ParserRuleContext[0];
+  private static final TerminalNode[] EMPTY_TOKEN_NODES = new TerminalNode[0];
+  private static final int[] EMPTY_INDEXES = new int[0];
+
+  private final ParserRuleContext[][] ruleNodes;
+  private final int[][] ruleNodeStarts;
+  private final TerminalNode[][] tokenNodes;
+  private final int[][] tokenNodeIndexes;
+
+  private ParseTreeIndex(
+    ParserRuleContext[][] ruleNodes,
+    int[][] ruleNodeStarts,
+    TerminalNode[][] tokenNodes,
+    int[][] tokenNodeIndexes
+  ) {
+    this.ruleNodes = ruleNodes;
+    this.ruleNodeStarts = ruleNodeStarts;
+    this.tokenNodes = tokenNodes;
+    this.tokenNodeIndexes = tokenNodeIndexes;
+  }
+
+  /**
+   * Построить индекс дерева разбора.
+   *
+   * @param root         корень дерева разбора.
+   * @param ruleCount    количество правил грамматики.
+   * @param maxTokenType максимальный тип токена грамматики.
+   * @return индекс узлов дерева.
+   */
+  @SuppressWarnings("unchecked")
+  public static ParseTreeIndex build(ParserRuleContext root, int ruleCount, int maxTokenType) {
+    var rules = (List<ParserRuleContext>[]) new List[ruleCount];
+    var tokens = (List<TerminalNode>[]) new List[maxTokenType + 1];
+
+    var stack = new ArrayDeque<ParseTree>();
+    stack.push(root);
+    while (!stack.isEmpty()) {
+      var node = stack.pop();
+      if (node instanceof TerminalNode terminalNode) {
+        var type = terminalNode.getSymbol().getType();
+        if (type >= 0 && type < tokens.length) {
+          bucket(tokens, type).add(terminalNode);
+        }
+        continue;
+      }
+      if (node instanceof ParserRuleContext ruleContext) {
+        var ruleIndex = ruleContext.getRuleIndex();
+        if (ruleIndex >= 0 && ruleIndex < rules.length) {
+          bucket(rules, ruleIndex).add(ruleContext);
+        }
+      }
+      for (var i = node.getChildCount() - 1; i >= 0; i--) {
+        stack.push(node.getChild(i));
+      }
+    }
+
+    var ruleNodes = new ParserRuleContext[ruleCount][];
+    var ruleNodeStarts = new int[ruleCount][];
+    for (var i = 0; i < ruleCount; i++) {
+      if (rules[i] == null) {
+        ruleNodes[i] = EMPTY_RULE_NODES;
+        ruleNodeStarts[i] = EMPTY_INDEXES;
+        continue;
+      }
+      ruleNodes[i] = rules[i].toArray(EMPTY_RULE_NODES);
+      ruleNodeStarts[i] = new int[ruleNodes[i].length];
+      for (var j = 0; j < ruleNodes[i].length; j++) {
+        ruleNodeStarts[i][j] = tokenIndex(ruleNodes[i][j].getStart());
+      }
+    }
+
+    var tokenNodes = new TerminalNode[tokens.length][];
+    var tokenNodeIndexes = new int[tokens.length][];
+    for (var i = 0; i < tokens.length; i++) {
+      if (tokens[i] == null) {
+        tokenNodes[i] = EMPTY_TOKEN_NODES;
+        tokenNodeIndexes[i] = EMPTY_INDEXES;
+        continue;
+      }
+      tokenNodes[i] = tokens[i].toArray(EMPTY_TOKEN_NODES);
+      tokenNodeIndexes[i] = new int[tokenNodes[i].length];
+      for (var j = 0; j < tokenNodes[i].length; j++) {
+        tokenNodeIndexes[i][j] = tokenNodes[i][j].getSymbol().getTokenIndex();
+      }
+    }
+
+    return new ParseTreeIndex(ruleNodes, ruleNodeStarts, tokenNodes, tokenNodeIndexes);
+  }
+
+  /**
+   * Получить все узлы правила в документе в порядке их расположения.
+   *
+   * @param ruleIndex индекс правила.
+   * @param <T>       тип узла.
+   * @return неизменяемое представление узлов правила.
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends ParseTree> List<T> findAllRuleNodes(int ruleIndex) {
+    if (ruleIndex < 0 || ruleIndex >= ruleNodes.length) {
+      return Collections.emptyList();
+    }
+    return (List<T>) Collections.unmodifiableList(Arrays.asList(ruleNodes[ruleIndex]));
+  }
+
+  /**
+   * Получить узлы правила внутри поддерева (включая корень поддерева) в порядке их расположения.
+   * <p>
+   * Результат совпадает с {@link Trees#findAllRuleNodes(ParseTree, int)} для того же поддерева.
+   *
+   * @param subtree   корень поддерева.
+   * @param ruleIndex индекс правила.
+   * @param <T>       тип узла.
+   * @return узлы правила внутри поддерева.
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends ParseTree> List<T> findAllRuleNodes(ParserRuleContext subtree, int ruleIndex) {
+    if (ruleIndex < 0 || ruleIndex >= ruleNodes.length) {
+      return Collections.emptyList();
+    }
+    var start = subtree.getStart();
+    var stop = subtree.getStop();
+    if (start == null || stop == null || stop.getTokenIndex() < start.getTokenIndex()) {
+      return List.copyOf(Trees.findAllRuleNodes(subtree, ruleIndex));
+    }
+
+    var nodes = ruleNodes[ruleIndex];
+    var starts = ruleNodeStarts[ruleIndex];
+    var from = lowerBound(starts, start.getTokenIndex());
+    var to = lowerBound(starts, stop.getTokenIndex() + 1);
+
+    var result = new ArrayList<T>(to - from);
+    for (var i = from; i < to; i++) {
+      var node = nodes[i];
+      if (isInside(node, subtree, start.getTokenIndex(), stop.getTokenIndex())) {
+        result.add((T) node);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Получить все терминальные узлы указанного типа токена в документе в порядке их расположения.
+   *
+   * @param tokenType тип токена.
+   * @return неизменяемое представление терминальных узлов.
+   */
+  public List<TerminalNode> findAllTokenNodes(int tokenType) {
+    if (tokenType < 0 || tokenType >= tokenNodes.length) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(Arrays.asList(tokenNodes[tokenType]));
+  }
+
+  /**
+   * Получить терминальные узлы указанного типа токена внутри поддерева в порядке их расположения.
+   * <p>
+   * Терминальные узлы поддерева занимают ровно интервал токенов от его первого до последнего токена.
+   *
+   * @param subtree   корень поддерева.
+   * @param tokenType тип токена.
+   * @return неизменяемое представление терминальных узлов.
+   */
+  public List<TerminalNode> findAllTokenNodes(ParserRuleContext subtree, int tokenType) {
+    if (tokenType < 0 || tokenType >= tokenNodes.length) {
+      return Collections.emptyList();
+    }
+    var start = subtree.getStart();
+    var stop = subtree.getStop();
+    if (start == null || stop == null || stop.getTokenIndex() < start.getTokenIndex()) {
+      return Trees.findAllTokenNodes(subtree, tokenType).stream()
+        .map(TerminalNode.class::cast)
+        .toList();
+    }
+
+    var indexes = tokenNodeIndexes[tokenType];
+    var from = lowerBound(indexes, start.getTokenIndex());
+    var to = lowerBound(indexes, stop.getTokenIndex() + 1);
+    return Collections.unmodifiableList(Arrays.asList(tokenNodes[tokenType]).subList(from, to));
+  }
+
+  private static boolean isInside(
+    ParserRuleContext node,
+    ParserRuleContext subtree,
+    int subtreeStart,
+    int subtreeStop
+  ) {
+    if (node == subtree) {
+      return true;
+    }
+    var nodeStop = node.getStop();
+    var nodeStart = tokenIndex(node.getStart());
+    // непустой узел, начинающийся строго внутри интервала поддерева, может быть только его потомком
+    if (nodeStart > subtreeStart && nodeStop != null
+      && nodeStop.getTokenIndex() >= nodeStart && nodeStop.getTokenIndex() <= subtreeStop) {
+      return true;
+    }
+    // узлы с тем же первым токеном (предки или потомки) и пустые узлы проверяются подъемом по родителям
+    for (var parent = node.getParent(); parent != null; parent = parent.getParent()) {
+      if (parent == subtree) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int tokenIndex(@Nullable Token token) {
+    return token == null ? -1 : token.getTokenIndex();
+  }
+
+  private static int lowerBound(int[] values, int key) {
+    var low = 0;
+    var high = values.length;
+    while (low < high) {
+      var middle = (low + high) >>> 1;
+      if (values[middle] < key) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private static <T> List<T> bucket(List<T>[] buckets, int index) {
+    var bucket = buckets[index];
+    if (bucket == null) {
+      bucket = new ArrayList<>();
+      buckets[index] = bucket;
+    }
+    return bucket;
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.context;
+
+import com.github._1c_syntax.bsl.parser.BSLTokenizer;
+import org.antlr.v4.runtime.Token;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Результат разбора документа, отсоединенный от {@link DocumentContext}.
+ *
+ * @param content       текст документа, по которому выполнен разбор
+ * @param tokenizer     токенизатор с AST документа
+ * @param splicedTokens токены после инкрементального разбора или {@code null}, если актуальны токены токенизатора
+ */
+record ParsedContent(String content, BSLTokenizer tokenizer, @Nullable List<Token> splicedTokens) {
+
+  /**
+   * @return актуальные токены документа
+   */
+  List<Token> tokens() {
+    return splicedTokens == null ? tokenizer.getTokens() : splicedTokens;
+  }
+}
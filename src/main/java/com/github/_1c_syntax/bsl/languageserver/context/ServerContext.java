@@ -52,6 +52,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -60,6 +61,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 
 /**
  * Контекст сервера - центральное хранилище информации о рабочей области.
@@ -72,6 +74,24 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @RequiredArgsConstructor
 public class ServerContext {
+  /**
+   * Типы модулей, на члены которых не могут ссылаться другие модули.
+   * <p>
+   * Методы и переменные модулей форм и команд видны только внутри самого модуля, поэтому
+   * для их анализа достаточно, чтобы были построены деревья символов остальных модулей.
+   * <p>
+   * Остальные модули разбираются при наполнении контекста, даже если фактически к ним никто не
+   * обращается (например, общие модули без обращений извне): узнать, что у модуля нет зависимых,
+   * можно только по индексу ссылок, а он заполняется тем же наполнением контекста. Результат этого
+   * разбора до анализа хранится в {@link ClosedDocumentAstCache}, поэтому повторно разбираются только
+   * модули, вытесненные из него по бюджету. При повторном запуске деревья символов неизмененных модулей
+   * восстанавливаются из {@link SymbolTreeSnapshot}, и наполнение контекста их не разбирает.
+   */
+  private static final Set<ModuleType> LEAF_MODULE_TYPES = EnumSet.of(
+    ModuleType.FormModule,
+    ModuleType.CommandModule
+  );
+
   private static final MDCReadSettings SOLUTION_READ_SETTINGS = MDCReadSettings.builder()
     .skipDataCompositionSchema(true)
     .skipXdtoPackage(true)
@@ -94,6 +114,17 @@ public class ServerContext {
    */
   private final Cache<String, Optional<CommonModule>> commonModuleCache;
 
+  /**
+   * Результаты разбора освобожденных документов, возвращаемые им при пересборке с тем же содержимым.
+   */
+  private final ClosedDocumentAstCache closedDocumentAstCache;
+
+  /**
+   * Деревья символов документов, сохраненные прошлыми запусками: неизменившиеся файлы не разбираются
+   * при наполнении контекста.
+   */
+  private final SymbolTreeSnapshot symbolTreeSnapshot;
+
   @Getter
   @Setter
   @SuppressWarnings("NullAway.Init")
@@ -179,6 +210,52 @@ public class ServerContext {
     LOGGER.debug("Context populated.");
   }
 
+  /**
+   * Проверить, могут ли на члены модуля ссылаться другие модули.
+   * <p>
+   * Используется потоковым анализом: такие модули должны быть загружены в контекст через
+   * {@link #populateContext(Collection)} до расчета диагностик, а остальные (модули форм и команд)
+   * можно разбирать, индексировать и анализировать за один проход в {@link #analyzeDocument(URI, Function)}.
+   * Модули, тип которых не определяется по метаданным конфигурации, считаются доступными извне.
+   *
+   * @param uri нормализованный URI документа
+   * @return {@code true}, если модуль может использоваться из других модулей
+   */
+  public boolean isReferenceableModule(URI uri) {
+    var moduleType = getConfiguration().getModuleTypeByURI(uri);
+    return !LEAF_MODULE_TYPES.contains(moduleType);
+  }
+
+  /**
+   * Проанализировать документ за один разбор.
+   * <p>
+   * Под блокировкой документа строит его AST (если документ уже не содержит данных),
+   * при этом по событию перестроения заполняется индекс ссылок, затем вызывает анализатор,
+   * фиксирует вычисленные данные и сразу освобождает AST. Пиковое потребление памяти
+   * определяется только числом одновременно анализируемых документов.
+   * <p>
+   * Если документа еще нет в контексте, он добавляется.
+   *
+   * @param uri      нормализованный URI документа
+   * @param analyzer функция, вычисляющая результат анализа, пока AST документа построен
+   * @param <T>      тип результата анализа
+   * @return результат анализатора
+   */
+  public <T> T analyzeDocument(URI uri, Function<DocumentContext, T> analyzer) {
+    var lock = getDocumentLock(uri);
+    lock.writeLock().lock();
+    try {
+      var documentContext = addDocument(uri);
+      rebuildDocument(documentContext);
+      var result = analyzer.apply(documentContext);
+      documentContext.freezeComputedData();
+      tryClearDocument(documentContext);
+      return result;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
   public Map<URI, DocumentContext> getDocuments() {
     return Collections.unmodifiableMap(documents);
   }
@@ -301,6 +378,9 @@ public class ServerContext {
     }
 
     removeDocumentMdoRefByUri(uri);
+    if (documentContext != null) {
+      closedDocumentAstCache.invalidate(documentContext);
+    }
     states.remove(documentContext);
     documents.remove(uri);
     documentLocks.remove(uri);
@@ -396,6 +476,9 @@ public class ServerContext {
   /**
    * Перестроить документ. В качестве содержимого будут использоваться данные,
    * прочитанные из файла, с которым связан документ.
+   * Если файл не менялся с момента освобождения документа, результат разбора берется из
+   * {@link ClosedDocumentAstCache}, иначе дерево символов по возможности восстанавливается из
+   * {@link SymbolTreeSnapshot} без разбора файла.
    *
    * @param documentContext документ, который необходимо перестроить.
    */
@@ -404,24 +487,39 @@ public class ServerContext {
       return;
     }
 
-    documentContext.rebuildFromFileSystem();
+    documentContext.rebuildFromFileSystem(closedDocumentAstCache, symbolTreeSnapshot);
     states.put(documentContext, State.WITH_CONTENT);
   }
 
   /**
    * Перестроить документ, используя новое содержимое.
+   * Если содержимое совпадает с текстом освобожденного документа, результат разбора берется из
+   * {@link ClosedDocumentAstCache}.
    *
    * @param documentContext документ, который необходимо перестроить.
    * @param content         новое содержимое документа.
    * @param version         версия документа.
    */
   public void rebuildDocument(DocumentContext documentContext, String content, Integer version) {
-    documentContext.rebuild(content, version);
+    documentContext.rebuild(content, version, closedDocumentAstCache.take(documentContext, content));
+    states.put(documentContext, State.WITH_CONTENT);
+  }
+
+  /**
+   * Перестроить документ, используя новый текст, полученный инкрементальным изменением.
+   *
+   * @param documentContext документ, который необходимо перестроить.
+   * @param text            новый текст документа.
+   * @param version         версия документа.
+   */
+  public void rebuildDocument(DocumentContext documentContext, DocumentText text, Integer version) {
+    documentContext.rebuild(text, version);
     states.put(documentContext, State.WITH_CONTENT);
   }
 
   /**
    * Попытаться очистить документ, если он не открыт.
+   * Результат разбора документа сохраняется в {@link ClosedDocumentAstCache}.
    *
    * @param documentContext документ, который необходимо попытаться закрыть.
    * @return {@code true}, если вторичные данные документа были реально освобождены;
@@ -433,19 +531,27 @@ public class ServerContext {
     }
 
     states.put(documentContext, State.WITHOUT_CONTENT);
-    documentContext.clearSecondaryData();
+    releaseDocument(documentContext);
     return true;
   }
 
   /**
    * Закрыть документ и очистить его содержимое.
+   * Результат разбора документа сохраняется в {@link ClosedDocumentAstCache}.
    *
    * @param documentContext документ, который необходимо закрыть.
    */
   public void closeDocument(DocumentContext documentContext) {
     openedDocuments.remove(documentContext);
     states.put(documentContext, State.WITHOUT_CONTENT);
-    documentContext.clearSecondaryData();
+    releaseDocument(documentContext);
+  }
+
+  private void releaseDocument(DocumentContext documentContext) {
+    var parsedContent = documentContext.releaseSecondaryData();
+    if (parsedContent != null) {
+      closedDocumentAstCache.put(documentContext, parsedContent);
+    }
   }
 
   public CF getConfiguration() {
@@ -0,0 +1,564 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.context;
+
+import com.github._1c_syntax.bsl.languageserver.context.symbol.AbstractMethodSymbol;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.ConstructorSymbol;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.MethodSymbol;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.ModuleSymbol;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.ParameterDefinition;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.RegionSymbol;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.RegularMethodSymbol;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.SourceDefinedSymbol;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.SymbolTree;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.VariableSymbol;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.annotations.Annotation;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.annotations.AnnotationKind;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.annotations.AnnotationParameterDefinition;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.annotations.CompilerDirectiveKind;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.variable.VariableKind;
+import com.github._1c_syntax.bsl.languageserver.utils.Ranges;
+import com.github._1c_syntax.bsl.languageserver.utils.VarInts;
+import com.github._1c_syntax.bsl.parser.BSLLexer;
+import com.github._1c_syntax.bsl.parser.description.MethodDescription;
+import com.github._1c_syntax.bsl.parser.description.ParameterDescription;
+import com.github._1c_syntax.bsl.parser.description.VariableDescription;
+import com.github._1c_syntax.bsl.parser.description.support.SimpleRange;
+import com.github._1c_syntax.utils.StringInterner;
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.Token;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Бинарный формат снимка дерева символов документа (см. {@link SymbolTreeSnapshot}).
+ * <p>
+ * Дерево записывается обходом в глубину: для каждого символа - его вид, поля и дети. Имена собраны
+ * в таблицу строк, числа записаны как varint. Описания методов и переменных хранятся в виде исходных
+ * токенов комментариев и при чтении разбираются парсером описаний заново, поэтому восстановленные
+ * описания совпадают с построенными по AST.
+ */
+final class SymbolTreeCodec {
+
+  static final int FORMAT_VERSION = 1;
+
+  private static final int REGION = 0;
+  private static final int REGULAR_METHOD = 1;
+  private static final int CONSTRUCTOR = 2;
+  private static final int VARIABLE = 3;
+
+  private static final int FUNCTION = 1;
+  private static final int EXPORT = 1 << 1;
+  private static final int ASYNC = 1 << 2;
+  private static final int DEPRECATED = 1 << 3;
+
+  private SymbolTreeCodec() {
+    // utility class
+  }
+
+  /**
+   * Упаковать дерево символов.
+   *
+   * @param symbolTree дерево символов документа
+   * @param comments   токены комментариев документа, по которым построены описания символов
+   * @return снимок дерева символов
+   * @throws IOException если описание символа не удалось сопоставить с комментариями документа
+   */
+  static byte[] encode(SymbolTree symbolTree, List<Token> comments) throws IOException {
+    var writer = new Writer(comments);
+    writer.writeModule(symbolTree.getModule());
+    return writer.toByteArray();
+  }
+
+  /**
+   * Распаковать дерево символов.
+   *
+   * @param documentContext документ, которому принадлежат символы
+   * @param snapshot        снимок, полученный {@link #encode(SymbolTree, List)}
+   * @param stringInterner  интернер имен символов
+   * @return дерево символов документа
+   * @throws IOException если снимок поврежден или записан в другом формате
+   */
+  static SymbolTree decode(
+    DocumentContext documentContext,
+    byte[] snapshot,
+    StringInterner stringInterner
+  ) throws IOException {
+    var reader = new Reader(documentContext, new DataInputStream(new ByteArrayInputStream(snapshot)), stringInterner);
+    return new SymbolTree(reader.readModule());
+  }
+
+  private static final class Writer {
+
+    private final List<Token> comments;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final List<String> stringTable = new ArrayList<>();
+    private final Map<MethodSymbol, Integer> methodIds = new IdentityHashMap<>();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private final DataOutputStream output = new DataOutputStream(body);
+
+    private Writer(List<Token> comments) {
+      this.comments = comments;
+    }
+
+    private void writeModule(ModuleSymbol module) throws IOException {
+      writeRange(module.getRange());
+      writeRange(module.getSelectionRange());
+      writeChildren(module);
+    }
+
+    private void writeChildren(SourceDefinedSymbol symbol) throws IOException {
+      var children = symbol.getChildren();
+      VarInts.write(output, children.size());
+      for (var child : children) {
+        if (child instanceof RegionSymbol region) {
+          writeRegion(region);
+        } else if (child instanceof MethodSymbol method) {
+          writeMethod(method);
+        } else if (child instanceof VariableSymbol variable) {
+          writeVariable(variable);
+        } else {
+          throw new IOException("Unsupported symbol " + child.getClass().getName());
+        }
+      }
+    }
+
+    private void writeRegion(RegionSymbol region) throws IOException {
+      output.writeByte(REGION);
+      writeString(region.getName());
+      writeRange(region.getRange());
+      writeRange(region.getStartRange());
+      writeRange(region.getEndRange());
+      writeRange(region.getRegionNameRange());
+      writeChildren(region);
+    }
+
+    private void writeMethod(MethodSymbol method) throws IOException {
+      output.writeByte(method instanceof ConstructorSymbol ? CONSTRUCTOR : REGULAR_METHOD);
+      methodIds.put(method, methodIds.size());
+      writeString(method.getName());
+      writeRange(method.getRange());
+      writeLineRange(method.getSubNameRange());
+      output.writeByte((method.isFunction() ? FUNCTION : 0)
+        | (method.isExport() ? EXPORT : 0)
+        | (method.isAsync() ? ASYNC : 0)
+        | (method.isDeprecated() ? DEPRECATED : 0));
+      var description = method.getDescription();
+      var descriptionComments = description.isPresent() ? commentsOf(description.get().getRange()) : List.<Token>of();
+      if (description.isPresent() && descriptionComments.isEmpty()) {
+        throw new IOException("Can't find comments of method " + method.getName());
+      }
+      writeComments(descriptionComments);
+      VarInts.write(output, method.getCompilerDirectiveKind().map(kind -> kind.ordinal() + 1).orElse(0));
+      writeAnnotations(method.getAnnotations());
+
+      var parameters = method.getParameters();
+      VarInts.write(output, parameters.size());
+      for (var parameter : parameters) {
+        writeString(parameter.getName());
+        output.writeBoolean(parameter.isByValue());
+        output.writeByte(parameter.getDefaultValue().type().ordinal());
+        writeString(parameter.getDefaultValue().value());
+        writeAnnotations(parameter.getAnnotations());
+        writeRange(parameter.getRange());
+      }
+
+      writeChildren(method);
+    }
+
+    private void writeVariable(VariableSymbol variable) throws IOException {
+      output.writeByte(VARIABLE);
+      writeString(variable.getName());
+      output.writeByte(variable.getKind().ordinal());
+      output.writeBoolean(variable.isExport());
+      writeRange(variable.getRange());
+      writeLineRange(variable.getVariableNameRange());
+
+      var scope = variable.getScope();
+      if (scope instanceof MethodSymbol method) {
+        var methodId = methodIds.get(method);
+        if (methodId == null) {
+          throw new IOException("Scope of variable " + variable.getName() + " is not an enclosing method");
+        }
+        VarInts.write(output, methodId + 1);
+      } else {
+        VarInts.write(output, 0);
+      }
+
+      var description = variable.getDescription();
+      output.writeBoolean(description.isPresent());
+      if (description.isPresent()) {
+        var trailing = description.get().getTrailingDescription()
+          .map(trailingDescription -> commentsOf(trailingDescription.getRange()))
+          .orElse(List.of());
+        var leading = new ArrayList<>(commentsOf(description.get().getRange()));
+        leading.removeAll(trailing);
+        if (leading.isEmpty() && trailing.isEmpty()) {
+          throw new IOException("Can't find comments of variable " + variable.getName());
+        }
+        writeComments(leading);
+        writeComments(trailing.isEmpty() ? List.of() : List.of(trailing.get(0)));
+      }
+
+      writeAnnotations(variable.getAnnotations());
+    }
+
+    private void writeAnnotations(List<Annotation> annotations) throws IOException {
+      VarInts.write(output, annotations.size());
+      for (var annotation : annotations) {
+        writeString(annotation.getName());
+        output.writeByte(annotation.getKind().ordinal());
+        var parameters = annotation.getParameters();
+        VarInts.write(output, parameters.size());
+        for (var parameter : parameters) {
+          writeString(parameter.name());
+          output.writeBoolean(parameter.optional());
+          var value = parameter.value();
+          output.writeBoolean(value.isLeft());
+          if (value.isLeft()) {
+            writeString(value.getLeft());
+          } else {
+            writeAnnotations(List.of(value.getRight()));
+          }
+        }
+      }
+    }
+
+    /**
+     * Токены комментариев, из которых построено описание с указанным диапазоном.
+     */
+    private List<Token> commentsOf(SimpleRange range) {
+      var low = 0;
+      var high = comments.size();
+      while (low < high) {
+        var middle = (low + high) >>> 1;
+        if (comments.get(middle).getLine() - 1 < range.startLine()) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+
+      List<Token> result = new ArrayList<>();
+      for (var i = low; i < comments.size() && comments.get(i).getLine() - 1 <= range.endLine(); i++) {
+        var comment = comments.get(i);
+        if (SimpleRange.containsRange(range, SimpleRange.create(comment))) {
+          result.add(comment);
+        }
+      }
+      return result;
+    }
+
+    private void writeComments(Collection<Token> tokens) throws IOException {
+      VarInts.write(output, tokens.size());
+      for (var token : tokens) {
+        VarInts.write(output, token.getLine());
+        VarInts.write(output, token.getCharPositionInLine());
+        VarInts.write(output, token.getChannel());
+        output.writeUTF(token.getText());
+      }
+    }
+
+    private void writeRange(Range range) throws IOException {
+      var start = range.getStart();
+      var end = range.getEnd();
+      VarInts.write(output, VarInts.zigZag(start.getLine()));
+      VarInts.write(output, VarInts.zigZag(start.getCharacter()));
+      VarInts.write(output, VarInts.zigZag(end.getLine() - start.getLine()));
+      VarInts.write(output, VarInts.zigZag(end.getCharacter()));
+    }
+
+    private void writeLineRange(Range range) throws IOException {
+      VarInts.write(output, VarInts.zigZag(range.getStart().getLine()));
+      VarInts.write(output, VarInts.zigZag(range.getStart().getCharacter()));
+      VarInts.write(output, VarInts.zigZag(range.getEnd().getCharacter()));
+    }
+
+    private void writeString(String string) throws IOException {
+      var id = strings.computeIfAbsent(string, (String key) -> {
+        stringTable.add(key);
+        return stringTable.size() - 1;
+      });
+      VarInts.write(output, id);
+    }
+
+    private byte[] toByteArray() throws IOException {
+      var snapshot = new ByteArrayOutputStream(body.size() + stringTable.size() * 16 + 8);
+      var snapshotOutput = new DataOutputStream(snapshot);
+      snapshotOutput.writeByte(FORMAT_VERSION);
+      VarInts.write(snapshotOutput, stringTable.size());
+      for (var string : stringTable) {
+        snapshotOutput.writeUTF(string);
+      }
+      output.flush();
+      body.writeTo(snapshotOutput);
+      snapshotOutput.flush();
+      return snapshot.toByteArray();
+    }
+  }
+
+  private static final class Reader {
+
+    private final DocumentContext documentContext;
+    private final DataInputStream input;
+    private final String[] stringTable;
+    private final List<MethodSymbol> methods = new ArrayList<>();
+
+    private Reader(DocumentContext documentContext, DataInputStream input, StringInterner stringInterner)
+      throws IOException {
+
+      this.documentContext = documentContext;
+      this.input = input;
+
+      var formatVersion = input.readUnsignedByte();
+      if (formatVersion != FORMAT_VERSION) {
+        throw new IOException("Unsupported snapshot format " + formatVersion);
+      }
+
+      stringTable = new String[VarInts.read(input)];
+      for (var i = 0; i < stringTable.length; i++) {
+        stringTable[i] = stringInterner.intern(input.readUTF());
+      }
+    }
+
+    private ModuleSymbol readModule() throws IOException {
+      var module = ModuleSymbol.builder()
+        .name(ModuleSymbol.nameOf(documentContext.getMdoRef(), documentContext.getModuleType()))
+        .owner(documentContext)
+        .range(readRange())
+        .selectionRange(readRange())
+        .build();
+      readChildren(module, module);
+      return module;
+    }
+
+    private void readChildren(SourceDefinedSymbol parent, ModuleSymbol module) throws IOException {
+      var size = VarInts.read(input);
+      var children = parent.getChildren();
+      for (var i = 0; i < size; i++) {
+        var kind = input.readUnsignedByte();
+        switch (kind) {
+          case REGION -> {
+            var region = readRegion();
+            region.setParent(Optional.of(parent));
+            children.add(region);
+            readChildren(region, module);
+          }
+          case REGULAR_METHOD, CONSTRUCTOR -> {
+            var method = readMethod(kind == CONSTRUCTOR);
+            method.setParent(Optional.of(parent));
+            children.add(method);
+            methods.add(method);
+            readChildren(method, module);
+          }
+          case VARIABLE -> children.add(readVariable(parent, module));
+          default -> throw new IOException("Unknown symbol kind " + kind);
+        }
+      }
+      if (children instanceof ArrayList<SourceDefinedSymbol> list) {
+        list.trimToSize();
+      }
+    }
+
+    private RegionSymbol readRegion() throws IOException {
+      return RegionSymbol.builder()
+        .name(readString())
+        .owner(documentContext)
+        .range(readRange())
+        .startRange(readRange())
+        .endRange(readRange())
+        .regionNameRange(readRange())
+        .build();
+    }
+
+    private MethodSymbol readMethod(boolean constructor) throws IOException {
+      AbstractMethodSymbol.AbstractMethodSymbolBuilder<?, ?> builder = constructor
+        ? ConstructorSymbol.builder()
+        : RegularMethodSymbol.builder();
+
+      builder
+        .name(readString())
+        .owner(documentContext)
+        .range(readRange())
+        .subNameRange(readLineRange());
+
+      var flags = input.readUnsignedByte();
+      var comments = readComments();
+      var description = comments.isEmpty()
+        ? Optional.<MethodDescription>empty()
+        : Optional.of(MethodDescription.create(comments));
+      var compilerDirectiveKind = VarInts.read(input);
+
+      builder
+        .function((flags & FUNCTION) != 0)
+        .export((flags & EXPORT) != 0)
+        .async((flags & ASYNC) != 0)
+        .deprecated((flags & DEPRECATED) != 0)
+        .description(description)
+        .compilerDirectiveKind(compilerDirectiveKind == 0
+          ? Optional.empty()
+          : Optional.of(CompilerDirectiveKind.values()[compilerDirectiveKind - 1]))
+        .annotations(readAnnotations());
+
+      var parameterTypes = ParameterDefinition.ParameterType.values();
+      var size = VarInts.read(input);
+      List<ParameterDefinition> parameters = new ArrayList<>(size);
+      for (var i = 0; i < size; i++) {
+        var name = readString();
+        parameters.add(ParameterDefinition.builder()
+          .name(name)
+          .byValue(input.readBoolean())
+          .defaultValue(new ParameterDefinition.DefaultValue(parameterTypes[input.readUnsignedByte()], readString()))
+          .annotations(readAnnotations())
+          .range(readRange())
+          .description(parameterDescription(name, description))
+          .build());
+      }
+
+      return builder
+        .parameters(List.copyOf(parameters))
+        .build();
+    }
+
+    private VariableSymbol readVariable(SourceDefinedSymbol parent, ModuleSymbol module) throws IOException {
+      var builder = VariableSymbol.builder()
+        .name(readString())
+        .owner(documentContext)
+        .parent(Optional.of(parent))
+        .kind(VariableKind.values()[input.readUnsignedByte()])
+        .export(input.readBoolean())
+        .range(readRange())
+        .variableNameRange(readLineRange());
+
+      var scopeId = VarInts.read(input);
+      if (scopeId > methods.size()) {
+        throw new IOException("Unknown variable scope " + scopeId);
+      }
+      builder.scope(scopeId == 0 ? module : methods.get(scopeId - 1));
+
+      Optional<VariableDescription> description = Optional.empty();
+      if (input.readBoolean()) {
+        var leading = readComments();
+        var trailing = readComments().stream().findFirst();
+        description = Optional.of(VariableDescription.create(leading, trailing));
+      }
+
+      return builder
+        .description(description)
+        .annotations(readAnnotations())
+        .build();
+    }
+
+    private List<Annotation> readAnnotations() throws IOException {
+      var size = VarInts.read(input);
+      if (size == 0) {
+        return List.of();
+      }
+
+      var kinds = AnnotationKind.values();
+      List<Annotation> annotations = new ArrayList<>(size);
+      for (var i = 0; i < size; i++) {
+        var name = readString();
+        var kind = kinds[input.readUnsignedByte()];
+        var parametersSize = VarInts.read(input);
+        List<AnnotationParameterDefinition> parameters = new ArrayList<>(parametersSize);
+        for (var j = 0; j < parametersSize; j++) {
+          var parameterName = readString();
+          var optional = input.readBoolean();
+          Either<String, Annotation> value = input.readBoolean()
+            ? Either.forLeft(readString())
+            : Either.forRight(readAnnotations().get(0));
+          parameters.add(new AnnotationParameterDefinition(parameterName, value, optional));
+        }
+        annotations.add(Annotation.builder()
+          .name(name)
+          .kind(kind)
+          .parameters(List.copyOf(parameters))
+          .build());
+      }
+      return List.copyOf(annotations);
+    }
+
+    private List<Token> readComments() throws IOException {
+      var size = VarInts.read(input);
+      List<Token> comments = new ArrayList<>(size);
+      for (var i = 0; i < size; i++) {
+        var line = VarInts.read(input);
+        var charPositionInLine = VarInts.read(input);
+        var channel = VarInts.read(input);
+        var comment = new CommonToken(BSLLexer.LINE_COMMENT, input.readUTF());
+        comment.setLine(line);
+        comment.setCharPositionInLine(charPositionInLine);
+        comment.setChannel(channel);
+        comments.add(comment);
+      }
+      return comments;
+    }
+
+    private Range readRange() throws IOException {
+      var startLine = VarInts.unZigZag(VarInts.read(input));
+      var startCharacter = VarInts.unZigZag(VarInts.read(input));
+      var endLine = startLine + VarInts.unZigZag(VarInts.read(input));
+      var endCharacter = VarInts.unZigZag(VarInts.read(input));
+      return Ranges.create(startLine, startCharacter, endLine, endCharacter);
+    }
+
+    private Range readLineRange() throws IOException {
+      var line = VarInts.unZigZag(VarInts.read(input));
+      var startCharacter = VarInts.unZigZag(VarInts.read(input));
+      var endCharacter = VarInts.unZigZag(VarInts.read(input));
+      return Ranges.create(line, startCharacter, line, endCharacter);
+    }
+
+    private String readString() throws IOException {
+      var id = VarInts.read(input);
+      if (id >= stringTable.length) {
+        throw new IOException("Unknown string " + id);
+      }
+      return stringTable[id];
+    }
+
+    private static Optional<ParameterDescription> parameterDescription(
+      String name,
+      Optional<MethodDescription> description
+    ) {
+      return description.map(MethodDescription::getParameters)
+        .stream()
+        .flatMap(Collection::stream)
+        .filter(parameterDescription -> parameterDescription.name().equalsIgnoreCase(name))
+        .findFirst();
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.context;
+
+import com.github._1c_syntax.bsl.languageserver.context.symbol.SymbolTree;
+import com.github._1c_syntax.utils.StringInterner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.lsp4j.ServerInfo;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Персистентный снимок деревьев символов документов для быстрого старта.
+ * <p>
+ * Дерево символов зависит только от текста документа и типа его модуля, поэтому после первого разбора
+ * оно упаковывается ({@link SymbolTreeCodec}) и сохраняется в персистентном кэше
+ * {@link SymbolTreeCacheRegistrar#CACHE_NAME}. Когда документ с тем же содержимым снова читается с
+ * диска ({@link ServerContext#rebuildDocument(DocumentContext)}), дерево символов восстанавливается из
+ * снимка, а сам документ не разбирается: токены и AST строятся только при первом обращении к ним.
+ * Вместе со снимком индекса ссылок это позволяет неизменившимся файлам пройти наполнение контекста
+ * сервера без разбора.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SymbolTreeSnapshot {
+
+  @Qualifier("ehcacheCacheManager")
+  private final CacheManager cacheManager;
+  private final ServerInfo serverInfo;
+  private final StringInterner stringInterner;
+
+  /**
+   * Восстановить дерево символов документа из снимка.
+   *
+   * @param documentContext документ
+   * @param content         прочитанное содержимое документа
+   * @return дерево символов или {@code null}, если снимка для этого содержимого нет
+   */
+  @Nullable
+  SymbolTree restore(DocumentContext documentContext, String content) {
+    var cache = getCache();
+    if (cache == null) {
+      return null;
+    }
+
+    var key = computeKey(documentContext, content);
+    var snapshot = cache.get(key, byte[].class);
+    if (snapshot == null) {
+      return null;
+    }
+
+    try {
+      return SymbolTreeCodec.decode(documentContext, snapshot, stringInterner);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.debug("Can't read symbol tree snapshot of {}", documentContext.getUri(), e);
+      cache.evict(key);
+      return null;
+    }
+  }
+
+  /**
+   * Сохранить дерево символов документа в снимок.
+   *
+   * @param documentContext документ, дерево символов которого построено по содержимому {@code content}
+   * @param content         содержимое документа
+   */
+  void store(DocumentContext documentContext, String content) {
+    var cache = getCache();
+    if (cache == null) {
+      return;
+    }
+
+    byte[] snapshot;
+    try {
+      snapshot = SymbolTreeCodec.encode(documentContext.getSymbolTree(), documentContext.getComments());
+    } catch (IOException e) {
+      LOGGER.debug("Can't write symbol tree snapshot of {}", documentContext.getUri(), e);
+      return;
+    }
+    cache.put(computeKey(documentContext, content), snapshot);
+  }
+
+  private @Nullable Cache getCache() {
+    return cacheManager.getCache(SymbolTreeCacheRegistrar.CACHE_NAME);
+  }
+
+  private String computeKey(DocumentContext documentContext, String content) {
+    var environment = new StringBuilder()
+      .append(SymbolTreeCodec.FORMAT_VERSION).append('\n')
+      .append(serverInfo.getVersion()).append('\n')
+      .append(documentContext.getModuleType()).append('\n')
+      .append(documentContext.getUri()).append('\n');
+
+    var digest = DigestUtils.getSha256Digest();
+    DigestUtils.updateDigest(digest, environment.toString());
+    DigestUtils.updateDigest(digest, content);
+    return Hex.encodeHexString(digest.digest());
+  }
+}
@@ -22,7 +22,9 @@
 package com.github._1c_syntax.bsl.languageserver.context.computer;
 
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.utils.CancelCheckers;
 import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 
 import java.util.List;
 
@@ -34,9 +36,22 @@ public interface DiagnosticComputer {
 
   /**
    * Вычислить все диагностики для документа.
+   * Отменяется проверяющим, привязанным к текущему потоку (см. {@link CancelCheckers}).
    *
    * @param documentContext контекст анализируемого документа
    * @return список найденных диагностик
    */
-  List<Diagnostic> compute(DocumentContext documentContext);
+  default List<Diagnostic> compute(DocumentContext documentContext) {
+    return compute(documentContext, CancelCheckers.current());
+  }
+
+  /**
+   * Вычислить все диагностики для документа с возможностью отмены.
+   *
+   * @param documentContext контекст анализируемого документа
+   * @param cancelChecker   проверяющий отмены вычисления
+   * @return список найденных диагностик
+   * @throws java.util.concurrent.CancellationException если вычисление отменено
+   */
+  List<Diagnostic> compute(DocumentContext documentContext, CancelChecker cancelChecker);
 }
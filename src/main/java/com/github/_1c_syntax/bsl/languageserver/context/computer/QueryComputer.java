@@ -39,20 +39,13 @@ import java.util.regex.Pattern;
  * <p>
  * Извлекает запросы на языке СДБЛ (язык запросов 1С) из строковых литералов
  * и преобразует их в токенизированное представление.
+ * <p>
+ * Литерал распознается как запрос однопроходным {@link QueryTextDetector} по мере сборки его частей.
+ * Токенизаторы запросов берутся из {@link QueryTokenizerCache}, поэтому запросы, текст которых
+ * не изменился, повторно не разбираются.
  */
 public class QueryComputer extends BSLParserBaseVisitor<ParseTree> implements Computer<List<SDBLTokenizer>> {
 
-  /**
-   * Ключевые слова для поиска потенциально запросных строк
-   */
-  private static final Pattern QUERIES_ROOT_KEY = CaseInsensitivePattern.compile(
-    "(?:^|[\"\\|;][\\s\\|]*)\\s*" +
-      "(?:(?:(?:select|выбрать)[\\s\\|]+[\\w\\W]+[\\s\\|]+" +
-      "(?:как|as|из|from|где|where|соединение|join|объединить|union" +
-      "|сгруппировать|group|упорядочить|order|итоги|totals)(?:\\s|$))" +
-      "|" +
-      "(?:(?:уничтожить|drop)[\\s\\|]*.+))");
-
   private static final Pattern NON_QUERIES_START = CaseInsensitivePattern.compile(
     "(?:^\\s*(?:\\||\"\"|\\/{2,}))");
 
@@ -74,17 +67,23 @@ public class QueryComputer extends BSLParserBaseVisitor<ParseTree> implements Co
     "^\\s*(\")");
 
   private final DocumentContext documentContext;
-  private final List<SDBLTokenizer> queries = new ArrayList<>();
+  private final QueryTokenizerCache tokenizerCache;
+  private final List<QueryTokenizerCache.Query> queries = new ArrayList<>();
 
   public QueryComputer(DocumentContext documentContext) {
+    this(documentContext, new QueryTokenizerCache());
+  }
+
+  public QueryComputer(DocumentContext documentContext, QueryTokenizerCache tokenizerCache) {
     this.documentContext = documentContext;
+    this.tokenizerCache = tokenizerCache;
   }
 
   @Override
   public List<SDBLTokenizer> compute() {
     queries.clear();
     visitFile(documentContext.getAst());
-    return new ArrayList<>(queries);
+    return tokenizerCache.tokenize(queries);
   }
 
   @Override
@@ -96,19 +95,19 @@ public class QueryComputer extends BSLParserBaseVisitor<ParseTree> implements Co
     }
 
     var startLine = 0;
-    var startEmptyLines = "";
+    var lineOffset = 0;
     if (!ctx.getTokens().isEmpty()) {
       startLine = ctx.getTokens().getFirst().getLine();
-      startEmptyLines = "\n".repeat(startLine - 1);
+      lineOffset = startLine - 1;
     }
 
     var isQuery = false;
+    var detector = new QueryTextDetector();
 
     // конкатенация строк в одну
     int prevTokenLine = -1;
     var partString = "";
     var strings = new StringJoiner("\n");
-    var stringsBuff = new StringJoiner("\n");
     var lineStartLine = startLine;
     for (Token token : ctx.getTokens()) {
 
@@ -134,8 +133,7 @@ public class QueryComputer extends BSLParserBaseVisitor<ParseTree> implements Co
 
       // проверяем подстроку на вероятность запроса
       if (!isQuery && !NON_QUERIES_START.matcher(partString).find()) {
-        stringsBuff.add(partString);
-        isQuery = QUERIES_ROOT_KEY.matcher(stringsBuff.toString()).find();
+        isQuery = detector.add(partString);
       }
 
       startLine = token.getLine();
@@ -148,7 +146,7 @@ public class QueryComputer extends BSLParserBaseVisitor<ParseTree> implements Co
     }
 
     if (isQuery) {
-      queries.add(new SDBLTokenizer(startEmptyLines + removeDoubleQuotes(strings.toString())));
+      queries.add(new QueryTokenizerCache.Query(removeDoubleQuotes(strings.toString()), lineOffset));
     }
 
     return ctx;
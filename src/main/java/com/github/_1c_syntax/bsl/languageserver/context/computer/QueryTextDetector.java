@@ -0,0 +1,262 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.context.computer;
+
+/**
+ * Однопроходный распознаватель текста запроса в строковом литерале.
+ * <p>
+ * Эквивалентен поиску регулярного выражения
+ * <pre>
+ * (?:^|["|;][\s|]*)\s*(?:(?:select|выбрать)[\s|]+[\w\W]+[\s|]+(?:как|as|из|from|...)(?:\s|$)
+ *   |(?:уничтожить|drop)[\s|]*.+)
+ * </pre>
+ * по всему накопленному тексту, но читает каждый символ ровно один раз: части строки подаются
+ * по мере разбора литерала, а состояние автомата сохраняется между ними. Поэтому проверка
+ * длинного многострочного литерала линейна по его длине, а не квадратична.
+ */
+final class QueryTextDetector {
+
+  private static final String[] START_KEYWORDS = {"select", "выбрать", "уничтожить", "drop"};
+  private static final int SELECT_KEYWORDS_MASK = 0b0011;
+
+  private static final String[] SECTION_KEYWORDS = {
+    "как", "as", "из", "from", "где", "where", "соединение", "join", "объединить", "union",
+    "сгруппировать", "group", "упорядочить", "order", "итоги", "totals"
+  };
+
+  /**
+   * Минимальное количество символов после ключевого слова выборки до разделителя перед
+   * ключевым словом секции: разделитель, хотя бы один произвольный символ, разделитель.
+   */
+  private static final int MIN_SECTION_SEPARATOR_OFFSET = 2;
+
+  private boolean matched;
+  private boolean firstPart = true;
+
+  // поиск начального ключевого слова: позиция после начала текста или символа из ["|;]
+  private boolean anchored = true;
+  private int startMatched = -1;
+  private int startLive;
+
+  // поиск ключевого слова секции после найденного ключевого слова выборки
+  private boolean afterSelect;
+  private boolean selectSeparatorExpected;
+  private int charsAfterSelect;
+  private boolean sectionCandidate;
+  private int sectionMatched = -1;
+  private int sectionLive;
+  private boolean sectionCompleted;
+  private boolean sectionTerminated;
+
+  // хвост после ключевого слова удаления
+  private boolean afterDrop;
+
+  /**
+   * Добавить очередную часть текста. Части разделяются переводом строки.
+   *
+   * @param part часть текста литерала
+   * @return признак того, что накопленный текст распознан как запрос
+   */
+  boolean add(String part) {
+    if (!firstPart) {
+      accept('\n');
+    }
+    firstPart = false;
+
+    for (var i = 0; i < part.length() && !matched; i++) {
+      accept(part.charAt(i));
+    }
+    return isMatched();
+  }
+
+  /**
+   * @return признак того, что накопленный текст распознан как запрос
+   */
+  boolean isMatched() {
+    // ключевое слово секции в самом конце текста (в том числе перед завершающим переводом строки)
+    // соответствует якорю $
+    return matched || sectionCompleted || sectionTerminated;
+  }
+
+  private void accept(char rawChar) {
+    if (matched) {
+      return;
+    }
+    var c = Character.toLowerCase(rawChar);
+    acceptSection(c);
+    acceptDrop(c);
+    acceptStart(c);
+  }
+
+  private void acceptStart(char c) {
+    if (startMatched >= 0) {
+      var live = 0;
+      var completed = -1;
+      for (var k = 0; k < START_KEYWORDS.length; k++) {
+        var keyword = START_KEYWORDS[k];
+        if ((startLive & (1 << k)) != 0 && keyword.charAt(startMatched) == c) {
+          if (keyword.length() == startMatched + 1) {
+            completed = k;
+          } else {
+            live |= 1 << k;
+          }
+        }
+      }
+      if (completed >= 0) {
+        startMatched = -1;
+        anchored = false;
+        onStartKeyword(completed);
+        return;
+      }
+      if (live != 0) {
+        startLive = live;
+        startMatched++;
+        return;
+      }
+      startMatched = -1;
+    }
+
+    if (c == '"' || c == '|' || c == ';') {
+      anchored = true;
+    } else if (isWhitespace(c)) {
+      // пробельные символы не сбрасывают позицию начала
+    } else if (anchored) {
+      anchored = false;
+      startLive = liveKeywords(START_KEYWORDS, c);
+      if (startLive != 0) {
+        startMatched = 1;
+      }
+    }
+  }
+
+  private void onStartKeyword(int keyword) {
+    if ((SELECT_KEYWORDS_MASK & (1 << keyword)) == 0) {
+      afterDrop = true;
+    } else if (!afterSelect) {
+      afterSelect = true;
+      selectSeparatorExpected = true;
+    }
+  }
+
+  private void acceptDrop(char c) {
+    if (!afterDrop) {
+      return;
+    }
+    if (!isLineTerminator(c)) {
+      matched = true;
+    } else if (c != '\n' && c != '\r') {
+      afterDrop = false;
+    }
+  }
+
+  private void acceptSection(char c) {
+    if (!afterSelect) {
+      return;
+    }
+
+    if (selectSeparatorExpected) {
+      selectSeparatorExpected = false;
+      if (!isSeparator(c)) {
+        afterSelect = false;
+      }
+      return;
+    }
+    charsAfterSelect++;
+    sectionTerminated = false;
+
+    if (sectionCompleted) {
+      sectionCompleted = false;
+      if (isWhitespace(c)) {
+        matched = true;
+        return;
+      }
+      sectionTerminated = isLineTerminator(c);
+    }
+
+    if (sectionMatched >= 0) {
+      var live = 0;
+      var completed = false;
+      for (var k = 0; k < SECTION_KEYWORDS.length; k++) {
+        var keyword = SECTION_KEYWORDS[k];
+        if ((sectionLive & (1 << k)) != 0 && keyword.charAt(sectionMatched) == c) {
+          if (keyword.length() == sectionMatched + 1) {
+            completed = true;
+          } else {
+            live |= 1 << k;
+          }
+        }
+      }
+      if (completed) {
+        sectionMatched = -1;
+        sectionCompleted = true;
+        return;
+      }
+      if (live != 0) {
+        sectionLive = live;
+        sectionMatched++;
+        return;
+      }
+      sectionMatched = -1;
+    }
+
+    if (sectionCandidate) {
+      sectionCandidate = false;
+      sectionLive = liveKeywords(SECTION_KEYWORDS, c);
+      if (sectionLive != 0) {
+        sectionMatched = 1;
+        return;
+      }
+    }
+
+    if (isSeparator(c) && charsAfterSelect >= MIN_SECTION_SEPARATOR_OFFSET) {
+      sectionCandidate = true;
+    }
+  }
+
+  private static int liveKeywords(String[] keywords, char c) {
+    var live = 0;
+    for (var k = 0; k < keywords.length; k++) {
+      if (keywords[k].charAt(0) == c) {
+        live |= 1 << k;
+      }
+    }
+    return live;
+  }
+
+  private static boolean isSeparator(char c) {
+    return c == '|' || isWhitespace(c);
+  }
+
+  /**
+   * Класс {@code \s} регулярных выражений Java без флага {@code UNICODE_CHARACTER_CLASS}.
+   */
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
+
+  /**
+   * Символы, на которых останавливается {@code .} регулярных выражений Java без флага {@code DOTALL}.
+   */
+  private static boolean isLineTerminator(char c) {
+    return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.context.computer;
+
+import com.github._1c_syntax.bsl.parser.SDBLParser;
+import com.github._1c_syntax.bsl.parser.SDBLTokenizer;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.WritableToken;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Кэш токенизаторов запросов документа.
+ * <p>
+ * Запросы токенизируются без выравнивания пустыми строками: текст запроса начинается с первой
+ * строки, а после токенизации номера строк токенов сдвигаются на строку начала запроса в документе.
+ * Токенизаторы хранятся по тексту запроса (хеш-таблица), поэтому при изменении кода вне запроса
+ * повторный разбор не выполняется: токенизатор переиспользуется, а при смещении запроса
+ * по строкам документа его токены сдвигаются на разницу строк. Токены, достроенные парсером
+ * при восстановлении после ошибок, сдвигаются, только если дерево запроса уже было построено:
+ * дерево, построенное позже, получает их уже со сдвинутых токенов.
+ * <p>
+ * Кэш содержит только запросы последнего вычисления.
+ */
+public final class QueryTokenizerCache {
+
+  private Map<String, Deque<Entry>> entries = new HashMap<>();
+
+  /**
+   * Текст запроса и номер строки документа, предшествующей первой строке запроса.
+   *
+   * @param text       текст запроса.
+   * @param lineOffset смещение строк запроса относительно начала документа.
+   */
+  public record Query(String text, int lineOffset) {
+  }
+
+  /**
+   * Получить токенизаторы запросов документа, переиспользуя токенизаторы предыдущего вычисления.
+   *
+   * @param queries запросы документа в порядке их расположения.
+   * @return токенизаторы запросов в том же порядке.
+   */
+  public synchronized List<SDBLTokenizer> tokenize(List<Query> queries) {
+    var previousEntries = entries;
+    var nextEntries = new HashMap<String, Deque<Entry>>();
+    var tokenizers = new ArrayList<SDBLTokenizer>(queries.size());
+
+    for (var query : queries) {
+      var candidates = previousEntries.get(query.text());
+      var entry = candidates == null ? null : candidates.pollFirst();
+      if (entry == null) {
+        entry = new Entry(new TrackingTokenizer(query.text()));
+      }
+      entry.moveTo(query.lineOffset());
+      nextEntries.computeIfAbsent(query.text(), text -> new ArrayDeque<>()).add(entry);
+      tokenizers.add(entry.tokenizer);
+    }
+
+    entries = nextEntries;
+    return tokenizers;
+  }
+
+  /**
+   * Очистить кэш.
+   */
+  public synchronized void clear() {
+    entries = new HashMap<>();
+  }
+
+  private static final class Entry {
+
+    private final TrackingTokenizer tokenizer;
+    private int lineOffset;
+
+    private Entry(TrackingTokenizer tokenizer) {
+      this.tokenizer = tokenizer;
+    }
+
+    private void moveTo(int newLineOffset) {
+      var delta = newLineOffset - lineOffset;
+      if (delta != 0) {
+        tokenizer.getTokens().forEach(token -> shift(token, delta));
+        if (tokenizer.astBuilt) {
+          // токены, достроенные парсером при восстановлении после ошибок, отсутствуют в потоке токенов
+          shiftConjuredTokens(tokenizer.getAst(), delta);
+        }
+        lineOffset = newLineOffset;
+      }
+    }
+
+    private static void shiftConjuredTokens(ParseTree tree, int delta) {
+      if (tree instanceof ErrorNode errorNode && errorNode.getSymbol().getTokenIndex() < 0) {
+        shift(errorNode.getSymbol(), delta);
+        return;
+      }
+      for (var i = 0; i < tree.getChildCount(); i++) {
+        shiftConjuredTokens(tree.getChild(i), delta);
+      }
+    }
+
+    private static void shift(Token token, int delta) {
+      if (token instanceof WritableToken writableToken) {
+        writableToken.setLine(token.getLine() + delta);
+      }
+    }
+  }
+
+  /**
+   * Токенизатор, запоминающий, строилось ли дерево запроса.
+   */
+  private static final class TrackingTokenizer extends SDBLTokenizer {
+
+    private volatile boolean astBuilt;
+
+    private TrackingTokenizer(String content) {
+      super(content);
+    }
+
+    @Override
+    public SDBLParser.QueryPackageContext getAst() {
+      var ast = super.getAst();
+      astBuilt = true;
+      return ast;
+    }
+  }
+}
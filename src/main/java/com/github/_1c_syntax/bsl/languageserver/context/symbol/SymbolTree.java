@@ -21,9 +21,11 @@
  */
 package com.github._1c_syntax.bsl.languageserver.context.symbol;
 
+import com.github._1c_syntax.bsl.languageserver.utils.RangeIndex;
 import com.github._1c_syntax.bsl.languageserver.utils.Ranges;
 import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.parser.BSLParser;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Value;
 import org.antlr.v4.runtime.ParserRuleContext;
@@ -86,6 +88,20 @@ public class SymbolTree {
   @Getter(lazy = true)
   Map<SourceDefinedSymbol, Map<String, VariableSymbol>> variablesByName = createVariablesByName();
 
+  /**
+   * Индекс диапазонов имен методов в порядке {@link #getMethods()}.
+   */
+  @Getter(value = AccessLevel.PRIVATE, lazy = true)
+  RangeIndex methodsBySubNameRange =
+    RangeIndex.create(getMethods().stream().map(MethodSymbol::getSubNameRange).toList());
+
+  /**
+   * Индекс диапазонов имен переменных в порядке {@link #getVariables()}.
+   */
+  @Getter(value = AccessLevel.PRIVATE, lazy = true)
+  RangeIndex variablesByNameRange =
+    RangeIndex.create(getVariables().stream().map(VariableSymbol::getVariableNameRange).toList());
+
   /**
    * @return Список символов верхнего уровня за исключением символа модуля документа.
    */
@@ -128,7 +144,8 @@ public class SymbolTree {
   /**
    * Попытка поиска символа метода по узлу дерева разбора.
    * <p>
-   * Implementation note - Поиск осуществляется по месту определения метода (declaration).
+   * Implementation note - Поиск осуществляется по месту определения метода (declaration)
+   * двоичным поиском по индексу диапазонов имен методов.
    *
    * @param ctx узел дерева разбора документа.
    * @return найденный символ метода.
@@ -149,9 +166,11 @@ public class SymbolTree {
 
     Range subNameRange = Ranges.create(subNameNode);
 
-    return getMethods().stream()
-      .filter(methodSymbol -> methodSymbol.getSubNameRange().equals(subNameRange))
-      .findAny();
+    var index = getMethodsBySubNameRange().find(subNameRange);
+    if (index == RangeIndex.NOT_FOUND) {
+      return Optional.empty();
+    }
+    return Optional.of(getMethods().get(index));
   }
 
   /**
@@ -167,7 +186,8 @@ public class SymbolTree {
   /**
    * Попытка поиска символа переменной по узлу дерева разбора.
    * <p>
-   * Implementation note Поиск осуществляется по месту определения переменной (declaration).
+   * Implementation note Поиск осуществляется по месту определения переменной (declaration)
+   * двоичным поиском по индексу диапазонов имен переменных.
    *
    * @param ctx узел дерева разбора документа.
    * @return найденный символ переменной.
@@ -188,9 +208,11 @@ public class SymbolTree {
 
     Range variableNameRange = Ranges.create(varNameNode);
 
-    return getVariables().stream()
-      .filter(variableSymbol -> variableSymbol.getVariableNameRange().equals(variableNameRange))
-      .findAny();
+    var index = getVariablesByNameRange().find(variableNameRange);
+    if (index == RangeIndex.NOT_FOUND) {
+      return Optional.empty();
+    }
+    return Optional.of(getVariables().get(index));
   }
 
   /**
@@ -52,10 +52,18 @@ public abstract class AbstractListenerDiagnostic extends BSLParserBaseListener i
 
   @Override
   public List<Diagnostic> getDiagnostics(DocumentContext documentContext) {
-    this.documentContext = documentContext;
-    diagnosticStorage.clearDiagnostics();
+    beginWalk(documentContext);
     ParseTreeWalker walker = new ParseTreeWalker();
     walker.walk(this, documentContext.getAst());
+    return endWalk();
+  }
+
+  void beginWalk(DocumentContext documentContext) {
+    this.documentContext = documentContext;
+    diagnosticStorage.clearDiagnostics();
+  }
+
+  List<Diagnostic> endWalk() {
     return diagnosticStorage.getDiagnostics();
   }
 
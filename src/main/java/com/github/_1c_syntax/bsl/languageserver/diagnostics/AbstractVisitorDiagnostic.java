@@ -26,8 +26,11 @@ import com.github._1c_syntax.bsl.languageserver.diagnostics.info.DiagnosticInfo;
 import com.github._1c_syntax.bsl.parser.BSLParserBaseVisitor;
 import lombok.Getter;
 import lombok.Setter;
+import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.RuleNode;
 import org.eclipse.lsp4j.Diagnostic;
+import org.jspecify.annotations.Nullable;
 
 import java.util.List;
 
@@ -39,12 +42,53 @@ public abstract class AbstractVisitorDiagnostic extends BSLParserBaseVisitor<Par
   protected final DiagnosticStorage diagnosticStorage = new DiagnosticStorage(this);
   protected DocumentContext documentContext;
 
+  /**
+   * Узел, переданный диагностике совмещённым обходом. Пока он задан, спуск к потомкам выполняет
+   * {@link FusedDiagnosticsWalker}, а не сам визитор.
+   */
+  private @Nullable RuleNode fusedWalkNode;
+  private boolean fusedWalkDescent;
+
   @Override
   public List<Diagnostic> getDiagnostics(DocumentContext documentContext) {
+    beginWalk(documentContext);
+    this.visitFile(documentContext.getAst());
+    return endWalk();
+  }
+
+  @Override
+  public ParseTree visitChildren(RuleNode node) {
+    if (fusedWalkNode == null) {
+      return super.visitChildren(node);
+    }
+    fusedWalkDescent |= node == fusedWalkNode;
+    return defaultResult();
+  }
+
+  void beginWalk(DocumentContext documentContext) {
     this.documentContext = documentContext;
     diagnosticStorage.clearDiagnostics();
-    this.visitFile(documentContext.getAst());
+  }
+
+  List<Diagnostic> endWalk() {
     return diagnosticStorage.getDiagnostics();
   }
 
+  /**
+   * Передать узел диагностике в рамках совмещённого обхода.
+   *
+   * @param ctx Узел дерева разбора
+   * @return {@code true}, если диагностика запросила обход потомков узла
+   */
+  boolean visitFused(ParserRuleContext ctx) {
+    fusedWalkNode = ctx;
+    fusedWalkDescent = false;
+    try {
+      ctx.accept(this);
+    } finally {
+      fusedWalkNode = null;
+    }
+    return fusedWalkDescent;
+  }
+
 }
@@ -22,13 +22,12 @@
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
 import com.github._1c_syntax.bsl.languageserver.cfg.BasicBlockVertex;
-import com.github._1c_syntax.bsl.languageserver.cfg.CfgBuildingParseTreeVisitor;
 import com.github._1c_syntax.bsl.languageserver.cfg.CfgEdgeType;
-import com.github._1c_syntax.bsl.languageserver.cfg.CfgVertex;
+import com.github._1c_syntax.bsl.languageserver.cfg.CompactControlFlowGraph;
 import com.github._1c_syntax.bsl.languageserver.cfg.ConditionalVertex;
-import com.github._1c_syntax.bsl.languageserver.cfg.ControlFlowGraph;
 import com.github._1c_syntax.bsl.languageserver.cfg.LoopVertex;
 import com.github._1c_syntax.bsl.languageserver.cfg.WhileLoopVertex;
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticParameter;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -58,6 +57,7 @@ import java.util.stream.Collectors;
     DiagnosticTag.SUSPICIOUS
   }
 )
+@FusedWalk
 public class AllFunctionPathMustHaveReturnDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final boolean LOOPS_EXECUTED_ONCE_DEFAULT = true;
@@ -96,17 +96,14 @@ public class AllFunctionPathMustHaveReturnDiagnostic extends AbstractVisitorDiag
   }
 
   private void checkAllPathsHaveReturns(BSLParser.FunctionContext ctx) {
-    var builder = new CfgBuildingParseTreeVisitor();
-    builder.producePreprocessorConditions(true);
-    var graph = builder.buildGraph(ctx.subCodeBlock().codeBlock());
+    var graph = documentContext.getControlFlowGraphs().get(ctx.subCodeBlock().codeBlock());
 
-    var exitNode = graph.getExitPoint();
+    var exitNode = graph.exitPoint();
 
-    var incomingVertices = graph.incomingEdgesOf(exitNode).stream()
-      .map(graph::getEdgeSource)
-      .map(vertex -> nonExplicitReturnNode(vertex, graph))
-      .flatMap(Optional::stream)
-      .toList();
+    var incomingVertices = new ArrayList<ParserRuleContext>();
+    for (var edge = 0; edge < graph.inDegree(exitNode); edge++) {
+      nonExplicitReturnNode(graph.predecessor(exitNode, edge), graph).ifPresent(incomingVertices::add);
+    }
 
     if (incomingVertices.isEmpty()) {
       return;
@@ -127,23 +124,22 @@ public class AllFunctionPathMustHaveReturnDiagnostic extends AbstractVisitorDiag
 
   }
 
-  private Optional<ParserRuleContext> nonExplicitReturnNode(CfgVertex v, ControlFlowGraph graph) {
+  private Optional<ParserRuleContext> nonExplicitReturnNode(int vertex, CompactControlFlowGraph graph) {
+    var v = graph.vertex(vertex);
     return switch (v) {
       case BasicBlockVertex basicBlock -> checkBasicBlockExitingNode(basicBlock);
       case LoopVertex loop -> checkLoopExitingNode(loop);
-      case ConditionalVertex conditional -> checkElseIfClauseExitingNode(conditional, graph);
+      case ConditionalVertex conditional -> checkElseIfClauseExitingNode(conditional, vertex, graph);
       default -> v.getAst();
     };
 
   }
 
-  private Optional<ParserRuleContext> checkElseIfClauseExitingNode(ConditionalVertex v, ControlFlowGraph graph) {
+  private Optional<ParserRuleContext> checkElseIfClauseExitingNode(ConditionalVertex v,
+                                                                   int vertex,
+                                                                   CompactControlFlowGraph graph) {
     // check if this vertex connected to exit by FALSE branch
-    var edgeOrNot = graph.getAllEdges(v, graph.getExitPoint()).stream()
-      .filter(edge -> edge.getType() == CfgEdgeType.FALSE_BRANCH)
-      .findAny();
-
-    if (edgeOrNot.isEmpty()) {
+    if (!graph.containsEdge(vertex, graph.exitPoint(), CfgEdgeType.FALSE_BRANCH)) {
       return Optional.empty();
     }
 
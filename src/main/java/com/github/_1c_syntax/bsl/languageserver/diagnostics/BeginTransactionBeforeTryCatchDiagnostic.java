@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticTag;
@@ -44,6 +45,7 @@ import java.util.stream.Stream;
     DiagnosticTag.STANDARD
   }
 )
+@FusedWalk
 public class BeginTransactionBeforeTryCatchDiagnostic extends AbstractVisitorDiagnostic {
   private static final Pattern BEGIN_TRANSACTION_PATTERN = CaseInsensitivePattern.compile(
     "^НачатьТранзакцию$|^BeginTransaction$"
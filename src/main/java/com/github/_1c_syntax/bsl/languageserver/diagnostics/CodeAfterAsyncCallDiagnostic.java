@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticScope;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -56,6 +57,7 @@ import static com.github._1c_syntax.bsl.parser.BSLParser.RULE_subCodeBlock;
     ModuleType.ManagedApplicationModule
   }
 )
+@FusedWalk
 public class CodeAfterAsyncCallDiagnostic extends AbstractVisitorDiagnostic {
   private static final Pattern ASYNC_METHODS = CaseInsensitivePattern.compile(
     "ПОКАЗАТЬВОПРОС|SHOWQUERYBOX|ПОКАЗАТЬЗНАЧЕНИЕ|SHOWVALUE" +
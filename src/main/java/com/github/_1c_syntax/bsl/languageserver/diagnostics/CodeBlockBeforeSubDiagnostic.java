@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticTag;
@@ -36,6 +37,7 @@ import org.antlr.v4.runtime.tree.ParseTree;
     DiagnosticTag.ERROR
   }
 )
+@FusedWalk
 public class CodeBlockBeforeSubDiagnostic extends AbstractVisitorDiagnostic {
   @Override
   public ParseTree visitFileCodeBlockBeforeSub(BSLParser.FileCodeBlockBeforeSubContext ctx) {
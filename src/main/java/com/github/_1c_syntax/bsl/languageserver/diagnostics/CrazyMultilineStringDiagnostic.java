@@ -25,7 +25,6 @@ import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticM
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticTag;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticType;
-import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.parser.BSLParser;
 
 @DiagnosticMetadata(
@@ -41,7 +40,7 @@ import com.github._1c_syntax.bsl.parser.BSLParser;
 public class CrazyMultilineStringDiagnostic extends AbstractDiagnostic {
   @Override
   protected void check() {
-    Trees.findAllRuleNodes(documentContext.getAst(), BSLParser.RULE_string).stream()
+    documentContext.getParseTreeIndex().findAllRuleNodes(BSLParser.RULE_string).stream()
       .filter(node -> node.getChildCount() > 1)
       .forEach(diagnosticStorage::addDiagnostic);
   }
@@ -23,6 +23,7 @@ package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
 import com.github._1c_syntax.bsl.languageserver.context.computer.ComplexitySecondaryLocation;
 import com.github._1c_syntax.bsl.languageserver.context.symbol.MethodSymbol;
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticParameter;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -49,6 +50,7 @@ import java.util.stream.Collectors;
   },
   extraMinForComplexity = 1
 )
+@FusedWalk
 public class CyclomaticComplexityDiagnostic extends AbstractVisitorDiagnostic {
   private static final int COMPLEXITY_THRESHOLD = 20;
   private static final boolean CHECK_MODULE_BODY = true;
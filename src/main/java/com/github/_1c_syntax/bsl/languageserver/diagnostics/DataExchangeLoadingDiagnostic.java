@@ -22,6 +22,7 @@
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
 import com.github._1c_syntax.bsl.languageserver.context.symbol.MethodSymbol;
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticParameter;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticScope;
@@ -58,6 +59,7 @@ import java.util.regex.Pattern;
   }
 
 )
+@FusedWalk
 public class DataExchangeLoadingDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final Pattern searchSubNames = CaseInsensitivePattern.compile(
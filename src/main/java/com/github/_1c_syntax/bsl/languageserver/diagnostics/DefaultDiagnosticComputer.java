@@ -23,27 +23,37 @@ package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
 import com.github._1c_syntax.bsl.languageserver.configuration.LanguageServerConfiguration;
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.context.GitBlameService;
 import com.github._1c_syntax.bsl.languageserver.context.computer.DiagnosticComputer;
 import com.github._1c_syntax.bsl.languageserver.context.computer.DiagnosticIgnoranceComputer;
-import com.github._1c_syntax.bsl.languageserver.context.computer.GitBlameComputer;
+import com.github._1c_syntax.bsl.languageserver.utils.CancelCheckers;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.springframework.beans.factory.annotation.Lookup;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
+import java.util.function.Supplier;
 
 /**
  * Реализация {@link DiagnosticComputer} по умолчанию.
  * <p>
  * Параллельно вычисляет диагностики всеми зарегистрированными анализаторами {@link BSLDiagnostic}
  * с обработкой ошибок и фильтрацией по правилам подавления и игнорируемым авторам.
+ * Диагностики, обходящие дерево разбора, по возможности объединяются в единый обход
+ * с помощью {@link FusedDiagnosticsWalker}.
+ * <p>
+ * Проверяющий отмены проверяется перед каждой диагностикой и привязывается к потокам вычисления,
+ * поэтому отменённое или устаревшее вычисление прерывается, не дожидаясь всех диагностик.
  */
 @Component
 @Slf4j
@@ -51,45 +61,70 @@ import java.util.stream.Stream;
 public abstract class DefaultDiagnosticComputer implements DiagnosticComputer {
 
   private final LanguageServerConfiguration configuration;
+  private final GitBlameService gitBlameService;
 
   @Qualifier("diagnosticComputerExecutor")
   private final ExecutorService executor;
 
   @Override
-  public List<Diagnostic> compute(DocumentContext documentContext) {
-    return CompletableFuture
-      .supplyAsync(() -> internalCompute(documentContext), executor)
-      .join();
+  public List<Diagnostic> compute(DocumentContext documentContext, CancelChecker cancelChecker) {
+    cancelChecker.checkCanceled();
+    try {
+      return CompletableFuture
+        .supplyAsync(() -> internalCompute(documentContext, cancelChecker), executor)
+        .join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof CancellationException cancellationException) {
+        throw cancellationException;
+      }
+      throw e;
+    }
   }
 
-  private List<Diagnostic> internalCompute(DocumentContext documentContext) {
+  private List<Diagnostic> internalCompute(DocumentContext documentContext, CancelChecker cancelChecker) {
     DiagnosticIgnoranceComputer.Data diagnosticIgnorance = documentContext.getDiagnosticIgnorance();
 
     var ignoredAuthors = configuration.getDiagnosticsOptions().getIgnoredAuthors();
-    GitBlameComputer.Data gitBlameIgnorance = ignoredAuthors.isEmpty()
-      ? GitBlameComputer.Data.empty()
-      : new GitBlameComputer(documentContext.getUri(), ignoredAuthors).compute();
+    var gitBlameIgnorance = gitBlameService.getIgnorance(documentContext.getUri(), ignoredAuthors);
+
+    var diagnostics = diagnostics(documentContext);
+    var fusedWalker = new FusedDiagnosticsWalker(
+      diagnostics.stream().filter(FusedDiagnosticsWalker::isFusible).toList()
+    );
 
-    return diagnostics(documentContext).parallelStream()
-      .flatMap((BSLDiagnostic diagnostic) -> {
-        try {
-          return diagnostic.getDiagnostics(documentContext).stream();
-        } catch (RuntimeException e) {
-          var message = "Diagnostic computation error.%nFile: %s%nDiagnostic: %s".formatted(
-            documentContext.getUri(),
-            diagnostic.getInfo().getCode()
-          );
-          LOGGER.error(message, e);
+    List<Supplier<List<Diagnostic>>> computations = new ArrayList<>();
+    computations.add(() -> fusedWalker.walk(documentContext));
+    diagnostics.stream()
+      .filter(Predicate.not(FusedDiagnosticsWalker::isFusible))
+      .forEach(diagnostic -> computations.add(() -> computeDiagnostic(diagnostic, documentContext)));
 
-          return Stream.empty();
-        }
-      })
+    return computations.parallelStream()
+      .flatMap(computation -> CancelCheckers.callWith(cancelChecker, () -> {
+        cancelChecker.checkCanceled();
+        return computation.get();
+      }).stream())
       .filter(Predicate.not(diagnosticIgnorance::diagnosticShouldBeIgnored))
       .filter(Predicate.not(gitBlameIgnorance::diagnosticShouldBeIgnored))
       .toList();
 
   }
 
+  private static List<Diagnostic> computeDiagnostic(BSLDiagnostic diagnostic, DocumentContext documentContext) {
+    try {
+      return diagnostic.getDiagnostics(documentContext);
+    } catch (CancellationException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      var message = "Diagnostic computation error.%nFile: %s%nDiagnostic: %s".formatted(
+        documentContext.getUri(),
+        diagnostic.getInfo().getCode()
+      );
+      LOGGER.error(message, e);
+
+      return List.of();
+    }
+  }
+
   @Lookup("diagnostics")
   protected abstract List<BSLDiagnostic> diagnostics(DocumentContext documentContext);
 }
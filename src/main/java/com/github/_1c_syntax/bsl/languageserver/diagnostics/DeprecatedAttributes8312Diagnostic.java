@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticCompatibilityMode;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticScope;
@@ -51,6 +52,7 @@ import java.util.regex.Pattern;
   }
 
 )
+@FusedWalk
 public class DeprecatedAttributes8312Diagnostic extends AbstractVisitorDiagnostic {
 
   private static final String CHART_PLOT_AREA_RU = "ОбластьПостроенияДиаграммы";
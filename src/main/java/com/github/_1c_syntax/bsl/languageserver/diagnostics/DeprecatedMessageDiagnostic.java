@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticScope;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -41,6 +42,7 @@ import java.util.regex.Pattern;
     DiagnosticTag.DEPRECATED
   }
 )
+@FusedWalk
 public class DeprecatedMessageDiagnostic extends AbstractFindMethodDiagnostic {
   private static final Pattern messagePattern = CaseInsensitivePattern.compile(
     "(сообщить|message)"
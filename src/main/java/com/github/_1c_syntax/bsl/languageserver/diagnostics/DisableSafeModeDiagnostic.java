@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticScope;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -42,6 +43,7 @@ import java.util.regex.Pattern;
   },
   scope = DiagnosticScope.BSL
 )
+@FusedWalk
 public class DisableSafeModeDiagnostic extends AbstractFindMethodDiagnostic {
   private static final Pattern methodPattern = CaseInsensitivePattern.compile(
     "УстановитьБезопасныйРежим|SetSafeMode|УстановитьОтключениеБезопасногоРежима|SetSafeModeDisabled");
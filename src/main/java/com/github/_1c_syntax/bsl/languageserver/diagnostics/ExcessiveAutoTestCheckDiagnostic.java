@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticTag;
@@ -48,6 +49,7 @@ import java.util.regex.Pattern;
     DiagnosticTag.DEPRECATED
   }
 )
+@FusedWalk
 public class ExcessiveAutoTestCheckDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final Pattern ERROR_EXPRESSION = CaseInsensitivePattern.compile(
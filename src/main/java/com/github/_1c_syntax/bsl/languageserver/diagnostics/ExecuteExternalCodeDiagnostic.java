@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticScope;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -52,6 +53,7 @@ import org.antlr.v4.runtime.tree.ParseTree;
     ModuleType.SessionModule
   }
 )
+@FusedWalk
 public class ExecuteExternalCodeDiagnostic extends AbstractExecuteExternalCodeDiagnostic {
 
   @Override
@@ -22,6 +22,7 @@
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
 import com.github._1c_syntax.bsl.languageserver.context.symbol.MethodSymbol;
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticParameter;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -54,6 +55,7 @@ import java.util.stream.Stream;
   }
 
 )
+@FusedWalk
 public class FunctionReturnsSamePrimitiveDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final String KEY_MESSAGE = "diagnosticMessageReturnStatement";
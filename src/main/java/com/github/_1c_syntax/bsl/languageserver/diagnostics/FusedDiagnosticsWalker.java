@@ -0,0 +1,456 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.diagnostics;
+
+import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
+import com.github._1c_syntax.bsl.languageserver.utils.CancelCheckers;
+import com.github._1c_syntax.bsl.parser.BSLParser;
+import com.github._1c_syntax.bsl.parser.BSLParserBaseListener;
+import com.github._1c_syntax.bsl.parser.BSLParserBaseVisitor;
+import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Совмещённый обход дерева разбора для нескольких диагностик.
+ * <p>
+ * Вместо того чтобы каждая диагностика обходила {@link BSLParser.FileContext} самостоятельно,
+ * обходчик проходит по дереву один раз и передаёт каждый узел только тем диагностикам,
+ * которые объявили интерес к правилу этого узла: переопределили метод {@code enterXxx}/{@code exitXxx}
+ * слушателя или {@code visitXxx} визитора.
+ * <p>
+ * В обходе участвуют все наследники {@link AbstractListenerDiagnostic} и наследники
+ * {@link AbstractVisitorDiagnostic}, помеченные {@link FusedWalk}. Отказ визитора от обхода
+ * поддерева (возврат без вызова {@code super}) учитывается: узлы поддерева этому визитору не передаются.
+ * <p>
+ * Ошибка в одной диагностике исключает из обхода только её, остальные диагностики продолжают работу.
+ * Отмена вычисления ({@link CancelCheckers}) проверяется периодически по ходу обхода и прерывает его целиком.
+ * <p>
+ * Совмещённый обход не вызывает {@code getDiagnostics} диагностик, поэтому время каждой из них при сборе
+ * метрик замеряет сам обходчик (см. {@link #setElapsedTimeConsumer(ObjLongConsumer)}).
+ */
+@Slf4j
+public class FusedDiagnosticsWalker {
+
+  private static final Map<Class<?>, Integer> RULE_INDEXES = computeRuleIndexes();
+  private static final Map<Class<?>, RuleInterest> INTERESTS = new ConcurrentHashMap<>();
+  private static final int CANCEL_CHECK_MASK = 1023;
+
+  private final List<BSLDiagnostic> diagnostics;
+  private final int[][] enterParticipants;
+  private final int[][] exitParticipants;
+  private final int[] terminalParticipants;
+
+  private final boolean[] failed;
+  private final boolean[] suppressed;
+  private final long[] elapsedNanos;
+  private @Nullable ObjLongConsumer<BSLDiagnostic> elapsedTimeConsumer;
+  private int[] suppressedStack = new int[16];
+  private int suppressedStackSize;
+  private CancelChecker cancelChecker = CancelCheckers.NONE;
+  private int walkedNodes;
+
+  /**
+   * @param diagnostics Диагностики, для которых {@link #isFusible(BSLDiagnostic)} вернул {@code true}
+   */
+  public FusedDiagnosticsWalker(List<BSLDiagnostic> diagnostics) {
+    this.diagnostics = List.copyOf(diagnostics);
+
+    var ruleCount = BSLParser.ruleNames.length;
+    List<List<Integer>> enters = new ArrayList<>(ruleCount);
+    List<List<Integer>> exits = new ArrayList<>(ruleCount);
+    for (var i = 0; i < ruleCount; i++) {
+      enters.add(new ArrayList<>());
+      exits.add(new ArrayList<>());
+    }
+    List<Integer> terminals = new ArrayList<>();
+
+    for (var i = 0; i < this.diagnostics.size(); i++) {
+      var interest = interestOf(this.diagnostics.get(i).getClass());
+      for (var rule = 0; rule < ruleCount; rule++) {
+        if (interest.everyRule() || interest.enterRules().get(rule)) {
+          enters.get(rule).add(i);
+        }
+        if (interest.everyRule() || interest.exitRules().get(rule)) {
+          exits.get(rule).add(i);
+        }
+      }
+      if (interest.terminals()) {
+        terminals.add(i);
+      }
+    }
+
+    enterParticipants = enters.stream().map(FusedDiagnosticsWalker::toArray).toArray(int[][]::new);
+    exitParticipants = exits.stream().map(FusedDiagnosticsWalker::toArray).toArray(int[][]::new);
+    terminalParticipants = toArray(terminals);
+
+    failed = new boolean[this.diagnostics.size()];
+    suppressed = new boolean[this.diagnostics.size()];
+    elapsedNanos = new long[this.diagnostics.size()];
+  }
+
+  /**
+   * Установить получателя времени работы диагностик.
+   * <p>
+   * Если получатель задан, обходчик замеряет каждый вызов диагностики и по окончании
+   * {@link #walk(DocumentContext)} передаёт получателю суммарное время каждой диагностики за обход.
+   * Без получателя замеры не выполняются.
+   *
+   * @param elapsedTimeConsumer Получатель диагностики и её времени работы в наносекундах
+   */
+  public void setElapsedTimeConsumer(@Nullable ObjLongConsumer<BSLDiagnostic> elapsedTimeConsumer) {
+    this.elapsedTimeConsumer = elapsedTimeConsumer;
+  }
+
+  /**
+   * Проверить, может ли диагностика участвовать в совмещённом обходе.
+   *
+   * @param diagnostic Диагностика
+   * @return {@code true}, если узлы дерева можно передавать диагностике из общего обхода
+   */
+  public static boolean isFusible(BSLDiagnostic diagnostic) {
+    return interestOf(diagnostic.getClass()).fusible();
+  }
+
+  /**
+   * Выполнить единый обход дерева разбора документа всеми диагностиками обходчика.
+   *
+   * @param documentContext Контекст документа
+   * @return Замечания, найденные диагностиками
+   */
+  public List<Diagnostic> walk(DocumentContext documentContext) {
+    if (diagnostics.isEmpty()) {
+      return List.of();
+    }
+
+    Arrays.fill(failed, false);
+    Arrays.fill(suppressed, false);
+    Arrays.fill(elapsedNanos, 0L);
+    suppressedStackSize = 0;
+    cancelChecker = CancelCheckers.current();
+    walkedNodes = 0;
+
+    for (var i = 0; i < diagnostics.size(); i++) {
+      var diagnostic = diagnostics.get(i);
+      var start = startTiming();
+      try {
+        if (diagnostic instanceof AbstractVisitorDiagnostic visitor) {
+          visitor.beginWalk(documentContext);
+        } else {
+          ((AbstractListenerDiagnostic) diagnostic).beginWalk(documentContext);
+        }
+      } catch (RuntimeException e) {
+        fail(i, documentContext, e);
+      }
+      stopTiming(i, start);
+    }
+
+    walkNode(documentContext.getAst(), documentContext);
+
+    List<Diagnostic> result = new ArrayList<>();
+    for (var i = 0; i < diagnostics.size(); i++) {
+      if (failed[i]) {
+        continue;
+      }
+      var diagnostic = diagnostics.get(i);
+      var start = startTiming();
+      if (diagnostic instanceof AbstractVisitorDiagnostic visitor) {
+        result.addAll(visitor.endWalk());
+      } else {
+        result.addAll(((AbstractListenerDiagnostic) diagnostic).endWalk());
+      }
+      stopTiming(i, start);
+    }
+
+    var consumer = elapsedTimeConsumer;
+    if (consumer != null) {
+      for (var i = 0; i < diagnostics.size(); i++) {
+        consumer.accept(diagnostics.get(i), elapsedNanos[i]);
+      }
+    }
+    return result;
+  }
+
+  private void walkNode(ParseTree tree, DocumentContext documentContext) {
+    if (tree instanceof TerminalNode terminalNode) {
+      visitTerminal(terminalNode, documentContext);
+      return;
+    }
+
+    var ctx = (ParserRuleContext) tree;
+    if (ctx.getRuleIndex() < 0) {
+      for (var i = 0; i < ctx.getChildCount(); i++) {
+        walkNode(ctx.getChild(i), documentContext);
+      }
+      return;
+    }
+
+    if ((++walkedNodes & CANCEL_CHECK_MASK) == 0) {
+      cancelChecker.checkCanceled();
+    }
+
+    var suppressedMark = suppressedStackSize;
+    enterRule(ctx, documentContext);
+
+    for (var i = 0; i < ctx.getChildCount(); i++) {
+      walkNode(ctx.getChild(i), documentContext);
+    }
+
+    exitRule(ctx, documentContext);
+    while (suppressedStackSize > suppressedMark) {
+      suppressed[suppressedStack[--suppressedStackSize]] = false;
+    }
+  }
+
+  private void enterRule(ParserRuleContext ctx, DocumentContext documentContext) {
+    for (var index : enterParticipants[ctx.getRuleIndex()]) {
+      if (!isActive(index)) {
+        continue;
+      }
+      var start = startTiming();
+      try {
+        var diagnostic = diagnostics.get(index);
+        if (diagnostic instanceof AbstractVisitorDiagnostic visitor) {
+          if (!visitor.visitFused(ctx)) {
+            suppress(index);
+          }
+        } else {
+          var listener = (AbstractListenerDiagnostic) diagnostic;
+          listener.enterEveryRule(ctx);
+          ctx.enterRule(listener);
+        }
+      } catch (RuntimeException e) {
+        fail(index, documentContext, e);
+      }
+      stopTiming(index, start);
+    }
+  }
+
+  private void exitRule(ParserRuleContext ctx, DocumentContext documentContext) {
+    for (var index : exitParticipants[ctx.getRuleIndex()]) {
+      if (!isActive(index) || !(diagnostics.get(index) instanceof AbstractListenerDiagnostic listener)) {
+        continue;
+      }
+      var start = startTiming();
+      try {
+        ctx.exitRule(listener);
+        listener.exitEveryRule(ctx);
+      } catch (RuntimeException e) {
+        fail(index, documentContext, e);
+      }
+      stopTiming(index, start);
+    }
+  }
+
+  private void visitTerminal(TerminalNode node, DocumentContext documentContext) {
+    for (var index : terminalParticipants) {
+      if (!isActive(index)) {
+        continue;
+      }
+      var start = startTiming();
+      try {
+        var diagnostic = diagnostics.get(index);
+        if (diagnostic instanceof AbstractVisitorDiagnostic visitor) {
+          node.accept(visitor);
+        } else if (node instanceof ErrorNode errorNode) {
+          ((AbstractListenerDiagnostic) diagnostic).visitErrorNode(errorNode);
+        } else {
+          ((AbstractListenerDiagnostic) diagnostic).visitTerminal(node);
+        }
+      } catch (RuntimeException e) {
+        fail(index, documentContext, e);
+      }
+      stopTiming(index, start);
+    }
+  }
+
+  private long startTiming() {
+    return elapsedTimeConsumer == null ? 0L : System.nanoTime();
+  }
+
+  private void stopTiming(int index, long start) {
+    if (elapsedTimeConsumer != null) {
+      elapsedNanos[index] += System.nanoTime() - start;
+    }
+  }
+
+  private boolean isActive(int index) {
+    return !failed[index] && !suppressed[index];
+  }
+
+  private void suppress(int index) {
+    suppressed[index] = true;
+    if (suppressedStackSize == suppressedStack.length) {
+      suppressedStack = Arrays.copyOf(suppressedStack, suppressedStackSize * 2);
+    }
+    suppressedStack[suppressedStackSize++] = index;
+  }
+
+  private void fail(int index, DocumentContext documentContext, RuntimeException e) {
+    if (e instanceof CancellationException cancellationException) {
+      throw cancellationException;
+    }
+    failed[index] = true;
+    var message = "Diagnostic computation error.%nFile: %s%nDiagnostic: %s".formatted(
+      documentContext.getUri(),
+      diagnostics.get(index).getInfo().getCode()
+    );
+    LOGGER.error(message, e);
+  }
+
+  private static RuleInterest interestOf(Class<?> diagnosticClass) {
+    return INTERESTS.computeIfAbsent(diagnosticClass, FusedDiagnosticsWalker::computeInterest);
+  }
+
+  private static RuleInterest computeInterest(Class<?> diagnosticClass) {
+    Class<?> baseClass;
+    if (AbstractListenerDiagnostic.class.isAssignableFrom(diagnosticClass)) {
+      baseClass = AbstractListenerDiagnostic.class;
+    } else if (AbstractVisitorDiagnostic.class.isAssignableFrom(diagnosticClass)
+      && AnnotationUtils.findAnnotation(diagnosticClass, FusedWalk.class) != null) {
+      baseClass = AbstractVisitorDiagnostic.class;
+    } else {
+      return RuleInterest.NOT_FUSIBLE;
+    }
+
+    var enterRules = new BitSet();
+    var exitRules = new BitSet();
+    var everyRule = false;
+    var terminals = false;
+
+    for (var clazz = diagnosticClass; clazz != baseClass; clazz = clazz.getSuperclass()) {
+      for (Method method : clazz.getDeclaredMethods()) {
+        if (Modifier.isStatic(method.getModifiers()) || method.isSynthetic()) {
+          continue;
+        }
+        var name = method.getName();
+        switch (name) {
+          case "getDiagnostics", "visitChildren", "visit", "shouldVisitNextChild", "aggregateResult" -> {
+            return RuleInterest.NOT_FUSIBLE;
+          }
+          case "enterEveryRule", "exitEveryRule" -> everyRule = true;
+          case "visitTerminal", "visitErrorNode" -> terminals = true;
+          default -> {
+            var ruleIndex = ruleIndexOf(method);
+            if (ruleIndex == null) {
+              continue;
+            }
+            if (ruleIndex < 0) {
+              everyRule = true;
+            } else if (name.startsWith("exit")) {
+              exitRules.set(ruleIndex);
+            } else {
+              enterRules.set(ruleIndex);
+            }
+          }
+        }
+      }
+    }
+
+    return new RuleInterest(true, enterRules, exitRules, everyRule, terminals);
+  }
+
+  /**
+   * Индекс правила, к которому относится метод слушателя или визитора.
+   *
+   * @return {@code null}, если метод не является обработчиком узла; {@code -1}, если правило не удалось определить
+   */
+  private static @Nullable Integer ruleIndexOf(Method method) {
+    var name = method.getName();
+    if (!(name.startsWith("enter") || name.startsWith("exit") || name.startsWith("visit"))
+      || method.getParameterCount() != 1
+      || !ParserRuleContext.class.isAssignableFrom(method.getParameterTypes()[0])
+      || !isHandlerOfBaseClass(method)) {
+      return null;
+    }
+
+    for (Class<?> clazz = method.getParameterTypes()[0];
+         clazz != null && clazz != ParserRuleContext.class;
+         clazz = clazz.getSuperclass()) {
+      var ruleIndex = RULE_INDEXES.get(clazz);
+      if (ruleIndex != null) {
+        return ruleIndex;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isHandlerOfBaseClass(Method method) {
+    var baseClass = method.getName().startsWith("visit") ? BSLParserBaseVisitor.class : BSLParserBaseListener.class;
+    try {
+      baseClass.getMethod(method.getName(), method.getParameterTypes());
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  private static Map<Class<?>, Integer> computeRuleIndexes() {
+    var ruleNames = Arrays.asList(BSLParser.ruleNames);
+    Map<Class<?>, Integer> ruleIndexes = new HashMap<>();
+    for (Class<?> clazz : BSLParser.class.getDeclaredClasses()) {
+      if (!ParserRuleContext.class.isAssignableFrom(clazz)) {
+        continue;
+      }
+      var ruleName = StringUtils.uncapitalize(StringUtils.removeEnd(clazz.getSimpleName(), "Context"));
+      var ruleIndex = ruleNames.indexOf(ruleName);
+      if (ruleIndex >= 0) {
+        ruleIndexes.put(clazz, ruleIndex);
+      }
+    }
+    return Map.copyOf(ruleIndexes);
+  }
+
+  private static int[] toArray(List<Integer> list) {
+    return list.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  private record RuleInterest(
+    boolean fusible,
+    BitSet enterRules,
+    BitSet exitRules,
+    boolean everyRule,
+    boolean terminals
+  ) {
+    private static final RuleInterest NOT_FUSIBLE = new RuleInterest(false, new BitSet(), new BitSet(), false, false);
+  }
+}
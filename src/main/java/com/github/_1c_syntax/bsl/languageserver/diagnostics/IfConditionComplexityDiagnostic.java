@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticParameter;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -39,6 +40,7 @@ import org.antlr.v4.runtime.tree.ParseTree;
   }
 )
 
+@FusedWalk
 public class IfConditionComplexityDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final int MAX_IF_CONDITION_COMPLEXITY = 3;
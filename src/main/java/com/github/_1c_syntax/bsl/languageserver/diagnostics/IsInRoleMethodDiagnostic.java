@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticScope;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -47,6 +48,7 @@ import java.util.regex.Pattern;
   }
 
 )
+@FusedWalk
 public class IsInRoleMethodDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final Pattern IS_IN_ROLE_NAME_PATTERN = CaseInsensitivePattern.compile(
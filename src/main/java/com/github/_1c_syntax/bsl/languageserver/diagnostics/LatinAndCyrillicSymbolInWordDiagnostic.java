@@ -26,7 +26,6 @@ import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticP
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticTag;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticType;
-import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.parser.BSLParser;
 import com.github._1c_syntax.utils.CaseInsensitivePattern;
 import org.antlr.v4.runtime.tree.ParseTree;
@@ -125,23 +124,23 @@ public class LatinAndCyrillicSymbolInWordDiagnostic extends AbstractDiagnostic {
   }
 
   private void check(int ruleID) {
-    checkTree(Trees.findAllRuleNodes(documentContext.getAst(), ruleID).stream());
+    checkTree(documentContext.getParseTreeIndex().findAllRuleNodes(ruleID).stream());
   }
 
   private void checkLValue() {
-    checkTree(Trees.findAllRuleNodes(documentContext.getAst(), BSLParser.RULE_lValue).stream()
+    checkTree(documentContext.getParseTreeIndex().findAllRuleNodes(BSLParser.RULE_lValue).stream()
       .filter(ctx -> ((BSLParser.LValueContext) ctx).IDENTIFIER() != null)
       .map(ctx -> ((BSLParser.LValueContext) ctx).IDENTIFIER()));
   }
 
   private void checkParameters() {
-    checkTree(Trees.findAllRuleNodes(documentContext.getAst(), BSLParser.RULE_param).stream()
+    checkTree(documentContext.getParseTreeIndex().findAllRuleNodes(BSLParser.RULE_param).stream()
       .filter(ctx -> ((BSLParser.ParamContext) ctx).IDENTIFIER() != null)
       .map(ctx -> ((BSLParser.ParamContext) ctx).IDENTIFIER()));
   }
 
   private void checkLabel() {
-    checkTree(Trees.findAllRuleNodes(documentContext.getAst(), BSLParser.RULE_labelName).stream()
+    checkTree(documentContext.getParseTreeIndex().findAllRuleNodes(BSLParser.RULE_labelName).stream()
       .filter(ctx -> ctx.getParent() instanceof BSLParser.GotoStatementContext));
   }
 
@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticParameter;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -38,6 +39,7 @@ import org.antlr.v4.runtime.tree.ParseTree;
     DiagnosticTag.BADPRACTICE
   }
 )
+@FusedWalk
 public class MethodSizeDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final int MAX_METHOD_SIZE = 200;
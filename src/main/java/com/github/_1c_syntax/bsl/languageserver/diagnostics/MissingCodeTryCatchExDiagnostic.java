@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticParameter;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -43,6 +44,7 @@ import java.util.stream.Stream;
     DiagnosticTag.BADPRACTICE
   }
 )
+@FusedWalk
 public class MissingCodeTryCatchExDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final boolean DEFAULT_COMMENT_AS_CODE = false;
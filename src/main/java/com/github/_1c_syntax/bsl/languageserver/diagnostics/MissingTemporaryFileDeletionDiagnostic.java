@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticParameter;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -47,6 +48,7 @@ import java.util.stream.Collectors;
   }
 )
 
+@FusedWalk
 public class MissingTemporaryFileDeletionDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final String REGEX_DELETION_FILE =
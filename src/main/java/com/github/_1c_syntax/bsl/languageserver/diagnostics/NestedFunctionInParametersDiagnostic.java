@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticParameter;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -46,6 +47,7 @@ import java.util.stream.IntStream;
     DiagnosticTag.BADPRACTICE
   }
 )
+@FusedWalk
 public class NestedFunctionInParametersDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final boolean DEFAULT_ALLOW_ONELINER = true;
@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticParameter;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticScope;
@@ -45,6 +46,7 @@ import org.antlr.v4.runtime.tree.ParseTree;
     DiagnosticTag.BRAINOVERLOAD
   }
 )
+@FusedWalk
 public class NumberOfValuesInStructureConstructorDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final int MAX_VALUES_COUNT = 3;
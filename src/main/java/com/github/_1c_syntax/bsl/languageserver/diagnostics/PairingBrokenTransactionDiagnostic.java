@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticTag;
@@ -45,6 +46,7 @@ import java.util.stream.Collectors;
     DiagnosticTag.STANDARD
   }
 )
+@FusedWalk
 public class PairingBrokenTransactionDiagnostic extends AbstractVisitorDiagnostic {
 
   private final Pattern beginTransaction = CaseInsensitivePattern.compile(
@@ -23,6 +23,7 @@ package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
 import com.github._1c_syntax.bsl.languageserver.context.symbol.MethodSymbol;
 import com.github._1c_syntax.bsl.languageserver.context.symbol.Symbol;
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticParameter;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -45,6 +46,7 @@ import java.util.regex.Pattern;
     DiagnosticTag.BADPRACTICE
   }
 )
+@FusedWalk
 public class PublicMethodsDescriptionDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final Pattern API_REGION_NAME = CaseInsensitivePattern.compile(
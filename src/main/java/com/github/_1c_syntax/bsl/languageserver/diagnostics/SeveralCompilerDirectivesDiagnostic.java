@@ -22,6 +22,7 @@
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
 import com.github._1c_syntax.bsl.languageserver.context.symbol.MethodSymbol;
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticTag;
@@ -39,6 +40,7 @@ import org.antlr.v4.runtime.tree.ParseTree;
     DiagnosticTag.ERROR
   }
 )
+@FusedWalk
 public class SeveralCompilerDirectivesDiagnostic extends AbstractVisitorDiagnostic {
 
   @Override
@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticCompatibilityMode;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticParameter;
@@ -50,6 +51,7 @@ import java.util.stream.Collectors;
     DiagnosticTag.STANDARD
   }
 )
+@FusedWalk
 public class TimeoutsInExternalResourcesDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final Pattern PATTERN_TIMEOUT = CaseInsensitivePattern.compile(
@@ -22,6 +22,7 @@
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
 import com.github._1c_syntax.bsl.languageserver.context.symbol.MethodSymbol;
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticParameter;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -49,6 +50,7 @@ import java.util.stream.Collectors;
     DiagnosticTag.BRAINOVERLOAD
   }
 )
+@FusedWalk
 public class TooManyReturnsDiagnostic extends AbstractVisitorDiagnostic {
   private static final int MAX_RETURNS_COUNT = 3;
   private static final int MAX_RELATION_TEXT_LENGTH = 20;
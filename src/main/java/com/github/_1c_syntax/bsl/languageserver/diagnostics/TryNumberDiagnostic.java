@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticTag;
@@ -42,6 +43,7 @@ import java.util.regex.Pattern;
     DiagnosticTag.STANDARD
   }
 )
+@FusedWalk
 public class TryNumberDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final Pattern NUMBER_PATTERN = CaseInsensitivePattern.compile(
@@ -30,13 +30,13 @@ import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticT
 import com.github._1c_syntax.bsl.languageserver.diagnostics.typo.CheckedWordsHolder;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.typo.JLanguageToolPool;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.typo.WordStatus;
-import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.parser.BSLParser;
 import com.github._1c_syntax.utils.CaseInsensitivePattern;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.Token;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.WordUtils;
@@ -158,7 +158,9 @@ public class TypoDiagnostic extends AbstractDiagnostic {
   ) {
     Map<String, List<Token>> tokensMap = new HashMap<>();
 
-    Trees.findAllRuleNodes(documentContext.getAst(), rulesToFind).stream()
+    var parseTreeIndex = documentContext.getParseTreeIndex();
+    Arrays.stream(rulesToFind)
+      .flatMap(ruleIndex -> parseTreeIndex.<ParserRuleContext>findAllRuleNodes(ruleIndex).stream())
       .flatMap(ruleContext -> ruleContext.getTokens().stream())
       .filter(token -> tokenTypes.contains(token.getType()))
       .filter(token -> !FORMAT_STRING_PATTERN.matcher(token.getText()).find())
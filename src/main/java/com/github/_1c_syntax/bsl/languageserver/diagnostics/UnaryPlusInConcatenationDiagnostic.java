@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticTag;
@@ -41,6 +42,7 @@ import java.util.Optional;
     DiagnosticTag.BRAINOVERLOAD
   }
 )
+@FusedWalk
 public class UnaryPlusInConcatenationDiagnostic extends AbstractVisitorDiagnostic {
 
   @Override
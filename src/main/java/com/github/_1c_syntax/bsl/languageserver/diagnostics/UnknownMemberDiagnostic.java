@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticScope;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -66,6 +67,7 @@ import java.util.stream.Collectors;
   }
 )
 @RequiredArgsConstructor
+@FusedWalk
 public class UnknownMemberDiagnostic extends AbstractVisitorDiagnostic {
 
   private final TypeService typeService;
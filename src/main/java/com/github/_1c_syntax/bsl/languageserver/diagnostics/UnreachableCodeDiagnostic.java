@@ -21,8 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
-import com.github._1c_syntax.bsl.languageserver.cfg.CfgBuildingParseTreeVisitor;
-import com.github._1c_syntax.bsl.languageserver.cfg.ExitVertex;
+import com.github._1c_syntax.bsl.languageserver.cfg.CfgBuildOptions;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticTag;
@@ -43,6 +42,7 @@ import java.util.Comparator;
 import java.util.Deque;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @DiagnosticMetadata(
   type = DiagnosticType.ERROR,
@@ -55,6 +55,8 @@ import java.util.stream.Collectors;
 )
 public class UnreachableCodeDiagnostic extends AbstractVisitorDiagnostic {
 
+  private static final CfgBuildOptions CFG_OPTIONS = new CfgBuildOptions(false, true, false);
+
   // кэш диапазонов зарегистрированных ошибок
   private final List<Range> errorRanges = new ArrayList<>();
 
@@ -130,15 +132,11 @@ public class UnreachableCodeDiagnostic extends AbstractVisitorDiagnostic {
   }
 
   private void appendUnreachableCode(BSLParser.CodeBlockContext ctx) {
-    var builder = new CfgBuildingParseTreeVisitor();
-    builder.producePreprocessorConditions(true);
-    builder.produceLoopIterations(false);
-    builder.determineAdjacentDeadCode(false);
-
-    var graph = builder.buildGraph(ctx);
-    var deadCode = graph.vertexSet().stream()
-      .filter(vertex -> vertex != graph.getEntryPoint() && vertex.getClass() != ExitVertex.class)
-      .filter(vertex -> graph.inDegreeOf(vertex) == 0)
+    var graph = documentContext.getControlFlowGraphs().get(ctx, CFG_OPTIONS);
+    var deadCode = IntStream.range(0, graph.vertexCount())
+      .filter(vertex -> vertex != graph.entryPoint() && vertex != graph.exitPoint())
+      .filter(vertex -> graph.inDegree(vertex) == 0)
+      .mapToObj(graph::vertex)
       .flatMap(vertex -> vertex.getAst().stream())
       .sorted(Comparator.comparingInt(ruleContext -> ruleContext.getStart().getLine()))
       .map(Ranges::create)
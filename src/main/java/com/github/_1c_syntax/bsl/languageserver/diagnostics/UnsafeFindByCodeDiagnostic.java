@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticScope;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -77,6 +78,7 @@ import java.util.regex.Pattern;
     DiagnosticTag.SUSPICIOUS
   }
 )
+@FusedWalk
 public class UnsafeFindByCodeDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final Pattern METHOD_NAME_PATTERN = CaseInsensitivePattern.compile(
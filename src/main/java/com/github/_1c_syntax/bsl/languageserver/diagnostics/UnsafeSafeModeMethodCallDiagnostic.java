@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticCompatibilityMode;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticScope;
@@ -47,6 +48,7 @@ import java.util.regex.Pattern;
   }
 
 )
+@FusedWalk
 public class UnsafeSafeModeMethodCallDiagnostic extends AbstractFindMethodDiagnostic {
 
   private static final Pattern SAFE_MODE_METHOD_NAME = CaseInsensitivePattern.compile(
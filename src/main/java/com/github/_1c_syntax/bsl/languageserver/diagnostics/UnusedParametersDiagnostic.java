@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticScope;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -46,6 +47,7 @@ import java.util.stream.Collectors;
     DiagnosticTag.UNUSED
   }
 )
+@FusedWalk
 public class UnusedParametersDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final Pattern HANDLER_PATTERN = CaseInsensitivePattern.compile(
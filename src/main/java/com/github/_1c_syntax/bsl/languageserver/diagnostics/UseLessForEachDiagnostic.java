@@ -22,6 +22,7 @@
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
 import com.github._1c_syntax.bsl.languageserver.context.symbol.variable.VariableKind;
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticTag;
@@ -44,6 +45,7 @@ import java.util.function.Predicate;
     DiagnosticTag.CLUMSY
   }
 )
+@FusedWalk
 public class UseLessForEachDiagnostic extends AbstractVisitorDiagnostic {
 
   private static Predicate<ParseTree> parentClassMatchTo(Class<?> clazzName) {
@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticTag;
@@ -44,6 +45,7 @@ import java.util.regex.Pattern;
     DiagnosticTag.DESIGN
   }
 )
+@FusedWalk
 public class UsingExternalCodeToolsDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final Pattern externalCodeToolsName = CaseInsensitivePattern.compile(
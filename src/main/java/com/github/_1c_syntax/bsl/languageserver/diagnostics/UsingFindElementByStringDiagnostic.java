@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticScope;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -45,6 +46,7 @@ import java.util.regex.Pattern;
   }
 )
 
+@FusedWalk
 public class UsingFindElementByStringDiagnostic extends AbstractVisitorDiagnostic {
 
   private final Pattern pattern = CaseInsensitivePattern.compile(
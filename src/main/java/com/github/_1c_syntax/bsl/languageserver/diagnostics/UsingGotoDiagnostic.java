@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticTag;
@@ -37,6 +38,7 @@ import org.antlr.v4.runtime.tree.ParseTree;
     DiagnosticTag.BADPRACTICE
   }
 )
+@FusedWalk
 public class UsingGotoDiagnostic extends AbstractVisitorDiagnostic {
 
   @Override
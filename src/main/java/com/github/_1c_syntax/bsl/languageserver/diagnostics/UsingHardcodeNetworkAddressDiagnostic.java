@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticParameter;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticSeverity;
@@ -43,6 +44,7 @@ import java.util.regex.Pattern;
     DiagnosticTag.STANDARD
   }
 )
+@FusedWalk
 public class UsingHardcodeNetworkAddressDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final String REGEX_NETWORK_ADDRESS =
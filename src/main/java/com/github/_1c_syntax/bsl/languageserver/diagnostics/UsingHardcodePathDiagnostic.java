@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticParameter;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticScope;
@@ -44,6 +45,7 @@ import java.util.regex.Pattern;
     DiagnosticTag.STANDARD
   }
 )
+@FusedWalk
 public class UsingHardcodePathDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final String REGEX_PATH =
@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticParameter;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticScope;
@@ -47,6 +48,7 @@ import java.util.regex.Pattern;
     DiagnosticTag.STANDARD
   }
 )
+@FusedWalk
 public class UsingHardcodeSecretInformationDiagnostic extends AbstractVisitorDiagnostic {
 
   private static final String FIND_WORD_DEFAULT = "Пароль|Password";
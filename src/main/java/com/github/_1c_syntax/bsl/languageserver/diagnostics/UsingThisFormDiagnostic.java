@@ -22,6 +22,7 @@
 package com.github._1c_syntax.bsl.languageserver.diagnostics;
 
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticCompatibilityMode;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMetadata;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticScope;
@@ -60,6 +61,7 @@ import java.util.regex.Pattern;
     DiagnosticTag.DEPRECATED
   }
 )
+@FusedWalk
 public class UsingThisFormDiagnostic extends AbstractVisitorDiagnostic implements QuickFixProvider {
 
   private static final Pattern PATTERN = CaseInsensitivePattern.compile("^(этаформа|thisform)");
@@ -0,0 +1,45 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Признак визиторной диагностики, которая может участвовать в совмещённом обходе дерева разбора.
+ * <p>
+ * Помеченная диагностика обязуется соблюдать контракт «прямого» обхода: каждый переопределенный
+ * метод {@code visitXxx} выполняет свою работу до спуска к потомкам, а спускается только вызовом
+ * {@code return super.visitXxx(ctx)} (или {@code visitChildren(ctx)}) для того же узла.
+ * Диагностика не должна самостоятельно обходить другие узлы через {@code accept(this)}/{@code visit(...)},
+ * выполнять действия после возврата из обхода потомков и переопределять {@code getDiagnostics}.
+ * <p>
+ * Возврат из {@code visitXxx} без вызова {@code super} по-прежнему означает отказ от обхода поддерева.
+ *
+ * @see com.github._1c_syntax.bsl.languageserver.diagnostics.FusedDiagnosticsWalker
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FusedWalk {
+}
@@ -22,9 +22,9 @@
 package com.github._1c_syntax.bsl.languageserver.diagnostics.platform;
 
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.context.ParseTreeIndex;
 import com.github._1c_syntax.bsl.languageserver.types.TypeService;
 import com.github._1c_syntax.bsl.languageserver.types.TypeService.TypedMember;
-import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.parser.BSLParser;
 import org.antlr.v4.runtime.Token;
 import org.eclipse.lsp4j.Position;
@@ -66,17 +66,17 @@ public final class PlatformMemberCalls {
    */
   public static List<TypedMember> collect(DocumentContext documentContext,
                                           TypeService typeService) {
-    var ast = documentContext.getAst();
+    var index = documentContext.getParseTreeIndex();
     var result = new ArrayList<TypedMember>();
-    collectGlobalCalls(ast, documentContext, typeService, result);
-    collectVersionedMembers(ast, documentContext, typeService, result);
+    collectGlobalCalls(index, documentContext, typeService, result);
+    collectVersionedMembers(index, documentContext, typeService, result);
     return result;
   }
 
   /** Глобальные вызовы — резолв дёшев (без инференса), без pre-filter'а по имени. */
-  private static void collectGlobalCalls(BSLParser.FileContext ast, DocumentContext documentContext,
+  private static void collectGlobalCalls(ParseTreeIndex index, DocumentContext documentContext,
                                          TypeService typeService, List<TypedMember> sink) {
-    for (var node : Trees.findAllRuleNodes(ast, BSLParser.RULE_globalMethodCall)) {
+    for (var node : index.findAllRuleNodes(BSLParser.RULE_globalMethodCall)) {
       var methodName = ((BSLParser.GlobalMethodCallContext) node).methodName();
       if (methodName != null) {
         resolveInto(sink, documentContext, typeService, methodName.getStart());
@@ -109,16 +109,16 @@ public final class PlatformMemberCalls {
    * следующие 1С-конвенции «устарело» (префикс «Удалить»). Остальные
    * имена не резолвятся, чтобы не тратить инференс на каждый узел.
    */
-  private static void collectVersionedMembers(BSLParser.FileContext ast, DocumentContext documentContext,
+  private static void collectVersionedMembers(ParseTreeIndex index, DocumentContext documentContext,
                                               TypeService typeService,
                                               List<TypedMember> sink) {
-    for (var node : Trees.findAllRuleNodes(ast, BSLParser.RULE_methodCall)) {
+    for (var node : index.findAllRuleNodes(BSLParser.RULE_methodCall)) {
       var methodName = ((BSLParser.MethodCallContext) node).methodName();
       if (methodName != null) {
         resolveCandidate(methodName.getStart(), documentContext, typeService, sink);
       }
     }
-    for (var node : Trees.findAllRuleNodes(ast, BSLParser.RULE_accessProperty)) {
+    for (var node : index.findAllRuleNodes(BSLParser.RULE_accessProperty)) {
       var identifier = ((BSLParser.AccessPropertyContext) node).IDENTIFIER();
       if (identifier != null) {
         resolveCandidate(identifier.getSymbol(), documentContext, typeService, sink);
@@ -22,7 +22,6 @@
 package com.github._1c_syntax.bsl.languageserver.folding;
 
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
-import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.parser.BSLParser;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.eclipse.lsp4j.FoldingRange;
@@ -40,8 +39,8 @@ public class UseFoldingRangeSupplier implements FoldingRangeSupplier {
 
   @Override
   public List<FoldingRange> getFoldingRanges(DocumentContext documentContext) {
-    BSLParser.FileContext fileContext = documentContext.getAst();
-    ParseTree[] uses = Trees.findAllRuleNodes(fileContext, BSLParser.RULE_use).toArray(new ParseTree[0]);
+    var index = documentContext.getParseTreeIndex();
+    ParseTree[] uses = index.findAllRuleNodes(BSLParser.RULE_use).toArray(new ParseTree[0]);
 
     if (uses.length <= 1) {
       return Collections.emptyList();
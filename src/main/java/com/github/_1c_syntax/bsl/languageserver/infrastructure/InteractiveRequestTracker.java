@@ -0,0 +1,84 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.infrastructure;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Счетчик интерактивных запросов клиента, обрабатываемых в данный момент.
+ * <p>
+ * Используется фоновыми задачами (анализ проекта при старте), чтобы уступать процессор
+ * запросам, которых ждет пользователь (hover, completion, semantic tokens и т.п.).
+ */
+@Component
+public class InteractiveRequestTracker {
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  /**
+   * Отметить начало обработки интерактивного запроса.
+   */
+  public void begin() {
+    inFlight.incrementAndGet();
+  }
+
+  /**
+   * Отметить окончание обработки интерактивного запроса.
+   */
+  public void end() {
+    if (inFlight.decrementAndGet() <= 0) {
+      synchronized (this) {
+        notifyAll();
+      }
+    }
+  }
+
+  /**
+   * @return есть ли интерактивные запросы в обработке
+   */
+  public boolean isBusy() {
+    return inFlight.get() > 0;
+  }
+
+  /**
+   * Дождаться окончания обработки интерактивных запросов, но не дольше указанного времени:
+   * при непрерывном потоке запросов фоновая задача все равно продвигается.
+   *
+   * @param timeout максимальное время ожидания
+   * @throws InterruptedException если поток прерван во время ожидания
+   */
+  public void awaitIdle(Duration timeout) throws InterruptedException {
+    var deadline = System.nanoTime() + timeout.toNanos();
+    synchronized (this) {
+      while (isBusy()) {
+        var remainingMillis = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+        if (remainingMillis <= 0) {
+          return;
+        }
+        wait(remainingMillis);
+      }
+    }
+  }
+}
@@ -24,7 +24,6 @@ package com.github._1c_syntax.bsl.languageserver.inlayhints;
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
 import com.github._1c_syntax.bsl.languageserver.references.model.Reference;
 import com.github._1c_syntax.bsl.languageserver.utils.Ranges;
-import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.parser.BSLParser;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.eclipse.lsp4j.Range;
@@ -60,8 +59,8 @@ final class DoCallRangeIndex {
    * @return индекс вызовов документа; пустой, если вызовов нет
    */
   static DoCallRangeIndex of(DocumentContext documentContext) {
-    var ast = documentContext.getAst();
-    var doCalls = Trees.findAllRuleNodes(ast, BSLParser.RULE_doCall);
+    var index = documentContext.getParseTreeIndex();
+    var doCalls = index.findAllRuleNodes(BSLParser.RULE_doCall);
     Map<String, BSLParser.DoCallContext> result = HashMap.newHashMap(doCalls.size());
     for (var node : doCalls) {
       var doCall = (BSLParser.DoCallContext) node;
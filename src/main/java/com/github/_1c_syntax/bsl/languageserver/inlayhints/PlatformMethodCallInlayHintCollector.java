@@ -30,7 +30,6 @@ import com.github._1c_syntax.bsl.languageserver.types.model.TypeKind;
 import com.github._1c_syntax.bsl.languageserver.types.model.TypeSet;
 import com.github._1c_syntax.bsl.languageserver.types.util.SignatureSelection;
 import com.github._1c_syntax.bsl.languageserver.utils.Ranges;
-import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.parser.BSLParser;
 import org.antlr.v4.runtime.Token;
 import org.antlr.v4.runtime.tree.TerminalNode;
@@ -86,10 +85,10 @@ public class PlatformMethodCallInlayHintCollector {
   }
 
   public List<InlayHint> getInlayHints(DocumentContext documentContext, InlayHintParams params) {
-    var ast = documentContext.getAst();
+    var index = documentContext.getParseTreeIndex();
     var range = params.getRange();
     var result = new ArrayList<InlayHint>();
-    for (var node : Trees.findAllRuleNodes(ast, BSLParser.RULE_doCall)) {
+    for (var node : index.findAllRuleNodes(BSLParser.RULE_doCall)) {
       if (node instanceof BSLParser.DoCallContext doCall) {
         collectForDoCall(result, documentContext, range, doCall);
       }
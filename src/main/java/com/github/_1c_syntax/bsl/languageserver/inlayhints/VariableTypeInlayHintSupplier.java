@@ -26,7 +26,6 @@ import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
 import com.github._1c_syntax.bsl.languageserver.types.TypeService;
 import com.github._1c_syntax.bsl.languageserver.types.model.TypeRef;
 import com.github._1c_syntax.bsl.languageserver.utils.Ranges;
-import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.parser.BSLParser;
 import org.antlr.v4.runtime.tree.TerminalNode;
 import org.eclipse.lsp4j.InlayHint;
@@ -101,7 +100,7 @@ public class VariableTypeInlayHintSupplier implements InlayHintSupplier<Variable
   @Override
   public List<InlayHint> getInlayHints(DocumentContext documentContext, InlayHintParams params) {
     var range = params.getRange();
-    return Trees.findAllRuleNodes(documentContext.getAst(), BSLParser.RULE_assignment).stream()
+    return documentContext.getParseTreeIndex().findAllRuleNodes(BSLParser.RULE_assignment).stream()
       .map(BSLParser.AssignmentContext.class::cast)
       .map(assignment -> toInlayHint(documentContext, assignment, range))
       .flatMap(Optional::stream)
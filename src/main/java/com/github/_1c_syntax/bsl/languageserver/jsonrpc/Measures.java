@@ -0,0 +1,77 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.jsonrpc;
+
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ответ на запрос <code>workspace/x-measures</code>.
+ * <br>
+ * См. {@link com.github._1c_syntax.bsl.languageserver.lsp.BSLTextDocumentService#measures(MeasuresParams)}
+ */
+@Value
+public class Measures {
+
+  /**
+   * Пустой ответ (сбор замеров выключен).
+   */
+  public static final Measures EMPTY = new Measures(Collections.emptyList(), Collections.emptyMap(), null);
+
+  /**
+   * Замеры по типам, упорядоченные по имени.
+   */
+  List<Measure> measures;
+
+  /**
+   * Счетчики событий по типам, упорядоченные по имени, например {@code context: ast cache hit}.
+   */
+  Map<String, Long> counters;
+
+  /**
+   * Текстовая выгрузка замеров в запрошенном формате.
+   */
+  @Nullable
+  String text;
+
+  /**
+   * Агрегированный замер одного типа. Длительности - в наносекундах.
+   */
+  @Value
+  public static class Measure {
+    /**
+     * Тип замера, например {@code lsp: hover} или {@code diagnostic: LineLength}.
+     */
+    String name;
+    long count;
+    long totalNanos;
+    long maxNanos;
+    long p50Nanos;
+    long p90Nanos;
+    long p99Nanos;
+    long p999Nanos;
+  }
+}
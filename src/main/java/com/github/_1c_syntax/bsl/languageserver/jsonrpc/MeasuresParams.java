@@ -0,0 +1,62 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.jsonrpc;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Параметры запроса <code>workspace/x-measures</code>.
+ * <br>
+ * См. {@link com.github._1c_syntax.bsl.languageserver.lsp.BSLTextDocumentService#measures(MeasuresParams)}
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+public class MeasuresParams {
+
+  /**
+   * Формат текстовой выгрузки замеров.
+   */
+  public static final String PROMETHEUS_FORMAT = "prometheus";
+
+  /**
+   * Формат текстовой выгрузки.
+   * <br>
+   * Если передан {@link #PROMETHEUS_FORMAT}, в ответ дополнительно включается текст в формате Prometheus.
+   */
+  @Nullable
+  private String format;
+
+  /**
+   * Сбросить накопленные замеры после формирования ответа.
+   */
+  private boolean reset;
+}
@@ -44,4 +44,19 @@ public interface ProtocolExtension {
   )
   CompletableFuture<Diagnostics> diagnostics(DiagnosticParams params);
 
+  /**
+   * Запрос накопленных замеров производительности: перцентили длительностей
+   * LSP-запросов, диагностик и вычислений контекста (расширение протокола).
+   * <p>
+   * Замеры собираются только при {@code app.measures.enabled=true}, иначе возвращается пустой ответ.
+   *
+   * @param params Параметры запроса.
+   * @return Снимок замеров.
+   */
+  @JsonRequest(
+    value = "workspace/x-measures",
+    useSegment = false
+  )
+  CompletableFuture<Measures> measures(MeasuresParams params);
+
 }
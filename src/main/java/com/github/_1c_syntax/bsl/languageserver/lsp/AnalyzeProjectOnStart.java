@@ -22,34 +22,33 @@
 package com.github._1c_syntax.bsl.languageserver.lsp;
 
 import com.github._1c_syntax.bsl.languageserver.configuration.LanguageServerConfiguration;
-import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.context.GitBlameService;
 import com.github._1c_syntax.bsl.languageserver.context.events.ServerContextPopulatedEvent;
 import com.github._1c_syntax.bsl.languageserver.client.LanguageClientHolder;
 import com.github._1c_syntax.bsl.languageserver.client.WorkDoneProgressHelper;
-import com.github._1c_syntax.bsl.languageserver.providers.DiagnosticProvider;
+import com.github._1c_syntax.bsl.languageserver.providers.BackgroundAnalysisQueue;
 import com.github._1c_syntax.bsl.languageserver.configuration.Resources;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
 
 /**
  * Перехватчик события заполнения контекста сервера, запускающий анализ всех файлов контекста.
+ * <p>
+ * Сам анализ выполняется {@link BackgroundAnalysisQueue} с приоритетами и ограничением числа потоков.
  */
 @Component
 @RequiredArgsConstructor
 public class AnalyzeProjectOnStart {
 
-  private final DiagnosticProvider diagnosticProvider;
   private final LanguageClientHolder languageClientHolder;
   private final WorkDoneProgressHelper workDoneProgressHelper;
   private final LanguageServerConfiguration configuration;
-  @Qualifier("analyzeOnStartExecutor")
-  private final ExecutorService executor;
+  private final GitBlameService gitBlameService;
+  private final BackgroundAnalysisQueue backgroundAnalysisQueue;
 
   @EventListener
   @Async
@@ -70,16 +69,11 @@ public class AnalyzeProjectOnStart {
     progress.beginProgress(getMessage("analyzeProject"));
 
     try {
-      executor.submit(() ->
-        documentContexts.parallelStream().forEach((DocumentContext documentContext) -> {
-          progress.tick();
+      if (!configuration.getDiagnosticsOptions().getIgnoredAuthors().isEmpty()) {
+        gitBlameService.prefetch(serverContext.getDocuments().keySet());
+      }
 
-          serverContext.rebuildDocument(documentContext);
-          diagnosticProvider.computeAndPublishDiagnostics(documentContext);
-
-          serverContext.tryClearDocument(documentContext);
-        })
-      ).get();
+      backgroundAnalysisQueue.analyze(serverContext, documentContexts, progress::tick);
 
       progress.endProgress(getMessage("projectAnalyzed"));
     } catch (ExecutionException e) {
@@ -28,6 +28,8 @@ import com.github._1c_syntax.bsl.languageserver.events.LanguageServerInitialized
 import com.github._1c_syntax.bsl.languageserver.infrastructure.WorkspaceContextHolder;
 import com.github._1c_syntax.bsl.languageserver.jsonrpc.DiagnosticParams;
 import com.github._1c_syntax.bsl.languageserver.jsonrpc.Diagnostics;
+import com.github._1c_syntax.bsl.languageserver.jsonrpc.Measures;
+import com.github._1c_syntax.bsl.languageserver.jsonrpc.MeasuresParams;
 import com.github._1c_syntax.bsl.languageserver.jsonrpc.ProtocolExtension;
 import com.github._1c_syntax.bsl.languageserver.client.ClientCapabilitiesHolder;
 import com.github._1c_syntax.bsl.languageserver.client.LanguageClientHolder;
@@ -388,6 +390,16 @@ public class BSLLanguageServer implements LanguageServer, ProtocolExtension {
     return textDocumentService.diagnostics(params);
   }
 
+  /**
+   * Запрос накопленных замеров производительности.
+   * <p>
+   * См. {@link BSLTextDocumentService#measures(MeasuresParams)}
+   */
+  @Override
+  public CompletableFuture<Measures> measures(MeasuresParams params) {
+    return textDocumentService.measures(params);
+  }
+
   @Override
   public TextDocumentService getTextDocumentService() {
     return textDocumentService;
@@ -21,16 +21,21 @@
  */
 package com.github._1c_syntax.bsl.languageserver.lsp;
 
+import com.github._1c_syntax.bsl.languageserver.aop.measures.MeasureCollector;
+import com.github._1c_syntax.bsl.languageserver.aop.measures.MeasureHistogram;
 import com.github._1c_syntax.bsl.languageserver.configuration.LanguageServerConfiguration;
 import com.github._1c_syntax.bsl.languageserver.configuration.diagnostics.ComputeTrigger;
 import com.github._1c_syntax.bsl.languageserver.context.DocumentChangeExecutor;
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.context.DocumentText;
 import com.github._1c_syntax.bsl.languageserver.context.ServerContext;
 import com.github._1c_syntax.bsl.languageserver.context.ServerContextProvider;
 import com.github._1c_syntax.bsl.languageserver.context.events.ServerContextDocumentRemovedEvent;
 import com.github._1c_syntax.bsl.languageserver.events.LanguageServerInitializedEvent;
 import com.github._1c_syntax.bsl.languageserver.jsonrpc.DiagnosticParams;
 import com.github._1c_syntax.bsl.languageserver.jsonrpc.Diagnostics;
+import com.github._1c_syntax.bsl.languageserver.jsonrpc.Measures;
+import com.github._1c_syntax.bsl.languageserver.jsonrpc.MeasuresParams;
 import com.github._1c_syntax.bsl.languageserver.jsonrpc.ProtocolExtension;
 import com.github._1c_syntax.bsl.languageserver.providers.CallHierarchyProvider;
 import com.github._1c_syntax.bsl.languageserver.providers.CodeActionProvider;
@@ -54,7 +59,9 @@ import com.github._1c_syntax.bsl.languageserver.providers.SelectionRangeProvider
 import com.github._1c_syntax.bsl.languageserver.providers.SemanticTokensProvider;
 import com.github._1c_syntax.bsl.languageserver.providers.SignatureHelpProvider;
 import com.github._1c_syntax.bsl.languageserver.providers.TypeHierarchyProvider;
+import com.github._1c_syntax.bsl.languageserver.infrastructure.InteractiveRequestTracker;
 import com.github._1c_syntax.bsl.languageserver.infrastructure.WorkspaceContextHolder;
+import com.github._1c_syntax.bsl.languageserver.utils.CancelCheckers;
 import com.github._1c_syntax.bsl.languageserver.utils.Ranges;
 import com.github._1c_syntax.utils.Absolute;
 import jakarta.annotation.PreDestroy;
@@ -130,11 +137,13 @@ import org.eclipse.lsp4j.TypeHierarchyPrepareParams;
 import org.eclipse.lsp4j.TypeHierarchySubtypesParams;
 import org.eclipse.lsp4j.TypeHierarchySupertypesParams;
 import org.eclipse.lsp4j.WorkspaceEdit;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.eclipse.lsp4j.jsonrpc.CompletableFutures;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.jsonrpc.messages.Either3;
 import org.eclipse.lsp4j.services.TextDocumentService;
 import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.event.EventListener;
 import org.springframework.core.task.AsyncTaskExecutor;
@@ -147,6 +156,7 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -189,6 +199,9 @@ public class BSLTextDocumentService implements TextDocumentService, ProtocolExte
   private final DocumentHighlightProvider documentHighlightProvider;
   private final LinkedEditingRangeProvider linkedEditingRangeProvider;
   private final LanguageServerConfiguration configuration;
+  private final ObjectProvider<MeasureCollector> measureCollectorProvider;
+  private final DiagnosticsScheduler diagnosticsScheduler;
+  private final InteractiveRequestTracker interactiveRequestTracker;
 
   @Qualifier("textDocumentServiceExecutor")
   private final AsyncTaskExecutor taskExecutor;
@@ -715,7 +728,7 @@ public class BSLTextDocumentService implements TextDocumentService, ProtocolExte
       WorkspaceContextHolder.run(serverContext.getWorkspaceUri(), () -> {
         var documentContext = serverContext.addDocument(uri);
 
-        // Create single-threaded executor for this document to serialize didChange operations
+        // Create executor for this document to serialize didChange operations
         documentExecutors.computeIfAbsent(uri, key ->
           new DocumentChangeExecutor(
             documentContext,
@@ -834,6 +847,7 @@ public class BSLTextDocumentService implements TextDocumentService, ProtocolExte
       }
     }
 
+    diagnosticsScheduler.cancel(uri);
     serverContext.closeDocument(documentContext);
 
     if (!clientSupportsPullDiagnostics) {
@@ -895,6 +909,26 @@ public class BSLTextDocumentService implements TextDocumentService, ProtocolExte
     );
   }
 
+  @Override
+  public CompletableFuture<Measures> measures(MeasuresParams params) {
+    var measureCollector = measureCollectorProvider.getIfAvailable();
+    if (measureCollector == null) {
+      return CompletableFuture.completedFuture(Measures.EMPTY);
+    }
+
+    var measures = measureCollector.snapshot().entrySet().stream()
+      .map(entry -> toMeasure(entry.getKey(), entry.getValue()))
+      .toList();
+    var counters = measureCollector.countersSnapshot();
+    var text = MeasuresParams.PROMETHEUS_FORMAT.equals(params.getFormat())
+      ? measureCollector.toPrometheusText()
+      : null;
+    if (params.isReset()) {
+      measureCollector.reset();
+    }
+    return CompletableFuture.completedFuture(new Measures(measures, counters, text));
+  }
+
   @Override
   public CompletableFuture<DocumentDiagnosticReport> diagnostic(DocumentDiagnosticParams params) {
     var maybeDocument = serverContextProvider.getDocumentUnsafe(params.getTextDocument().getUri());
@@ -986,11 +1020,26 @@ public class BSLTextDocumentService implements TextDocumentService, ProtocolExte
    * @return обновленное содержимое документа
    */
   protected static String applyTextDocumentChanges(String content, List<TextDocumentContentChangeEvent> changes) {
+    return applyTextDocumentChanges(DocumentText.of(content), changes).toString();
+  }
+
+  /**
+   * Применяет список изменений текста к тексту документа.
+   * Поддерживает как полные обновления (без range), так и инкрементальные изменения (с range).
+   *
+   * @param content текущий текст документа
+   * @param changes список изменений для применения
+   * @return обновленный текст документа
+   */
+  protected static DocumentText applyTextDocumentChanges(
+    DocumentText content,
+    List<TextDocumentContentChangeEvent> changes
+  ) {
     var currentContent = content;
     for (var change : changes) {
       if (change.getRange() == null) {
         // Full document update
-        currentContent = change.getText();
+        currentContent = DocumentText.of(change.getText());
       } else {
         // Incremental update
         currentContent = applyIncrementalChange(currentContent, change);
@@ -1001,80 +1050,38 @@ public class BSLTextDocumentService implements TextDocumentService, ProtocolExte
 
   /**
    * Применяет одно инкрементальное изменение к содержимому документа.
-   * Использует прямую замену по позициям символов для оптимизации и сохранения оригинальных переносов строк.
    *
    * @param content текущее содержимое документа
    * @param change изменение для применения
    * @return обновленное содержимое документа
    */
   protected static String applyIncrementalChange(String content, TextDocumentContentChangeEvent change) {
-    var range = change.getRange();
-    var newText = change.getText();
-
-    var startLine = range.getStart().getLine();
-    var startChar = range.getStart().getCharacter();
-    var endLine = range.getEnd().getLine();
-    var endChar = range.getEnd().getCharacter();
-
-    // Convert line/character positions to absolute character offsets
-    int startOffset = getOffset(content, startLine, startChar);
-    int endOffset = getOffset(content, endLine, endChar);
-
-    // Use StringBuilder with pre-calculated capacity to avoid intermediate allocations
-    int newLength = startOffset + newText.length() + (content.length() - endOffset);
-    var sb = new StringBuilder(newLength);
-    sb.append(content, 0, startOffset);
-    sb.append(newText);
-    sb.append(content, endOffset, content.length());
-    return sb.toString();
+    return applyIncrementalChange(DocumentText.of(content), change).toString();
   }
 
   /**
-   * Вычисляет абсолютную позицию символа в тексте по номеру строки и позиции в строке.
-   * Использует однопроходное сканирование символов для быстрого поиска позиции.
+   * Применяет одно инкрементальное изменение к тексту документа.
+   * Позиции переводятся в смещения по индексу строк, незатронутые строки не копируются,
+   * оригинальные переносы строк сохраняются.
    *
-   * @param content содержимое документа
-   * @param line номер строки (0-based)
-   * @param character позиция символа в строке (0-based)
-   * @return абсолютная позиция символа в тексте
+   * @param content текущий текст документа
+   * @param change изменение для применения
+   * @return обновленный текст документа
    */
-  protected static int getOffset(String content, int line, int character) {
-    var contentLength = content.length();
-
-    if (line == 0) {
-      return Math.min(character, contentLength);
-    }
-
-    var currentLine = 0;
+  protected static DocumentText applyIncrementalChange(DocumentText content, TextDocumentContentChangeEvent change) {
+    var range = change.getRange();
+    var start = range.getStart();
+    var end = range.getEnd();
 
-    for (var i = 0; i < contentLength && currentLine < line; i++) {
-      var c = content.charAt(i);
-      if (c == '\n') {
-        currentLine++;
-        if (currentLine == line) {
-          // Next line starts at i+1, add character offset
-          return Math.min(i + 1 + character, contentLength);
-        }
-      } else if (c == '\r') {
-        currentLine++;
-        // Handle \r\n as a single line ending - skip the \n
-        if (i + 1 < contentLength && content.charAt(i + 1) == '\n') {
-          i++;
-        }
-        if (currentLine == line) {
-          // Next line starts at i+1 (after \r or \r\n), add character offset
-          return Math.min(i + 1 + character, contentLength);
-        }
-      }
-    }
+    int startOffset = content.getOffset(start.getLine(), start.getCharacter());
+    int endOffset = content.getOffset(end.getLine(), end.getCharacter());
 
-    // Fallback: requested line beyond content, return end of content
-    return contentLength;
+    return content.replace(startOffset, endOffset, change.getText());
   }
 
   private void processDocumentChange(
     DocumentContext documentContext,
-    String newContent,
+    DocumentText newContent,
     Integer version
   ) {
     var serverContext = getContextForDocument(documentContext.getUri().toString());
@@ -1088,11 +1095,29 @@ public class BSLTextDocumentService implements TextDocumentService, ProtocolExte
       version
     );
 
-    if (configuration.getDiagnosticsOptions().getComputeTrigger() == ComputeTrigger.ONTYPE) {
-      validate(documentContext);
+    if (configuration.getDiagnosticsOptions().getComputeTrigger() == ComputeTrigger.ONTYPE
+      && !clientSupportsPullDiagnostics) {
+      // Расчет диагностик не держит блокировку записи документа: планировщик выполнит его позже
+      // по последней версии, не задерживая запросы, ожидающие применения правки.
+      var executor = documentExecutors.get(documentContext.getUri());
+      IntSupplier latestVersion = executor == null ? () -> version : executor::getLatestSubmittedVersion;
+      diagnosticsScheduler.schedule(documentContext, version, latestVersion);
     }
   }
 
+  private static Measures.Measure toMeasure(String name, MeasureHistogram.Snapshot snapshot) {
+    return new Measures.Measure(
+      name,
+      snapshot.count(),
+      snapshot.totalNanos(),
+      snapshot.maxNanos(),
+      snapshot.p50(),
+      snapshot.p90(),
+      snapshot.p99(),
+      snapshot.p999()
+    );
+  }
+
   private <T> CompletableFuture<@Nullable T> withFreshDocumentContextNullable(
     DocumentContext documentContext,
     Supplier<@Nullable T> supplier
@@ -1113,16 +1138,25 @@ public class BSLTextDocumentService implements TextDocumentService, ProtocolExte
   ) {
     var executor = documentExecutors.get(documentContext.getUri());
     CompletableFuture<Void> waitFuture;
+    int requestVersion;
     if (executor != null) {
+      requestVersion = executor.getLatestSubmittedVersion();
       waitFuture = executor.awaitLatest();
     } else {
+      requestVersion = documentContext.getVersion();
       waitFuture = CompletableFuture.completedFuture(null);
     }
 
-    return waitFuture.thenCompose(ignored ->
+    interactiveRequestTracker.begin();
+    CompletableFuture<T> result = waitFuture.thenCompose(ignored ->
       CompletableFutures.computeAsync(
         taskExecutor,
-        cancelChecker -> {
+        (CancelChecker clientCancelChecker) -> {
+          // Запрос отменяется и клиентом, и поступлением более новой версии документа:
+          // результат для устаревшего текста клиенту уже не нужен, а чтение держит блокировку документа.
+          var cancelChecker = executor == null
+            ? clientCancelChecker
+            : CancelCheckers.withVersion(clientCancelChecker, executor::getLatestSubmittedVersion, requestVersion);
           cancelChecker.checkCanceled();
           var serverContext = getContextForDocument(documentContext.getUri().toString());
           if (serverContext == null) {
@@ -1132,13 +1166,15 @@ public class BSLTextDocumentService implements TextDocumentService, ProtocolExte
           var lock = serverContext.getDocumentLock(documentContext.getUri());
           lock.readLock().lock();
           try (var workspaceContext = WorkspaceContextHolder.forUri(serverContext.getWorkspaceUri())) {
-            return supplier.get();
+            return CancelCheckers.callWith(cancelChecker, supplier);
           } finally {
             lock.readLock().unlock();
           }
         }
       )
     );
+    result.whenComplete((ignoredResult, ignoredThrowable) -> interactiveRequestTracker.end());
+    return result;
   }
 
   /**
@@ -0,0 +1,150 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.lsp;
+
+import com.github._1c_syntax.bsl.languageserver.configuration.LanguageServerConfiguration;
+import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.infrastructure.WorkspaceContextHolder;
+import com.github._1c_syntax.bsl.languageserver.providers.DiagnosticProvider;
+import com.github._1c_syntax.bsl.languageserver.utils.CancelCheckers;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Планировщик расчета диагностик открытых документов при наборе текста.
+ * <p>
+ * Расчет вынесен из пути записи документа: применение правки только ставит задачу и сразу
+ * освобождает блокировку записи, поэтому ожидающие новую версию запросы (hover, completion,
+ * semantic tokens) не ждут полного прохода диагностик.
+ * <p>
+ * Задачи по документу схлопываются: новая версия отменяет еще не начатый расчет предыдущей
+ * (побеждает последняя версия), а старт откладывается на {@code diagnosticsOptions.computeDelay}
+ * миллисекунд, чтобы серия быстрых правок давала один расчет. Расчет идет на виртуальном потоке
+ * под блокировкой чтения документа, т.е. над неизменной на время расчета версией, параллельно
+ * с интерактивными запросами. Если версия успела смениться, расчет пропускается или прерывается
+ * через {@link CancelCheckers}, а следующая правка освободит блокировку документа без ожидания
+ * конца прохода.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DiagnosticsScheduler {
+
+  private final DiagnosticProvider diagnosticProvider;
+  private final LanguageServerConfiguration configuration;
+
+  private final Map<URI, PendingComputation> pendingComputations = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+    Thread.ofPlatform().daemon().name("diagnostics-scheduler").factory()
+  );
+
+  /**
+   * Запланировать расчет и публикацию диагностик версии документа.
+   *
+   * @param documentContext документ
+   * @param version         версия документа, для которой нужны диагностики
+   * @param latestVersion   источник последней поставленной версии документа для отмены устаревшего расчета
+   */
+  public void schedule(DocumentContext documentContext, int version, IntSupplier latestVersion) {
+    var delay = Math.max(0, configuration.getDiagnosticsOptions().getComputeDelay());
+    pendingComputations.compute(documentContext.getUri(), (URI uri, @Nullable PendingComputation pending) -> {
+      if (pending != null) {
+        if (pending.version() > version) {
+          return pending;
+        }
+        pending.future().cancel(false);
+      }
+      var future = timer.schedule(
+        () -> start(documentContext, version, latestVersion),
+        delay,
+        TimeUnit.MILLISECONDS
+      );
+      return new PendingComputation(version, future);
+    });
+  }
+
+  /**
+   * Отменить еще не начатый расчет диагностик документа.
+   *
+   * @param uri URI документа
+   */
+  public void cancel(URI uri) {
+    var pending = pendingComputations.remove(uri);
+    if (pending != null) {
+      pending.future().cancel(false);
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    timer.shutdownNow();
+    pendingComputations.clear();
+  }
+
+  private void start(DocumentContext documentContext, int version, IntSupplier latestVersion) {
+    pendingComputations.computeIfPresent(
+      documentContext.getUri(),
+      (URI uri, PendingComputation pending) -> pending.version() == version ? null : pending
+    );
+    if (version < latestVersion.getAsInt()) {
+      return;
+    }
+    Thread.ofVirtual()
+      .name("diagnostics-" + documentContext.getUri())
+      .start(() -> compute(documentContext, version, latestVersion));
+  }
+
+  private void compute(DocumentContext documentContext, int version, IntSupplier latestVersion) {
+    var serverContext = documentContext.getServerContext();
+    var lock = serverContext.getDocumentLock(documentContext.getUri());
+    lock.readLock().lock();
+    try (var ignored = WorkspaceContextHolder.forUri(serverContext.getWorkspaceUri())) {
+      if (documentContext.getVersion() != version || !serverContext.isDocumentOpened(documentContext)) {
+        return;
+      }
+      var cancelChecker = CancelCheckers.withVersion(CancelCheckers.NONE, latestVersion, version);
+      CancelCheckers.runWith(cancelChecker, () -> diagnosticProvider.computeAndPublishDiagnostics(documentContext));
+    } catch (CancellationException e) {
+      LOGGER.debug("Diagnostics of superseded version {} of {} are dropped", version, documentContext.getUri());
+    } catch (RuntimeException e) {
+      LOGGER.error("Can't compute diagnostics of {}", documentContext.getUri(), e);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private record PendingComputation(int version, Future<?> future) {
+  }
+}
@@ -0,0 +1,236 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.providers;
+
+import com.github._1c_syntax.bsl.languageserver.configuration.LanguageServerConfiguration;
+import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.context.GitBlameService;
+import com.github._1c_syntax.bsl.languageserver.context.ServerContext;
+import com.github._1c_syntax.bsl.languageserver.infrastructure.InteractiveRequestTracker;
+import com.github._1c_syntax.bsl.languageserver.references.ReferenceIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Фоновый анализ документов проекта с приоритетами.
+ * <p>
+ * Документы обрабатываются в порядке важности для пользователя: сначала открытые, затем файлы
+ * с незафиксированными в git изменениями, затем модули, обращающиеся к символам первых двух групп
+ * (по индексу ссылок, одним проходом на все модули), и в конце остальной проект. Время модификации
+ * файлов не используется: в свежем клоне оно одинаково у всех файлов.
+ * <p>
+ * Анализ выполняется ограниченным числом потоков ({@code diagnosticsOptions.analyzeOnStartThreads})
+ * и перед каждым документом уступает процессор интерактивным запросам клиента. Рассчитанные
+ * диагностики публикуются пачками в порядке обработки, а не по одному уведомлению из произвольного потока.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BackgroundAnalysisQueue {
+
+  /**
+   * Максимальное время, на которое анализ уступает интерактивным запросам перед очередным документом.
+   */
+  private static final Duration MAX_YIELD = Duration.ofSeconds(2);
+
+  private static final int BATCH_SIZE = 32;
+
+  private final DiagnosticProvider diagnosticProvider;
+  private final ReferenceIndex referenceIndex;
+  private final GitBlameService gitBlameService;
+  private final LanguageServerConfiguration configuration;
+  private final InteractiveRequestTracker interactiveRequestTracker;
+  @Qualifier("analyzeOnStartExecutor")
+  private final ExecutorService executor;
+
+  /**
+   * Проанализировать документы и опубликовать их диагностики.
+   *
+   * @param serverContext      контекст сервера
+   * @param documentContexts   документы для анализа
+   * @param onDocumentAnalyzed обработчик окончания анализа очередного документа (например, шаг прогресса)
+   * @throws ExecutionException   при ошибке анализа
+   * @throws InterruptedException если поток прерван во время ожидания анализа
+   */
+  public void analyze(
+    ServerContext serverContext,
+    Collection<DocumentContext> documentContexts,
+    Runnable onDocumentAnalyzed
+  ) throws ExecutionException, InterruptedException {
+
+    Queue<DocumentContext> queue = new ConcurrentLinkedQueue<>(prioritize(serverContext, documentContexts));
+    var batch = new PublishBatch();
+
+    var threads = Math.min(getThreads(), Math.max(1, queue.size()));
+    List<Future<?>> workers = new ArrayList<>(threads);
+    for (var i = 0; i < threads; i++) {
+      workers.add(executor.submit(() -> drain(serverContext, queue, batch, onDocumentAnalyzed)));
+    }
+
+    try {
+      for (var worker : workers) {
+        worker.get();
+      }
+    } finally {
+      workers.forEach(worker -> worker.cancel(true));
+      batch.flush();
+    }
+  }
+
+  /**
+   * Упорядочить документы по приоритету анализа.
+   *
+   * @param serverContext    контекст сервера
+   * @param documentContexts документы для анализа
+   * @return документы в порядке анализа
+   */
+  List<DocumentContext> prioritize(ServerContext serverContext, Collection<DocumentContext> documentContexts) {
+    var opened = serverContext.getOpenedDocuments();
+    var uncommitted = gitBlameService.getUncommittedChanges(
+      documentContexts.stream().map(DocumentContext::getUri).toList()
+    );
+
+    var priorities = new HashMap<DocumentContext, Priority>();
+    for (var documentContext : documentContexts) {
+      if (opened.contains(documentContext)) {
+        priorities.put(documentContext, Priority.OPENED);
+      } else if (uncommitted.contains(documentContext.getUri())) {
+        priorities.put(documentContext, Priority.UNCOMMITTED);
+      } else {
+        priorities.put(documentContext, Priority.OTHER);
+      }
+    }
+
+    Map<URI, DocumentContext> documentsByUri = documentContexts.stream()
+      .collect(Collectors.toMap(DocumentContext::getUri, Function.identity(), (first, second) -> first));
+    var roots = priorities.entrySet().stream()
+      .filter(entry -> entry.getValue() != Priority.OTHER)
+      .map(Map.Entry::getKey)
+      .toList();
+    referenceIndex.getDependentDocuments(roots).values().stream()
+      .flatMap(Set::stream)
+      .map(documentsByUri::get)
+      .filter(dependent -> dependent != null && priorities.get(dependent) == Priority.OTHER)
+      .forEach(dependent -> priorities.put(dependent, Priority.DEPENDENT));
+
+    return documentContexts.stream()
+      .sorted(Comparator.comparing((DocumentContext documentContext) -> priorities.get(documentContext)))
+      .toList();
+  }
+
+  private void drain(
+    ServerContext serverContext,
+    Queue<DocumentContext> queue,
+    PublishBatch batch,
+    Runnable onDocumentAnalyzed
+  ) {
+    DocumentContext documentContext;
+    while ((documentContext = queue.poll()) != null) {
+      try {
+        interactiveRequestTracker.awaitIdle(MAX_YIELD);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+
+      try {
+        batch.add(analyze(serverContext, documentContext));
+      } catch (RuntimeException e) {
+        LOGGER.error("Can't analyze document {}", documentContext.getUri(), e);
+      }
+      onDocumentAnalyzed.run();
+    }
+  }
+
+  private static PublishDiagnosticsParams analyze(ServerContext serverContext, DocumentContext documentContext) {
+    serverContext.rebuildDocument(documentContext);
+    var params = new PublishDiagnosticsParams(
+      documentContext.getUri().toString(),
+      documentContext.getDiagnostics(),
+      documentContext.getVersion()
+    );
+    serverContext.tryClearDocument(documentContext);
+    return params;
+  }
+
+  private int getThreads() {
+    var threads = configuration.getDiagnosticsOptions().getAnalyzeOnStartThreads();
+    if (threads > 0) {
+      return threads;
+    }
+    return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+  }
+
+  /**
+   * Приоритет документа в очереди анализа; меньший порядковый номер анализируется раньше.
+   */
+  private enum Priority {
+    OPENED,
+    UNCOMMITTED,
+    DEPENDENT,
+    OTHER
+  }
+
+  /**
+   * Накопитель диагностик для публикации пачками.
+   */
+  private final class PublishBatch {
+
+    private List<PublishDiagnosticsParams> pending = new ArrayList<>(BATCH_SIZE);
+
+    synchronized void add(PublishDiagnosticsParams params) {
+      pending.add(params);
+      if (pending.size() >= BATCH_SIZE) {
+        flush();
+      }
+    }
+
+    synchronized void flush() {
+      if (pending.isEmpty()) {
+        return;
+      }
+      var batch = pending;
+      pending = new ArrayList<>(BATCH_SIZE);
+      diagnosticProvider.publishDiagnostics(batch);
+    }
+  }
+}
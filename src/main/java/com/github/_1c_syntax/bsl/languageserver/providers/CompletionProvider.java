@@ -41,6 +41,7 @@ import com.github._1c_syntax.bsl.languageserver.types.model.TypeSet;
 import com.github._1c_syntax.bsl.languageserver.types.oscript.OScriptLibraryIndex;
 import com.github._1c_syntax.bsl.languageserver.types.registry.GlobalScopeProvider;
 import com.github._1c_syntax.bsl.languageserver.types.scope.UseDirectiveScanner;
+import com.github._1c_syntax.bsl.languageserver.utils.CancelCheckers;
 import com.github._1c_syntax.bsl.languageserver.utils.FuzzyMatcher;
 import com.github._1c_syntax.bsl.parser.description.MethodDescription;
 import com.github._1c_syntax.bsl.parser.description.TypeDescription;
@@ -466,6 +467,7 @@ public final class CompletionProvider {
       // зачёркнутыми).
       .filter(m -> !PlatformMemberVersions.firesUnavailable(m.metadata().sinceVersion(), target))
       .toList();
+    CancelCheckers.checkCanceled();
     var items = toCompletionItems(filtered, owners, fileType, scriptVariant, target, documentContext.getUri());
     for (int i = 0; i < filtered.size(); i++) {
       var member = filtered.get(i);
@@ -620,6 +622,8 @@ public final class CompletionProvider {
       return items;
     }
 
+    CancelCheckers.checkCanceled();
+
     // Каноничные составные имена MD-объектов конфигурации — только в BSL-файлах.
     if (fileType != FileType.OS) {
       for (var qualified : filterTypeNamesByLanguage(globalScopeProvider.getConfigurationQualifiedNames(), scriptVariant, fileType)) {
@@ -636,6 +640,8 @@ public final class CompletionProvider {
       }
     }
 
+    CancelCheckers.checkCanceled();
+
     // Глобальные свойства — все VALUE-имена глобальной области (платформенные
     // свойства, перечисления, коллекции, модули).
     // CompletionItemKind выводится из типа-значения. К library-сущностям
@@ -659,6 +665,8 @@ public final class CompletionProvider {
       items.add(item);
     }
 
+    CancelCheckers.checkCanceled();
+
     // Global functions. Один и тот же двуязычный дескриптор зарегистрирован
     // под ru- и en-ключом, поэтому в values() встречается дважды — дедуп по
     // primary-имени через seenFn.
@@ -44,6 +44,7 @@ import org.eclipse.lsp4j.services.LanguageClient;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Supplier;
@@ -81,6 +82,20 @@ public final class DiagnosticProvider {
     publishDiagnostics(documentContext, documentContext::getDiagnostics);
   }
 
+  /**
+   * Опубликовать пачку заранее вычисленных диагностик документов.
+   * <p>
+   * Уведомления отправляются подряд в порядке пачки, без чередования с расчетом следующих документов.
+   *
+   * @param batch Параметры публикации диагностик документов
+   */
+  public void publishDiagnostics(Collection<PublishDiagnosticsParams> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    clientHolder.execIfConnected(languageClient -> batch.forEach(languageClient::publishDiagnostics));
+  }
+
   /**
    * Получить диагностики для документа (pull-модель).
    *
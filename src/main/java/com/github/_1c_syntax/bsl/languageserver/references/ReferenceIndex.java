@@ -37,7 +37,6 @@ import com.github._1c_syntax.bsl.languageserver.references.model.Reference;
 import com.github._1c_syntax.bsl.languageserver.references.model.Symbol;
 import com.github._1c_syntax.bsl.languageserver.references.model.SymbolOccurrence;
 import com.github._1c_syntax.bsl.languageserver.references.model.SymbolOccurrenceRepository;
-import com.github._1c_syntax.bsl.languageserver.utils.Ranges;
 import com.github._1c_syntax.bsl.types.ModuleType;
 import com.github._1c_syntax.utils.StringInterner;
 import lombok.RequiredArgsConstructor;
@@ -47,9 +46,15 @@ import org.eclipse.lsp4j.SymbolKind;
 import org.springframework.stereotype.Component;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -109,14 +114,7 @@ public class ReferenceIndex {
    * @return данные ссылки.
    */
   public Optional<Reference> getReference(URI uri, Position position) {
-    return locationRepository.getSymbolOccurrencesByLocationUri(uri)
-      .filter((SymbolOccurrence symbolOccurrence) -> {
-        var location = symbolOccurrence.location();
-        return Ranges.containsPosition(
-          location.startLine(), location.startCharacter(), location.endLine(), location.endCharacter(),
-          position);
-      })
-      .findAny()
+    return locationRepository.getSymbolOccurrenceByPosition(uri, position)
       .flatMap(this::buildReference);
   }
 
@@ -161,14 +159,86 @@ public class ReferenceIndex {
       .collect(Collectors.toList());
   }
 
+  /**
+   * Получить документы, зависящие от указанного: содержащие обращения к символам его модуля
+   * (вызовы методов, обращения к переменным и к самому модулю).
+   *
+   * @param documentContext Документ.
+   * @return URI зависимых документов, без самого документа.
+   */
+  public Set<URI> getDependentDocuments(DocumentContext documentContext) {
+    var dependents = symbolOccurrenceRepository.getLocationUrisByModule(
+      documentContext.getMdoRef(),
+      documentContext.getModuleType()
+    );
+    dependents.remove(documentContext.getUri());
+    return dependents;
+  }
+
+  /**
+   * Получить документы, зависящие от каждого из указанных, за один проход по индексу ссылок.
+   *
+   * @param documentContexts Документы.
+   * @return URI зависимых документов (без самого документа) по документам, у которых они есть.
+   */
+  public Map<DocumentContext, Set<URI>> getDependentDocuments(Collection<DocumentContext> documentContexts) {
+    var documentsByModule = new HashMap<ModuleKey, List<DocumentContext>>();
+    for (var documentContext : documentContexts) {
+      var key = new ModuleKey(documentContext.getMdoRef(), documentContext.getModuleType());
+      documentsByModule.computeIfAbsent(key, k -> new ArrayList<>()).add(documentContext);
+    }
+
+    var locationUris = symbolOccurrenceRepository.getLocationUrisByModules((String mdoRef, ModuleType moduleType) -> {
+      var key = new ModuleKey(mdoRef, moduleType);
+      return documentsByModule.containsKey(key) ? key : null;
+    });
+
+    var dependents = new HashMap<DocumentContext, Set<URI>>();
+    documentsByModule.forEach((ModuleKey key, List<DocumentContext> moduleDocuments) -> {
+      var uris = locationUris.get(key);
+      if (uris == null) {
+        return;
+      }
+      for (var documentContext : moduleDocuments) {
+        var documentDependents = new HashSet<>(uris);
+        documentDependents.remove(documentContext.getUri());
+        if (!documentDependents.isEmpty()) {
+          dependents.put(documentContext, documentDependents);
+        }
+      }
+    });
+    return dependents;
+  }
+
+  /**
+   * Получить все обращения к символам, зарегистрированные в документе.
+   *
+   * @param uri URI документа.
+   * @return Список обращений к символам, упорядоченный по расположению.
+   */
+  public List<SymbolOccurrence> getOccurrencesFrom(URI uri) {
+    return locationRepository.getSymbolOccurrencesByLocationUri(uri)
+      .sorted()
+      .toList();
+  }
+
+  /**
+   * Заменить обращения к символам из документа ранее сохраненными (например, из снимка индекса).
+   *
+   * @param uri               URI документа.
+   * @param symbolOccurrences Обращения к символам, расположенные в документе.
+   */
+  public void restoreReferences(URI uri, Collection<SymbolOccurrence> symbolOccurrences) {
+    clearReferences(uri);
+    symbolOccurrences.forEach(this::saveOccurrence);
+  }
+
   /**
    * Очистить ссылки из/на текущий документ.
    *
    * @param uri URI документа.
    */
   public void clearReferences(URI uri) {
-    var symbolOccurrences = locationRepository.getSymbolOccurrencesByLocationUri(uri);
-    symbolOccurrenceRepository.deleteAll(symbolOccurrences.collect(Collectors.toSet()));
     locationRepository.delete(uri);
   }
 
@@ -282,7 +352,6 @@ public class ReferenceIndex {
 
   private void saveOccurrence(SymbolOccurrence symbolOccurrence) {
     symbolOccurrenceRepository.save(symbolOccurrence);
-    locationRepository.updateLocation(symbolOccurrence);
   }
 
   private Optional<Reference> buildReference(
@@ -367,4 +436,7 @@ public class ReferenceIndex {
 
     return true;
   }
+
+  private record ModuleKey(String mdoRef, ModuleType moduleType) {
+  }
 }
@@ -0,0 +1,70 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.references;
+
+import com.github._1c_syntax.bsl.languageserver.infrastructure.EhcacheRegistrar;
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Регистрирует персистентный кэш снимков индекса ссылок {@code referenceIndexCache} в общем
+ * EhCache-менеджере: ключ — хэш содержимого файла вместе с окружением индексации, значение —
+ * упакованные обращения к символам документа (см. {@link ReferenceIndexSnapshot}).
+ */
+@Component
+public class ReferenceIndexCacheRegistrar implements EhcacheRegistrar {
+
+  static final String CACHE_NAME = "referenceIndexCache";
+
+  /**
+   * Снимки нужны только на старте, поэтому в куче держится лишь небольшая их часть:
+   * основной объем живет на диске.
+   */
+  private static final long HEAP_ENTRIES_COUNT = 1_024;
+
+  @Override
+  public String cacheName() {
+    return CACHE_NAME;
+  }
+
+  @Override
+  public Class<?> keyType() {
+    return String.class;
+  }
+
+  @Override
+  public Class<?> valueType() {
+    return byte[].class;
+  }
+
+  @Override
+  public CacheConfiguration<String, byte[]> configuration(ResourcePoolsBuilder resourcePools) {
+    var heapPool = ResourcePoolsBuilder.heap(HEAP_ENTRIES_COUNT).build()
+      .getPoolForResource(ResourceType.Core.HEAP);
+    return CacheConfigurationBuilder
+      .newCacheConfigurationBuilder(String.class, byte[].class, resourcePools.withReplacing(heapPool))
+      .build();
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.references;
+
+import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.context.ServerContext;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.ConstructorSymbol;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.SymbolTree;
+import com.github._1c_syntax.bsl.languageserver.types.oscript.OScriptLibraryIndex;
+import com.github._1c_syntax.bsl.mdo.CommonModule;
+import com.github._1c_syntax.bsl.mdo.MD;
+import com.github._1c_syntax.bsl.types.ModuleType;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Входные данные индексации ссылок документа, полученные не из самого документа.
+ * <p>
+ * Результат {@link ReferenceIndexFiller} зависит не только от текста документа, но и от других документов
+ * и метаданных: состава общих модулей, набора модулей объектов метаданных, библиотек OneScript и
+ * конструкторов их классов. Все такие обращения при заполнении индекса выполняются через этот класс,
+ * который запоминает аргумент и полученный ответ. Снимок индекса ссылок хранит их вместе с обращениями
+ * и применяется, только если каждое из них сейчас дает тот же ответ.
+ */
+final class ReferenceIndexDependencies {
+
+  /**
+   * Вид обращения за данными других документов.
+   */
+  enum Kind {
+    /**
+     * Поиск общего модуля по имени. Значение - ссылка на найденный модуль.
+     */
+    COMMON_MODULE,
+    /**
+     * Типы модулей объекта метаданных. Значение - отсортированный список типов.
+     */
+    MDO_MODULE_TYPES,
+    /**
+     * Поиск класса OneScript по имени. Значение - URI файла класса.
+     */
+    LIBRARY_CLASS,
+    /**
+     * Поиск модуля OneScript по имени. Значение - URI файла модуля.
+     */
+    LIBRARY_MODULE,
+    /**
+     * Тип модуля загруженного библиотечного документа. Значение - имя типа.
+     */
+    LIBRARY_MODULE_TYPE,
+    /**
+     * Конструктор библиотечного класса. Значение - имя метода-конструктора.
+     */
+    LIBRARY_CONSTRUCTOR
+  }
+
+  /**
+   * Одно обращение за данными других документов.
+   *
+   * @param kind     вид обращения
+   * @param argument аргумент обращения
+   * @param value    полученный ответ, пустая строка - ничего не найдено
+   */
+  record Dependency(Kind kind, String argument, String value) {
+  }
+
+  private record Key(Kind kind, String argument) {
+  }
+
+  private final ServerContext serverContext;
+  private final OScriptLibraryIndex oScriptLibraryIndex;
+  private final Map<Key, String> values = new LinkedHashMap<>();
+
+  ReferenceIndexDependencies(ServerContext serverContext, OScriptLibraryIndex oScriptLibraryIndex) {
+    this.serverContext = serverContext;
+    this.oScriptLibraryIndex = oScriptLibraryIndex;
+  }
+
+  /**
+   * @return запомненные обращения в порядке их выполнения
+   */
+  List<Dependency> getDependencies() {
+    var dependencies = new ArrayList<Dependency>(values.size());
+    values.forEach((Key key, String value) -> dependencies.add(new Dependency(key.kind(), key.argument(), value)));
+    return dependencies;
+  }
+
+  /**
+   * Проверить, что сохраненные обращения сейчас дают те же ответы.
+   *
+   * @param dependencies обращения, сохраненные при заполнении индекса
+   * @return {@code true}, если ни один ответ не изменился
+   */
+  boolean isSatisfied(List<Dependency> dependencies) {
+    for (var dependency : dependencies) {
+      if (!currentValue(dependency.kind(), dependency.argument()).equals(dependency.value())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  Optional<CommonModule> findCommonModule(String name) {
+    var commonModule = serverContext.findCommonModule(name);
+    record(Kind.COMMON_MODULE, name, commonModule.map(MD::getMdoRef).orElse(""));
+    return commonModule;
+  }
+
+  Set<ModuleType> mdoModuleTypes(String mdoRef) {
+    var moduleTypes = serverContext.getConfiguration().mdoModuleTypes(mdoRef).keySet();
+    record(Kind.MDO_MODULE_TYPES, mdoRef, moduleTypesValue(moduleTypes));
+    return moduleTypes;
+  }
+
+  Optional<URI> findLibraryClassUri(String name) {
+    var uri = oScriptLibraryIndex.findClassUri(name);
+    record(Kind.LIBRARY_CLASS, name, uri.map(URI::toString).orElse(""));
+    return uri;
+  }
+
+  Optional<URI> findLibraryModuleUri(String name) {
+    var uri = oScriptLibraryIndex.findModuleUri(name);
+    record(Kind.LIBRARY_MODULE, name, uri.map(URI::toString).orElse(""));
+    return uri;
+  }
+
+  Optional<ModuleType> libraryModuleType(URI libUri) {
+    var moduleType = lookupLibraryModuleType(libUri);
+    record(Kind.LIBRARY_MODULE_TYPE, libUri.toString(), moduleType.map(ModuleType::name).orElse(""));
+    return moduleType;
+  }
+
+  Optional<ConstructorSymbol> libraryClassConstructor(URI libUri) {
+    var constructor = lookupLibraryClassConstructor(libUri);
+    record(Kind.LIBRARY_CONSTRUCTOR, libUri.toString(), constructor.map(ConstructorSymbol::getName).orElse(""));
+    return constructor;
+  }
+
+  private void record(Kind kind, String argument, String value) {
+    values.putIfAbsent(new Key(kind, argument), value);
+  }
+
+  private String currentValue(Kind kind, String argument) {
+    return switch (kind) {
+      case COMMON_MODULE -> serverContext.findCommonModule(argument).map(MD::getMdoRef).orElse("");
+      case MDO_MODULE_TYPES -> moduleTypesValue(serverContext.getConfiguration().mdoModuleTypes(argument).keySet());
+      case LIBRARY_CLASS -> oScriptLibraryIndex.findClassUri(argument).map(URI::toString).orElse("");
+      case LIBRARY_MODULE -> oScriptLibraryIndex.findModuleUri(argument).map(URI::toString).orElse("");
+      case LIBRARY_MODULE_TYPE -> lookupLibraryModuleType(URI.create(argument)).map(ModuleType::name).orElse("");
+      case LIBRARY_CONSTRUCTOR -> lookupLibraryClassConstructor(URI.create(argument))
+        .map(ConstructorSymbol::getName)
+        .orElse("");
+    };
+  }
+
+  private Optional<ModuleType> lookupLibraryModuleType(URI libUri) {
+    return Optional.ofNullable(serverContext.getDocument(libUri)).map(DocumentContext::getModuleType);
+  }
+
+  private Optional<ConstructorSymbol> lookupLibraryClassConstructor(URI libUri) {
+    return Optional.ofNullable(serverContext.getDocument(libUri))
+      .map(DocumentContext::getSymbolTree)
+      .flatMap(SymbolTree::getConstructor);
+  }
+
+  private static String moduleTypesValue(Set<ModuleType> moduleTypes) {
+    return moduleTypes.stream()
+      .map(ModuleType::name)
+      .sorted()
+      .collect(Collectors.joining(","));
+  }
+}
@@ -25,10 +25,8 @@ import com.github._1c_syntax.bsl.languageserver.configuration.LanguageServerConf
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
 import com.github._1c_syntax.bsl.languageserver.context.events.DocumentContextContentChangedEvent;
 import com.github._1c_syntax.bsl.languageserver.context.events.ServerContextDocumentRemovedEvent;
-import com.github._1c_syntax.bsl.languageserver.context.symbol.ConstructorSymbol;
 import com.github._1c_syntax.bsl.languageserver.context.symbol.MethodSymbol;
 import com.github._1c_syntax.bsl.languageserver.context.symbol.SourceDefinedSymbol;
-import com.github._1c_syntax.bsl.languageserver.context.symbol.SymbolTree;
 import com.github._1c_syntax.bsl.languageserver.context.symbol.VariableSymbol;
 import com.github._1c_syntax.bsl.languageserver.types.oscript.OScriptLibraryIndex;
 import com.github._1c_syntax.bsl.languageserver.context.MdoRefBuilder;
@@ -86,6 +84,7 @@ public class ReferenceIndexFiller {
   private final ReferenceIndex index;
   private final LanguageServerConfiguration configuration;
   private final OScriptLibraryIndex oScriptLibraryIndex;
+  private final ReferenceIndexSnapshot snapshot;
 
   @EventListener
   public void handleEvent(DocumentContextContentChangedEvent event) {
@@ -93,7 +92,18 @@ public class ReferenceIndexFiller {
     if (documentContext.isComputedDataFrozen()) {
       return;
     }
-    fill(documentContext);
+
+    // Содержимое, прочитанное с диска (версия 0), индексируется через персистентный снимок:
+    // неизменившийся с прошлого запуска файл не требует повторного обхода AST.
+    if (documentContext.getVersion() != 0) {
+      fill(documentContext);
+      return;
+    }
+
+    if (!snapshot.restore(documentContext)) {
+      var dependencies = fillAndCollectDependencies(documentContext);
+      snapshot.store(documentContext, dependencies);
+    }
   }
 
   /**
@@ -110,16 +120,29 @@ public class ReferenceIndexFiller {
   }
 
   public void fill(DocumentContext documentContext) {
+    fillAndCollectDependencies(documentContext);
+  }
+
+  /**
+   * Заполнить индекс ссылок документа.
+   *
+   * @param documentContext документ
+   * @return обращения к другим документам и метаданным, выполненные при заполнении
+   */
+  private ReferenceIndexDependencies fillAndCollectDependencies(DocumentContext documentContext) {
     index.clearReferences(documentContext.getUri());
+    var dependencies = new ReferenceIndexDependencies(documentContext.getServerContext(), oScriptLibraryIndex);
     var documentContextAst = documentContext.getAst();
-    new MethodSymbolReferenceIndexFinder(documentContext).visitFile(documentContextAst);
-    new VariableSymbolReferenceIndexFinder(documentContext).visitFile(documentContextAst);
+    new MethodSymbolReferenceIndexFinder(documentContext, dependencies).visitFile(documentContextAst);
+    new VariableSymbolReferenceIndexFinder(documentContext, dependencies).visitFile(documentContextAst);
+    return dependencies;
   }
 
   @RequiredArgsConstructor
   private class MethodSymbolReferenceIndexFinder extends BSLParserBaseVisitor<ParserRuleContext> {
 
     private final DocumentContext documentContext;
+    private final ReferenceIndexDependencies dependencies;
     private final ModuleReference.ParsedAccessors parsedAccessors =
       ModuleReference.parseAccessors(configuration.getReferencesOptions().getCommonModuleAccessors());
     private Set<String> commonModuleMdoRefFromSubParams = Collections.emptySet();
@@ -146,7 +169,7 @@ public class ReferenceIndexFiller {
       // Метод, вызванный у результата getter-а общего модуля: ОбщегоНазначения.ОбщийМодуль("Имя").Метод()
       registerCommonModuleMethodOnGetter(ctx.IDENTIFIER(), null, ctx.modifier(), ctx.accessCall());
 
-      var mdoRef = MdoRefBuilder.getMdoRef(documentContext, ctx);
+      var mdoRef = MdoRefBuilder.getMdoRef(ctx.IDENTIFIER(), ctx.modifier(), dependencies::findCommonModule);
       if (mdoRef.isEmpty()) {
         tryRegisterLibraryModuleCall(ctx.IDENTIFIER(), Methods.getMethodName(ctx));
         return super.visitCallStatement(ctx);
@@ -165,7 +188,7 @@ public class ReferenceIndexFiller {
       // Метод, вызванный у результата getter-а общего модуля: ОбщегоНазначения.ОбщийМодуль("Имя").Метод()
       registerCommonModuleMethodOnGetter(ctx.IDENTIFIER(), ctx.globalMethodCall(), ctx.modifier(), null);
 
-      var mdoRef = MdoRefBuilder.getMdoRef(documentContext, ctx);
+      var mdoRef = MdoRefBuilder.getMdoRef(ctx.IDENTIFIER(), ctx.modifier(), dependencies::findCommonModule);
       if (mdoRef.isEmpty()) {
         tryRegisterLibraryModuleCall(ctx.IDENTIFIER(), Methods.getMethodName(ctx));
         return super.visitComplexIdentifier(ctx);
@@ -229,7 +252,7 @@ public class ReferenceIndexFiller {
         final List<? extends BSLParser.ModifierContext> modifiers = Optional.ofNullable(ctx.acceptor())
           .map(BSLParser.AcceptorContext::modifier)
           .orElseGet(Collections::emptyList);
-        var mdoRef = MdoRefBuilder.getMdoRef(documentContext, identifier, modifiers);
+        var mdoRef = MdoRefBuilder.getMdoRef(identifier, modifiers, dependencies::findCommonModule);
         if (!mdoRef.isEmpty()) {
           Methods.getMethodName(ctx).ifPresent(methodName -> checkCall(mdoRef, methodName));
         }
@@ -239,9 +262,7 @@ public class ReferenceIndexFiller {
 
     private void checkCall(String mdoRef, Token methodName) {
       var methodNameText = Strings.trimQuotes(methodName.getText());
-      final var mdoConfiguration = documentContext.getServerContext().getConfiguration();
-      var modules = mdoConfiguration.mdoModuleTypes(mdoRef);
-      for (ModuleType moduleType : modules.keySet()) {
+      for (ModuleType moduleType : dependencies.mdoModuleTypes(mdoRef)) {
         if (!DEFAULT_MODULE_TYPES.contains(moduleType)
           || (moduleType == ModuleType.CommonModule && commonModuleMdoRefFromSubParams.contains(mdoRef))) {
           continue;
@@ -267,7 +288,7 @@ public class ReferenceIndexFiller {
         return;
       }
       var name = typeName.IDENTIFIER().getText();
-      var libUri = oScriptLibraryIndex.findClassUri(name);
+      var libUri = dependencies.findLibraryClassUri(name);
       if (libUri.isEmpty()) {
         return;
       }
@@ -275,7 +296,7 @@ public class ReferenceIndexFiller {
       var moduleType = actualLibraryModuleType(libUri.get(), ModuleType.OScriptClass);
       var range = Ranges.create(typeName.IDENTIFIER());
 
-      var ctor = libraryClassConstructor(libUri.get());
+      var ctor = dependencies.libraryClassConstructor(libUri.get());
       if (ctor.isPresent()) {
         index.addMethodCall(
           documentContext.getUri(),
@@ -294,12 +315,6 @@ public class ReferenceIndexFiller {
       }
     }
 
-    private Optional<ConstructorSymbol> libraryClassConstructor(URI libUri) {
-      return Optional.ofNullable(documentContext.getServerContext().getDocument(libUri))
-        .map(DocumentContext::getSymbolTree)
-        .flatMap(SymbolTree::getConstructor);
-    }
-
     /**
      * Если идентификатор соответствует имени зарегистрированного OneScript
      * library-модуля, регистрирует:
@@ -312,7 +327,7 @@ public class ReferenceIndexFiller {
       if (identifier == null) {
         return;
       }
-      var libUri = oScriptLibraryIndex.findModuleUri(identifier.getText());
+      var libUri = dependencies.findLibraryModuleUri(identifier.getText());
       if (libUri.isEmpty()) {
         return;
       }
@@ -342,9 +357,8 @@ public class ReferenceIndexFiller {
      * фактически загруженного {@link DocumentContext}, а не «теоретический»
      * тип из роли регистрации.
      */
-    private ModuleType actualLibraryModuleType(java.net.URI libUri, ModuleType fallback) {
-      var dc = documentContext.getServerContext().getDocument(libUri);
-      return dc != null ? dc.getModuleType() : fallback;
+    private ModuleType actualLibraryModuleType(URI libUri, ModuleType fallback) {
+      return dependencies.libraryModuleType(libUri).orElse(fallback);
     }
 
     /**
@@ -359,8 +373,7 @@ public class ReferenceIndexFiller {
 
       var identifierText = identifier.getText();
 
-      documentContext.getServerContext()
-        .findCommonModule(identifierText)
+      dependencies.findCommonModule(identifierText)
         .ifPresent(commonModule ->
           index.addModuleReference(
             documentContext.getUri(),
@@ -391,8 +404,7 @@ public class ReferenceIndexFiller {
     ) {
       ModuleReference.extractMethodCallOnGetterModule(
           baseIdentifier, baseGlobalCall, modifiers, trailingCall, parsedAccessors)
-        .ifPresent(call -> documentContext.getServerContext()
-          .findCommonModule(call.moduleName())
+        .ifPresent(call -> dependencies.findCommonModule(call.moduleName())
           .ifPresent(commonModule -> addMethodCall(
             commonModule.getMdoReference().getMdoRef(),
             ModuleType.CommonModule,
@@ -430,7 +442,8 @@ public class ReferenceIndexFiller {
       }
       return complexIdentifierContext1
         .filter(Predicate.not(Modules::isThisObject))
-        .map(complexIdentifier -> MdoRefBuilder.getMdoRef(documentContext, complexIdentifier))
+        .map(complexIdentifier -> MdoRefBuilder.getMdoRef(
+          complexIdentifier.IDENTIFIER(), complexIdentifier.modifier(), dependencies::findCommonModule))
         .orElse(documentContext.getMdoRef());
     }
 
@@ -438,12 +451,11 @@ public class ReferenceIndexFiller {
       if (paramList == null) {
         return Collections.emptySet();
       }
-      final var serverContext = documentContext.getServerContext();
       return paramList.param().stream()
         .map(BSLParser.ParamContext::IDENTIFIER)
         .filter(Objects::nonNull)
         .map(ParseTree::getText)
-        .map(serverContext::findCommonModule)
+        .map(dependencies::findCommonModule)
         .filter(Optional::isPresent)
         .flatMap(Optional::stream)
         .map(MD::getMdoRef)
@@ -454,6 +466,7 @@ public class ReferenceIndexFiller {
   private class VariableSymbolReferenceIndexFinder extends BSLParserBaseVisitor<ParserRuleContext> {
 
     private final DocumentContext documentContext;
+    private final ReferenceIndexDependencies dependencies;
     private final ModuleReference.ParsedAccessors parsedAccessors;
     @SuppressWarnings("NullAway.Init")
     private @Nullable SourceDefinedSymbol currentScope;
@@ -461,8 +474,12 @@ public class ReferenceIndexFiller {
     /** variable name (lowercase) → URI .os-файла library-класса, на экземпляр которого переменная инициализирована. */
     private final Map<String, String> variableToLibraryClassUriMap = new HashMap<>();
 
-    private VariableSymbolReferenceIndexFinder(DocumentContext documentContext) {
+    private VariableSymbolReferenceIndexFinder(
+      DocumentContext documentContext,
+      ReferenceIndexDependencies dependencies
+    ) {
       this.documentContext = documentContext;
+      this.dependencies = dependencies;
       this.parsedAccessors = ModuleReference.parseAccessors(
         configuration.getReferencesOptions().getCommonModuleAccessors()
       );
@@ -543,8 +560,7 @@ public class ReferenceIndexFiller {
           variableToCommonModuleMap.remove(variableKey);
         } else if (ModuleReference.isCommonModuleExpression(expression, parsedAccessors)) {
           var commonModuleOpt = ModuleReference.extractCommonModuleName(expression, parsedAccessors)
-            .flatMap(moduleName -> documentContext.getServerContext()
-              .findCommonModule(moduleName));
+            .flatMap(dependencies::findCommonModule);
           if (commonModuleOpt.isPresent()) {
             var mdoRef = commonModuleOpt.get().getMdoReference().getMdoRef();
             variableToCommonModuleMap.put(variableKey, mdoRef);
@@ -585,8 +601,8 @@ public class ReferenceIndexFiller {
       if (typeName == null || typeName.IDENTIFIER() == null) {
         return null;
       }
-      return oScriptLibraryIndex.findClassUri(typeName.IDENTIFIER().getText())
-        .map(java.net.URI::toString)
+      return dependencies.findLibraryClassUri(typeName.IDENTIFIER().getText())
+        .map(URI::toString)
         .orElse(null);
     }
 
@@ -0,0 +1,375 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.references;
+
+import com.github._1c_syntax.bsl.languageserver.configuration.LanguageServerConfiguration;
+import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.context.ServerContext;
+import com.github._1c_syntax.bsl.languageserver.context.SymbolTreeSnapshot;
+import com.github._1c_syntax.bsl.languageserver.context.events.ServerContextPopulatedEvent;
+import com.github._1c_syntax.bsl.languageserver.context.events.ServerContextPopulationStartedEvent;
+import com.github._1c_syntax.bsl.languageserver.references.model.Location;
+import com.github._1c_syntax.bsl.languageserver.references.model.OccurrenceType;
+import com.github._1c_syntax.bsl.languageserver.references.model.Symbol;
+import com.github._1c_syntax.bsl.languageserver.references.model.SymbolOccurrence;
+import com.github._1c_syntax.bsl.languageserver.types.oscript.OScriptLibraryIndex;
+import com.github._1c_syntax.bsl.languageserver.utils.VarInts;
+import com.github._1c_syntax.bsl.types.ModuleType;
+import com.github._1c_syntax.utils.StringInterner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.lsp4j.ServerInfo;
+import org.eclipse.lsp4j.SymbolKind;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Персистентный снимок индекса ссылок для быстрого старта.
+ * <p>
+ * Обращения к символам, найденные в документе, упаковываются в компактный бинарный формат
+ * (таблица строк + varint-поля, строки позиций - дельтами) и сохраняются в персистентном кэше
+ * {@link ReferenceIndexCacheRegistrar#CACHE_NAME} каталога {@code CachePathProvider}. Ключ снимка -
+ * хэш URI и содержимого файла вместе с «окружением» индексации: версией сервера, настройками ссылок,
+ * дескриптором конфигурации и набором библиотек OneScript. Вместе с обращениями в снимке хранятся
+ * {@link ReferenceIndexDependencies зависимости} - ответы других документов и метаданных, полученные
+ * при заполнении индекса (найденные общие модули, модули объектов, библиотечные классы и их конструкторы).
+ * При следующем старте документ с тем же содержимым восстанавливает обращения из снимка без повторного
+ * обхода AST, если все зависимости дают прежние ответы; иначе документ индексируется заново.
+ * <p>
+ * Дерево символов документа хранится отдельно, в {@link SymbolTreeSnapshot}: оно не зависит от окружения
+ * индексации. Вместе два снимка позволяют неизменившемуся файлу пройти наполнение контекста без разбора.
+ * <p>
+ * Хэш окружения одинаков для всех документов, поэтому на время заполнения контекста сервера он вычисляется
+ * один раз (между {@link ServerContextPopulationStartedEvent} и {@link ServerContextPopulatedEvent}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReferenceIndexSnapshot {
+
+  private static final int FORMAT_VERSION = 2;
+
+  /**
+   * Дескрипторы конфигурации в форматах конфигуратора и EDT. Состав объектов метаданных влияет
+   * на разрешение ссылок на общие модули и модули менеджеров.
+   */
+  private static final List<String> CONFIGURATION_DESCRIPTORS = List.of(
+    "Configuration.xml",
+    "Configuration/Configuration.mdo"
+  );
+
+  @Qualifier("ehcacheCacheManager")
+  private final CacheManager cacheManager;
+  private final ReferenceIndex index;
+  private final LanguageServerConfiguration configuration;
+  private final OScriptLibraryIndex oScriptLibraryIndex;
+  private final ServerInfo serverInfo;
+  private final StringInterner stringInterner;
+
+  private final Map<ServerContext, String> environmentDigests = new ConcurrentHashMap<>();
+
+  /**
+   * Содержимое снимка.
+   *
+   * @param symbolOccurrences обращения к символам документа
+   * @param dependencies      зависимости от других документов и метаданных
+   */
+  record Content(List<SymbolOccurrence> symbolOccurrences, List<ReferenceIndexDependencies.Dependency> dependencies) {
+  }
+
+  /**
+   * Восстановить обращения к символам документа из снимка.
+   *
+   * @param documentContext документ с прочитанным содержимым
+   * @return {@code true}, если снимок для текущего содержимого найден, его зависимости не изменились
+   *   и обращения загружены в индекс ссылок
+   */
+  public boolean restore(DocumentContext documentContext) {
+    var cache = getCache();
+    if (cache == null) {
+      return false;
+    }
+
+    var key = computeKey(documentContext);
+    var snapshot = cache.get(key, byte[].class);
+    if (snapshot == null) {
+      return false;
+    }
+
+    var uri = documentContext.getUri();
+    Content content;
+    try {
+      content = decode(uri, snapshot);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.debug("Can't read reference index snapshot of {}", uri, e);
+      cache.evict(key);
+      return false;
+    }
+
+    var dependencies = new ReferenceIndexDependencies(documentContext.getServerContext(), oScriptLibraryIndex);
+    if (!dependencies.isSatisfied(content.dependencies())) {
+      return false;
+    }
+
+    index.restoreReferences(uri, content.symbolOccurrences());
+    return true;
+  }
+
+  /**
+   * Сохранить текущие обращения к символам документа в снимок.
+   *
+   * @param documentContext документ с прочитанным содержимым, индекс ссылок которого уже заполнен
+   * @param dependencies    обращения к другим документам и метаданным, выполненные при заполнении
+   */
+  void store(DocumentContext documentContext, ReferenceIndexDependencies dependencies) {
+    var cache = getCache();
+    if (cache == null) {
+      return;
+    }
+
+    var symbolOccurrences = index.getOccurrencesFrom(documentContext.getUri());
+    cache.put(computeKey(documentContext), encode(new Content(symbolOccurrences, dependencies.getDependencies())));
+  }
+
+  /**
+   * Вычислить хэш окружения индексации на время заполнения контекста сервера.
+   *
+   * @param event событие начала заполнения контекста
+   */
+  @EventListener
+  public void handleEvent(ServerContextPopulationStartedEvent event) {
+    var serverContext = event.getSource();
+    environmentDigests.put(serverContext, computeEnvironmentDigest(serverContext));
+  }
+
+  /**
+   * Забыть хэш окружения индексации после заполнения контекста сервера: дальше окружение может
+   * измениться, и документы, перечитанные с диска, вычисляют его заново.
+   *
+   * @param event событие завершения заполнения контекста
+   */
+  @EventListener
+  public void handleEvent(ServerContextPopulatedEvent event) {
+    environmentDigests.remove(event.getSource());
+  }
+
+  private @Nullable Cache getCache() {
+    return cacheManager.getCache(ReferenceIndexCacheRegistrar.CACHE_NAME);
+  }
+
+  private String computeKey(DocumentContext documentContext) {
+    var serverContext = documentContext.getServerContext();
+    var environmentDigest = environmentDigests.get(serverContext);
+    if (environmentDigest == null) {
+      environmentDigest = computeEnvironmentDigest(serverContext);
+    }
+
+    var digest = DigestUtils.getSha256Digest();
+    DigestUtils.updateDigest(digest, environmentDigest);
+    DigestUtils.updateDigest(digest, "\n");
+    DigestUtils.updateDigest(digest, documentContext.getUri().toString());
+    DigestUtils.updateDigest(digest, "\n");
+    DigestUtils.updateDigest(digest, documentContext.getContent());
+    return Hex.encodeHexString(digest.digest());
+  }
+
+  private String computeEnvironmentDigest(ServerContext serverContext) {
+    var digest = DigestUtils.getSha256Digest();
+    DigestUtils.updateDigest(digest, computeEnvironment(serverContext));
+    updateLibrariesDigest(digest);
+    return Hex.encodeHexString(digest.digest());
+  }
+
+  private String computeEnvironment(ServerContext serverContext) {
+    var environment = new StringBuilder()
+      .append(FORMAT_VERSION).append('\n')
+      .append(serverInfo.getVersion()).append('\n')
+      .append(configuration.getReferencesOptions()).append('\n');
+
+    var configurationRoot = serverContext.getConfigurationRoot();
+    if (configurationRoot != null) {
+      CONFIGURATION_DESCRIPTORS.stream()
+        .map(configurationRoot::resolve)
+        .filter(Files::isRegularFile)
+        .forEach((Path descriptor) -> environment
+          .append(descriptor).append(':')
+          .append(descriptor.toFile().length()).append(':')
+          .append(descriptor.toFile().lastModified()).append('\n'));
+    }
+
+    return environment.toString();
+  }
+
+  /**
+   * Добавить в хэш набор библиотек OneScript в не зависящем от запуска виде: хэш-коды записей
+   * включают хэш-код перечисления, который меняется от запуска к запуску.
+   */
+  private void updateLibrariesDigest(MessageDigest digest) {
+    oScriptLibraryIndex.allEntries().stream()
+      .map((OScriptLibraryIndex.LibraryEntry entry) ->
+        entry.uri() + "\t" + entry.qualifiedName() + "\t" + entry.kind().name())
+      .sorted()
+      .forEach((String entry) -> {
+        DigestUtils.updateDigest(digest, entry);
+        DigestUtils.updateDigest(digest, "\n");
+      });
+  }
+
+  static byte[] encode(Content content) {
+    var symbolOccurrences = content.symbolOccurrences();
+    var strings = new HashMap<String, Integer>();
+    var stringTable = new ArrayList<String>();
+    var body = new ByteArrayOutputStream();
+
+    try {
+      var bodyOutput = new DataOutputStream(body);
+      var previousLine = 0;
+      for (var symbolOccurrence : symbolOccurrences) {
+        var symbol = symbolOccurrence.symbol();
+        var location = symbolOccurrence.location();
+
+        bodyOutput.writeByte(symbolOccurrence.occurrenceType().ordinal());
+        bodyOutput.writeByte(symbol.symbolKind().getValue());
+        VarInts.write(bodyOutput, stringId(symbol.mdoRef(), strings, stringTable));
+        VarInts.write(bodyOutput, stringId(symbol.moduleType().name(), strings, stringTable));
+        VarInts.write(bodyOutput, stringId(symbol.scopeName(), strings, stringTable));
+        VarInts.write(bodyOutput, stringId(symbol.symbolName(), strings, stringTable));
+
+        VarInts.write(bodyOutput, VarInts.zigZag(location.startLine() - previousLine));
+        VarInts.write(bodyOutput, location.startCharacter());
+        VarInts.write(bodyOutput, location.endLine() - location.startLine());
+        VarInts.write(bodyOutput, location.endCharacter());
+        previousLine = location.startLine();
+      }
+
+      VarInts.write(bodyOutput, content.dependencies().size());
+      for (var dependency : content.dependencies()) {
+        bodyOutput.writeByte(dependency.kind().ordinal());
+        VarInts.write(bodyOutput, stringId(dependency.argument(), strings, stringTable));
+        VarInts.write(bodyOutput, stringId(dependency.value(), strings, stringTable));
+      }
+
+      var snapshot = new ByteArrayOutputStream(body.size() + stringTable.size() * 16 + 8);
+      var output = new DataOutputStream(snapshot);
+      output.writeByte(FORMAT_VERSION);
+      VarInts.write(output, stringTable.size());
+      for (var string : stringTable) {
+        output.writeUTF(string);
+      }
+      VarInts.write(output, symbolOccurrences.size());
+      body.writeTo(output);
+      output.flush();
+      return snapshot.toByteArray();
+    } catch (IOException e) {
+      // запись в память не бросает IOException
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  Content decode(URI uri, byte[] snapshot) throws IOException {
+    var input = new DataInputStream(new ByteArrayInputStream(snapshot));
+    var formatVersion = input.readUnsignedByte();
+    if (formatVersion != FORMAT_VERSION) {
+      throw new IOException("Unsupported snapshot format " + formatVersion);
+    }
+
+    var stringTable = new String[VarInts.read(input)];
+    for (var i = 0; i < stringTable.length; i++) {
+      stringTable[i] = stringInterner.intern(input.readUTF());
+    }
+
+    var occurrenceTypes = OccurrenceType.values();
+    Map<String, ModuleType> moduleTypes = new HashMap<>();
+    var size = VarInts.read(input);
+    List<SymbolOccurrence> symbolOccurrences = new ArrayList<>(size);
+    var previousLine = 0;
+    for (var i = 0; i < size; i++) {
+      var occurrenceType = occurrenceTypes[input.readUnsignedByte()];
+      var symbolKind = SymbolKind.forValue(input.readUnsignedByte());
+      var mdoRef = stringTable[VarInts.read(input)];
+      var moduleType = moduleTypes.computeIfAbsent(stringTable[VarInts.read(input)], ModuleType::valueOf);
+      var scopeName = stringTable[VarInts.read(input)];
+      var symbolName = stringTable[VarInts.read(input)];
+
+      var startLine = previousLine + VarInts.unZigZag(VarInts.read(input));
+      var startCharacter = VarInts.read(input);
+      var endLine = startLine + VarInts.read(input);
+      var endCharacter = VarInts.read(input);
+      previousLine = startLine;
+
+      var symbol = Symbol.builder()
+        .mdoRef(mdoRef)
+        .moduleType(moduleType)
+        .scopeName(scopeName)
+        .symbolKind(symbolKind)
+        .symbolName(symbolName)
+        .build()
+        .intern();
+
+      symbolOccurrences.add(SymbolOccurrence.builder()
+        .occurrenceType(occurrenceType)
+        .symbol(symbol)
+        .location(new Location(uri, startLine, startCharacter, endLine, endCharacter))
+        .build());
+    }
+
+    var kinds = ReferenceIndexDependencies.Kind.values();
+    var dependenciesSize = VarInts.read(input);
+    List<ReferenceIndexDependencies.Dependency> dependencies = new ArrayList<>(dependenciesSize);
+    for (var i = 0; i < dependenciesSize; i++) {
+      var kind = kinds[input.readUnsignedByte()];
+      var argument = stringTable[VarInts.read(input)];
+      var value = stringTable[VarInts.read(input)];
+      dependencies.add(new ReferenceIndexDependencies.Dependency(kind, argument, value));
+    }
+    return new Content(symbolOccurrences, dependencies);
+  }
+
+  private static int stringId(String string, Map<String, Integer> strings, List<String> stringTable) {
+    return strings.computeIfAbsent(string, (String key) -> {
+      stringTable.add(key);
+      return stringTable.size() - 1;
+    });
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.references.model;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Таблица плотных целочисленных идентификаторов значений.
+ * <p>
+ * Каждому добавленному значению выдается номер, поэтому в примитивных массивах можно хранить номера
+ * вместо ссылок на сами значения. Номер удаленного значения попадает в список свободных и выдается
+ * следующему добавленному значению, так что размер таблицы ограничен числом одновременно живых значений,
+ * а не всех значений, когда-либо встречавшихся за время работы. Обратное отображение - по массиву,
+ * который публикуется через volatile-поле после каждого изменения.
+ * <p>
+ * Поиск номера по значению таблица не ведет: владелец хранит номер рядом со своей записью о значении
+ * и отвечает за то, чтобы номер не использовался после {@link #remove(int)}.
+ *
+ * @param <T> тип значения
+ */
+final class IdTable<T> {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private volatile Object[] values = new Object[INITIAL_CAPACITY];
+  private int[] freeIds = new int[INITIAL_CAPACITY];
+  private int freeCount;
+  private int highWaterMark;
+  private int size;
+
+  /**
+   * @param value значение
+   * @return новый идентификатор значения; свободные номера переиспользуются
+   */
+  synchronized int add(T value) {
+    var current = values;
+    int id;
+    if (freeCount > 0) {
+      id = freeIds[--freeCount];
+    } else {
+      id = highWaterMark++;
+      if (id == current.length) {
+        current = Arrays.copyOf(current, current.length * 2);
+      }
+    }
+    current[id] = value;
+    values = current;
+    size++;
+    return id;
+  }
+
+  /**
+   * Освободить идентификатор.
+   *
+   * @param id идентификатор, полученный из {@link #add(Object)}
+   */
+  synchronized void remove(int id) {
+    var current = values;
+    current[id] = null;
+    values = current;
+    if (freeCount == freeIds.length) {
+      freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+    }
+    freeIds[freeCount++] = id;
+    size--;
+  }
+
+  /**
+   * @param id идентификатор, полученный из {@link #add(Object)}
+   * @return значение или {@code null}, если идентификатор уже освобожден
+   */
+  @SuppressWarnings("unchecked")
+  @Nullable T get(int id) {
+    return (T) values[id];
+  }
+
+  /**
+   * @return число занятых идентификаторов
+   */
+  synchronized int size() {
+    return size;
+  }
+}
@@ -22,25 +22,26 @@
 package com.github._1c_syntax.bsl.languageserver.references.model;
 
 import com.github._1c_syntax.bsl.languageserver.infrastructure.WorkspaceScope;
+import lombok.RequiredArgsConstructor;
+import org.eclipse.lsp4j.Position;
 import org.springframework.stereotype.Component;
 
 import java.net.URI;
-import java.util.Collections;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 /**
  * Хранилище расположений обращений к символам.
+ * <p>
+ * Представление {@link SymbolOccurrenceRepository} в разрезе документов: колонки обращений там уже
+ * сгруппированы по URI, поэтому отдельная копия данных не хранится.
  */
 @Component
 @WorkspaceScope
+@RequiredArgsConstructor
 public class LocationRepository {
-  /**
-   * Список обращений к символу, сгруппированный по URI.
-   */
-  private final Map<URI, Set<SymbolOccurrence>> locations = new ConcurrentHashMap<>();
+
+  private final SymbolOccurrenceRepository symbolOccurrenceRepository;
 
   /**
    * Получить все обращения к символам в указанном URI.
@@ -49,17 +50,18 @@ public class LocationRepository {
    * @return Список найденных обращений к символам.
    */
   public Stream<SymbolOccurrence> getSymbolOccurrencesByLocationUri(URI uri) {
-    return locations.getOrDefault(uri, Collections.emptySet()).stream();
+    return symbolOccurrenceRepository.getAllByLocationUri(uri);
   }
 
   /**
-   * Обновить данные о расположении обращения к символу.
+   * Получить обращение к символу, расположенное в указанной позиции документа.
    *
-   * @param symbolOccurrence Обращение к символу.
+   * @param uri      URI документа.
+   * @param position Позиция в документе.
+   * @return Найденное обращение к символу.
    */
-  public void updateLocation(SymbolOccurrence symbolOccurrence) {
-    locations.computeIfAbsent(symbolOccurrence.location().uri(), uri -> ConcurrentHashMap.newKeySet())
-      .add(symbolOccurrence);
+  public Optional<SymbolOccurrence> getSymbolOccurrenceByPosition(URI uri, Position position) {
+    return symbolOccurrenceRepository.getByLocationUriAndPosition(uri, position);
   }
 
   /**
@@ -68,6 +70,6 @@ public class LocationRepository {
    * @param uri URI документа для удаления расположений.
    */
   public void delete(URI uri) {
-    locations.remove(uri);
+    symbolOccurrenceRepository.deleteAllByLocationUri(uri);
   }
 }
@@ -22,30 +22,69 @@
 package com.github._1c_syntax.bsl.languageserver.references.model;
 
 import com.github._1c_syntax.bsl.languageserver.infrastructure.WorkspaceScope;
+import com.github._1c_syntax.bsl.languageserver.utils.RangeIndex;
+import com.github._1c_syntax.bsl.types.ModuleType;
+import org.eclipse.lsp4j.Position;
+import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Хранилище обращений к символам.
+ * <p>
+ * Обращения хранятся поколоночно в примитивных массивах, сгруппированных по файлам: для каждого
+ * обращения - идентификатор символа, тип обращения и диапазон, упакованный в два {@code long}
+ * (строка в старших 32 битах, символ - в младших). Символы и URI заменяются плотными
+ * идентификаторами ({@link IdTable}), поэтому обращение занимает около двух десятков байт вместо
+ * нескольких сотен у графа объектов {@link SymbolOccurrence}/{@link Location} в сортированных множествах.
+ * <p>
+ * Поиск по символу идет через список вхождений (posting list): для каждого символа хранится
+ * отсортированный массив идентификаторов файлов, в которых он встречается; обращения нужного символа
+ * выбираются из колонок этих файлов. Удаление файла снимает его колонки целиком и убирает файл
+ * из списков вхождений только его собственных символов, без обхода отдельных обращений.
+ * <p>
+ * Идентификатор символа выдается при появлении его списка вхождений и освобождается, когда список
+ * становится пустым; идентификатор файла живет, пока у файла есть колонки. Оба действия выполняются
+ * атомарно по ключу карты, поэтому освобожденные номера переиспользуются, и таблицы идентификаторов
+ * не растут от символов и файлов, которые больше не встречаются в индексе.
+ * <p>
+ * Поиск обращения по позиции идет через {@link RangeIndex} по колонкам диапазонов файла. Индекс строится
+ * при первом поиске после заполнения и сбрасывается при добавлении обращений в файл.
+ * <p>
+ * Записи {@link SymbolOccurrence} материализуются только при чтении.
  */
 @Component
 @WorkspaceScope
 public class SymbolOccurrenceRepository {
 
+  private final IdTable<Symbol> symbols = new IdTable<>();
+  private final IdTable<URI> uris = new IdTable<>();
+
   /**
-   * Список обращений к символам в разрезе символов.
-   * <p>
-   * Внешняя карта — {@link ConcurrentHashMap}: ключ-{@link Symbol} ищется по hashCode/equals
-   * за O(1) без вызовов {@code Symbol.compareTo} (на перестроении индекса при наборе текста это
-   * было основной не-ANTLR статьёй расхода). Внутреннее множество остаётся сортированным
-   * {@link ConcurrentSkipListSet}, поэтому порядок обращений ({@code getAllBySymbol}) сохраняется.
+   * Колонки обращений в разрезе файлов.
+   */
+  private final Map<URI, FileOccurrences> files = new ConcurrentHashMap<>();
+
+  /**
+   * Списки вхождений: символ - его идентификатор и отсортированные идентификаторы файлов с его обращениями.
+   * Записи неизменяемы и заменяются целиком внутри {@code compute*} по ключу.
    */
-  private final Map<Symbol, Set<SymbolOccurrence>> occurrencesToSymbols = new ConcurrentHashMap<>();
+  private final Map<Symbol, Posting> postings = new ConcurrentHashMap<>();
 
   /**
    * Сохранить обращение к символу в хранилище.
@@ -53,31 +92,320 @@ public class SymbolOccurrenceRepository {
    * @param symbolOccurrence Обращение к символу.
    */
   public void save(SymbolOccurrence symbolOccurrence) {
-    occurrencesToSymbols.computeIfAbsent(symbolOccurrence.symbol(), symbol -> new ConcurrentSkipListSet<>())
-      .add(symbolOccurrence);
+    var location = symbolOccurrence.location();
+    var uri = location.uri();
+    var fileOccurrences = files.computeIfAbsent(uri, key -> new FileOccurrences(uris.add(key)));
+    var fileId = fileOccurrences.fileId;
+    var posting = postings.compute(symbolOccurrence.symbol(), (Symbol symbol, @Nullable Posting current) -> {
+      if (current == null) {
+        return new Posting(symbols.add(symbol), new int[]{fileId});
+      }
+      return current.insert(fileId);
+    });
+
+    fileOccurrences.add(posting.symbolId(), symbolOccurrence.occurrenceType(), location);
   }
 
   /**
    * Получить все обращения к указанному символу.
    *
    * @param symbol Символ.
-   * @return Список обращений к символу.
+   * @return Список обращений к символу, упорядоченный по расположению.
    */
   public Set<SymbolOccurrence> getAllBySymbol(Symbol symbol) {
-    return occurrencesToSymbols.getOrDefault(symbol, Collections.emptySet());
+    var posting = postings.get(symbol);
+    if (posting == null) {
+      return Collections.emptySet();
+    }
+
+    var symbolOccurrences = new TreeSet<SymbolOccurrence>();
+    for (var fileId : posting.fileIds()) {
+      var uri = uris.get(fileId);
+      var fileOccurrences = uri == null ? null : files.get(uri);
+      if (fileOccurrences != null) {
+        // номер мог быть освобожден и выдан другому символу, пока шло чтение
+        fileOccurrences.forEach(posting.symbolId(), uri, symbols, (SymbolOccurrence symbolOccurrence) -> {
+          if (symbolOccurrence.symbol().equals(symbol)) {
+            symbolOccurrences.add(symbolOccurrence);
+          }
+        });
+      }
+    }
+    return symbolOccurrences;
+  }
+
+  /**
+   * Получить документы, в которых есть обращения к символам указанного модуля.
+   *
+   * @param mdoRef     Ссылка на объект метаданных модуля.
+   * @param moduleType Тип модуля.
+   * @return URI документов с обращениями к символам модуля.
+   */
+  public Set<URI> getLocationUrisByModule(String mdoRef, ModuleType moduleType) {
+    var locationUris = new HashSet<URI>();
+    postings.forEach((Symbol symbol, Posting posting) -> {
+      if (symbol.moduleType() == moduleType && symbol.mdoRef().equals(mdoRef)) {
+        for (var fileId : posting.fileIds()) {
+          var uri = uris.get(fileId);
+          if (uri != null) {
+            locationUris.add(uri);
+          }
+        }
+      }
+    });
+    return locationUris;
+  }
+
+  /**
+   * Получить документы с обращениями к символам нескольких модулей за один проход по хранилищу.
+   *
+   * @param moduleKey Ключ модуля по ссылке на объект метаданных и типу модуля; {@code null} - модуль не нужен.
+   * @param <K>       Тип ключа модуля.
+   * @return URI документов с обращениями к символам модуля, по ключам запрошенных модулей.
+   */
+  public <K> Map<K, Set<URI>> getLocationUrisByModules(BiFunction<String, ModuleType, @Nullable K> moduleKey) {
+    var locationUris = new HashMap<K, Set<URI>>();
+    postings.forEach((Symbol symbol, Posting posting) -> {
+      var key = moduleKey.apply(symbol.mdoRef(), symbol.moduleType());
+      if (key == null) {
+        return;
+      }
+      var moduleLocationUris = locationUris.computeIfAbsent(key, k -> new HashSet<>());
+      for (var fileId : posting.fileIds()) {
+        var uri = uris.get(fileId);
+        if (uri != null) {
+          moduleLocationUris.add(uri);
+        }
+      }
+    });
+    return locationUris;
   }
 
   /**
-   * Удалить сохраненные данные по указанным обращениям к символу.
+   * Получить все обращения к символам, расположенные в указанном URI.
    *
-   * @param symbolOccurrences Список обращений к символам.
+   * @param uri URI документа.
+   * @return Обращения к символам в документе.
+   */
+  public Stream<SymbolOccurrence> getAllByLocationUri(URI uri) {
+    var fileOccurrences = files.get(uri);
+    if (fileOccurrences == null) {
+      return Stream.empty();
+    }
+
+    List<SymbolOccurrence> symbolOccurrences = new ArrayList<>(fileOccurrences.size());
+    fileOccurrences.forEach(FileOccurrences.ANY_SYMBOL, uri, symbols, symbolOccurrences::add);
+    return symbolOccurrences.stream().distinct();
+  }
+
+  /**
+   * Получить обращение к символу, диапазон которого содержит указанную позицию.
+   * <p>
+   * Если позицию содержат несколько диапазонов, возвращается наиболее вложенный.
+   *
+   * @param uri      URI документа.
+   * @param position Позиция в документе.
+   * @return Обращение к символу, если оно найдено.
+   */
+  public Optional<SymbolOccurrence> getByLocationUriAndPosition(URI uri, Position position) {
+    var fileOccurrences = files.get(uri);
+    if (fileOccurrences == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(fileOccurrences.findContaining(RangeIndex.pack(position), uri, symbols));
+  }
+
+  /**
+   * Удалить все обращения к символам, расположенные в указанном URI.
+   *
+   * @param uri URI документа.
+   */
+  public void deleteAllByLocationUri(URI uri) {
+    var fileOccurrences = files.remove(uri);
+    if (fileOccurrences == null) {
+      return;
+    }
+
+    var fileId = fileOccurrences.fileId;
+    for (var symbolId : fileOccurrences.distinctSymbolIds()) {
+      var symbol = symbols.get(symbolId);
+      if (symbol == null) {
+        continue;
+      }
+      postings.computeIfPresent(symbol, (Symbol key, Posting posting) -> {
+        var remaining = posting.remove(fileId);
+        if (remaining == null) {
+          symbols.remove(posting.symbolId());
+        }
+        return remaining;
+      });
+    }
+    uris.remove(fileId);
+  }
+
+  /**
+   * @return число символов, для которых выдан идентификатор
    */
-  public void deleteAll(Set<SymbolOccurrence> symbolOccurrences) {
-    symbolOccurrences.forEach(symbolOccurrence ->
-      occurrencesToSymbols.computeIfPresent(symbolOccurrence.symbol(), (Symbol s, Set<SymbolOccurrence> set) -> {
-        set.remove(symbolOccurrence);
-        return set.isEmpty() ? null : set; // null => remove mapping
-      })
-    );
+  int symbolIdCount() {
+    return symbols.size();
+  }
+
+  /**
+   * @return число файлов, для которых выдан идентификатор
+   */
+  int uriIdCount() {
+    return uris.size();
+  }
+
+  /**
+   * Список вхождений символа.
+   *
+   * @param symbolId идентификатор символа
+   * @param fileIds  отсортированные идентификаторы файлов с обращениями к символу
+   */
+  private record Posting(int symbolId, int[] fileIds) {
+
+    Posting insert(int fileId) {
+      var newFileIds = SymbolOccurrenceRepository.insert(fileIds, fileId);
+      return newFileIds == fileIds ? this : new Posting(symbolId, newFileIds);
+    }
+
+    @Nullable Posting remove(int fileId) {
+      var newFileIds = SymbolOccurrenceRepository.remove(fileIds, fileId);
+      if (newFileIds == null) {
+        return null;
+      }
+      return newFileIds == fileIds ? this : new Posting(symbolId, newFileIds);
+    }
+  }
+
+  private static int[] insert(int[] fileIds, int fileId) {
+    var position = Arrays.binarySearch(fileIds, fileId);
+    if (position >= 0) {
+      return fileIds;
+    }
+
+    var insertionPoint = -position - 1;
+    var newFileIds = new int[fileIds.length + 1];
+    System.arraycopy(fileIds, 0, newFileIds, 0, insertionPoint);
+    newFileIds[insertionPoint] = fileId;
+    System.arraycopy(fileIds, insertionPoint, newFileIds, insertionPoint + 1, fileIds.length - insertionPoint);
+    return newFileIds;
+  }
+
+  private static int @Nullable [] remove(int[] fileIds, int fileId) {
+    var position = Arrays.binarySearch(fileIds, fileId);
+    if (position < 0) {
+      return fileIds;
+    }
+    if (fileIds.length == 1) {
+      return null; // null => remove mapping
+    }
+
+    var newFileIds = new int[fileIds.length - 1];
+    System.arraycopy(fileIds, 0, newFileIds, 0, position);
+    System.arraycopy(fileIds, position + 1, newFileIds, position, fileIds.length - position - 1);
+    return newFileIds;
+  }
+
+  /**
+   * Колонки обращений одного файла.
+   */
+  private static final class FileOccurrences {
+
+    private static final int ANY_SYMBOL = -1;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final OccurrenceType[] OCCURRENCE_TYPES = OccurrenceType.values();
+
+    private final int fileId;
+    private int[] symbolIds = new int[INITIAL_CAPACITY];
+    private long[] starts = new long[INITIAL_CAPACITY];
+    private long[] ends = new long[INITIAL_CAPACITY];
+    private byte[] occurrenceTypes = new byte[INITIAL_CAPACITY];
+    private int size;
+    private @Nullable RangeIndex rangeIndex;
+
+    FileOccurrences(int fileId) {
+      this.fileId = fileId;
+    }
+
+    synchronized void add(int symbolId, OccurrenceType occurrenceType, Location location) {
+      if (size == symbolIds.length) {
+        var capacity = size + (size >> 1);
+        symbolIds = Arrays.copyOf(symbolIds, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        occurrenceTypes = Arrays.copyOf(occurrenceTypes, capacity);
+      }
+      symbolIds[size] = symbolId;
+      starts[size] = pack(location.startLine(), location.startCharacter());
+      ends[size] = pack(location.endLine(), location.endCharacter());
+      occurrenceTypes[size] = (byte) occurrenceType.ordinal();
+      size++;
+      rangeIndex = null;
+    }
+
+    synchronized int size() {
+      return size;
+    }
+
+    synchronized @Nullable SymbolOccurrence findContaining(long position, URI uri, IdTable<Symbol> symbols) {
+      if (rangeIndex == null) {
+        rangeIndex = RangeIndex.create(starts, ends, size);
+      }
+      var i = rangeIndex.findContaining(position);
+      if (i == RangeIndex.NOT_FOUND) {
+        return null;
+      }
+      return occurrenceAt(i, uri, symbols);
+    }
+
+    synchronized void forEach(int symbolId, URI uri, IdTable<Symbol> symbols, Consumer<SymbolOccurrence> consumer) {
+      for (var i = 0; i < size; i++) {
+        if (symbolId != ANY_SYMBOL && symbolIds[i] != symbolId) {
+          continue;
+        }
+        var symbolOccurrence = occurrenceAt(i, uri, symbols);
+        if (symbolOccurrence != null) {
+          consumer.accept(symbolOccurrence);
+        }
+      }
+    }
+
+    /**
+     * @return обращение или {@code null}, если файл удаляется и идентификатор его символа уже освобожден
+     */
+    private @Nullable SymbolOccurrence occurrenceAt(int i, URI uri, IdTable<Symbol> symbols) {
+      var symbol = symbols.get(symbolIds[i]);
+      if (symbol == null) {
+        return null;
+      }
+      var location = new Location(uri, line(starts[i]), character(starts[i]), line(ends[i]), character(ends[i]));
+      return new SymbolOccurrence(OCCURRENCE_TYPES[occurrenceTypes[i]], symbol, location);
+    }
+
+    synchronized int[] distinctSymbolIds() {
+      var ids = Arrays.copyOf(symbolIds, size);
+      Arrays.sort(ids);
+      var distinctCount = 0;
+      for (var i = 0; i < ids.length; i++) {
+        if (i == 0 || ids[i] != ids[i - 1]) {
+          ids[distinctCount++] = ids[i];
+        }
+      }
+      return Arrays.copyOf(ids, distinctCount);
+    }
+
+    private static long pack(int line, int character) {
+      return RangeIndex.pack(line, character);
+    }
+
+    private static int line(long position) {
+      return (int) (position >>> Integer.SIZE);
+    }
+
+    private static int character(long position) {
+      return (int) position;
+    }
   }
 }
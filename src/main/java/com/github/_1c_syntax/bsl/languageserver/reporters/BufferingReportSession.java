@@ -0,0 +1,55 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.reporters;
+
+import com.github._1c_syntax.bsl.languageserver.reporters.data.AnalysisInfo;
+import com.github._1c_syntax.bsl.languageserver.reporters.data.FileInfo;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сеанс отчета для репортеров без потоковой записи: накапливает результаты анализа
+ * и при закрытии передает их репортеру одним {@link AnalysisInfo}.
+ */
+@RequiredArgsConstructor
+class BufferingReportSession implements ReportSession {
+
+  private final DiagnosticReporter reporter;
+  private final LocalDateTime date;
+  private final String sourceDir;
+  private final Path outputDir;
+  private final List<FileInfo> fileInfos = new ArrayList<>();
+
+  @Override
+  public synchronized void accept(FileInfo fileInfo) {
+    fileInfos.add(fileInfo);
+  }
+
+  @Override
+  public synchronized void close() {
+    reporter.report(new AnalysisInfo(date, List.copyOf(fileInfos), sourceDir), outputDir);
+  }
+}
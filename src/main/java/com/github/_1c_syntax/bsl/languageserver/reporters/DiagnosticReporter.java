@@ -24,12 +24,15 @@ package com.github._1c_syntax.bsl.languageserver.reporters;
 import com.github._1c_syntax.bsl.languageserver.reporters.data.AnalysisInfo;
 
 import java.nio.file.Path;
+import java.time.LocalDateTime;
 
 /**
  * Интерфейс для репортеров результатов анализа.
  * <p>
  * Репортеры формируют отчеты о найденных диагностиках в различных форматах
  * (JSON, JUnit XML, консольный вывод и т.д.).
+ *
+ * @see StreamingDiagnosticReporter
  */
 public interface DiagnosticReporter {
   /**
@@ -46,4 +49,19 @@ public interface DiagnosticReporter {
    * @param outputDir Директория для сохранения отчета
    */
   void report(AnalysisInfo analysisInfo, Path outputDir);
+
+  /**
+   * Начать формирование отчета, получающего результаты анализа файлов по мере их вычисления.
+   * <p>
+   * По умолчанию результаты накапливаются и передаются в {@link #report(AnalysisInfo, Path)}
+   * при закрытии сеанса.
+   *
+   * @param date      Дата анализа
+   * @param sourceDir Каталог исходников
+   * @param outputDir Директория для сохранения отчета
+   * @return Сеанс формирования отчета
+   */
+  default ReportSession startReport(LocalDateTime date, String sourceDir, Path outputDir) {
+    return new BufferingReportSession(this, date, sourceDir, outputDir);
+  }
 }
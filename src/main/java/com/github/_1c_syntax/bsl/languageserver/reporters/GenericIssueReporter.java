@@ -23,19 +23,24 @@ package com.github._1c_syntax.bsl.languageserver.reporters;
 
 import com.github._1c_syntax.bsl.languageserver.context.ServerContextProvider;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.DiagnosticInfos;
-import com.github._1c_syntax.bsl.languageserver.reporters.data.AnalysisInfo;
-import lombok.SneakyThrows;
+import com.github._1c_syntax.bsl.languageserver.diagnostics.info.DiagnosticInfo;
+import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticCode;
+import com.github._1c_syntax.bsl.languageserver.reporters.data.FileInfo;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonEncoding;
+import tools.jackson.core.JsonGenerator;
 import tools.jackson.databind.SerializationFeature;
 import tools.jackson.databind.json.JsonMapper;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
 
 @Slf4j
 @Component
-public class GenericIssueReporter extends AbstractDiagnosticReporter {
+public class GenericIssueReporter extends AbstractDiagnosticReporter implements StreamingDiagnosticReporter {
 
   public GenericIssueReporter(ServerContextProvider serverContextProvider, DiagnosticInfos diagnosticInfos) {
     super(serverContextProvider, diagnosticInfos);
@@ -47,19 +52,54 @@ public class GenericIssueReporter extends AbstractDiagnosticReporter {
   }
 
   @Override
-  @SneakyThrows
-  public void report(AnalysisInfo analysisInfo, Path outputDir) {
-    var diagnosticInfos = getDiagnosticInfosByCode();
-
-    GenericIssueReport report = new GenericIssueReport(analysisInfo, diagnosticInfos);
-
+  public ReportSession startReport(LocalDateTime date, String sourceDir, Path outputDir) {
     JsonMapper mapper = JsonMapper.builder()
       .enable(SerializationFeature.INDENT_OUTPUT)
       .build();
 
     File reportFile = new File(outputDir.toFile(), "bsl-generic-json.json");
-    mapper.writeValue(reportFile, report);
-    LOGGER.info("Generic issue report saved to {}", reportFile.getCanonicalPath());
+    var generator = mapper.createGenerator(reportFile, JsonEncoding.UTF8);
+
+    generator.writeStartObject();
+    generator.writeArrayPropertyStart("issues");
+
+    return new Session(generator, getDiagnosticInfosByCode(), reportFile);
   }
 
+  /**
+   * Сеанс записи структуры {@link GenericIssueReport}: массив {@code issues} пополняется
+   * по мере поступления результатов.
+   */
+  private record Session(
+    JsonGenerator generator,
+    Map<String, DiagnosticInfo> diagnosticInfos,
+    File reportFile
+  ) implements ReportSession {
+
+    @Override
+    public void accept(FileInfo fileInfo) {
+      var fileName = fileInfo.getPath().toString();
+      var entries = fileInfo.getDiagnostics().stream()
+        .map(diagnostic -> new GenericIssueReport.GenericIssueEntry(
+          fileName,
+          diagnostic,
+          diagnosticInfos.get(DiagnosticCode.getStringValue(diagnostic.getCode()))
+        ))
+        .toList();
+
+      synchronized (generator) {
+        entries.forEach(generator::writePOJO);
+      }
+    }
+
+    @Override
+    public void close() {
+      synchronized (generator) {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+      }
+      LOGGER.info("Generic issue report saved to {}", reportFile.getAbsolutePath());
+    }
+  }
 }
@@ -21,19 +21,25 @@
  */
 package com.github._1c_syntax.bsl.languageserver.reporters;
 
-import com.github._1c_syntax.bsl.languageserver.reporters.data.AnalysisInfo;
-import lombok.SneakyThrows;
+import com.github._1c_syntax.bsl.languageserver.reporters.data.FileInfo;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectWriter;
 import tools.jackson.databind.SerializationFeature;
 import tools.jackson.dataformat.xml.XmlMapper;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
 
 @Slf4j
 @Component
-public class JUnitReporter implements DiagnosticReporter {
+public class JUnitReporter implements StreamingDiagnosticReporter {
 
   @Override
   public String key() {
@@ -41,17 +47,64 @@ public class JUnitReporter implements DiagnosticReporter {
   }
 
   @Override
-  @SneakyThrows
-  public void report(AnalysisInfo analysisInfo, Path outputDir) {
-
-    JUnitTestSuites jUnitReport = new JUnitTestSuites(analysisInfo);
-
+  public ReportSession startReport(LocalDateTime date, String sourceDir, Path outputDir) {
     var mapper = XmlMapper.builder()
       .enable(SerializationFeature.INDENT_OUTPUT)
       .build();
+    var testSuiteWriter = mapper.writerFor(JUnitTestSuites.JUnitTestSuite.class)
+      .withRootName(JUnitTestSuites.TEST_SUITE_ELEMENT);
+
+    var reportFile = new File(outputDir.toFile(), "./bsl-junit.xml");
+    try {
+      var outputStream = Files.newOutputStream(reportFile.toPath());
+      write(outputStream, "<%s package=\"%s\">%n".formatted(
+        JUnitTestSuites.ROOT_ELEMENT,
+        JUnitTestSuites.PACKAGE_NAME
+      ));
+      return new Session(testSuiteWriter, outputStream, reportFile);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void write(OutputStream outputStream, String value) throws IOException {
+    outputStream.write(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Сеанс записи структуры {@link JUnitTestSuites}: элемент {@code testsuite} сериализуется
+   * тем же отображением Jackson и пишется сразу для каждого файла с замечаниями.
+   */
+  private record Session(ObjectWriter testSuiteWriter, OutputStream outputStream, File reportFile)
+    implements ReportSession {
+
+    @Override
+    public void accept(FileInfo fileInfo) {
+      if (fileInfo.getDiagnostics().isEmpty()) {
+        return;
+      }
+
+      var testSuite = testSuiteWriter.writeValueAsBytes(new JUnitTestSuites.JUnitTestSuite(fileInfo));
+      synchronized (outputStream) {
+        try {
+          outputStream.write(testSuite);
+          write(outputStream, System.lineSeparator());
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    }
 
-    File reportFile = new File(outputDir.toFile(), "./bsl-junit.xml");
-    mapper.writeValue(reportFile, jUnitReport);
-    LOGGER.info("JUnit report saved to {}", reportFile.getCanonicalPath());
+    @Override
+    public void close() {
+      synchronized (outputStream) {
+        try (outputStream) {
+          write(outputStream, "</%s>%n".formatted(JUnitTestSuites.ROOT_ELEMENT));
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      LOGGER.info("JUnit report saved to {}", reportFile.getAbsolutePath());
+    }
   }
 }
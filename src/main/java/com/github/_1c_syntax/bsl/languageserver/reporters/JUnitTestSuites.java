@@ -46,9 +46,13 @@ import java.util.Locale;
 import java.util.stream.Collectors;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticMessage;
 
-@JsonRootName("testsuites")
+@JsonRootName(JUnitTestSuites.ROOT_ELEMENT)
 class JUnitTestSuites {
 
+  static final String ROOT_ELEMENT = "testsuites";
+  static final String TEST_SUITE_ELEMENT = "testsuite";
+  static final String PACKAGE_NAME = "bsl-language-server";
+
   @Getter
   @JacksonXmlProperty(localName = "package", isAttribute = true)
   private final String name;
@@ -58,7 +62,7 @@ class JUnitTestSuites {
   private final List<JUnitTestSuite> testsuite;
 
   public JUnitTestSuites(AnalysisInfo analysisInfo) {
-    name = "bsl-language-server";
+    name = PACKAGE_NAME;
 
     testsuite = analysisInfo.fileinfos().stream()
       .filter(fileInfo -> !fileInfo.getDiagnostics().isEmpty())
@@ -22,18 +22,21 @@
 package com.github._1c_syntax.bsl.languageserver.reporters;
 
 import com.github._1c_syntax.bsl.languageserver.reporters.data.AnalysisInfo;
+import com.github._1c_syntax.bsl.languageserver.reporters.data.FileInfo;
 import com.github._1c_syntax.bsl.languageserver.reporters.databind.AnalysisInfoJsonMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import tools.jackson.core.JacksonException;
-import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.core.JsonEncoding;
+import tools.jackson.core.JsonGenerator;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Slf4j
 @Component
-public class JsonReporter implements DiagnosticReporter {
+public class JsonReporter implements StreamingDiagnosticReporter {
 
   @Override
   public String key() {
@@ -41,15 +44,43 @@ public class JsonReporter implements DiagnosticReporter {
   }
 
   @Override
-  public void report(AnalysisInfo analysisInfo, Path outputDir) {
-    JsonMapper mapper = new AnalysisInfoJsonMapper();
+  public ReportSession startReport(LocalDateTime date, String sourceDir, Path outputDir) {
+    var mapper = new AnalysisInfoJsonMapper();
+    var reportFile = new File(outputDir.toFile(), "./bsl-json.json");
+    var generator = mapper.createGenerator(reportFile, JsonEncoding.UTF8);
+    // Дата сериализуется по формату, объявленному в AnalysisInfo.
+    var header = mapper.valueToTree(new AnalysisInfo(date, List.of(), sourceDir));
 
-    try {
-      File reportFile = new File(outputDir.toFile(), "./bsl-json.json");
-      mapper.writeValue(reportFile, analysisInfo);
+    generator.writeStartObject();
+    generator.writeName("date");
+    generator.writeTree(header.get("date"));
+    generator.writeArrayPropertyStart("fileinfos");
+
+    return new Session(generator, sourceDir, reportFile);
+  }
+
+  /**
+   * Сеанс записи структуры {@link AnalysisInfo}:
+   * массив {@code fileinfos} пополняется по мере поступления результатов.
+   */
+  private record Session(JsonGenerator generator, String sourceDir, File reportFile) implements ReportSession {
+
+    @Override
+    public void accept(FileInfo fileInfo) {
+      synchronized (generator) {
+        generator.writePOJO(fileInfo);
+      }
+    }
+
+    @Override
+    public void close() {
+      synchronized (generator) {
+        generator.writeEndArray();
+        generator.writeStringProperty("sourceDir", sourceDir);
+        generator.writeEndObject();
+        generator.close();
+      }
       LOGGER.info("JSON report saved to {}", reportFile.getAbsolutePath());
-    } catch (JacksonException e) {
-      throw new RuntimeException(e);
     }
   }
 }
@@ -0,0 +1,46 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.reporters;
+
+import com.github._1c_syntax.bsl.languageserver.reporters.data.FileInfo;
+
+/**
+ * Сеанс формирования отчета.
+ * <p>
+ * Получает результаты анализа файлов по мере их вычисления; отчет завершается при закрытии сеанса.
+ * Методы сеанса могут вызываться из нескольких потоков одновременно.
+ */
+public interface ReportSession extends AutoCloseable {
+
+  /**
+   * Добавить в отчет результат анализа файла.
+   *
+   * @param fileInfo Результат анализа файла
+   */
+  void accept(FileInfo fileInfo);
+
+  /**
+   * Завершить формирование отчета.
+   */
+  @Override
+  void close();
+}
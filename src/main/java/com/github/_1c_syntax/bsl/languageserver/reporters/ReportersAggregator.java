@@ -22,6 +22,7 @@
 package com.github._1c_syntax.bsl.languageserver.reporters;
 
 import com.github._1c_syntax.bsl.languageserver.reporters.data.AnalysisInfo;
+import com.github._1c_syntax.bsl.languageserver.reporters.data.FileInfo;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -29,6 +30,7 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -61,6 +63,51 @@ public class ReportersAggregator {
     filteredReporters.forEach(diagnosticReporter -> diagnosticReporter.report(analysisInfo, outputDir));
   }
 
+  /**
+   * Начать формирование отчетов всеми активными репортерами.
+   * <p>
+   * Результаты анализа файлов передаются в сеанс по мере вычисления; потоковые репортеры
+   * ({@link StreamingDiagnosticReporter}) сразу записывают их в отчет. При закрытии сеанса закрываются
+   * сеансы всех репортеров, даже если какой-то из них завершился ошибкой: первая ошибка пробрасывается,
+   * последующие добавляются к ней как подавленные.
+   *
+   * @param sourceDir Каталог исходников
+   * @param outputDir Директория для сохранения отчетов
+   * @return Сеанс, передающий результаты всем активным репортерам
+   */
+  public ReportSession startReport(String sourceDir, Path outputDir) {
+    var date = LocalDateTime.now();
+    var sessions = filteredReporters.stream()
+      .map(diagnosticReporter -> diagnosticReporter.startReport(date, sourceDir, outputDir))
+      .toList();
+
+    return new ReportSession() {
+      @Override
+      public void accept(FileInfo fileInfo) {
+        sessions.forEach(session -> session.accept(fileInfo));
+      }
+
+      @Override
+      public void close() {
+        RuntimeException exception = null;
+        for (var session : sessions) {
+          try {
+            session.close();
+          } catch (RuntimeException e) {
+            if (exception == null) {
+              exception = e;
+            } else {
+              exception.addSuppressed(e);
+            }
+          }
+        }
+        if (exception != null) {
+          throw exception;
+        }
+      }
+    };
+  }
+
   /**
    * Получить список ключей всех доступных репортеров.
    *
@@ -44,10 +44,8 @@ import com.github._1c_syntax.bsl.languageserver.context.ServerContextProvider;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.DiagnosticInfos;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticCode;
 import com.github._1c_syntax.bsl.languageserver.diagnostics.info.DiagnosticInfo;
-import com.github._1c_syntax.bsl.languageserver.reporters.data.AnalysisInfo;
 import com.github._1c_syntax.bsl.languageserver.reporters.data.FileInfo;
 import com.github._1c_syntax.utils.Absolute;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
@@ -55,12 +53,15 @@ import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.ServerInfo;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonEncoding;
+import tools.jackson.core.JsonGenerator;
 import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
 
 import java.io.File;
 import java.net.URI;
 import java.nio.file.Path;
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -77,7 +78,9 @@ import com.github._1c_syntax.bsl.languageserver.diagnostics.metadata.DiagnosticM
  */
 @Component
 @Slf4j
-public class SarifReporter extends AbstractDiagnosticReporter {
+public class SarifReporter extends AbstractDiagnosticReporter implements StreamingDiagnosticReporter {
+
+  private static final URI SCHEMA = URI.create("https://json.schemastore.org/sarif-2.1.0.json");
 
   private static final Map<DiagnosticSeverity, Result.Level> severityToResultLevel = Map.of(
     DiagnosticSeverity.Error, Result.Level.ERROR,
@@ -113,43 +116,43 @@ public class SarifReporter extends AbstractDiagnosticReporter {
   }
 
   @Override
-  @SneakyThrows
-  public void report(AnalysisInfo analysisInfo, Path outputDir) {
-    var report = createReport(analysisInfo);
-
+  public ReportSession startReport(LocalDateTime date, String sourceDir, Path outputDir) {
     var mapper = JsonMapper.builder()
       .enable(SerializationFeature.INDENT_OUTPUT)
       .build();
 
     var reportFile = new File(outputDir.toFile(), "./bsl-ls.sarif");
-    mapper.writeValue(reportFile, report);
-    LOGGER.info("SARIF report saved to {}", reportFile.getAbsolutePath());
-  }
-
-  private SarifSchema210 createReport(AnalysisInfo analysisInfo) {
-    var schema = URI.create(
-      "https://json.schemastore.org/sarif-2.1.0.json"
-    );
-    var run = createRun(analysisInfo);
-
-    return new SarifSchema210()
-      .with$schema(schema)
-      .withVersion(SarifSchema210.Version._2_1_0)
-      .withRuns(List.of(run));
+    var generator = mapper.createGenerator(reportFile, JsonEncoding.UTF8);
+
+    // Описание запуска (инструмент со всеми правилами, настройки) записывается сразу,
+    // а массив results - последним свойством run, по мере поступления результатов.
+    ObjectNode runNode = mapper.valueToTree(createRun());
+
+    generator.writeStartObject();
+    generator.writeStringProperty("$schema", SCHEMA.toString());
+    generator.writeStringProperty("version", SarifSchema210.Version._2_1_0.value());
+    generator.writeArrayPropertyStart("runs");
+    generator.writeStartObject();
+    runNode.remove("results");
+    for (var property : runNode.properties()) {
+      generator.writeName(property.getKey());
+      generator.writeTree(property.getValue());
+    }
+    generator.writeArrayPropertyStart("results");
+
+    return new Session(generator, reportFile);
   }
 
-  private Run createRun(AnalysisInfo analysisInfo) {
+  private Run createRun() {
     var tool = createTool(configuration);
     var invocation = createInvocation(configuration);
-    var results = createResults(analysisInfo);
 
     return new Run()
       .withTool(tool)
       .withInvocations(List.of(invocation))
       .withLanguage(configuration.getLanguage().getLanguageCode())
       .withDefaultEncoding("UTF-8")
-      .withDefaultSourceLanguage("BSL")
-      .withResults(results);
+      .withDefaultSourceLanguage("BSL");
   }
 
   private static Invocation createInvocation(LanguageServerConfiguration configuration) {
@@ -238,18 +241,6 @@ public class SarifReporter extends AbstractDiagnosticReporter {
       .withProperties(properties);
   }
 
-  private static List<Result> createResults(AnalysisInfo analysisInfo) {
-    var results = new ArrayList<Result>();
-
-    analysisInfo.fileinfos().forEach(fileInfo ->
-      fileInfo.getDiagnostics().stream()
-        .map(diagnostic -> createResult(fileInfo, diagnostic))
-        .collect(Collectors.toCollection(() -> results))
-    );
-
-    return results;
-  }
-
   private static Result createResult(FileInfo fileInfo, Diagnostic diagnostic) {
     var uri = Absolute.uri(fileInfo.getPath().toUri()).toString();
 
@@ -296,4 +287,29 @@ public class SarifReporter extends AbstractDiagnosticReporter {
       .withMessage(message)
       .withPhysicalLocation(physicalLocation);
   }
+
+  /**
+   * Сеанс записи результатов: каждый результат пишется в массив {@code results} сразу после получения.
+   */
+  private record Session(JsonGenerator generator, File reportFile) implements ReportSession {
+
+    @Override
+    public void accept(FileInfo fileInfo) {
+      synchronized (generator) {
+        fileInfo.getDiagnostics().forEach(diagnostic -> generator.writePOJO(createResult(fileInfo, diagnostic)));
+      }
+    }
+
+    @Override
+    public void close() {
+      synchronized (generator) {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+      }
+      LOGGER.info("SARIF report saved to {}", reportFile.getAbsolutePath());
+    }
+  }
 }
@@ -23,7 +23,6 @@ package com.github._1c_syntax.bsl.languageserver.semantictokens;
 
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
 import com.github._1c_syntax.bsl.languageserver.types.TypeService;
-import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import lombok.RequiredArgsConstructor;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.eclipse.lsp4j.Range;
@@ -102,10 +101,10 @@ public abstract class AbstractPlatformMemberSemanticTokensSupplier<T extends Par
 
   private List<SemanticTokenEntry> collect(DocumentContext documentContext, Predicate<Range> inScope) {
     var entries = new ArrayList<SemanticTokenEntry>();
-    var ast = documentContext.getAst();
+    var index = documentContext.getParseTreeIndex();
     var skip = skipFilter(documentContext);
 
-    for (T node : Trees.<T>findAllRuleNodes(ast, ruleIndex())) {
+    for (T node : index.<T>findAllRuleNodes(ruleIndex())) {
       nameRange(node)
         .filter(inScope)
         .filter(range -> !skip.test(node, range))
@@ -23,7 +23,6 @@ package com.github._1c_syntax.bsl.languageserver.semantictokens;
 
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
 import com.github._1c_syntax.bsl.languageserver.utils.Ranges;
-import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.parser.BSLParser;
 import lombok.RequiredArgsConstructor;
 import org.antlr.v4.runtime.ParserRuleContext;
@@ -47,15 +46,15 @@ public class AnnotationSemanticTokensSupplier implements SemanticTokensSupplier
   @Override
   public List<SemanticTokenEntry> getSemanticTokens(DocumentContext documentContext) {
     List<SemanticTokenEntry> entries = new ArrayList<>();
-    var ast = documentContext.getAst();
+    var index = documentContext.getParseTreeIndex();
 
     // Compiler directives: single Decorator from '&' through directive symbol
-    for (var compilerDirective : Trees.<BSLParser.CompilerDirectiveContext>findAllRuleNodes(ast, BSLParser.RULE_compilerDirective)) {
+    for (var compilerDirective : index.<BSLParser.CompilerDirectiveContext>findAllRuleNodes(BSLParser.RULE_compilerDirective)) {
       addAmpersandRange(entries, compilerDirective.AMPERSAND(), compilerDirective.compilerDirectiveSymbol());
     }
 
     // Annotations: single Decorator from '&' through annotation name; params identifiers as Parameter
-    for (var annotation : Trees.<BSLParser.AnnotationContext>findAllRuleNodes(ast, BSLParser.RULE_annotation)) {
+    for (var annotation : index.<BSLParser.AnnotationContext>findAllRuleNodes(BSLParser.RULE_annotation)) {
       addAmpersandRange(entries, annotation.AMPERSAND(), annotation.annotationName());
 
       var annotationParams = annotation.annotationParams();
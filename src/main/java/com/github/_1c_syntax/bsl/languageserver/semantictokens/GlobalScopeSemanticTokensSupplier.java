@@ -32,7 +32,6 @@ import com.github._1c_syntax.bsl.languageserver.types.model.TypeRef;
 import com.github._1c_syntax.bsl.languageserver.types.registry.GlobalScopeProvider;
 import com.github._1c_syntax.bsl.languageserver.types.registry.TypeRegistry;
 import com.github._1c_syntax.bsl.languageserver.utils.Ranges;
-import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.parser.BSLParser;
 import lombok.RequiredArgsConstructor;
 import org.antlr.v4.runtime.tree.TerminalNode;
@@ -75,19 +74,19 @@ public class GlobalScopeSemanticTokensSupplier implements SemanticTokensSupplier
   @Override
   public List<SemanticTokenEntry> getSemanticTokens(DocumentContext documentContext) {
     List<SemanticTokenEntry> entries = new ArrayList<>();
-    var ast = documentContext.getAst();
+    var index = documentContext.getParseTreeIndex();
     var fileType = documentContext.getFileType();
     var symbolTree = documentContext.getSymbolTree();
 
     // Идентификаторы в expression-позиции: `... = ПервыйОбщийМодуль.X(); А = Справочники.Y;`.
-    for (var node : Trees.findAllRuleNodes(ast, BSLParser.RULE_complexIdentifier)) {
+    for (var node : index.findAllRuleNodes(BSLParser.RULE_complexIdentifier)) {
       if (node instanceof BSLParser.ComplexIdentifierContext chain) {
         processIdentifier(entries, chain.IDENTIFIER(), chain.modifier(), fileType, symbolTree);
       }
     }
     // Идентификаторы в statement-позиции: `ПервыйОбщийМодуль.X();` без присваивания.
     // CallStatement — отдельный rule грамматики, с собственным IDENTIFIER+modifier-цепочкой.
-    for (var node : Trees.findAllRuleNodes(ast, BSLParser.RULE_callStatement)) {
+    for (var node : index.findAllRuleNodes(BSLParser.RULE_callStatement)) {
       if (node instanceof BSLParser.CallStatementContext callStmt) {
         processIdentifier(entries, callStmt.IDENTIFIER(), callStmt.modifier(), fileType, symbolTree);
       }
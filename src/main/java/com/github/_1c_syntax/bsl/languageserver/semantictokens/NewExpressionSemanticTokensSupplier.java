@@ -22,7 +22,6 @@
 package com.github._1c_syntax.bsl.languageserver.semantictokens;
 
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
-import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.parser.BSLParser;
 import lombok.RequiredArgsConstructor;
 import org.eclipse.lsp4j.SemanticTokenTypes;
@@ -47,10 +46,8 @@ public class NewExpressionSemanticTokensSupplier implements SemanticTokensSuppli
   public List<SemanticTokenEntry> getSemanticTokens(DocumentContext documentContext) {
     List<SemanticTokenEntry> entries = new ArrayList<>();
 
-    var newExpressions = Trees.<BSLParser.NewExpressionContext>findAllRuleNodes(
-      documentContext.getAst(),
-      BSLParser.RULE_newExpression
-    );
+    var newExpressions = documentContext.getParseTreeIndex()
+      .<BSLParser.NewExpressionContext>findAllRuleNodes(BSLParser.RULE_newExpression);
 
     for (var newExpression : newExpressions) {
       var typeName = newExpression.typeName();
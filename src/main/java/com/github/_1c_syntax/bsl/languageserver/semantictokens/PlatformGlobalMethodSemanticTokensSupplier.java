@@ -24,7 +24,6 @@ package com.github._1c_syntax.bsl.languageserver.semantictokens;
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
 import com.github._1c_syntax.bsl.languageserver.types.registry.GlobalScopeProvider;
 import com.github._1c_syntax.bsl.languageserver.utils.Ranges;
-import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.parser.BSLParser;
 import lombok.RequiredArgsConstructor;
 import org.eclipse.lsp4j.SemanticTokenModifiers;
@@ -60,11 +59,11 @@ public class PlatformGlobalMethodSemanticTokensSupplier implements SemanticToken
   @Override
   public List<SemanticTokenEntry> getSemanticTokens(DocumentContext documentContext) {
     List<SemanticTokenEntry> entries = new ArrayList<>();
-    var ast = documentContext.getAst();
+    var index = documentContext.getParseTreeIndex();
     var fileType = documentContext.getFileType();
     var symbolTree = documentContext.getSymbolTree();
 
-    for (var node : Trees.findAllRuleNodes(ast, BSLParser.RULE_globalMethodCall)) {
+    for (var node : index.findAllRuleNodes(BSLParser.RULE_globalMethodCall)) {
       if (!(node instanceof BSLParser.GlobalMethodCallContext call)) {
         continue;
       }
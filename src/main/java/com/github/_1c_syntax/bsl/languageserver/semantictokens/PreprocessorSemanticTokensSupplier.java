@@ -22,6 +22,7 @@
 package com.github._1c_syntax.bsl.languageserver.semantictokens;
 
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.context.ParseTreeIndex;
 import com.github._1c_syntax.bsl.languageserver.utils.Ranges;
 import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.parser.BSLLexer;
@@ -48,18 +49,18 @@ public class PreprocessorSemanticTokensSupplier implements SemanticTokensSupplie
   @Override
   public List<SemanticTokenEntry> getSemanticTokens(DocumentContext documentContext) {
     List<SemanticTokenEntry> entries = new ArrayList<>();
-    var ast = documentContext.getAst();
+    var index = documentContext.getParseTreeIndex();
 
-    addRegionsNamespaces(entries, ast);
-    addDirectives(entries, ast);
-    addOtherPreprocs(entries, ast);
+    addRegionsNamespaces(entries, index);
+    addDirectives(entries, index);
+    addOtherPreprocs(entries, index);
 
     return entries;
   }
 
   // Regions as Namespace: handle all regionStart and regionEnd nodes explicitly
-  private void addRegionsNamespaces(List<SemanticTokenEntry> entries, BSLParser.FileContext ast) {
-    for (var regionStart : Trees.<BSLParser.RegionStartContext>findAllRuleNodes(ast, BSLParser.RULE_regionStart)) {
+  private void addRegionsNamespaces(List<SemanticTokenEntry> entries, ParseTreeIndex index) {
+    for (var regionStart : index.<BSLParser.RegionStartContext>findAllRuleNodes(BSLParser.RULE_regionStart)) {
       // Namespace only for '#'+keyword part to avoid overlap with region name token
       var preprocessor = Trees.<BSLParser.PreprocessorContext>getAncestorByRuleIndex(regionStart, BSLParser.RULE_preprocessor);
       if (preprocessor != null && regionStart.PREPROC_REGION() != null) {
@@ -74,19 +75,19 @@ public class PreprocessorSemanticTokensSupplier implements SemanticTokensSupplie
         helper.addRange(entries, Ranges.create(regionStart.regionName()), SemanticTokenTypes.Variable);
       }
     }
-    for (var regionEnd : Trees.<BSLParser.RegionEndContext>findAllRuleNodes(ast, BSLParser.RULE_regionEnd)) {
+    for (var regionEnd : index.<BSLParser.RegionEndContext>findAllRuleNodes(BSLParser.RULE_regionEnd)) {
       addNamespaceForPreprocessorNode(entries, regionEnd);
     }
   }
 
   // Use directives as Namespace: #Использовать ...
   // Native/stack directives as Macro: #native, #stack
-  private void addDirectives(List<SemanticTokenEntry> entries, BSLParser.FileContext ast) {
-    for (var use : Trees.<BSLParser.UseContext>findAllRuleNodes(ast, BSLParser.RULE_use)) {
+  private void addDirectives(List<SemanticTokenEntry> entries, ParseTreeIndex index) {
+    for (var use : index.<BSLParser.UseContext>findAllRuleNodes(BSLParser.RULE_use)) {
       addNamespaceForUse(entries, use);
     }
 
-    for (var nativeCtx : Trees.<BSLParser.Preproc_nativeContext>findAllRuleNodes(ast, BSLParser.RULE_preproc_native)) {
+    for (var nativeCtx : index.<BSLParser.Preproc_nativeContext>findAllRuleNodes(BSLParser.RULE_preproc_native)) {
       var hash = nativeCtx.HASH();
       var nativeKw = nativeCtx.PREPROC_NATIVE();
       if (hash != null) {
@@ -97,7 +98,7 @@ public class PreprocessorSemanticTokensSupplier implements SemanticTokensSupplie
       }
     }
 
-    for (var stackCtx : Trees.<BSLParser.Preproc_stackContext>findAllRuleNodes(ast, BSLParser.RULE_preproc_stack)) {
+    for (var stackCtx : index.<BSLParser.Preproc_stackContext>findAllRuleNodes(BSLParser.RULE_preproc_stack)) {
       var hash = stackCtx.HASH();
       var stackKw = stackCtx.PREPROC_STACK();
       if (hash != null) {
@@ -111,8 +112,8 @@ public class PreprocessorSemanticTokensSupplier implements SemanticTokensSupplie
 
   // Other preprocessor directives: Macro for entire directive keyword (#Если, #КонецЕсли, etc.),
   // excluding region start/end, native, stack, use (handled as Namespace)
-  private void addOtherPreprocs(List<SemanticTokenEntry> entries, BSLParser.FileContext ast) {
-    for (var preprocessor : Trees.<BSLParser.PreprocessorContext>findAllRuleNodes(ast, BSLParser.RULE_preprocessor)) {
+  private void addOtherPreprocs(List<SemanticTokenEntry> entries, ParseTreeIndex index) {
+    for (var preprocessor : index.<BSLParser.PreprocessorContext>findAllRuleNodes(BSLParser.RULE_preprocessor)) {
       var containsRegion = (preprocessor.regionStart() != null) || (preprocessor.regionEnd() != null);
       if (containsRegion) {
         continue; // region handled as Namespace above
@@ -67,6 +67,8 @@ public class LambdaStringTokenizer {
 
   private static final Pattern LAMBDA_ARROW_PATTERN = Pattern.compile("->\\s*");
 
+  private static final String VIRTUAL_DOCUMENT_NAME_PREFIX = "virtual-lambda-";
+
   private static final String RETURN_KEYWORD = "Возврат";
 
   private static final Pattern QUOTE_PAIR_PATTERN =
@@ -301,7 +303,7 @@ public class LambdaStringTokenizer {
     }
 
     var virtualUri = Absolute.uri(
-      URI.create("file:///virtual-lambda-" + UUID.randomUUID() + ".os")
+      URI.create("file:///" + VIRTUAL_DOCUMENT_NAME_PREFIX + UUID.randomUUID() + ".os")
     );
 
     // Determine which lines belong to the real body (exclude fake header/footer)
@@ -326,6 +328,17 @@ public class LambdaStringTokenizer {
     }
   }
 
+  /**
+   * Проверить, является ли документ виртуальным документом тела лямбда-выражения.
+   *
+   * @param uri URI документа
+   * @return {@code true}, если документ создан для разбора тела лямбда-выражения
+   */
+  public static boolean isVirtualDocument(URI uri) {
+    var path = uri.getPath();
+    return path != null && path.substring(path.lastIndexOf('/') + 1).startsWith(VIRTUAL_DOCUMENT_NAME_PREFIX);
+  }
+
   private static int getFirstBodyLine(List<Token> group, int arrowEnd) {
     return buildContentSegments(group).stream()
       .filter(s -> s.contentOffset() + s.length() > arrowEnd)
@@ -21,8 +21,8 @@
  */
 package com.github._1c_syntax.bsl.languageserver.types.index;
 
+import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
 import com.github._1c_syntax.bsl.languageserver.infrastructure.WorkspaceScope;
-import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.parser.BSLParser;
 import org.springframework.stereotype.Component;
 
@@ -42,7 +42,8 @@ import java.util.concurrent.ConcurrentHashMap;
  * ({@code X.Колонки.Добавить(...)}) в {@code ExpressionTypeInferencer} ищет mutation-
  * вызовы для конкретной переменной. Раньше это был полный скан AST модуля
  * ({@code findAllRuleNodes(RULE_callStatement)}) на каждую такую переменную. Индекс
- * строит карту {@code базовый идентификатор → callStatement'ы} один раз на документ,
+ * строит карту {@code базовый идентификатор → callStatement'ы} один раз на документ
+ * по уже собранному {@link com.github._1c_syntax.bsl.languageserver.context.ParseTreeIndex},
  * и поиск становится hash-lookup'ом по имени переменной.
  * <p>
  * Индекс держит AST-узлы, поэтому инвалидируется per-URI на событиях жизненного
@@ -62,24 +63,25 @@ public class CallStatementByReceiverIndex extends AbstractDocumentLifecycleClear
    * callStatement'ы документа, базовый идентификатор которых равен {@code receiverName}
    * (без учёта регистра). Пустой список, если таких нет.
    *
-   * @param uri          URI документа.
-   * @param ast          корень AST документа (для ленивого построения индекса).
-   * @param receiverName имя ресивера (базового идентификатора цепочки).
+   * @param documentContext документ (для ленивого построения индекса).
+   * @param receiverName    имя ресивера (базового идентификатора цепочки).
    * @return callStatement'ы с таким ресивером.
    */
-  public List<BSLParser.CallStatementContext> byReceiver(URI uri, BSLParser.FileContext ast, String receiverName) {
+  public List<BSLParser.CallStatementContext> byReceiver(DocumentContext documentContext, String receiverName) {
     // Гонка clear<->computeIfAbsent осознанно не закрывается: если документ
     // инвалидируется ровно между clear и завершением build, в карте может осесть
     // индекс по предыдущему AST. Следующая инвалидация его уберёт, а инференс читает
     // свежий AST явно — устаревший индекс лишь продлевает жизнь старым узлам до
     // следующего события (та же модель «без кросс-документной инвалидации»).
-    var index = byUri.computeIfAbsent(uri, k -> build(ast));
+    var index = byUri.computeIfAbsent(documentContext.getUri(), k -> build(documentContext));
     return index.getOrDefault(receiverName.toLowerCase(Locale.ROOT), List.of());
   }
 
-  private static Map<String, List<BSLParser.CallStatementContext>> build(BSLParser.FileContext ast) {
+  private static Map<String, List<BSLParser.CallStatementContext>> build(DocumentContext documentContext) {
     var index = new HashMap<String, List<BSLParser.CallStatementContext>>();
-    for (var call : Trees.<BSLParser.CallStatementContext>findAllRuleNodes(ast, BSLParser.RULE_callStatement)) {
+    var calls = documentContext.getParseTreeIndex()
+      .<BSLParser.CallStatementContext>findAllRuleNodes(BSLParser.RULE_callStatement);
+    for (var call : calls) {
       var identifier = call.IDENTIFIER();
       if (identifier != null) {
         index.computeIfAbsent(identifier.getText().toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(call);
@@ -0,0 +1,175 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.types.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Постинговый индекс символьных грамм по уникальным lowercase-именам для fuzzy-хвоста
+ * {@link WorkspaceSymbolIndex#searchFuzzyTail(String, java.util.Collection,
+ * org.eclipse.lsp4j.jsonrpc.CancelChecker)}.
+ * <p>
+ * И подстрока внутри слова, и разбросанная подпоследовательность требуют, чтобы в имени встречался
+ * КАЖДЫЙ символ запроса. Поэтому индекс хранит для каждого символа множество идентификаторов имён,
+ * в которых он встречается ({@link BitSet}), и кандидаты на совпадение получаются пересечением
+ * множеств по символам запроса - без скоринга всех записей индекса. Граммы длиннее одного символа
+ * (триграммы) здесь не подходят: подпоследовательность вразброс не обязана содержать ни одной
+ * триграммы запроса, и фильтр по ним терял бы совпадения.
+ * <p>
+ * Индекс ведётся по уникальным именам, а не по записям: одно имя (например, {@code ПриСозданииНаСервере})
+ * повторяется в тысячах модулей, а скор fuzzy-совпадения зависит только от имени. Каждое имя
+ * получает постоянный идентификатор и счётчик ссылок. Имя, у которого не осталось записей, не
+ * вычищается из постингов сразу, а лишь снимается с отметки «живых» ({@link #alive}): повторная
+ * индексация документа с теми же именами возвращает их без перестройки постингов. Когда мёртвых
+ * имён накапливается больше половины, индекс уплотняется.
+ * <p>
+ * Не потокобезопасен: доступ только под блокировкой владельца.
+ */
+final class FuzzyCandidateIndex {
+
+  /**
+   * Минимальное число мёртвых имён, начиная с которого рассматривается уплотнение индекса.
+   */
+  private static final int MIN_DEAD_NAMES_TO_COMPACT = 1024;
+
+  private final Map<String, Integer> idByName = new HashMap<>();
+  private final ArrayList<String> names = new ArrayList<>();
+  private int[] refCounts = new int[64];
+  private final BitSet alive = new BitSet();
+  private final Map<Character, BitSet> idsByCharacter = new HashMap<>();
+  private int deadCount;
+
+  /**
+   * Учесть очередную запись с данным именем.
+   *
+   * @param lowerName lowercase-имя записи
+   */
+  void add(String lowerName) {
+    var id = idByName.get(lowerName);
+    if (id == null) {
+      id = names.size();
+      names.add(lowerName);
+      idByName.put(lowerName, id);
+      if (id == refCounts.length) {
+        refCounts = Arrays.copyOf(refCounts, refCounts.length * 2);
+      }
+      post(id, lowerName);
+    } else if (refCounts[id] == 0) {
+      deadCount--;
+    }
+
+    if (refCounts[id]++ == 0) {
+      alive.set(id);
+    }
+  }
+
+  /**
+   * Снять одну запись с данным именем.
+   *
+   * @param lowerName lowercase-имя записи
+   */
+  void remove(String lowerName) {
+    var id = idByName.get(lowerName);
+    if (id == null || refCounts[id] == 0) {
+      return;
+    }
+
+    if (--refCounts[id] == 0) {
+      alive.clear(id);
+      deadCount++;
+      if (deadCount >= MIN_DEAD_NAMES_TO_COMPACT && deadCount * 2 > names.size()) {
+        compact();
+      }
+    }
+  }
+
+  /**
+   * Отобрать живые имена, в которых встречается каждый символ запроса.
+   * <p>
+   * Это необходимое условие и подстрочного, и подпоследовательностного совпадения; точную проверку
+   * и скоринг выполняет вызывающий.
+   *
+   * @param lowerQuery lowercase-запрос, непустой
+   * @return имена-кандидаты
+   */
+  List<String> candidates(String lowerQuery) {
+    var ids = (BitSet) alive.clone();
+    for (var i = 0; i < lowerQuery.length() && !ids.isEmpty(); i++) {
+      var withCharacter = idsByCharacter.get(lowerQuery.charAt(i));
+      if (withCharacter == null) {
+        return List.of();
+      }
+      ids.and(withCharacter);
+    }
+
+    var result = new ArrayList<String>(ids.cardinality());
+    for (var id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+      result.add(names.get(id));
+    }
+    return result;
+  }
+
+  /**
+   * Ужать рабочие структуры после массового наполнения.
+   */
+  void trimToSize() {
+    names.trimToSize();
+  }
+
+  private void post(int id, String lowerName) {
+    for (var i = 0; i < lowerName.length(); i++) {
+      idsByCharacter.computeIfAbsent(lowerName.charAt(i), character -> new BitSet()).set(id);
+    }
+  }
+
+  /**
+   * Перенумеровать живые имена подряд и перестроить постинги без мёртвых имён.
+   */
+  private void compact() {
+    var liveNames = new ArrayList<String>(names.size() - deadCount);
+    var liveRefCounts = new int[Math.max(64, names.size() - deadCount)];
+    for (var id = alive.nextSetBit(0); id >= 0; id = alive.nextSetBit(id + 1)) {
+      liveRefCounts[liveNames.size()] = refCounts[id];
+      liveNames.add(names.get(id));
+    }
+
+    idByName.clear();
+    names.clear();
+    alive.clear();
+    idsByCharacter.clear();
+    deadCount = 0;
+    refCounts = liveRefCounts;
+
+    for (var id = 0; id < liveNames.size(); id++) {
+      var lowerName = liveNames.get(id);
+      names.add(lowerName);
+      idByName.put(lowerName, id);
+      alive.set(id);
+      post(id, lowerName);
+    }
+  }
+}
@@ -22,6 +22,8 @@
 package com.github._1c_syntax.bsl.languageserver.types.index;
 
 import com.github._1c_syntax.bsl.languageserver.context.events.ConfigurationTypesRegisteredEvent;
+import com.github._1c_syntax.bsl.languageserver.context.events.ServerContextDocumentClearedEvent;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.SourceDefinedSymbol;
 import com.github._1c_syntax.bsl.languageserver.context.symbol.VariableSymbol;
 import com.github._1c_syntax.bsl.languageserver.infrastructure.WorkspaceScope;
 import com.github._1c_syntax.bsl.languageserver.types.model.TypeSet;
@@ -30,8 +32,14 @@ import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Кэш выведенных типов переменных, разрезанный по URI документа.
@@ -53,11 +61,25 @@ import java.util.concurrent.ConcurrentHashMap;
  * позицию имени, поэтому одноимённые переменные из разных областей видимости —
  * разные ключи (коллизий по scope нет).
  * <p>
- * Инвалидация — per-URI через {@link AbstractDocumentLifecycleClearableIndex}
- * (изменение / очистка вторичных данных / закрытие / удаление документа удаляют
- * весь бакет этого URI). Кросс-документные зависимости типа (тип переменной зависит
- * от метода чужого модуля) при правке чужого модуля не сбрасываются — это та же
- * модель, что у {@link SymbolTypeIndex}.
+ * Инвалидация — по графу зависимостей. Вместе с типом запись хранит
+ * {@link Dependencies}: чужие документы, символы которых читал инференс
+ * (методы и переменные других модулей, источники членов разыменованных типов),
+ * закэшированные переменные, на которые он опирался, и признак зависимости от
+ * конфигурационных типов. Изменение / закрытие / удаление документа сбрасывает
+ * бакет его URI и транзитивно — записи, прочитавшие этот документ или уже
+ * сброшенные переменные. Регистрация конфигурационных типов сбрасывает только
+ * записи с признаком конфигурационной зависимости. Остальные записи рабочей
+ * области переживают правку и перезагрузку конфигурации.
+ * <p>
+ * Для каждой записи помнятся ребра, в которых она числится зависимой
+ * ({@link Edges}): при её сбросе или перезаписи она удаляется из наборов чужих
+ * документов и переменных, иначе сброшенные символы копились бы в них до правки
+ * прочитанного документа.
+ * <p>
+ * Освобождение вторичных данных документа снимает и ребра его записей: иначе
+ * наборы зависимостей удерживали бы символы освобождённого дерева. Записи других
+ * документов, опиравшиеся на типы его переменных, перевешиваются на сам документ,
+ * поэтому его последующая правка по-прежнему до них доходит.
  */
 @Component
 @WorkspaceScope
@@ -65,6 +87,24 @@ public class InferredVariableTypeIndex extends AbstractDocumentLifecycleClearabl
 
   private final Map<URI, Map<VariableSymbol, TypeSet>> typesByUri = new ConcurrentHashMap<>();
 
+  /** Документ → записи других документов, прочитавшие его при инференсе. */
+  private final Map<URI, Set<VariableSymbol>> dependentsByDocument = new ConcurrentHashMap<>();
+
+  /** Переменная → записи, использовавшие её закэшированный тип. */
+  private final Map<VariableSymbol, Set<VariableSymbol>> dependentsByVariable = new ConcurrentHashMap<>();
+
+  /** Запись → ребра, в которых она зарегистрирована как зависимая. */
+  private final Map<VariableSymbol, Edges> edgesByVariable = new ConcurrentHashMap<>();
+
+  /** Записи, зависящие от зарегистрированных конфигурационных типов. */
+  private final Set<VariableSymbol> configurationDependent = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Счётчик сбросов. Инференс, во время которого случился сброс, не кэшируется:
+   * он мог прочитать документ до его изменения.
+   */
+  private final AtomicLong invalidations = new AtomicLong();
+
   /**
    * Кэшированный тип переменной либо {@code null}, если ещё не вычислялся.
    *
@@ -78,38 +118,280 @@ public class InferredVariableTypeIndex extends AbstractDocumentLifecycleClearabl
   }
 
   /**
-   * Запомнить выведенный тип переменной.
+   * Начать сбор зависимостей инференса переменной. Результат передаётся в
+   * {@link #put(VariableSymbol, TypeSet, Dependencies)} по завершении инференса.
    *
-   * @param variable переменная.
-   * @param types    выведенный тип.
+   * @return пустой набор зависимостей, привязанный к текущему состоянию кэша.
+   */
+  public Dependencies newDependencies() {
+    return new Dependencies(invalidations.get());
+  }
+
+  /**
+   * Запомнить выведенный тип переменной вместе с прочитанными при инференсе зависимостями.
+   * Если с момента {@link #newDependencies()} кэш сбрасывался, тип не сохраняется.
+   *
+   * @param variable     переменная.
+   * @param types        выведенный тип.
+   * @param dependencies зависимости инференса.
    */
-  public void put(VariableSymbol variable, TypeSet types) {
-    typesByUri.computeIfAbsent(uriOf(variable), k -> new ConcurrentHashMap<>()).put(variable, types);
+  public void put(VariableSymbol variable, TypeSet types, Dependencies dependencies) {
+    var uri = uriOf(variable);
+    // Обратные ребра регистрируются до записи типа: сброс, пришедший между
+    // ними, должен найти запись.
+    var documents = new HashSet<URI>();
+    for (var document : dependencies.documents) {
+      if (!document.equals(uri)) {
+        link(dependentsByDocument, document, variable);
+        documents.add(document);
+      }
+    }
+    var variables = new HashSet<VariableSymbol>();
+    for (var dependency : dependencies.variables) {
+      if (!dependency.equals(variable)) {
+        link(dependentsByVariable, dependency, variable);
+        variables.add(dependency);
+      }
+    }
+    var edges = new Edges(documents, variables);
+    var previous = edgesByVariable.put(variable, edges);
+    if (previous != null) {
+      unlink(variable, previous, edges);
+    }
+    if (dependencies.configuration) {
+      configurationDependent.add(variable);
+    }
+    var byVariable = typesByUri.computeIfAbsent(uri, k -> new ConcurrentHashMap<>());
+    byVariable.put(variable, types);
+    if (invalidations.get() != dependencies.invalidations) {
+      byVariable.remove(variable, types);
+    }
   }
 
   /**
-   * Удалить кэш по URI документа.
+   * Сбросить кэш документа и транзитивно — записи, читавшие его при инференсе.
    *
    * @param uri URI документа.
    */
   @Override
   public void clear(URI uri) {
-    typesByUri.remove(uri);
+    var roots = new HashSet<VariableSymbol>();
+    var own = typesByUri.remove(uri);
+    if (own != null) {
+      roots.addAll(own.keySet());
+    }
+    var readers = dependentsByDocument.remove(uri);
+    if (readers != null) {
+      roots.addAll(readers);
+    }
+    invalidate(roots);
   }
 
   /**
-   * Полный сброс кэша после регистрации конфигурационных типов: типы
-   * параметров обработчиков платформенных событий разрешаются через
+   * Освобождение вторичных данных (batch-анализ) не меняет содержимого документа:
+   * выводы, прочитавшие его, остаются верными. Сбрасывается собственный бакет URI
+   * вместе с ребрами его записей — ради памяти. Записи других документов, зависевшие
+   * от переменных документа, регистрируются зависимыми от самого документа, чтобы
+   * последующая правка документа по-прежнему дошла до них.
+   */
+  @Override
+  @EventListener
+  public void handleDataCleared(ServerContextDocumentClearedEvent event) {
+    var uri = event.getDocumentContext().getUri();
+    var own = typesByUri.remove(uri);
+    if (own == null) {
+      return;
+    }
+    var variables = own.keySet();
+    for (var variable : variables) {
+      configurationDependent.remove(variable);
+      var edges = edgesByVariable.remove(variable);
+      if (edges != null) {
+        unlink(variable, edges, Edges.NONE);
+      }
+    }
+    for (var variable : variables) {
+      var dependents = dependentsByVariable.remove(variable);
+      if (dependents == null) {
+        continue;
+      }
+      for (var dependent : dependents) {
+        var edges = edgesByVariable.computeIfPresent(dependent,
+          (VariableSymbol key, Edges previous) -> previous.withDocumentInsteadOf(uri, variable));
+        if (edges != null) {
+          link(dependentsByDocument, uri, dependent);
+        }
+      }
+    }
+  }
+
+  /**
+   * Сброс выводов, зависящих от конфигурационных типов, после их регистрации:
+   * типы параметров обработчиков платформенных событий разрешаются через
    * {@code EventContractsIndex}, который до регистрации возвращал пусто
-   * (owner-тип модуля не в реестре). Кэшированные «пустые» инференсы
-   * параметров надо пересчитать с уже заполненным реестром.
+   * (owner-тип модуля не в реестре), а имена типов из описаний и конструкторов
+   * могли не разрешаться. Такие выводы надо пересчитать с уже заполненным
+   * реестром; выводы по платформенным типам и локальным литералам остаются.
    */
   @EventListener
   public void handleConfigurationTypesRegistered(ConfigurationTypesRegisteredEvent event) {
-    typesByUri.clear();
+    var roots = List.copyOf(configurationDependent);
+    configurationDependent.removeAll(roots);
+    invalidate(roots);
+  }
+
+  private void invalidate(Collection<VariableSymbol> roots) {
+    invalidations.incrementAndGet();
+    var queue = new ArrayDeque<>(roots);
+    var visited = new HashSet<VariableSymbol>();
+    while (!queue.isEmpty()) {
+      var variable = queue.poll();
+      if (!visited.add(variable)) {
+        continue;
+      }
+      var byVariable = typesByUri.get(uriOf(variable));
+      if (byVariable != null) {
+        byVariable.remove(variable);
+      }
+      configurationDependent.remove(variable);
+      var dependents = dependentsByVariable.remove(variable);
+      if (dependents != null) {
+        queue.addAll(dependents);
+      }
+      var edges = edgesByVariable.remove(variable);
+      if (edges != null) {
+        unlink(variable, edges, Edges.NONE);
+      }
+    }
+  }
+
+  /**
+   * Убрать запись из наборов зависимых тех ребер, которых нет в {@code kept}.
+   */
+  private void unlink(VariableSymbol variable, Edges edges, Edges kept) {
+    for (var document : edges.documents()) {
+      if (!kept.documents().contains(document)) {
+        unlink(dependentsByDocument, document, variable);
+      }
+    }
+    for (var dependency : edges.variables()) {
+      if (!kept.variables().contains(dependency)) {
+        unlink(dependentsByVariable, dependency, variable);
+      }
+    }
+  }
+
+  /**
+   * @return суммарное число зарегистрированных ребер зависимостей.
+   */
+  int dependentCount() {
+    return dependentsByDocument.values().stream().mapToInt(Set::size).sum()
+      + dependentsByVariable.values().stream().mapToInt(Set::size).sum();
+  }
+
+  private static <K> void link(Map<K, Set<VariableSymbol>> dependents, K key, VariableSymbol variable) {
+    dependents.compute(key, (K k, @Nullable Set<VariableSymbol> set) -> {
+      var result = set == null ? ConcurrentHashMap.<VariableSymbol>newKeySet() : set;
+      result.add(variable);
+      return result;
+    });
+  }
+
+  private static <K> void unlink(Map<K, Set<VariableSymbol>> dependents, K key, VariableSymbol variable) {
+    dependents.computeIfPresent(key, (K k, Set<VariableSymbol> set) -> {
+      set.remove(variable);
+      return set.isEmpty() ? null : set;
+    });
   }
 
   private static URI uriOf(VariableSymbol variable) {
     return variable.getOwner().getUri();
   }
+
+  /**
+   * Ребра, в которых запись числится зависимой: чужие документы и переменные.
+   */
+  private record Edges(Set<URI> documents, Set<VariableSymbol> variables) {
+    private static final Edges NONE = new Edges(Set.of(), Set.of());
+
+    /**
+     * Ребра, в которых зависимость от переменной заменена зависимостью от её документа.
+     */
+    private Edges withDocumentInsteadOf(URI document, VariableSymbol variable) {
+      var newDocuments = new HashSet<>(documents);
+      newDocuments.add(document);
+      var newVariables = new HashSet<>(variables);
+      newVariables.remove(variable);
+      return new Edges(newDocuments, newVariables);
+    }
+  }
+
+  /**
+   * Зависимости одного инференса переменной: что он прочитал помимо собственного
+   * документа. Собирается на потоке инференса и потокобезопасности не требует.
+   */
+  public static final class Dependencies {
+
+    private final long invalidations;
+    private final Set<URI> documents = new HashSet<>();
+    private final Set<VariableSymbol> variables = new HashSet<>();
+    private boolean configuration;
+
+    /**
+     * Набор, не привязанный к кэшу: выводы с ним не сохраняются. Используется
+     * как приемник зависимостей вне инференса конкретной переменной.
+     */
+    public Dependencies() {
+      this(-1);
+    }
+
+    private Dependencies(long invalidations) {
+      this.invalidations = invalidations;
+    }
+
+    /**
+     * Инференс прочитал документ (символы модуля, источники членов его типа).
+     *
+     * @param uri URI документа.
+     */
+    public void readDocument(URI uri) {
+      documents.add(uri);
+    }
+
+    /**
+     * Инференс прочитал символ — зависимость от документа-владельца.
+     *
+     * @param symbol символ.
+     */
+    public void readSymbol(SourceDefinedSymbol symbol) {
+      documents.add(symbol.getOwner().getUri());
+    }
+
+    /**
+     * Инференс взял закэшированный тип другой переменной.
+     *
+     * @param variable переменная.
+     */
+    public void readVariable(VariableSymbol variable) {
+      variables.add(variable);
+    }
+
+    /**
+     * Инференс разрешал имена через реестр конфигурационных типов или контракты событий.
+     */
+    public void readConfiguration() {
+      configuration = true;
+    }
+
+    /**
+     * Перенести зависимости вложенного инференса во внешний.
+     *
+     * @param other зависимости вложенного инференса.
+     */
+    public void addAll(Dependencies other) {
+      documents.addAll(other.documents);
+      variables.addAll(other.variables);
+      configuration |= other.configuration;
+    }
+  }
 }
@@ -100,10 +100,11 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * по фрагментам. Полное совпадение имени — максимальный ранг, совпадения по подсловам — ранг ниже.
  * <p>
  * «Грязный» fuzzy-хвост (непрерывная подстрока внутри слова и разбросанная подпоследовательность)
- * вынесен в ОТДЕЛЬНЫЙ метод {@link #searchFuzzyTail(String, Collection, CancelChecker)}. Это медленный
- * линейный путь по снимку уникальных записей, предназначенный для потоковой дослыки
- * нижнеранжированных результатов через partial result progress; в синхронный ответ {@code search}
- * он НЕ входит.
+ * вынесен в ОТДЕЛЬНЫЙ метод {@link #searchFuzzyTail(String, Collection, CancelChecker)}, предназначенный
+ * для потоковой дослыки нижнеранжированных результатов через partial result progress; в синхронный
+ * ответ {@code search} он НЕ входит. Кандидаты хвоста отбираются постинговым индексом символов по
+ * уникальным именам ({@link FuzzyCandidateIndex}), так что скорингу подвергаются только имена,
+ * содержащие все символы запроса, а не все записи индекса.
  * <p>
  * Индекс наследует {@link AbstractDocumentLifecycleClearableIndex}: его {@code @EventListener}'ы
  * сбрасывают записи документа на изменение содержимого, освобождение данных, закрытие и удаление.
@@ -205,6 +206,14 @@ public class WorkspaceSymbolIndex extends AbstractDocumentLifecycleClearableInde
    */
   private final ConcurrentMap<URI, List<Entry>> indexedByUri = new ConcurrentHashMap<>();
 
+  /**
+   * Кандидаты fuzzy-хвоста: постинги символов по уникальным lowercase-именам записей.
+   * <p>
+   * Меняется и читается под {@link #lock} согласованно с {@link #trie}: имя считается живым, пока в
+   * дереве есть хотя бы одна запись с таким полным именем.
+   */
+  private final FuzzyCandidateIndex fuzzyCandidates = new FuzzyCandidateIndex();
+
   /**
    * Защита {@link #trie}: read-lock на запросах, write-lock на переиндексации и сбросе.
    */
@@ -269,6 +278,7 @@ public class WorkspaceSymbolIndex extends AbstractDocumentLifecycleClearableInde
           arrayList.trimToSize();
         }
       }
+      fuzzyCandidates.trimToSize();
     } finally {
       lock.writeLock().unlock();
     }
@@ -297,6 +307,7 @@ public class WorkspaceSymbolIndex extends AbstractDocumentLifecycleClearableInde
       var keys = new HashSet<String>();
       for (var entry : removed) {
         keys.addAll(keysOf(entry.name()));
+        fuzzyCandidates.remove(entry.lowerName());
       }
       for (var key : keys) {
         removeEntryFromKey(key, uri);
@@ -390,19 +401,22 @@ public class WorkspaceSymbolIndex extends AbstractDocumentLifecycleClearableInde
    * Найти «грязный» fuzzy-хвост выдачи: совпадения по непрерывной подстроке ВНУТРИ слова и по
    * разбросанной подпоследовательности, которых нет в древесном {@link #search(String, CancelChecker)}.
    * <p>
-   * Метод намеренно отделён от {@code search}: это медленный линейный путь, предназначенный для
-   * потоковой дослыки нижнеранжированных результатов через partial result progress, а не для
-   * синхронного ответа. Возвращаются только записи, которых НЕТ в {@code exclude} (сравнение по
+   * Метод намеренно отделён от {@code search}: он предназначен для потоковой дослыки
+   * нижнеранжированных результатов через partial result progress, а не для синхронного ответа.
+   * Возвращаются только записи, которых НЕТ в {@code exclude} (сравнение по
    * идентичности), отсортированные тем же {@link Scored}-порядком: подстрочные
    * ({@link FuzzyMatcher#SCORE_SUBSTRING}) выше подпоследовательностных
    * ({@link FuzzyMatcher#SCORE_SUBSEQUENCE}{@code  + позиция}),
    * при равном скоре раньше более короткое имя, затем более ранняя позиция. Пустой запрос даёт пустой
    * список (полная выдача — это путь пустого запроса {@code search}, fuzzy там не нужен).
    * <p>
-   * Потокобезопасность: под read-lock снимается СНИМОК уникальных записей ({@link #indexedByUri}),
-   * затем блокировка отпускается, и скоринг/фильтрация идут вне блокировки (записи {@link Entry}
-   * неизменяемы). Отмена проверяется периодически в ходе скана; при отмене бросается
-   * {@link java.util.concurrent.CancellationException}.
+   * Скан всех записей не выполняется: {@link FuzzyCandidateIndex} отбирает уникальные имена, в которых
+   * встречается каждый символ запроса, скор {@link FuzzyMatcher#fuzzyScore(String, String)} считается
+   * один раз на имя, а записи совпавшего имени берутся из дерева по ключу полного имени.
+   * <p>
+   * Потокобезопасность: отбор и скоринг идут под read-lock, как и в {@code search}; записи
+   * {@link Entry} неизменяемы и безопасно покидают блокировку. Отмена проверяется периодически в ходе
+   * отбора; при отмене бросается {@link java.util.concurrent.CancellationException}.
    *
    * @param query         строка запроса пользователя; пустая строка даёт пустой результат
    * @param exclude       записи, уже отданные быстрым путём, исключаемые из хвоста (по идентичности)
@@ -417,61 +431,47 @@ public class WorkspaceSymbolIndex extends AbstractDocumentLifecycleClearableInde
       return List.of();
     }
 
-    var snapshot = snapshotEntries();
-
     var progress = new ScanProgress(cancelChecker);
     var matches = new ArrayList<Scored>();
-    for (var entry : snapshot) {
-      progress.advance();
-      var fuzzyScore = fuzzyTailScore(entry, lowerQuery, exclude);
-      if (fuzzyScore >= 0) {
-        matches.add(new Scored(fuzzyScore, entry));
+
+    lock.readLock().lock();
+    try {
+      for (var lowerName : fuzzyCandidates.candidates(lowerQuery)) {
+        progress.advance();
+        var fuzzyScore = fuzzyMatcher.fuzzyScore(lowerName, lowerQuery);
+        if (fuzzyScore < 0) {
+          continue;
+        }
+        collectFuzzyMatches(lowerName, fuzzyScore, exclude, matches);
       }
+    } finally {
+      lock.readLock().unlock();
     }
+
     matches.sort(Comparator.naturalOrder());
     return matches.stream().map(Scored::entry).toList();
   }
 
   /**
-   * Вычислить скор записи для fuzzy-хвоста, учитывая исключение уже отданных быстрым путём записей.
+   * Добавить в выдачу fuzzy-хвоста записи с данным полным именем, не отданные быстрым путём.
    * <p>
-   * Запись, присутствующая в {@code exclude} (сравнение по идентичности), отбрасывается ({@code -1}),
-   * иначе возвращается её fuzzy-скор {@link FuzzyMatcher#fuzzyScore(String, String)} (тоже {@code -1},
-   * если совпадения нет). Выделено из цикла
-   * {@link #searchFuzzyTail(String, Collection, CancelChecker)}, чтобы условия отбора не приходилось
-   * выражать множественными {@code continue}.
+   * Записи берутся из бакета дерева по ключу полного имени; в том же бакете лежат записи, у которых
+   * это имя - лишь суффикс от начала слова, они отбрасываются. Вызывается под read-lock.
    *
-   * @param entry      запись-кандидат
-   * @param lowerQuery lowercase-запрос (непустой)
+   * @param lowerName  lowercase-имя, совпавшее с запросом
+   * @param fuzzyScore скор совпадения имени
    * @param exclude    записи, уже отданные быстрым путём (сравнение по идентичности)
-   * @return скор {@code >= FuzzyMatcher.SCORE_SUBSTRING}, либо {@code -1}, если запись исключена или не совпала
+   * @param matches    накопитель выдачи
    */
-  private int fuzzyTailScore(Entry entry, String lowerQuery, Collection<Entry> exclude) {
-    if (exclude.contains(entry)) {
-      return -1;
+  private void collectFuzzyMatches(String lowerName, int fuzzyScore, Collection<Entry> exclude, List<Scored> matches) {
+    var bucket = trie.get(lowerName);
+    if (bucket == null) {
+      return;
     }
-    return fuzzyMatcher.fuzzyScore(entry.lowerName(), lowerQuery);
-  }
-
-  /**
-   * Снять под read-lock снимок всех уникальных записей индекса, чтобы дальнейший скан шёл вне
-   * блокировки.
-   * <p>
-   * Записи {@link Entry} неизменяемы, поэтому скоринг по снимку после отпускания блокировки
-   * безопасен и не держит read-lock на всё время медленного линейного прохода.
-   *
-   * @return новый список всех уникальных записей индекса на момент вызова
-   */
-  private List<Entry> snapshotEntries() {
-    lock.readLock().lock();
-    try {
-      var snapshot = new ArrayList<Entry>();
-      for (var entries : indexedByUri.values()) {
-        snapshot.addAll(entries);
+    for (var entry : bucket) {
+      if (entry.lowerName().equals(lowerName) && !exclude.contains(entry)) {
+        matches.add(new Scored(fuzzyScore, entry));
       }
-      return snapshot;
-    } finally {
-      lock.readLock().unlock();
     }
   }
 
@@ -699,7 +699,16 @@ public class WorkspaceSymbolIndex extends AbstractDocumentLifecycleClearableInde
       collected.add(toEntry(uri, symbol, scriptVariant));
     }
 
-    var snapshot = List.copyOf(collected);
+    index(uri, List.copyOf(collected));
+  }
+
+  /**
+   * Заменить записи документа готовым снимком.
+   *
+   * @param uri      URI документа
+   * @param snapshot неизменяемый список записей документа в порядке обхода дерева символов
+   */
+  void index(URI uri, List<Entry> snapshot) {
     // Переиндексация — no-op, если набор записей не изменился. При batch-анализе один и тот же
     // документ перестраивается дважды (populateContext, затем rebuild на этапе диагностик), но
     // индексируемые данные (имя, kind, range, теги, containerName) не меняются. Entry — record со
@@ -729,6 +738,7 @@ public class WorkspaceSymbolIndex extends AbstractDocumentLifecycleClearableInde
           }
           bucket.add(entry);
         }
+        fuzzyCandidates.add(entry.lowerName());
       }
     } finally {
       lock.writeLock().unlock();
@@ -48,6 +48,7 @@ import com.github._1c_syntax.bsl.languageserver.types.oscript.extends_.ExtendsAn
 import com.github._1c_syntax.bsl.languageserver.types.oscript.extends_.OScriptExtends;
 import com.github._1c_syntax.bsl.languageserver.types.registry.GlobalScopeProvider;
 import com.github._1c_syntax.bsl.languageserver.types.registry.TypeRegistry;
+import com.github._1c_syntax.bsl.languageserver.utils.CancelCheckers;
 import com.github._1c_syntax.bsl.languageserver.utils.Ranges;
 import com.github._1c_syntax.bsl.languageserver.utils.DescriptionTypes;
 import com.github._1c_syntax.bsl.languageserver.utils.Trees;
@@ -67,6 +68,7 @@ import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.TerminalNode;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Component;
 
@@ -80,6 +82,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.function.Predicate;
 
 /**
@@ -92,6 +95,10 @@ import java.util.function.Predicate;
  * <p>
  * Резолв идентификаторов — через {@link ReferenceResolver}, который дёшев и
  * накапливает finder'ы из всего проекта (variable, method, module и т.д.).
+ * <p>
+ * Вывод кооперативно отменяем: проверяющий отмены проверяется на каждом шаге рекурсии
+ * и при обходе определений переменной. Отмена не поглощается защитой от ошибок
+ * и не попадает в кэш выведенных типов.
  */
 @Component
 @WorkspaceScope
@@ -120,11 +127,23 @@ public class ExpressionTypeInferencer {
 
   /**
    * Вывести типы выражения в контексте документа.
+   * Отменяется проверяющим, привязанным к текущему потоку (см. {@link CancelCheckers}).
    */
   public TypeSet infer(BslExpression expression, DocumentContext documentContext) {
-    var ctx = new InferenceContext(documentContext);
+    return infer(expression, documentContext, CancelCheckers.current());
+  }
+
+  /**
+   * Вывести типы выражения в контексте документа с возможностью отмены.
+   *
+   * @throws CancellationException если вывод отменён
+   */
+  public TypeSet infer(BslExpression expression, DocumentContext documentContext, CancelChecker cancelChecker) {
+    var ctx = new InferenceContext(documentContext, cancelChecker);
     try {
       return inferInternal(expression, ctx);
+    } catch (CancellationException e) {
+      throw e;
     } catch (StackOverflowError | RuntimeException e) {
       return TypeSet.EMPTY;
     }
@@ -138,7 +157,7 @@ public class ExpressionTypeInferencer {
       return symbolTypeIndex.getDeclaredReturnTypes(method);
     }
     if (symbol instanceof VariableSymbol variable) {
-      var ctx = new InferenceContext(variable.getOwner());
+      var ctx = new InferenceContext(variable.getOwner(), CancelCheckers.current());
       return inferVariable(variable, ctx);
     }
     if (symbol instanceof ModuleSymbol module) {
@@ -169,6 +188,7 @@ public class ExpressionTypeInferencer {
     if (node == null || ctx.depth >= MAX_DEPTH) {
       return TypeSet.EMPTY;
     }
+    ctx.cancelChecker.checkCanceled();
     ctx.depth++;
     try {
       return switch (node.getNodeType()) {
@@ -246,7 +266,7 @@ public class ExpressionTypeInferencer {
     // его родительским классом, чтобы _ОбъектРодитель.МетодБазы() резолвился.
     if (ExtendsAnnotations.IMPLICIT_PARENT_FIELD.equalsIgnoreCase(text)
       && ctx.documentContext.getFileType() == FileType.OS) {
-      var parent = parentClassType(ctx.documentContext);
+      var parent = parentClassType(ctx.documentContext, ctx);
       if (!parent.isEmpty()) {
         return parent;
       }
@@ -255,7 +275,10 @@ public class ExpressionTypeInferencer {
     // все приходят как глобальные свойства.
     // Только PROPERTY: голое имя глобальной функции (METHOD) — не значение, а
     // имена типов для `Новый` (Структура) вообще не члены контекста.
+    // Глобальная область пополняется конфигурацией (менеджеры, общие модули).
+    ctx.dependencies.readConfiguration();
     return globalScopeProvider.globalProperty(text, ctx.documentContext.getFileType())
+      .map(member -> readMemberSource(member, ctx))
       .map(MemberDescriptor::returnTypes)
       .filter(types -> types.refs().stream().anyMatch(ref -> !ref.equals(TypeRef.UNKNOWN)))
       .orElse(TypeSet.EMPTY);
@@ -280,7 +303,7 @@ public class ExpressionTypeInferencer {
     if (typeName == null || typeName.isBlank()) {
       return TypeSet.EMPTY;
     }
-    var base = typeRegistry.resolve(typeName, ctx.documentContext.getFileType())
+    var base = resolveTypeName(typeName, ctx.documentContext.getFileType(), ctx)
       .map(TypeSet::of)
       .orElseGet(() -> TypeSet.of(typeRegistry.intern(TypeKind.USER, typeName)));
     base = attachDefaultElementTypes(base);
@@ -321,7 +344,7 @@ public class ExpressionTypeInferencer {
       if (name.isEmpty()) {
         continue;
       }
-      typeRegistry.resolve(name, fileType).ifPresent(refs::add);
+      resolveTypeName(name, fileType, ctx).ifPresent(refs::add);
     }
     if (refs.isEmpty()) {
       return base;
@@ -481,7 +504,7 @@ public class ExpressionTypeInferencer {
       .flatMap(Reference::getSourceDefinedSymbol)
       .filter(MethodSymbol.class::isInstance)
       .map(MethodSymbol.class::cast)
-      .map(symbolTypeIndex::getDeclaredReturnTypes);
+      .map(method -> declaredReturnTypes(method, ctx));
     if (sourceDefinedReturn.isPresent() && !sourceDefinedReturn.get().isEmpty()) {
       return sourceDefinedReturn.get();
     }
@@ -499,7 +522,9 @@ public class ExpressionTypeInferencer {
     if (methodName == null || methodName.isBlank()) {
       return TypeSet.EMPTY;
     }
+    ctx.dependencies.readConfiguration();
     return globalScopeProvider.globalFunction(methodName, ctx.documentContext.getFileType())
+      .map(member -> readMemberSource(member, ctx))
       .map(MemberDescriptor::returnTypes)
       .filter(types -> !types.isEmpty())
       .orElse(TypeSet.EMPTY);
@@ -646,6 +671,7 @@ public class ExpressionTypeInferencer {
       // методами вида .Добавить()/.Получить()/.Вставить(), у которых return-тип
       // совпадает с element-ref'ом коллекции.
       var elementSet = leftTypes.getElementTypes(leftType);
+      readMembers(leftType, ctx);
       for (var member : typeRegistry.getMembers(leftType, ctx.documentContext.getFileType())) {
         if (member.kind() != expectedKind) {
           continue;
@@ -661,7 +687,7 @@ public class ExpressionTypeInferencer {
           var declaredReturn = member.getSourceSymbol()
             .filter(MethodSymbol.class::isInstance)
             .map(MethodSymbol.class::cast)
-            .map(symbolTypeIndex::getDeclaredReturnTypes)
+            .map(method -> declaredReturnTypes(method, ctx))
             .filter(declared -> !declared.isEmpty());
           if (declaredReturn.isPresent()) {
             result = result.union(declaredReturn.get());
@@ -740,9 +766,10 @@ public class ExpressionTypeInferencer {
     if (!ctx.visited.add(symbol)) {
       return TypeSet.EMPTY;
     }
+    ctx.dependencies.readSymbol(symbol);
     try {
       if (symbol instanceof MethodSymbol method) {
-        return symbolTypeIndex.getDeclaredReturnTypes(method);
+        return declaredReturnTypes(method, ctx);
       }
       if (symbol instanceof VariableSymbol variable) {
         return inferVariable(variable, ctx);
@@ -769,18 +796,48 @@ public class ExpressionTypeInferencer {
     // одна и та же переменная не инферится в двух разных fileType-контекстах.
     var cached = inferredVariableTypeIndex.get(variable);
     if (cached != null) {
+      ctx.dependencies.readVariable(variable);
       return cached;
     }
 
+    // Зависимости собираются отдельно для каждой переменной: вложенные выводы
+    // вливаются во внешний, чтобы корень знал всё, что прочитал транзитивно.
+    var outerDependencies = ctx.dependencies;
+    var dependencies = inferredVariableTypeIndex.newDependencies();
+    ctx.dependencies = dependencies;
+    TypeSet acc;
+    try {
+      acc = inferVariableTypes(variable, ctx);
+    } finally {
+      ctx.dependencies = outerDependencies;
+      outerDependencies.addAll(dependencies);
+    }
+
+    // Кэшируем только «чистый корень» инференса (visited содержит максимум саму
+    // переменную). Вложенный вызов (внутри инференса другой переменной, visited
+    // ≥ 2) мог быть усечён цикл-гардом и зависит от порядка обхода — его результат
+    // некорректно переиспользовать как самостоятельный. Перф от этого не страдает:
+    // горячий путь (ресивер member-доступа) — всегда корень, а вложенные выводы
+    // и так покрыты кэшем своего корня.
+    if (ctx.visited.size() <= 1) {
+      inferredVariableTypeIndex.put(variable, acc, dependencies);
+    }
+    return acc;
+  }
+
+  private TypeSet inferVariableTypes(VariableSymbol variable, InferenceContext ctx) {
     var owner = variable.getOwner();
     TypeSet acc = TypeSet.EMPTY;
     Set<Position> visitedPositions = new HashSet<>();
 
     if (variable.getKind() == VariableKind.PARAMETER) {
+      // Описания параметров и контракты обработчиков событий разрешаются
+      // через реестр конфигурационных типов.
+      ctx.dependencies.readConfiguration();
       acc = acc.union(declaredParameterTypes(variable));
     }
 
-    acc = acc.union(typesFromVariableTrailingComment(variable));
+    acc = acc.union(typesFromVariableTrailingComment(variable, ctx));
 
     var declarationStart = variable.getSelectionRange().getStart();
     if (visitedPositions.add(declarationStart)) {
@@ -790,27 +847,17 @@ public class ExpressionTypeInferencer {
       if (occurrence.occurrenceType() != OccurrenceType.DEFINITION) {
         continue;
       }
+      ctx.cancelChecker.checkCanceled();
       var start = occurrence.selectionRange().getStart();
       if (visitedPositions.add(start)) {
         acc = acc.union(inferFromDefinitionPosition(owner, start, ctx));
       }
     }
-    acc = acc.union(autumnInjectedType(variable));
-    acc = acc.union(extendsParentFieldType(variable));
+    acc = acc.union(autumnInjectedType(variable, ctx));
+    acc = acc.union(extendsParentFieldType(variable, ctx));
     acc = attachDefaultElementTypes(acc);
     acc = accumulateStructureInsertFields(variable, acc, ctx);
-    acc = accumulateValueTableColumnFields(variable, acc, ctx);
-
-    // Кэшируем только «чистый корень» инференса (visited содержит максимум саму
-    // переменную). Вложенный вызов (внутри инференса другой переменной, visited
-    // ≥ 2) мог быть усечён цикл-гардом и зависит от порядка обхода — его результат
-    // некорректно переиспользовать как самостоятельный. Перф от этого не страдает:
-    // горячий путь (ресивер member-доступа) — всегда корень, а вложенные выводы
-    // и так покрыты кэшем своего корня.
-    if (ctx.visited.size() <= 1) {
-      inferredVariableTypeIndex.put(variable, acc);
-    }
-    return acc;
+    return accumulateValueTableColumnFields(variable, acc, ctx);
   }
 
   /**
@@ -818,11 +865,14 @@ public class ExpressionTypeInferencer {
    * Аннотации несёт сам символ — и поле модуля, и параметр конструктора/завязи
    * (см. {@code VariableSymbolComputer}).
    */
-  private TypeSet autumnInjectedType(VariableSymbol variable) {
+  private TypeSet autumnInjectedType(VariableSymbol variable, InferenceContext ctx) {
     var kind = variable.getKind();
     if (kind != VariableKind.MODULE && kind != VariableKind.PARAMETER) {
       return TypeSet.EMPTY;
     }
+    if (!variable.getAnnotations().isEmpty()) {
+      ctx.dependencies.readConfiguration();
+    }
     return autumnComponentInferencer.inferInjectedType(
       variable.getAnnotations(), variable.getName(), variable.getOwner().getFileType());
   }
@@ -834,7 +884,7 @@ public class ExpressionTypeInferencer {
    * через {@code &Расширяет} (в т.ч. через мета-аннотации). Так
    * {@code Родитель.МетодБазы()} даёт автодополнение/hover по членам родителя.
    */
-  private TypeSet extendsParentFieldType(VariableSymbol variable) {
+  private TypeSet extendsParentFieldType(VariableSymbol variable, InferenceContext ctx) {
     if (variable.getKind() != VariableKind.MODULE) {
       return TypeSet.EMPTY;
     }
@@ -842,7 +892,7 @@ public class ExpressionTypeInferencer {
     if (owner.getFileType() != FileType.OS || !oScriptExtends.isParentHolder(variable)) {
       return TypeSet.EMPTY;
     }
-    return parentClassType(owner);
+    return parentClassType(owner, ctx);
   }
 
   /**
@@ -850,9 +900,9 @@ public class ExpressionTypeInferencer {
    * мета-аннотации), либо {@link TypeSet#EMPTY}, если наследование не объявлено
    * или родитель не разрешается в зарегистрированный тип.
    */
-  private TypeSet parentClassType(DocumentContext documentContext) {
+  private TypeSet parentClassType(DocumentContext documentContext, InferenceContext ctx) {
     return oScriptExtends.parentClassName(documentContext)
-      .flatMap(name -> typeRegistry.resolve(name, FileType.OS))
+      .flatMap(name -> resolveTypeName(name, FileType.OS, ctx))
       .map(TypeSet::of)
       .orElse(TypeSet.EMPTY);
   }
@@ -884,8 +934,7 @@ public class ExpressionTypeInferencer {
       return base;
     }
     var owner = variable.getOwner();
-    var ast = safeGetOwnerAst(owner);
-    if (ast == null) {
+    if (safeGetOwnerAst(owner) == null) {
       return base;
     }
     var scope = variable.getScope();
@@ -893,7 +942,7 @@ public class ExpressionTypeInferencer {
     var variableName = variable.getName();
 
     var result = base;
-    for (var call : callStatementByReceiverIndex.byReceiver(owner.getUri(), ast, variableName)) {
+    for (var call : callStatementByReceiverIndex.byReceiver(owner, variableName)) {
       var field = insertedStructureField(call, variableName, scopeRange, ctx);
       if (field != null && !field.types().isEmpty()) {
         result = result.withField(headRef, field.name(), field.types());
@@ -968,8 +1017,7 @@ public class ExpressionTypeInferencer {
       return base;
     }
     var owner = variable.getOwner();
-    var ast = safeGetOwnerAst(owner);
-    if (ast == null) {
+    if (safeGetOwnerAst(owner) == null) {
       return base;
     }
     var scope = variable.getScope();
@@ -981,7 +1029,7 @@ public class ExpressionTypeInferencer {
     TypeSet rowSet = TypeSet.of(rowRef);
     boolean hasColumns = false;
 
-    for (var call : callStatementByReceiverIndex.byReceiver(owner.getUri(), ast, variableName)) {
+    for (var call : callStatementByReceiverIndex.byReceiver(owner, variableName)) {
       var column = addedColumn(call, variableName, scopeRange, ctx);
       if (column != null) {
         rowSet = rowSet.withField(rowRef, column.name(), column.types());
@@ -1212,7 +1260,7 @@ public class ExpressionTypeInferencer {
    * {@code VariableDescription.trailingDescription.getTypes()}, который парсер уже
    * привязал к декларации.
    */
-  private TypeSet typesFromVariableTrailingComment(VariableSymbol variable) {
+  private TypeSet typesFromVariableTrailingComment(VariableSymbol variable, InferenceContext ctx) {
     var description = variable.getDescription().orElse(null);
     if (description == null) {
       return TypeSet.EMPTY;
@@ -1221,7 +1269,7 @@ public class ExpressionTypeInferencer {
     if (trailing == null) {
       return TypeSet.EMPTY;
     }
-    return resolveCommentTypes(trailing.getTypes(), variable.getOwner().getFileType());
+    return resolveCommentTypes(trailing.getTypes(), variable.getOwner().getFileType(), ctx);
   }
 
   /**
@@ -1356,7 +1404,7 @@ public class ExpressionTypeInferencer {
       .map(expr -> inferInternal(expr, ctx))
       .orElse(TypeSet.EMPTY);
     if (assignment.isPresent()) {
-      result = result.union(inlineCommentTypes(owner, assignment.get()));
+      result = result.union(inlineCommentTypes(owner, assignment.get(), ctx));
       return result;
     }
     // Декларация переменной через «Для Каждого X Из Коллекция Цикл»:
@@ -1383,7 +1431,8 @@ public class ExpressionTypeInferencer {
    */
   private TypeSet inlineCommentTypes(
     DocumentContext owner,
-    BSLParser.AssignmentContext assignment
+    BSLParser.AssignmentContext assignment,
+    InferenceContext ctx
   ) {
     var trailingComment = Trees.getTrailingComment(owner.getTokens(), assignment.getStop());
     if (trailingComment.isEmpty()) {
@@ -1395,7 +1444,7 @@ public class ExpressionTypeInferencer {
     if (trailing == null) {
       return TypeSet.EMPTY;
     }
-    return resolveCommentTypes(trailing.getTypes(), owner.getFileType());
+    return resolveCommentTypes(trailing.getTypes(), owner.getFileType(), ctx);
   }
 
   /**
@@ -1403,7 +1452,7 @@ public class ExpressionTypeInferencer {
    * по их {@link TypeDescription#name()}. Для коллекционной нотации
    * {@code Массив из Число} парсер возвращает один тип-голову {@code Массив}.
    */
-  private TypeSet resolveCommentTypes(List<TypeDescription> types, FileType fileType) {
+  private TypeSet resolveCommentTypes(List<TypeDescription> types, FileType fileType, InferenceContext ctx) {
     if (types == null || types.isEmpty()) {
       return TypeSet.EMPTY;
     }
@@ -1411,7 +1460,7 @@ public class ExpressionTypeInferencer {
     for (var td : types) {
       var typeName = DescriptionTypes.resolveName(td);
       if (!typeName.isBlank()) {
-        typeRegistry.resolve(typeName, fileType).ifPresent(refs::add);
+        resolveTypeName(typeName, fileType, ctx).ifPresent(refs::add);
       }
     }
     return refs.isEmpty() ? TypeSet.EMPTY : TypeSet.of(refs);
@@ -1431,17 +1480,67 @@ public class ExpressionTypeInferencer {
     return op == BslOperator.AND || op == BslOperator.OR || op == BslOperator.NOT;
   }
 
+  /**
+   * Разрешить имя типа через реестр с учётом зависимости вывода от конфигурации:
+   * неразрешённое имя, конфигурационный/пользовательский тип или специализация
+   * платформенного типа ({@code СправочникСсылка.Товары}) могут измениться после
+   * регистрации конфигурационных типов. Простые платформенные и примитивные типы — нет.
+   */
+  private Optional<TypeRef> resolveTypeName(String name, FileType fileType, InferenceContext ctx) {
+    var resolved = typeRegistry.resolve(name, fileType);
+    if (resolved.filter(ExpressionTypeInferencer::isConfigurationIndependent).isEmpty()) {
+      ctx.dependencies.readConfiguration();
+    }
+    return resolved;
+  }
+
+  /**
+   * Зафиксировать чтение членов типа: документы, из которых их собирают
+   * источники, и зависимость от конфигурации для не-платформенных типов.
+   */
+  private void readMembers(TypeRef ref, InferenceContext ctx) {
+    if (!isConfigurationIndependent(ref)) {
+      ctx.dependencies.readConfiguration();
+    }
+    typeRegistry.memberDocumentDependencies(ref, ctx.documentContext.getFileType())
+      .forEach(ctx.dependencies::readDocument);
+  }
+
+  private static MemberDescriptor readMemberSource(MemberDescriptor member, InferenceContext ctx) {
+    member.getSourceSymbol()
+      .filter(SourceDefinedSymbol.class::isInstance)
+      .map(SourceDefinedSymbol.class::cast)
+      .ifPresent(ctx.dependencies::readSymbol);
+    return member;
+  }
+
+  private TypeSet declaredReturnTypes(MethodSymbol method, InferenceContext ctx) {
+    // Типы из описания метода разрешаются через реестр конфигурационных типов.
+    ctx.dependencies.readSymbol(method);
+    ctx.dependencies.readConfiguration();
+    return symbolTypeIndex.getDeclaredReturnTypes(method);
+  }
+
+  private static boolean isConfigurationIndependent(TypeRef ref) {
+    return ref.kind() == TypeKind.PRIMITIVE
+      || (ref.kind() == TypeKind.PLATFORM && ref.qualifiedName().indexOf('.') < 0);
+  }
+
   /**
    * Контекст одной операции infer: стек посещённых символов для защиты от циклов
    * и глубина рекурсии.
    */
   static final class InferenceContext {
     final DocumentContext documentContext;
+    final CancelChecker cancelChecker;
     final Set<SourceDefinedSymbol> visited = new HashSet<>();
     int depth;
+    /** Приемник зависимостей текущего инференса переменной (см. {@link InferredVariableTypeIndex}). */
+    InferredVariableTypeIndex.Dependencies dependencies = new InferredVariableTypeIndex.Dependencies();
 
-    InferenceContext(DocumentContext documentContext) {
+    InferenceContext(DocumentContext documentContext, CancelChecker cancelChecker) {
       this.documentContext = documentContext;
+      this.cancelChecker = cancelChecker;
     }
   }
 }
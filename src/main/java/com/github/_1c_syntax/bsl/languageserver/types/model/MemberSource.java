@@ -21,7 +21,9 @@
  */
 package com.github._1c_syntax.bsl.languageserver.types.model;
 
+import java.net.URI;
 import java.util.Collection;
+import java.util.Set;
 
 /**
  * Источник членов типа.
@@ -38,4 +40,39 @@ public interface MemberSource {
    * @return члены, которые этот источник добавляет к типу
    */
   Collection<MemberDescriptor> getMembers();
+
+  /**
+   * Документы, содержимое которых источник читает при сборке членов.
+   * <p>
+   * {@link com.github._1c_syntax.bsl.languageserver.types.registry.TypeRegistry} сбрасывает
+   * мемоизированные члены типа только при изменении этих документов. Зависимости от членов
+   * других типов указывать не нужно: они фиксируются реестром автоматически.
+   *
+   * @return URI документов; пустое множество, если члены не зависят от содержимого документов
+   */
+  default Set<URI> documentDependencies() {
+    return Set.of();
+  }
+
+  /**
+   * Источник, читающий члены из символьного дерева документа.
+   *
+   * @param uri    URI документа
+   * @param source источник членов
+   * @return источник с зависимостью от документа
+   */
+  static MemberSource readingDocument(URI uri, MemberSource source) {
+    var dependencies = Set.of(uri);
+    return new MemberSource() {
+      @Override
+      public Collection<MemberDescriptor> getMembers() {
+        return source.getMembers();
+      }
+
+      @Override
+      public Set<URI> documentDependencies() {
+        return dependencies;
+      }
+    };
+  }
 }
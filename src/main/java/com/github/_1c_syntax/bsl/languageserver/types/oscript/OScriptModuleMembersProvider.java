@@ -29,6 +29,7 @@ import com.github._1c_syntax.bsl.languageserver.context.symbol.VariableSymbol;
 import com.github._1c_syntax.bsl.languageserver.infrastructure.WorkspaceScope;
 
 import com.github._1c_syntax.bsl.languageserver.types.model.MemberDescriptor;
+import com.github._1c_syntax.bsl.languageserver.types.model.MemberSource;
 import com.github._1c_syntax.bsl.languageserver.types.model.ParameterDescriptor;
 import com.github._1c_syntax.bsl.languageserver.types.model.SignatureDescriptor;
 import com.github._1c_syntax.bsl.languageserver.types.model.TypeRef;
@@ -142,7 +143,8 @@ public class OScriptModuleMembersProvider {
     typeRegistry.setUserTypeIterable(ref, oScriptIterable.isIterable(documentContext), FileType.OS);
 
     if (firstTimeForName) {
-      typeRegistry.registerMemberSource(ref, () -> collectMembers(documentContext), FileType.OS);
+      typeRegistry.registerMemberSource(ref, MemberSource.readingDocument(uri,
+        () -> collectMembers(documentContext)), FileType.OS);
       if (libraryEntry != null) {
         if (libraryEntry.kind() == OScriptLibraryIndex.EntryKind.CLASS) {
           typeRegistry.registerConstructorSource(ref, () -> collectConstructors(documentContext, ref), FileType.OS);
@@ -199,7 +201,10 @@ public class OScriptModuleMembersProvider {
   private void registerInheritedMembers(DocumentContext documentContext, TypeRef classRef) {
     typeRegistry.registerMemberSource(
       classRef,
-      () -> typeRelations.inheritedMembers(documentContext, classRef),
+      MemberSource.readingDocument(
+        documentContext.getUri(),
+        () -> typeRelations.inheritedMembers(documentContext, classRef)
+      ),
       FileType.OS
     );
   }
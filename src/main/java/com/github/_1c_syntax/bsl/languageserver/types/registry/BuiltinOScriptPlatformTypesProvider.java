@@ -43,7 +43,7 @@ import java.util.List;
 @WorkspaceScope
 public class BuiltinOScriptPlatformTypesProvider implements PlatformTypesProvider {
 
-  private static final String RESOURCE_PATH =
+  static final String RESOURCE_PATH =
     "com/github/_1c_syntax/bsl/languageserver/types/registry/builtin-oscript-platform-types.json";
 
   /** JSON парсится общим {@link BuiltinTypesJsonLoader} один раз на JVM. */
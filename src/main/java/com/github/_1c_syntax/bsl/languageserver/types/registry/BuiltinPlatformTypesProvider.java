@@ -43,7 +43,7 @@ import java.util.List;
 @WorkspaceScope
 public class BuiltinPlatformTypesProvider implements PlatformTypesProvider {
 
-  private static final String RESOURCE_PATH =
+  static final String RESOURCE_PATH =
     "com/github/_1c_syntax/bsl/languageserver/types/registry/builtin-platform-types.json";
 
   /**
@@ -0,0 +1,482 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.types.registry;
+
+import com.github._1c_syntax.bsl.languageserver.types.model.AccessMode;
+import com.github._1c_syntax.bsl.languageserver.types.model.Availability;
+import com.github._1c_syntax.bsl.languageserver.types.model.BilingualString;
+import com.github._1c_syntax.bsl.languageserver.types.model.MemberDescriptor;
+import com.github._1c_syntax.bsl.languageserver.types.model.MemberKind;
+import com.github._1c_syntax.bsl.languageserver.types.model.ParameterDescriptor;
+import com.github._1c_syntax.bsl.languageserver.types.model.PlatformMetadata;
+import com.github._1c_syntax.bsl.languageserver.types.model.SignatureDescriptor;
+import com.github._1c_syntax.bsl.languageserver.types.model.TypeKind;
+import com.github._1c_syntax.bsl.languageserver.types.model.TypeRef;
+import com.github._1c_syntax.bsl.languageserver.types.model.TypeSet;
+import com.github._1c_syntax.bsl.languageserver.types.registry.TypePackProvider.TypeDecl;
+import lombok.experimental.UtilityClass;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Компактная бинарная форма встроенных JSON-паков ({@code builtin-*-types.json},
+ * {@code builtin-*globals.json}), которую собирает на этапе сборки
+ * {@link BuiltinTypesPackCompiler}. JSON остаётся источником истины; бинарный ресурс
+ * лежит рядом с ним с расширением {@value #EXTENSION}.
+ * <p>
+ * Формат: заголовок (сигнатура, версия, вид пака), таблица строк (каждая уникальная
+ * строка хранится один раз в UTF-8) и полезная нагрузка из varint-полей — индексов
+ * строк, ординалов перечислений, длин списков и флагов. При чтении строки декодируются
+ * прямо из буфера ресурса по одному разу, а одинаковые {@link TypeRef} разделяются,
+ * поэтому загрузка минует токенизацию JSON и промежуточное дерево {@code Map<String,Object>}.
+ * <p>
+ * Наборы типов из паков — всегда «голые» ссылки без вложенных полей и элементов,
+ * поэтому сохраняются только ссылки.
+ */
+@UtilityClass
+public class BuiltinTypesBinaryFormat {
+
+  /** Расширение бинарного ресурса. */
+  public static final String EXTENSION = ".bin";
+
+  private static final int MAGIC = 0x42534C54;
+  private static final int FORMAT_VERSION = 1;
+  private static final int TYPES_PACK = 1;
+  private static final int MEMBERS_PACK = 2;
+
+  private static final TypeKind[] TYPE_KINDS = TypeKind.values();
+  private static final MemberKind[] MEMBER_KINDS = MemberKind.values();
+  private static final Availability[] AVAILABILITIES = Availability.values();
+  private static final AccessMode[] ACCESS_MODES = AccessMode.values();
+
+  /**
+   * Путь бинарного ресурса для JSON-ресурса.
+   *
+   * @param jsonResourcePath путь JSON-ресурса в classpath
+   * @return путь бинарного ресурса
+   */
+  public static String binaryResourceOf(String jsonResourcePath) {
+    var base = jsonResourcePath.endsWith(".json")
+      ? jsonResourcePath.substring(0, jsonResourcePath.length() - ".json".length())
+      : jsonResourcePath;
+    return base + EXTENSION;
+  }
+
+  /**
+   * Прочитать бинарный ресурс из classpath целиком.
+   *
+   * @param resourcePath путь бинарного ресурса
+   * @return содержимое ресурса либо {@link Optional#empty()}, если ресурс не собран
+   * @throws IOException ошибка чтения существующего ресурса
+   */
+  static Optional<byte[]> readResource(String resourcePath) throws IOException {
+    var resource = new ClassPathResource(resourcePath);
+    if (!resource.exists()) {
+      return Optional.empty();
+    }
+    try (var stream = resource.getInputStream()) {
+      return Optional.of(stream.readAllBytes());
+    }
+  }
+
+  /**
+   * Упаковать декларации типов.
+   *
+   * @param types декларации типов пака
+   * @return бинарное представление
+   */
+  public static byte[] writeTypes(List<TypeDecl> types) {
+    var writer = new Writer();
+    writer.writeVarInt(types.size());
+    for (var type : types) {
+      writer.writeEnum(type.kind());
+      writer.writeBilingual(type.name());
+      writer.writeMembers(type.members());
+      writer.writeBilingual(type.description());
+      writer.writeSignatures(type.constructors());
+      writer.writeRefs(type.defaultElementTypes());
+      writer.writeBoolean(type.supportsForEach());
+      writer.writeBoolean(type.supportsIndexAccess());
+      writer.writeBilingual(type.forEachDescription());
+      writer.writeBilingual(type.indexAccessDescription());
+      writer.writeStrings(type.typeParameters());
+      writer.writeBoolean(type.isEnum());
+    }
+    return writer.toByteArray(TYPES_PACK);
+  }
+
+  /**
+   * Упаковать список членов (глобальный контекст).
+   *
+   * @param members члены
+   * @return бинарное представление
+   */
+  public static byte[] writeMembers(List<MemberDescriptor> members) {
+    var writer = new Writer();
+    writer.writeMembers(members);
+    return writer.toByteArray(MEMBERS_PACK);
+  }
+
+  /**
+   * Распаковать декларации типов.
+   *
+   * @param bytes бинарное представление
+   * @return декларации типов пака
+   */
+  public static List<TypeDecl> readTypes(byte[] bytes) {
+    var reader = new Reader(bytes, TYPES_PACK);
+    var count = reader.readVarInt();
+    var result = new ArrayList<TypeDecl>(count);
+    for (var i = 0; i < count; i++) {
+      var kind = TYPE_KINDS[reader.readVarInt()];
+      var name = reader.readBilingual();
+      var members = reader.readMembers();
+      var description = reader.readBilingual();
+      var constructors = reader.readSignatures();
+      var defaultElementTypes = reader.readRefs();
+      var supportsForEach = reader.readBoolean();
+      var supportsIndexAccess = reader.readBoolean();
+      var forEachDescription = reader.readBilingual();
+      var indexAccessDescription = reader.readBilingual();
+      var typeParameters = reader.readStrings();
+      var isEnum = reader.readBoolean();
+      result.add(new TypeDecl(kind, name, members, description, constructors, defaultElementTypes,
+        supportsForEach, supportsIndexAccess, forEachDescription, indexAccessDescription,
+        typeParameters, isEnum));
+    }
+    return result;
+  }
+
+  /**
+   * Распаковать список членов.
+   *
+   * @param bytes бинарное представление
+   * @return члены
+   */
+  public static List<MemberDescriptor> readMembers(byte[] bytes) {
+    return new Reader(bytes, MEMBERS_PACK).readMembers();
+  }
+
+  private static final class Writer {
+
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+    private final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+
+    private Writer() {
+      strings.put("", 0);
+    }
+
+    byte[] toByteArray(int packKind) {
+      var output = new ByteArrayOutputStream(payload.size() * 2);
+      writeInt(output, MAGIC);
+      writeVarInt(output, FORMAT_VERSION);
+      writeVarInt(output, packKind);
+      writeVarInt(output, strings.size());
+      for (var string : strings.keySet()) {
+        var bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(output, bytes.length);
+        output.writeBytes(bytes);
+      }
+      payload.writeTo(output);
+      return output.toByteArray();
+    }
+
+    void writeMembers(Collection<MemberDescriptor> members) {
+      writeVarInt(members.size());
+      for (var member : members) {
+        writeBilingual(member.bilingualName());
+        writeEnum(member.kind());
+        writeBilingual(member.bilingualDescription());
+        writeTypeSet(member.returnTypes());
+        writeSignatures(member.signatures());
+        writeBoolean(member.generic());
+        writeMetadata(member.metadata());
+        writeBoolean(member.async());
+        writeBoolean(member.standardLibrary());
+      }
+    }
+
+    void writeSignatures(List<SignatureDescriptor> signatures) {
+      writeVarInt(signatures.size());
+      for (var signature : signatures) {
+        writeVarInt(signature.parameters().size());
+        for (var parameter : signature.parameters()) {
+          writeBilingual(parameter.bilingualName());
+          writeTypeSet(parameter.types());
+          writeBoolean(parameter.optional());
+          writeBilingual(parameter.bilingualDescription());
+          writeString(parameter.defaultValue());
+          writeBoolean(parameter.variadic());
+        }
+        writeTypeSet(signature.returnTypes());
+        writeBilingual(signature.bilingualDescription());
+      }
+    }
+
+    void writeMetadata(PlatformMetadata metadata) {
+      writeString(metadata.sinceVersion());
+      writeString(metadata.deprecatedSinceVersion());
+      writeStrings(metadata.recommendedReplacements());
+      writeVarInt(metadata.availabilities().size());
+      for (var availability : metadata.availabilities()) {
+        writeEnum(availability);
+      }
+      var accessMode = metadata.accessMode();
+      writeVarInt(accessMode == null ? 0 : accessMode.ordinal() + 1);
+      writeBilingual(metadata.returnValueDescription());
+      writeBilingual(metadata.notes());
+      writeBilinguals(metadata.examples());
+      writeBilinguals(metadata.seeAlso());
+    }
+
+    void writeTypeSet(TypeSet types) {
+      writeRefs(types.refs());
+    }
+
+    void writeRefs(Collection<TypeRef> refs) {
+      writeVarInt(refs.size());
+      for (var ref : refs) {
+        writeEnum(ref.kind());
+        writeString(ref.qualifiedName());
+      }
+    }
+
+    void writeBilinguals(List<BilingualString> values) {
+      writeVarInt(values.size());
+      values.forEach(this::writeBilingual);
+    }
+
+    void writeBilingual(BilingualString value) {
+      writeString(value.ru());
+      writeString(value.en());
+    }
+
+    void writeStrings(List<String> values) {
+      writeVarInt(values.size());
+      values.forEach(this::writeString);
+    }
+
+    void writeString(String value) {
+      writeVarInt(strings.computeIfAbsent(value, key -> strings.size()));
+    }
+
+    void writeEnum(Enum<?> value) {
+      writeVarInt(value.ordinal());
+    }
+
+    void writeBoolean(boolean value) {
+      payload.write(value ? 1 : 0);
+    }
+
+    void writeVarInt(int value) {
+      writeVarInt(payload, value);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream output, int value) {
+      var remaining = value;
+      while ((remaining & ~0x7F) != 0) {
+        output.write((remaining & 0x7F) | 0x80);
+        remaining >>>= 7;
+      }
+      output.write(remaining);
+    }
+
+    private static void writeInt(ByteArrayOutputStream output, int value) {
+      output.write(value >>> 24);
+      output.write(value >>> 16);
+      output.write(value >>> 8);
+      output.write(value);
+    }
+  }
+
+  private static final class Reader {
+
+    private final ByteBuffer buffer;
+    private final String[] strings;
+    private final Map<Long, TypeRef> refs = new HashMap<>();
+
+    private Reader(byte[] bytes, int expectedPackKind) {
+      buffer = ByteBuffer.wrap(bytes);
+      if (buffer.getInt() != MAGIC) {
+        throw new IllegalArgumentException("Not a builtin types pack");
+      }
+      var version = readVarInt();
+      if (version != FORMAT_VERSION) {
+        throw new IllegalArgumentException("Unsupported builtin types pack version: " + version);
+      }
+      var packKind = readVarInt();
+      if (packKind != expectedPackKind) {
+        throw new IllegalArgumentException("Unexpected builtin pack kind: " + packKind);
+      }
+      strings = new String[readVarInt()];
+      for (var i = 0; i < strings.length; i++) {
+        var length = readVarInt();
+        strings[i] = new String(bytes, buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+      }
+    }
+
+    List<MemberDescriptor> readMembers() {
+      var count = readVarInt();
+      var members = new ArrayList<MemberDescriptor>(count);
+      for (var i = 0; i < count; i++) {
+        var name = readBilingual();
+        var kind = MEMBER_KINDS[readVarInt()];
+        var description = readBilingual();
+        var returnTypes = readTypeSet();
+        var signatures = readSignatures();
+        var generic = readBoolean();
+        var metadata = readMetadata();
+        var async = readBoolean();
+        var standardLibrary = readBoolean();
+        members.add(new MemberDescriptor(name, kind, description, returnTypes, signatures, null,
+          generic, metadata, async, standardLibrary));
+      }
+      return members;
+    }
+
+    List<SignatureDescriptor> readSignatures() {
+      var count = readVarInt();
+      if (count == 0) {
+        return List.of();
+      }
+      var signatures = new ArrayList<SignatureDescriptor>(count);
+      for (var i = 0; i < count; i++) {
+        var parameterCount = readVarInt();
+        var parameters = new ArrayList<ParameterDescriptor>(parameterCount);
+        for (var j = 0; j < parameterCount; j++) {
+          var name = readBilingual();
+          var types = readTypeSet();
+          var optional = readBoolean();
+          var description = readBilingual();
+          var defaultValue = readString();
+          var variadic = readBoolean();
+          parameters.add(new ParameterDescriptor(name, types, optional, description, defaultValue, variadic));
+        }
+        signatures.add(new SignatureDescriptor(parameters, readTypeSet(), readBilingual()));
+      }
+      return signatures;
+    }
+
+    PlatformMetadata readMetadata() {
+      var sinceVersion = readString();
+      var deprecatedSinceVersion = readString();
+      var recommendedReplacements = readStrings();
+      var availabilityCount = readVarInt();
+      Set<Availability> availabilities = EnumSet.noneOf(Availability.class);
+      for (var i = 0; i < availabilityCount; i++) {
+        availabilities.add(AVAILABILITIES[readVarInt()]);
+      }
+      var accessModeCode = readVarInt();
+      var accessMode = accessModeCode == 0 ? null : ACCESS_MODES[accessModeCode - 1];
+      var returnValueDescription = readBilingual();
+      var notes = readBilingual();
+      var examples = readBilinguals();
+      var seeAlso = readBilinguals();
+      var metadata = new PlatformMetadata(sinceVersion, deprecatedSinceVersion, recommendedReplacements,
+        availabilities, accessMode, returnValueDescription, notes, examples, seeAlso);
+      return metadata.equals(PlatformMetadata.EMPTY) ? PlatformMetadata.EMPTY : metadata;
+    }
+
+    TypeSet readTypeSet() {
+      return TypeSet.of(readRefs());
+    }
+
+    List<TypeRef> readRefs() {
+      var count = readVarInt();
+      if (count == 0) {
+        return List.of();
+      }
+      var result = new ArrayList<TypeRef>(count);
+      for (var i = 0; i < count; i++) {
+        var kind = readVarInt();
+        var name = readVarInt();
+        result.add(refs.computeIfAbsent(((long) kind << 32) | name,
+          key -> new TypeRef(TYPE_KINDS[kind], strings[name])));
+      }
+      return List.copyOf(result);
+    }
+
+    List<BilingualString> readBilinguals() {
+      var count = readVarInt();
+      if (count == 0) {
+        return List.of();
+      }
+      var result = new ArrayList<BilingualString>(count);
+      for (var i = 0; i < count; i++) {
+        result.add(readBilingual());
+      }
+      return result;
+    }
+
+    BilingualString readBilingual() {
+      var ru = readString();
+      var en = readString();
+      return ru.isEmpty() && en.isEmpty() ? BilingualString.EMPTY : new BilingualString(ru, en);
+    }
+
+    List<String> readStrings() {
+      var count = readVarInt();
+      if (count == 0) {
+        return List.of();
+      }
+      var result = new ArrayList<String>(count);
+      for (var i = 0; i < count; i++) {
+        result.add(readString());
+      }
+      return List.copyOf(result);
+    }
+
+    String readString() {
+      return strings[readVarInt()];
+    }
+
+    boolean readBoolean() {
+      return buffer.get() != 0;
+    }
+
+    int readVarInt() {
+      var result = 0;
+      var shift = 0;
+      byte current;
+      do {
+        current = buffer.get();
+        result |= (current & 0x7F) << shift;
+        shift += 7;
+      } while ((current & 0x80) != 0);
+      return result;
+    }
+  }
+}
@@ -61,6 +61,9 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>
  * Двуязычие членов выражается явными полями {@code nameRu}/{@code nameEn}
  * (как в BSL-модели и в bsl-context). Никакой склейки по порядку нет.
+ * <p>
+ * В рантайме паки читаются из бинарной формы ({@link BuiltinTypesBinaryFormat}),
+ * которую сборка компилирует из JSON; разбор JSON — fallback и источник истины.
  */
 @Slf4j
 @UtilityClass
@@ -94,11 +97,35 @@ public class BuiltinTypesJsonLoader {
    * enum-глобалов в провайдере глобального контекста — без повторного разбора.
    */
   static List<TypeDecl> load(String resourcePath) {
-    return LOAD_CACHE.computeIfAbsent(resourcePath, BuiltinTypesJsonLoader::parse);
+    return LOAD_CACHE.computeIfAbsent(resourcePath, BuiltinTypesJsonLoader::loadPrecompiledOrParse);
   }
 
+  /**
+   * Декларации из бинарной формы, собранной {@link BuiltinTypesPackCompiler}, а при её
+   * отсутствии (запуск без сборочного шага) или повреждении — разбор JSON.
+   */
+  private static List<TypeDecl> loadPrecompiledOrParse(String resourcePath) {
+    var binaryResource = BuiltinTypesBinaryFormat.binaryResourceOf(resourcePath);
+    try {
+      var bytes = BuiltinTypesBinaryFormat.readResource(binaryResource);
+      if (bytes.isPresent()) {
+        return BuiltinTypesBinaryFormat.readTypes(bytes.get());
+      }
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn("Failed to load precompiled builtin platform types {}, falling back to JSON",
+        binaryResource, e);
+    }
+    return parse(resourcePath);
+  }
+
+  /**
+   * Разбор JSON-пака — источника истины для бинарной формы.
+   *
+   * @param resourcePath путь JSON-ресурса в classpath
+   * @return декларации типов пака
+   */
   @SuppressWarnings("unchecked")
-  private static List<TypeDecl> parse(String resourcePath) {
+  static List<TypeDecl> parse(String resourcePath) {
     var mapper = JsonMapper.builder().build();
     try (var stream = new ClassPathResource(resourcePath).getInputStream()) {
       List<Map<String, Object>> raw = mapper.readValue(stream, List.class);
@@ -0,0 +1,73 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.types.registry;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Сборочный шаг: компилирует встроенные JSON-паки в {@link BuiltinTypesBinaryFormat}.
+ * <p>
+ * Запускается Gradle-задачей {@code compileBuiltinTypes} после компиляции основного кода;
+ * JSON читается теми же парсерами, что и в рантайме, поэтому бинарная форма не может
+ * разойтись с ним по семантике. Единственный аргумент — корневой каталог сгенерированных
+ * ресурсов.
+ */
+@UtilityClass
+public class BuiltinTypesPackCompiler {
+
+  /** Паки деклараций типов ({@link BuiltinTypesJsonLoader}). */
+  static final List<String> TYPE_PACKS = List.of(
+    BuiltinPlatformTypesProvider.RESOURCE_PATH,
+    BuiltinOScriptPlatformTypesProvider.RESOURCE_PATH
+  );
+
+  /** Паки членов глобального контекста ({@link GlobalScopeProvider#globalContextMembers(String)}). */
+  static final List<String> GLOBAL_MEMBER_PACKS = List.of(
+    GlobalScopeProvider.RESOURCE_PATH,
+    GlobalScopeProvider.OSCRIPT_RESOURCE_PATH
+  );
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      throw new IllegalArgumentException("Usage: BuiltinTypesPackCompiler <output directory>");
+    }
+    var outputDir = Path.of(args[0]);
+    for (var resource : TYPE_PACKS) {
+      write(outputDir, resource, BuiltinTypesBinaryFormat.writeTypes(BuiltinTypesJsonLoader.parse(resource)));
+    }
+    for (var resource : GLOBAL_MEMBER_PACKS) {
+      write(outputDir, resource,
+        BuiltinTypesBinaryFormat.writeMembers(GlobalScopeProvider.parseGlobalContextMembers(resource)));
+    }
+  }
+
+  private static void write(Path outputDir, String jsonResource, byte[] content) throws IOException {
+    var target = outputDir.resolve(BuiltinTypesBinaryFormat.binaryResourceOf(jsonResource));
+    Files.createDirectories(target.getParent());
+    Files.write(target, content);
+  }
+}
@@ -65,8 +65,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -86,9 +84,9 @@ public class GlobalScopeProvider {
   private static final String RETURN_TYPE_FIELD = "returnType";
   private static final String ALIASES_FIELD = "aliases";
 
-  private static final String RESOURCE_PATH =
+  static final String RESOURCE_PATH =
     "com/github/_1c_syntax/bsl/languageserver/types/registry/builtin-globals.json";
-  private static final String OSCRIPT_RESOURCE_PATH =
+  static final String OSCRIPT_RESOURCE_PATH =
     "com/github/_1c_syntax/bsl/languageserver/types/registry/builtin-oscript-globals.json";
   private static final String KEYWORDS_RESOURCE_PATH =
     "com/github/_1c_syntax/bsl/languageserver/types/registry/builtin-keywords.json";
@@ -109,8 +107,8 @@ public class GlobalScopeProvider {
    * {@code GlobalScopeProvider → TypeRegistry}, без цикла.
    */
   private final TypeRegistry typeRegistry;
-  /** Эпоха-кэшированный name-индекс членов GLOBAL_CONTEXT (см. {@link #globalMember}). */
-  private final AtomicReference<GlobalIndex> globalIndexRef = new AtomicReference<>();
+  /** Name-индекс членов GLOBAL_CONTEXT в разрезе языка (см. {@link #globalMember}). */
+  private final Map<FileType, GlobalIndex> globalIndexes = new ConcurrentHashMap<>();
   /**
    * URI документа-модуля → его тип-значение (обратный индекс к name-keyed записям).
    * Заполняется провайдерами регистрации модулей ({@code ConfigurationModuleMembersProvider}
@@ -167,8 +165,10 @@ public class GlobalScopeProvider {
    * Резолв безпрефиксного имени в член глобальной области — синтетического типа
    * {@link TypeRegistry#GLOBAL_CONTEXT} (глобальная функция-метод либо глобальное
    * свойство: перечисление, менеджер коллекции, общий/library-модуль). Быстрый
-   * lookup по name-индексу, пересобираемому при смене эпохи членов
-   * ({@link TypeRegistry#membersEpoch()}). Единая абстракция доступа
+   * lookup по name-индексу, пересобираемому, только когда мемоизированный в
+   * {@link TypeRegistry} список членов GLOBAL_CONTEXT языка сменился (правка
+   * модуля, от которого глобальная область не зависит, индекс не сбрасывает).
+   * Единая абстракция доступа
    * к глобальной области; {@link TypeRegistry} остаётся хранилищем типов.
    *
    * @param name     имя (регистронезависимо, ru/en).
@@ -179,15 +179,13 @@ public class GlobalScopeProvider {
     if (name == null || name.isBlank()) {
       return Optional.empty();
     }
-    var epoch = typeRegistry.membersEpoch();
-    var index = globalIndexRef.get();
-    if (index == null || index.epoch() != epoch) {
-      index = new GlobalIndex(epoch, Map.of(
-        FileType.BSL, globalNameIndex(FileType.BSL),
-        FileType.OS, globalNameIndex(FileType.OS)));
-      globalIndexRef.set(index);
+    var members = typeRegistry.getMembers(TypeRegistry.GLOBAL_CONTEXT, fileType);
+    var index = globalIndexes.get(fileType);
+    if (index == null || index.members() != members) {
+      index = new GlobalIndex(members, globalNameIndex(members));
+      globalIndexes.put(fileType, index);
     }
-    return Optional.ofNullable(index.byName().get(fileType).get(name.toLowerCase(Locale.ROOT)));
+    return Optional.ofNullable(index.byName().get(name.toLowerCase(Locale.ROOT)));
   }
 
   /**
@@ -250,9 +248,9 @@ public class GlobalScopeProvider {
     return result;
   }
 
-  private Map<String, MemberDescriptor> globalNameIndex(FileType fileType) {
+  private static Map<String, MemberDescriptor> globalNameIndex(Collection<MemberDescriptor> members) {
     var map = new HashMap<String, MemberDescriptor>();
-    for (var member : typeRegistry.getMembers(TypeRegistry.GLOBAL_CONTEXT, fileType)) {
+    for (var member : members) {
       var ru = member.bilingualName().ru();
       var en = member.bilingualName().en();
       if (!ru.isBlank()) {
@@ -265,8 +263,11 @@ public class GlobalScopeProvider {
     return map;
   }
 
-  /** Эпоха-кэшированный индекс имён членов GLOBAL_CONTEXT в разрезе языка. */
-  private record GlobalIndex(long epoch, Map<FileType, Map<String, MemberDescriptor>> byName) {
+  /**
+   * Индекс имён членов GLOBAL_CONTEXT одного языка. Валиден, пока реестр отдаёт
+   * тот же (по идентичности) мемоизированный список {@code members}.
+   */
+  private record GlobalIndex(Collection<MemberDescriptor> members, Map<String, MemberDescriptor> byName) {
   }
 
   /**
@@ -755,9 +756,32 @@ public class GlobalScopeProvider {
    * JSON-fallback: {@code functions} → методы-члены, {@code variables} →
    * свойства-члены. Двуязычное имя члена собирается из {@code name} + первого
    * {@code alias}, чтобы резолв работал по обоим написаниям.
+   * <p>
+   * Читается бинарная форма, собранная {@link BuiltinTypesPackCompiler}; без неё
+   * (запуск без сборочного шага) или при её повреждении — JSON.
    */
-  @SuppressWarnings("unchecked")
   static List<MemberDescriptor> globalContextMembers(String resourcePath) {
+    var binaryResource = BuiltinTypesBinaryFormat.binaryResourceOf(resourcePath);
+    try {
+      var bytes = BuiltinTypesBinaryFormat.readResource(binaryResource);
+      if (bytes.isPresent()) {
+        return BuiltinTypesBinaryFormat.readMembers(bytes.get());
+      }
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn("Failed to load precompiled builtin global members {}, falling back to JSON",
+        binaryResource, e);
+    }
+    return parseGlobalContextMembers(resourcePath);
+  }
+
+  /**
+   * Разбор JSON-ресурса глобальных членов — источника истины для бинарной формы.
+   *
+   * @param resourcePath путь JSON-ресурса в classpath
+   * @return члены глобального контекста
+   */
+  @SuppressWarnings("unchecked")
+  static List<MemberDescriptor> parseGlobalContextMembers(String resourcePath) {
     var mapper = JsonMapper.builder().build();
     try (var stream = new ClassPathResource(resourcePath).getInputStream()) {
       Map<String, Object> root = mapper.readValue(stream, Map.class);
@@ -43,6 +43,10 @@ import java.util.Optional;
  * Stateless — кэш живёт в {@link BslContextHolder}. Здесь только factory,
  * чтобы инкапсулировать статическую фабрику {@link PlatformContextGrabber}
  * в Spring-компонент.
+ * <p>
+ * Для явно заданного каталога {@code bin} разобранный провайдер сохраняется в
+ * {@link PlatformContextSnapshot}; последующие старты читают снимок вместо разбора HBK.
+ * При автодетекте каталог установки заранее неизвестен, поэтому снимок не используется.
  */
 @Slf4j
 @Component
@@ -51,6 +55,7 @@ import java.util.Optional;
 public class PlatformContextProviderFactory {
 
   private final LanguageServerConfiguration configuration;
+  private final PlatformContextSnapshot snapshot;
 
   /**
    * Включение загрузки платформенного контекста (1С синтакс-помощник).
@@ -78,6 +83,14 @@ public class PlatformContextProviderFactory {
       return Optional.empty();
     }
     var binPath = platformOptions.getBinPath();
+    if (binPath != null) {
+      var restored = snapshot.load(binPath);
+      if (restored.isPresent()) {
+        LOGGER.info("Loaded {} platform contexts from snapshot",
+          restored.get().getContexts().size());
+        return restored;
+      }
+    }
     var grabber = binPath != null
       ? PlatformContextGrabber.fromPlatformBin(binPath)
       : PlatformContextGrabber.autoDetect();
@@ -88,6 +101,9 @@ public class PlatformContextProviderFactory {
     }
     LOGGER.info("Loaded {} platform contexts from 1C syntax helper",
       provider.getContexts().size());
+    if (binPath != null) {
+      snapshot.store(binPath, provider);
+    }
     return Optional.of(provider);
   }
 }
@@ -0,0 +1,319 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.types.registry;
+
+import com.github._1c_syntax.bsl.context.api.ContextProvider;
+import com.github._1c_syntax.bsl.languageserver.infrastructure.CachePathProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.apache.commons.codec.digest.DigestUtils.md5Hex;
+
+/**
+ * Бинарный снимок разобранного платформенного контекста ({@link ContextProvider}).
+ * <p>
+ * Разбор HBK-архивов синтакс-помощника занимает секунды и порождает сотни мегабайт
+ * временных объектов на каждом старте. Снимок сохраняет готовый граф провайдера в
+ * каталоге {@link CachePathProvider} (подкаталог {@value #SNAPSHOT_DIR}, файл на каждый
+ * каталог {@code bin} платформы) и на следующих стартах читается вместо разбора.
+ * <p>
+ * Заголовок файла содержит ключ: версию формата, версию {@code bsl-context}, реальный
+ * путь к {@code bin}, версию платформы (имя каталога установки) и отпечаток HBK-файлов
+ * (имя, размер, время изменения). Снимок с другим ключом считается устаревшим, повреждённый
+ * снимок удаляется — в обоих случаях вызывающий делает полный разбор.
+ * <p>
+ * Граф пишется стандартной сериализацией Java; если провайдер её не поддерживает,
+ * снимок не создаётся. Вслед за ключом в файле перечислены классы, записанные в граф:
+ * при чтении допускаются только они. Список не расширяет доверенный набор пакетов
+ * ({@code com.github._1c_syntax}, {@code java.lang}, {@code java.math}, {@code java.net},
+ * {@code java.time}, {@code java.util} с подпакетами): граф с классом вне этого набора
+ * не сохраняется, а снимок с таким классом не читается. Оба случая пишутся в лог
+ * предупреждением.
+ */
+@Slf4j
+@Component
+public class PlatformContextSnapshot {
+
+  static final String SNAPSHOT_DIR = "platform-context";
+
+  private static final int MAGIC = 0x48424B53;
+  private static final int FORMAT_VERSION = 2;
+  private static final String HBK_EXTENSION = ".hbk";
+
+  /**
+   * Пакеты, классы которых допускаются в снимке.
+   */
+  private static final Set<String> TRUSTED_PACKAGES = Set.of("java.lang", "java.math", "java.net");
+
+  /**
+   * Корни деревьев пакетов, классы которых (включая подпакеты) допускаются в снимке.
+   */
+  private static final Set<String> TRUSTED_PACKAGE_TREES = Set.of("com.github._1c_syntax", "java.time", "java.util");
+
+  private final Path snapshotDir;
+
+  public PlatformContextSnapshot(
+    CachePathProvider cachePathProvider,
+    @Value("${app.cache.basePath}") String basePath,
+    @Value("${app.cache.fullPath}") String fullPath
+  ) {
+    this.snapshotDir = cachePathProvider.getCachePath(basePath, fullPath).resolve(SNAPSHOT_DIR);
+  }
+
+  /**
+   * Прочитать снимок платформенного контекста для каталога {@code bin}.
+   *
+   * @param binPath каталог {@code bin} платформы
+   * @return провайдер из актуального снимка, либо {@link Optional#empty()}, если снимка нет,
+   *   он устарел или не читается
+   */
+  public Optional<ContextProvider> load(Path binPath) {
+    var key = computeKey(binPath);
+    if (key == null) {
+      return Optional.empty();
+    }
+    var file = snapshotFile(binPath);
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (input.readInt() != MAGIC || !key.equals(input.readUTF())) {
+        LOGGER.debug("Platform context snapshot {} is stale", file);
+        return Optional.empty();
+      }
+      var classCount = input.readInt();
+      var classNames = new HashSet<String>();
+      for (var i = 0; i < classCount; i++) {
+        classNames.add(input.readUTF());
+      }
+      try (var objects = new ObjectInputStream(input)) {
+        objects.setObjectInputFilter(classFilter(file, classNames));
+        return Optional.of((ContextProvider) objects.readObject());
+      }
+    } catch (IOException | ClassNotFoundException | RuntimeException e) {
+      LOGGER.debug("Can't read platform context snapshot {}", file, e);
+      deleteQuietly(file);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Сохранить снимок разобранного платформенного контекста.
+   * <p>
+   * Запись идёт во временный файл с атомарной заменой: параллельный старт другого
+   * экземпляра не увидит недописанный снимок.
+   *
+   * @param binPath  каталог {@code bin} платформы, из которого разобран провайдер
+   * @param provider разобранный провайдер
+   */
+  public void store(Path binPath, ContextProvider provider) {
+    if (!(provider instanceof Serializable)) {
+      LOGGER.debug("Platform context provider {} is not serializable, snapshot is skipped",
+        provider.getClass().getName());
+      return;
+    }
+    var key = computeKey(binPath);
+    if (key == null) {
+      return;
+    }
+    var file = snapshotFile(binPath);
+    Path tempFile = null;
+    try {
+      var graph = new ByteArrayOutputStream();
+      Set<String> classNames;
+      try (var objects = new ClassRecordingOutputStream(graph)) {
+        objects.writeObject(provider);
+        classNames = objects.getClassNames();
+      }
+      var untrusted = classNames.stream()
+        .filter(className -> !isTrusted(className))
+        .toList();
+      if (!untrusted.isEmpty()) {
+        LOGGER.warn("Platform context snapshot is skipped: classes {} are not allowed in it", untrusted);
+        return;
+      }
+
+      Files.createDirectories(snapshotDir);
+      tempFile = Files.createTempFile(snapshotDir, file.getFileName().toString(), ".tmp");
+      try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+        output.writeInt(MAGIC);
+        output.writeUTF(key);
+        output.writeInt(classNames.size());
+        for (var className : classNames) {
+          output.writeUTF(className);
+        }
+        graph.writeTo(output);
+      }
+      Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.debug("Can't write platform context snapshot {}", file, e);
+      if (tempFile != null) {
+        deleteQuietly(tempFile);
+      }
+    }
+  }
+
+  Path snapshotFile(Path binPath) {
+    return snapshotDir.resolve(md5Hex(binPath.toAbsolutePath().normalize().toString()) + ".bin");
+  }
+
+  /**
+   * Ключ актуальности снимка.
+   *
+   * @param binPath каталог {@code bin} платформы
+   * @return ключ, либо {@code null}, если каталог недоступен или в нём нет HBK-файлов
+   */
+  @Nullable
+  static String computeKey(Path binPath) {
+    try {
+      var realPath = binPath.toRealPath();
+      String fingerprint;
+      try (var files = Files.list(realPath)) {
+        fingerprint = files
+          .filter(path -> path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(HBK_EXTENSION))
+          .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+          .map(PlatformContextSnapshot::fingerprint)
+          .collect(Collectors.joining(";"));
+      }
+      if (fingerprint.isEmpty()) {
+        return null;
+      }
+      var installation = realPath.getParent();
+      var platformVersion = installation == null || installation.getFileName() == null
+        ? ""
+        : installation.getFileName().toString();
+      var libraryVersion = Objects.requireNonNullElse(
+        ContextProvider.class.getPackage().getImplementationVersion(), "");
+      return String.join("|",
+        String.valueOf(FORMAT_VERSION), libraryVersion, realPath.toString(), platformVersion, fingerprint);
+    } catch (IOException | UncheckedIOException e) {
+      LOGGER.debug("Can't fingerprint platform bin {}", binPath, e);
+      return null;
+    }
+  }
+
+  /**
+   * Фильтр чтения графа: допускает только классы, перечисленные в снимке и входящие
+   * в доверенные пакеты. Отклонённый класс пишется в лог предупреждением.
+   */
+  private static ObjectInputFilter classFilter(Path file, Set<String> classNames) {
+    return (ObjectInputFilter.FilterInfo info) -> {
+      var serialClass = info.serialClass();
+      if (serialClass == null) {
+        return ObjectInputFilter.Status.UNDECIDED;
+      }
+      var elementClass = elementClass(serialClass);
+      if (elementClass.isPrimitive()) {
+        return ObjectInputFilter.Status.ALLOWED;
+      }
+      var className = elementClass.getName();
+      if (classNames.contains(className) && isTrusted(className)) {
+        return ObjectInputFilter.Status.ALLOWED;
+      }
+      LOGGER.warn("Platform context snapshot {} is rejected: class {} is not allowed in it", file, className);
+      return ObjectInputFilter.Status.REJECTED;
+    };
+  }
+
+  private static boolean isTrusted(String className) {
+    var separator = className.lastIndexOf('.');
+    var packageName = separator < 0 ? "" : className.substring(0, separator);
+    return TRUSTED_PACKAGES.contains(packageName)
+      || TRUSTED_PACKAGE_TREES.stream()
+      .anyMatch(root -> packageName.equals(root) || packageName.startsWith(root + "."));
+  }
+
+  private static Class<?> elementClass(Class<?> clazz) {
+    var elementClass = clazz;
+    while (elementClass.isArray()) {
+      elementClass = elementClass.getComponentType();
+    }
+    return elementClass;
+  }
+
+  private static String fingerprint(Path hbk) {
+    try {
+      return hbk.getFileName() + ":" + Files.size(hbk) + ":" + Files.getLastModifiedTime(hbk).toMillis();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      LOGGER.debug("Can't delete platform context snapshot {}", file, e);
+    }
+  }
+
+  /**
+   * Поток сериализации, запоминающий классы записанных объектов.
+   * Классы прокси не запоминаются, поэтому при чтении снимка отклоняются.
+   */
+  private static final class ClassRecordingOutputStream extends ObjectOutputStream {
+
+    private final Set<String> classNames = new TreeSet<>();
+
+    private ClassRecordingOutputStream(OutputStream output) throws IOException {
+      super(output);
+    }
+
+    @Override
+    protected void annotateClass(Class<?> clazz) {
+      var elementClass = elementClass(clazz);
+      if (!elementClass.isPrimitive()) {
+        classNames.add(elementClass.getName());
+      }
+    }
+
+    private Set<String> getClassNames() {
+      return classNames;
+    }
+  }
+}
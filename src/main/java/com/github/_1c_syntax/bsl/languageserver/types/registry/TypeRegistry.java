@@ -21,6 +21,7 @@
  */
 package com.github._1c_syntax.bsl.languageserver.types.registry;
 
+import com.github._1c_syntax.bsl.languageserver.configuration.events.LanguageServerConfigurationChangedEvent;
 import com.github._1c_syntax.bsl.languageserver.context.events.DocumentContextContentChangedEvent;
 import com.github._1c_syntax.bsl.languageserver.context.symbol.SourceDefinedSymbol;
 import java.lang.ref.WeakReference;
@@ -52,12 +53,16 @@ import org.jspecify.annotations.Nullable;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.net.URI;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
@@ -121,14 +126,39 @@ public class TypeRegistry {
    * Мемоизация {@link #getMembers(TypeRef, FileType)}. Сборка членов
    * (особенно переспециализация config/generic-типов) дорогая, а на горячем
    * пути (семантические токены, completion) повторяется для одного типа тысячи
-   * раз. Инвалидация — через {@link #membersEpoch}: любая мутация
-   * {@link #memberSources} (register/unregister) бампает счётчик, и устаревшие
-   * записи пересобираются при следующем обращении. В steady-state (во время
-   * запроса, без регистраций) memo стабилен.
+   * раз. Инвалидация двухуровневая:
+   * <ul>
+   *   <li>структурная — через {@link #membersEpoch}: любая мутация
+   *       {@link #memberSources} (register/unregister) бампает счётчик, и устаревшие
+   *       записи пересобираются при следующем обращении;</li>
+   *   <li>по документам — через граф зависимостей: запись сбрасывается, только если
+   *       её источники читают изменённый документ ({@link MemberSource#documentDependencies()})
+   *       либо при сборке она читала члены уже сброшенного типа.</li>
+   * </ul>
+   * Правка модуля, от которого тип не зависит, memo этого типа не трогает.
    */
   private final AtomicLong membersEpoch = new AtomicLong();
   private final Map<MembersKey, CachedMembers> membersCache = new ConcurrentHashMap<>();
 
+  /** Документ → записи memo, чьи источники читают этот документ. */
+  private final Map<URI, Set<MembersKey>> membersKeysByDocument = new ConcurrentHashMap<>();
+
+  /**
+   * Запись memo → записи, при сборке которых она читалась через вложенный
+   * {@link #getMembers(TypeRef, FileType)} (специализации, наследование, ссылки
+   * {@code см.}). Сброс записи каскадно сбрасывает зависящие от неё.
+   */
+  private final Map<MembersKey, Set<MembersKey>> dependentMembersKeys = new ConcurrentHashMap<>();
+
+  /**
+   * Счётчик точечных сбросов memo. Сборка, во время которой случился сброс, не
+   * кэшируется: она могла прочитать документ до его изменения.
+   */
+  private final AtomicLong membersInvalidations = new AtomicLong();
+
+  /** Стек собираемых на текущем потоке записей memo — для записи вложенных зависимостей. */
+  private final ThreadLocal<Deque<MembersKey>> membersInProgress = new ThreadLocal<>();
+
   private record MembersKey(TypeRef ref, FileType fileType) implements Comparable<MembersKey> {
 
     private static final Comparator<MembersKey> NATURAL_ORDER = Comparator
@@ -387,14 +417,27 @@ public class TypeRegistry {
    * каноничный {@link TypeRef}.
    */
   public Collection<MemberDescriptor> getMembers(TypeRef ref, FileType fileType) {
-    var epoch = membersEpoch.get();
     var key = new MembersKey(ref, fileType);
+    var inProgress = membersInProgress.get();
+    if (inProgress != null && !inProgress.isEmpty()) {
+      dependentMembersKeys.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(inProgress.peek());
+    }
+
+    var epoch = membersEpoch.get();
     var cached = membersCache.get(key);
     if (cached != null && cached.epoch() == epoch) {
       return cached.members();
     }
-    var members = computeMembers(ref, fileType);
-    membersCache.put(key, new CachedMembers(epoch, members));
+
+    var invalidations = membersInvalidations.get();
+    var members = computeMembers(key);
+    var computed = new CachedMembers(epoch, members);
+    membersCache.put(key, computed);
+    // Сброс мог пройти между сборкой и put: тогда запись могла прочитать
+    // устаревший документ, и оставлять её в memo нельзя.
+    if (membersInvalidations.get() != invalidations) {
+      membersCache.remove(key, computed);
+    }
     return members;
   }
 
@@ -444,7 +487,7 @@ public class TypeRegistry {
    */
   public void registerGlobalPropertyType(TypeRef ref, FileType fileType) {
     globalPropertyTypes.get(fileType).add(ref);
-    membersEpoch.incrementAndGet();
+    invalidateGlobalContext(fileType);
   }
 
   /**
@@ -458,7 +501,7 @@ public class TypeRegistry {
   public void registerGlobalPropertyType(TypeRef ref, FileType fileType, SourceDefinedSymbol declaration) {
     globalPropertyTypes.get(fileType).add(ref);
     globalPropertySymbols.put(ref, new WeakReference<>(declaration));
-    membersEpoch.incrementAndGet();
+    invalidateGlobalContext(fileType);
   }
 
   /**
@@ -470,7 +513,7 @@ public class TypeRegistry {
   public void unregisterGlobalPropertyType(TypeRef ref, FileType fileType) {
     globalPropertyTypes.get(fileType).remove(ref);
     globalPropertySymbols.remove(ref);
-    membersEpoch.incrementAndGet();
+    invalidateGlobalContext(fileType);
   }
 
   /**
@@ -508,17 +551,11 @@ public class TypeRegistry {
   }
 
   /**
-   * Версия данных о членах типов: монотонный счётчик, инкрементируемый при любой
-   * мутации member-источников/оверрайдов и при изменении документов. Потребители
-   * (например, {@link GlobalScopeProvider} для name-индекса глобальной области)
-   * используют его как ключ инвалидации своих кэшей. Резолв глобальной области сам
-   * по себе — не дело {@code TypeRegistry} (хранилища типов); это абстракция
-   * {@code GlobalScopeProvider}.
-   *
-   * @return текущая эпоха членов.
+   * Сбросить memo членов {@link #GLOBAL_CONTEXT} языка (и зависящих от них записей)
+   * при изменении набора или символов-источников глобальных свойств.
    */
-  public long membersEpoch() {
-    return membersEpoch.get();
+  private void invalidateGlobalContext(FileType fileType) {
+    invalidateMembers(List.of(new MembersKey(GLOBAL_CONTEXT, fileType)));
   }
 
   /**
@@ -535,20 +572,64 @@ public class TypeRegistry {
     return resolve(name).map(ref -> !getConstructors(ref, fileType).isEmpty()).orElse(false);
   }
 
-  private List<MemberDescriptor> computeMembers(TypeRef ref, FileType fileType) {
-    // Snapshot: список source'ов может модифицироваться параллельно через
-    // registerMemberSource/registerMemberOverride (Phase B/C MetadataCollectionSpecializer
-    // и др. workspace-scoped провайдеры). Список — CopyOnWriteArrayList,
-    // снимок через List.copyOf дёшев и стабилен на время итерации.
-    var byName = new LinkedHashMap<String, MemberDescriptor>();
-    for (var source : List.copyOf(resolveMemberSources(ref, fileType))) {
-      for (var member : source.getMembers()) {
-        byName.putIfAbsent(member.name().toLowerCase(Locale.ROOT), member);
+  private List<MemberDescriptor> computeMembers(MembersKey key) {
+    var inProgress = membersInProgress.get();
+    if (inProgress == null) {
+      inProgress = new ArrayDeque<>();
+      membersInProgress.set(inProgress);
+    }
+    inProgress.push(key);
+    try {
+      // Snapshot: список source'ов может модифицироваться параллельно через
+      // registerMemberSource/registerMemberOverride (Phase B/C MetadataCollectionSpecializer
+      // и др. workspace-scoped провайдеры). Список — CopyOnWriteArrayList,
+      // снимок через List.copyOf дёшев и стабилен на время итерации.
+      var byName = new LinkedHashMap<String, MemberDescriptor>();
+      for (var source : List.copyOf(resolveMemberSources(key.ref(), key.fileType()))) {
+        // Зависимость фиксируется до чтения: сброс документа во время сборки
+        // должен найти эту запись.
+        for (var uri : source.documentDependencies()) {
+          membersKeysByDocument.computeIfAbsent(uri, k -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        for (var member : source.getMembers()) {
+          byName.putIfAbsent(member.name().toLowerCase(Locale.ROOT), member);
+        }
+      }
+      // Неизменяемый список: память шарится между вызовами, случайная мутация
+      // упадёт сразу (все потребители только итерируют).
+      return List.copyOf(byName.values());
+    } finally {
+      inProgress.pop();
+      // Не держим пустой стек в ThreadLocal на пуловых потоках (S5164).
+      if (inProgress.isEmpty()) {
+        membersInProgress.remove();
+      }
+    }
+  }
+
+  /**
+   * Документы, которые читают источники членов типа ({@link MemberSource#documentDependencies()}).
+   * Позволяет кэшам поверх {@link #getMembers(TypeRef, FileType)} сбрасываться по тем же
+   * документам, что и memo реестра. Учитываются только собственные источники типа,
+   * без вложенных чтений специализаций.
+   *
+   * @param ref      тип.
+   * @param fileType язык файла-потребителя.
+   * @return URI документов; пустое множество, если члены от документов не зависят.
+   */
+  public Set<URI> memberDocumentDependencies(TypeRef ref, FileType fileType) {
+    Set<URI> documents = null;
+    for (var source : resolveMemberSources(ref, fileType)) {
+      var dependencies = source.documentDependencies();
+      if (dependencies.isEmpty()) {
+        continue;
+      }
+      if (documents == null) {
+        documents = new HashSet<>();
       }
+      documents.addAll(dependencies);
     }
-    // Неизменяемый список: память шарится между вызовами, случайная мутация
-    // упадёт сразу (все потребители только итерируют).
-    return List.copyOf(byName.values());
+    return documents == null ? Set.of() : documents;
   }
 
   /**
@@ -571,14 +652,58 @@ public class TypeRegistry {
   }
 
   /**
-   * Сбросить memo {@link #getMembers}. Member-source'ы конфигурационных модулей и
-   * OScript-библиотек лениво читают символьное дерево документа и меняют вывод при
-   * правке без ре-регистрации источника — поэтому при любом изменении содержимого
-   * документа memo надо инвалидировать.
+   * Сбросить memo {@link #getMembers} для типов, зависящих от изменённого документа.
+   * Member-source'ы конфигурационных модулей и OScript-библиотек лениво читают
+   * символьное дерево документа и меняют вывод при правке без ре-регистрации
+   * источника. Сбрасываются только записи, чьи источники объявили зависимость от
+   * документа ({@link MemberSource#documentDependencies()}), и каскадно — записи,
+   * собранные из их членов; memo платформенных и прочих типов остаётся валидным.
    */
   @EventListener
   public void invalidateMembersCache(DocumentContextContentChangedEvent event) {
+    var keys = membersKeysByDocument.remove(event.getSource().getUri());
+    if (keys != null) {
+      invalidateMembers(keys);
+    }
+  }
+
+  /**
+   * Сбросить memo {@link #getMembers} целиком при изменении настроек сервера.
+   * Источники членов конфигурационных типов берут локализованные имена и описания
+   * из {@code LanguageServerConfiguration#getLanguage()}, поэтому после смены языка
+   * устаревают все записи, а не только зависящие от какого-либо документа.
+   *
+   * @param event событие изменения настроек сервера.
+   */
+  @EventListener
+  public void invalidateMembersCache(LanguageServerConfigurationChangedEvent event) {
     membersEpoch.incrementAndGet();
+    membersInvalidations.incrementAndGet();
+    membersCache.clear();
+    membersKeysByDocument.clear();
+    dependentMembersKeys.clear();
+  }
+
+  /**
+   * Сбросить записи memo и транзитивно все записи, при сборке которых они читались.
+   *
+   * @param roots записи, требующие пересборки.
+   */
+  private void invalidateMembers(Collection<MembersKey> roots) {
+    membersInvalidations.incrementAndGet();
+    var queue = new ArrayDeque<>(roots);
+    var visited = new HashSet<MembersKey>();
+    while (!queue.isEmpty()) {
+      var key = queue.poll();
+      if (!visited.add(key)) {
+        continue;
+      }
+      membersCache.remove(key);
+      var dependents = dependentMembersKeys.remove(key);
+      if (dependents != null) {
+        queue.addAll(dependents);
+      }
+    }
   }
 
   /**
@@ -921,6 +1046,10 @@ public class TypeRegistry {
     types.put(ref, new UserType(ref, declaration));
     addAlias(qualifiedName, ref);
     registerFileType(ref, fileType);
+    if (globalPropertyTypes.get(fileType).contains(ref)) {
+      // член-глобал-свойство несёт символ-объявление из UserType
+      invalidateGlobalContext(fileType);
+    }
     return ref;
   }
 
@@ -22,7 +22,6 @@
 package com.github._1c_syntax.bsl.languageserver.types.scope;
 
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
-import com.github._1c_syntax.bsl.languageserver.utils.Trees;
 import com.github._1c_syntax.bsl.parser.BSLParser;
 import lombok.experimental.UtilityClass;
 
@@ -50,8 +49,8 @@ public class UseDirectiveScanner {
    *         в порядке их появления.
    */
   public static Set<String> usedLibraries(DocumentContext documentContext) {
-    var ast = documentContext.getAst();
-    var nodes = Trees.<BSLParser.UseContext>findAllRuleNodes(ast, BSLParser.RULE_use);
+    var index = documentContext.getParseTreeIndex();
+    var nodes = index.<BSLParser.UseContext>findAllRuleNodes(BSLParser.RULE_use);
     if (nodes.isEmpty()) {
       return Set.of();
     }
@@ -0,0 +1,126 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.utils;
+
+import lombok.experimental.UtilityClass;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Вспомогательный класс для кооперативной отмены вычислений.
+ * <p>
+ * Помимо явной передачи {@link CancelChecker} параметром, проверяющий может быть привязан к текущему потоку
+ * на время вычисления ({@link #callWith(CancelChecker, Supplier)}). Так он доступен глубоко вложенному коду
+ * (инференсу типов, диагностикам), сигнатуры которого не содержат проверяющего.
+ * При переходе вычисления в другой поток проверяющий нужно передать явно и привязать заново.
+ */
+@UtilityClass
+public class CancelCheckers {
+
+  /**
+   * Проверяющий, который никогда не сообщает об отмене.
+   */
+  public final CancelChecker NONE = () -> {
+    // no-op
+  };
+
+  private final ThreadLocal<@Nullable CancelChecker> CURRENT = new ThreadLocal<>();
+
+  /**
+   * Получить проверяющий, привязанный к текущему потоку.
+   *
+   * @return Проверяющий текущего вычисления или {@link #NONE}, если вычисление не отменяемо
+   */
+  public CancelChecker current() {
+    var checker = CURRENT.get();
+    return checker == null ? NONE : checker;
+  }
+
+  /**
+   * Проверить отмену текущего вычисления.
+   *
+   * @throws CancellationException если вычисление отменено
+   */
+  public void checkCanceled() {
+    var checker = CURRENT.get();
+    if (checker != null) {
+      checker.checkCanceled();
+    }
+  }
+
+  /**
+   * Выполнить вычисление с проверяющим, привязанным к текущему потоку.
+   * После завершения восстанавливается предыдущая привязка.
+   *
+   * @param cancelChecker Проверяющий отмены
+   * @param supplier      Вычисление
+   * @param <T>           Тип результата
+   * @return Результат вычисления
+   */
+  public <T> T callWith(CancelChecker cancelChecker, Supplier<T> supplier) {
+    var previous = CURRENT.get();
+    CURRENT.set(cancelChecker);
+    try {
+      return supplier.get();
+    } finally {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+  }
+
+  /**
+   * Выполнить действие с проверяющим, привязанным к текущему потоку.
+   *
+   * @param cancelChecker Проверяющий отмены
+   * @param runnable      Действие
+   */
+  public void runWith(CancelChecker cancelChecker, Runnable runnable) {
+    callWith(cancelChecker, () -> {
+      runnable.run();
+      return Boolean.TRUE;
+    });
+  }
+
+  /**
+   * Объединить проверяющий запроса с проверкой актуальности версии документа.
+   *
+   * @param cancelChecker  Проверяющий отмены запроса клиентом
+   * @param latestVersion  Поставщик последней известной версии документа
+   * @param startedVersion Версия документа, для которой запущено вычисление
+   * @return Проверяющий, сообщающий об отмене и при появлении более новой версии документа
+   */
+  public CancelChecker withVersion(CancelChecker cancelChecker, IntSupplier latestVersion, int startedVersion) {
+    return () -> {
+      cancelChecker.checkCanceled();
+      if (latestVersion.getAsInt() > startedVersion) {
+        throw new CancellationException("Document version " + startedVersion + " is superseded");
+      }
+    };
+  }
+}
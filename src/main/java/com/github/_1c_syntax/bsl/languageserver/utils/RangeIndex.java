@@ -0,0 +1,220 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.utils;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Неизменяемый индекс диапазонов документа для поиска по позиции.
+ * <p>
+ * Диапазоны хранятся в примитивных массивах, отсортированными по началу, а при равном начале - по убыванию конца,
+ * чтобы при обратном проходе вложенный диапазон встречался раньше охватывающего.
+ * Позиция упаковывается в {@code long}: строка в старших 32 битах, символ - в младших, поэтому
+ * сравнение позиций сводится к сравнению чисел. Дополнительно хранится префиксный максимум концов
+ * диапазонов, который позволяет прекратить поиск вложенного диапазона, как только ни один из
+ * предшествующих диапазонов не может содержать позицию.
+ * <p>
+ * Индекс возвращает номера элементов в исходном порядке, в котором диапазоны были переданы при
+ * построении, и не хранит сами элементы.
+ */
+public final class RangeIndex {
+
+  /**
+   * Результат поиска, если подходящий диапазон не найден.
+   */
+  public static final int NOT_FOUND = -1;
+
+  private static final RangeIndex EMPTY = new RangeIndex(new long[0], new long[0], new long[0], new int[0]);
+
+  private final long[] starts;
+  private final long[] ends;
+  private final long[] maxEnds;
+  private final int[] order;
+
+  private RangeIndex(long[] starts, long[] ends, long[] maxEnds, int[] order) {
+    this.starts = starts;
+    this.ends = ends;
+    this.maxEnds = maxEnds;
+    this.order = order;
+  }
+
+  /**
+   * Построить индекс по упакованным границам диапазонов.
+   *
+   * @param starts упакованные начала диапазонов (см. {@link #pack(int, int)}).
+   * @param ends   упакованные концы диапазонов.
+   * @param size   количество диапазонов, используемых из массивов.
+   * @return индекс диапазонов.
+   */
+  public static RangeIndex create(long[] starts, long[] ends, int size) {
+    if (size == 0) {
+      return EMPTY;
+    }
+
+    var order = IntStream.range(0, size)
+      .boxed()
+      .sorted(Comparator.<Integer>comparingLong(i -> starts[i])
+        .thenComparing(i -> ends[i], Comparator.reverseOrder()))
+      .mapToInt(Integer::intValue)
+      .toArray();
+
+    var sortedStarts = new long[size];
+    var sortedEnds = new long[size];
+    var maxEnds = new long[size];
+    var maxEnd = Long.MIN_VALUE;
+    for (var i = 0; i < size; i++) {
+      sortedStarts[i] = starts[order[i]];
+      sortedEnds[i] = ends[order[i]];
+      maxEnd = Math.max(maxEnd, sortedEnds[i]);
+      maxEnds[i] = maxEnd;
+    }
+    return new RangeIndex(sortedStarts, sortedEnds, maxEnds, order);
+  }
+
+  /**
+   * Построить индекс по списку диапазонов.
+   *
+   * @param ranges диапазоны.
+   * @return индекс диапазонов.
+   */
+  public static RangeIndex create(List<Range> ranges) {
+    var size = ranges.size();
+    var starts = new long[size];
+    var ends = new long[size];
+    for (var i = 0; i < size; i++) {
+      var range = ranges.get(i);
+      starts[i] = pack(range.getStart());
+      ends[i] = pack(range.getEnd());
+    }
+    return create(starts, ends, size);
+  }
+
+  /**
+   * @return количество диапазонов в индексе.
+   */
+  public int size() {
+    return order.length;
+  }
+
+  /**
+   * Найти диапазон, совпадающий с указанным.
+   *
+   * @param range искомый диапазон.
+   * @return номер элемента или {@link #NOT_FOUND}.
+   */
+  public int find(Range range) {
+    return find(pack(range.getStart()), pack(range.getEnd()));
+  }
+
+  /**
+   * Найти диапазон с указанными упакованными границами.
+   *
+   * @param start упакованное начало диапазона.
+   * @param end   упакованный конец диапазона.
+   * @return номер элемента или {@link #NOT_FOUND}.
+   */
+  public int find(long start, long end) {
+    var low = 0;
+    var high = starts.length - 1;
+    while (low <= high) {
+      var middle = (low + high) >>> 1;
+      var compare = starts[middle] == start ? Long.compare(end, ends[middle]) : Long.compare(starts[middle], start);
+      if (compare < 0) {
+        low = middle + 1;
+      } else if (compare > 0) {
+        high = middle - 1;
+      } else {
+        return order[middle];
+      }
+    }
+    return NOT_FOUND;
+  }
+
+  /**
+   * Найти наиболее вложенный диапазон, содержащий позицию.
+   * <p>
+   * Семантика вхождения совпадает с {@link Ranges#containsPosition(Range, Position)}.
+   *
+   * @param position позиция в документе.
+   * @return номер элемента или {@link #NOT_FOUND}.
+   */
+  public int findContaining(Position position) {
+    return findContaining(pack(position));
+  }
+
+  /**
+   * Найти наиболее вложенный диапазон, содержащий упакованную позицию.
+   *
+   * @param position упакованная позиция.
+   * @return номер элемента или {@link #NOT_FOUND}.
+   */
+  public int findContaining(long position) {
+    // последний диапазон, начинающийся не позже позиции
+    var low = 0;
+    var high = starts.length;
+    while (low < high) {
+      var middle = (low + high) >>> 1;
+      if (starts[middle] <= position) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    for (var i = low - 1; i >= 0; i--) {
+      if (starts[i] == position || position < ends[i]) {
+        return order[i];
+      }
+      // все предшествующие диапазоны начинаются раньше позиции и заканчиваются не позже нее
+      if (maxEnds[i] <= position) {
+        break;
+      }
+    }
+    return NOT_FOUND;
+  }
+
+  /**
+   * Упаковать позицию в {@code long}.
+   *
+   * @param position позиция.
+   * @return упакованная позиция.
+   */
+  public static long pack(Position position) {
+    return pack(position.getLine(), position.getCharacter());
+  }
+
+  /**
+   * Упаковать позицию в {@code long}: строка в старших 32 битах, символ - в младших.
+   *
+   * @param line      строка.
+   * @param character символ.
+   * @return упакованная позиция.
+   */
+  public static long pack(int line, int character) {
+    return ((long) line << Integer.SIZE) | (character & 0xFFFF_FFFFL);
+  }
+}
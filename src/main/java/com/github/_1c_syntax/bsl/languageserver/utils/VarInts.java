@@ -0,0 +1,90 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Запись и чтение целых чисел переменной длины (varint) для компактных бинарных снимков.
+ * <p>
+ * Неотрицательное число занимает от одного до пяти байт по семь значащих бит в каждом.
+ * Знаковые значения (например, дельты строк) предварительно кодируются зигзагом
+ * ({@link #zigZag(int)}), чтобы небольшие по модулю отрицательные числа тоже были короткими.
+ */
+@UtilityClass
+public class VarInts {
+
+  /**
+   * Записать число в формате varint.
+   *
+   * @param output поток записи
+   * @param value  неотрицательное число
+   * @throws IOException ошибка записи в поток
+   */
+  public void write(DataOutput output, int value) throws IOException {
+    var remaining = value;
+    while ((remaining & ~0x7F) != 0) {
+      output.writeByte((remaining & 0x7F) | 0x80);
+      remaining >>>= 7;
+    }
+    output.writeByte(remaining);
+  }
+
+  /**
+   * Прочитать число в формате varint.
+   *
+   * @param input поток чтения
+   * @return прочитанное число
+   * @throws IOException ошибка чтения или некорректная запись числа
+   */
+  public int read(DataInput input) throws IOException {
+    var value = 0;
+    for (var shift = 0; shift < Integer.SIZE; shift += 7) {
+      var b = input.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint");
+  }
+
+  /**
+   * @param value знаковое число
+   * @return неотрицательное представление числа для записи varint
+   */
+  public int zigZag(int value) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  /**
+   * @param value неотрицательное представление, полученное {@link #zigZag(int)}
+   * @return исходное знаковое число
+   */
+  public int unZigZag(int value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
@@ -22,7 +22,6 @@
 package com.github._1c_syntax.bsl.languageserver.aop.measures;
 
 import com.github._1c_syntax.bsl.languageserver.utils.ThrowingSupplier;
-import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -37,6 +36,7 @@ import java.io.FileOutputStream;
 import java.io.PrintStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
 
 @SpringBootTest
 @ActiveProfiles("measures")
@@ -58,6 +58,7 @@ class MeasureCollectorTest {
   @BeforeEach
   void setUpStreams() {
     measureCollector.getMeasures().clear();
+    measureCollector.getCounters().clear();
     outContent = new ByteArrayOutputStream();
     System.setOut(new PrintStream(outContent));
   }
@@ -78,8 +79,62 @@ class MeasureCollectorTest {
     assertThat(measures)
       .containsKey("test")
       .extractingByKey("test")
-      .asInstanceOf(InstanceOfAssertFactories.LIST)
-      .isNotEmpty();
+      .extracting(MeasureHistogram::getCount)
+      .isEqualTo(1L);
+  }
+
+  @Test
+  void testSnapshotPercentiles() {
+    // given
+    for (var i = 1; i <= 1000; i++) {
+      measureCollector.record("test", i * 1_000L);
+    }
+
+    // when
+    var snapshot = measureCollector.snapshot().get("test");
+
+    // then
+    assertThat(snapshot.count()).isEqualTo(1000L);
+    assertThat(snapshot.maxNanos()).isEqualTo(1_000_000L);
+    assertThat(snapshot.p50()).isCloseTo(500_000L, withinPercentage(4));
+    assertThat(snapshot.p99()).isCloseTo(990_000L, withinPercentage(4));
+  }
+
+  @Test
+  void testPrometheusText() {
+    // given
+    measureCollector.record("lsp: \"hover\"", 2_000_000L);
+
+    // when
+    var text = measureCollector.toPrometheusText();
+
+    // then
+    assertThat(text)
+      .contains("# TYPE bsl_ls_measure_seconds summary")
+      .contains("bsl_ls_measure_seconds_count{measure=\"lsp: \\\"hover\\\"\"} 1")
+      .containsPattern("bsl_ls_measure_seconds\\{measure=\"[^\"]+\",quantile=\"0\\.99\"}");
+  }
+
+  @Test
+  void testCountersCollecting() {
+    // when
+    measureCollector.increment("cache hit");
+    measureCollector.increment("cache hit");
+    measureCollector.increment("cache miss");
+
+    // then
+    assertThat(measureCollector.countersSnapshot())
+      .containsEntry("cache hit", 2L)
+      .containsEntry("cache miss", 1L);
+    assertThat(measureCollector.toPrometheusText())
+      .contains("# TYPE bsl_ls_events_total counter")
+      .contains("bsl_ls_events_total{counter=\"cache hit\"} 2");
+
+    // when
+    measureCollector.reset();
+
+    // then
+    assertThat(measureCollector.countersSnapshot()).containsEntry("cache hit", 0L);
   }
 
   @Test
@@ -33,7 +33,7 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 
-import java.util.List;
+import java.net.URI;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -68,7 +68,7 @@ class MeasuresSubsystemTest extends AbstractServerContextAwareTest {
     documentContext.getDiagnostics();
 
     // then
-    Map<String, List<Long>> measures = measureCollector.getMeasures();
+    Map<String, MeasureHistogram> measures = measureCollector.getMeasures();
 
     assertThat(measures)
       .containsKey("context: ast")
@@ -80,6 +80,7 @@ class MeasuresSubsystemTest extends AbstractServerContextAwareTest {
       .containsKey("context: cyclomaticComplexity")
       .containsKey("context: metrics")
       .containsKey("context: configuration")
+      .containsKey("diagnostics: fused walk")
     ;
 
     assertThat(measures.keySet())
@@ -88,8 +89,39 @@ class MeasuresSubsystemTest extends AbstractServerContextAwareTest {
     ;
 
     assertThat(measures.values())
-      .allSatisfy(longs -> assertThat(longs).isNotEmpty())
+      .allSatisfy(histogram -> assertThat(histogram.getCount()).isPositive())
     ;
   }
 
-}
\ No newline at end of file
+  @Test
+  void testAstCacheLookupsAreCounted() {
+    // given
+    context.populateContext();
+    var documentContext = context.getDocuments().values().iterator().next();
+
+    // when
+    context.tryClearDocument(documentContext);
+    context.rebuildDocument(documentContext);
+
+    // then
+    assertThat(measureCollector.getCounters())
+      .containsKey("context: ast cache hit")
+      .containsKey("context: ast cache miss")
+    ;
+  }
+
+  @Test
+  void testVirtualLambdaDocumentLookupsAreNotCounted() {
+    // given
+    var virtualDocument = context.addDocument(Absolute.uri(URI.create("file:///virtual-lambda-test.os")));
+    var missesBefore = measureCollector.countersSnapshot().getOrDefault("context: ast cache miss", 0L);
+
+    // when
+    context.rebuildDocument(virtualDocument, "А = 1;", 1);
+
+    // then
+    assertThat(measureCollector.countersSnapshot().getOrDefault("context: ast cache miss", 0L))
+      .isEqualTo(missesBefore);
+  }
+
+}
@@ -267,8 +267,9 @@ class ArchitectureTest {
 
     // Точка входа и головы
     .whereLayer("Application").mayOnlyAccessLayers("Cli")
+    // Cli читает индекс ссылок, чтобы определить межфайловые зависимости для инкрементального анализа.
     .whereLayer("Cli").mayOnlyAccessLayers(
-      "Configuration", "Context", "Infrastructure", "Mcp", "Providers", "Reporters", "Utils")
+      "Configuration", "Context", "Infrastructure", "Mcp", "Providers", "References", "Reporters", "Utils")
     .whereLayer("Mcp").mayOnlyAccessLayers(
       "Configuration", "Context", "Infrastructure", "Providers", "Types", "Utils")
     // Lsp вдобавок резолвит протокольные Data-DTO (CodeLensData/CompletionData/InlayHintData)
@@ -0,0 +1,151 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.cfg;
+
+import com.github._1c_syntax.bsl.languageserver.util.TestUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CompactControlFlowGraphTest {
+
+  private static final String CODE = """
+    А = 1;
+    Если А > 0 Тогда
+      Б = 2;
+    ИначеЕсли А < 0 Тогда
+      Возврат;
+    КонецЕсли;
+    Пока Б > 0 Цикл
+      Б = Б - 1;
+    КонецЦикла;
+    """;
+
+  @Test
+  void compactGraphKeepsVerticesAndEdges() {
+    // given
+    var documentContext = TestUtils.getDocumentContext(CODE);
+    var graph = new CfgBuildingParseTreeVisitor().buildGraph(documentContext.getAst().fileCodeBlock().codeBlock());
+
+    // when
+    var compact = CompactControlFlowGraph.from(graph);
+
+    // then
+    assertThat(compact.vertexCount()).isEqualTo(graph.vertexSet().size());
+    assertThat(compact.edgeCount()).isEqualTo(graph.edgeSet().size());
+    assertThat(compact.vertex(compact.entryPoint())).isSameAs(graph.getEntryPoint());
+    assertThat(compact.vertex(compact.exitPoint())).isSameAs(graph.getExitPoint());
+
+    for (var vertex : graph.vertexSet()) {
+      var index = compact.indexOf(vertex);
+      assertThat(compact.vertex(index)).isSameAs(vertex);
+      assertThat(compact.outDegree(index)).isEqualTo(graph.outDegreeOf(vertex));
+      assertThat(compact.inDegree(index)).isEqualTo(graph.inDegreeOf(vertex));
+    }
+    for (var edge : graph.edgeSet()) {
+      var source = compact.indexOf(graph.getEdgeSource(edge));
+      var target = compact.indexOf(graph.getEdgeTarget(edge));
+      assertThat(compact.containsEdge(source, target, edge.getType())).isTrue();
+    }
+    assertThat(compact.indexOf(new BasicBlockVertex())).isEqualTo(CompactControlFlowGraph.NOT_FOUND);
+  }
+
+  @Test
+  void predecessorsMirrorSuccessors() {
+    // given
+    var documentContext = TestUtils.getDocumentContext(CODE);
+
+    // when
+    var graph = documentContext.getControlFlowGraphs().get(documentContext.getAst().fileCodeBlock().codeBlock());
+
+    // then
+    for (var source = 0; source < graph.vertexCount(); source++) {
+      for (var edge = 0; edge < graph.outDegree(source); edge++) {
+        var target = graph.successor(source, edge);
+        var type = graph.successorEdgeType(source, edge);
+        var finalSource = source;
+        assertThat(IntStream.range(0, graph.inDegree(target))
+          .anyMatch(i -> graph.predecessor(target, i) == finalSource && graph.predecessorEdgeType(target, i) == type))
+          .isTrue();
+      }
+    }
+  }
+
+  @Test
+  void reversePostorderStartsAtEntryPoint() {
+    // given
+    var documentContext = TestUtils.getDocumentContext(CODE);
+    var graph = documentContext.getControlFlowGraphs().get(documentContext.getAst().fileCodeBlock().codeBlock());
+
+    // when
+    var order = graph.reversePostorder();
+
+    // then
+    assertThat(order[0]).isEqualTo(graph.entryPoint());
+    var sorted = order.clone();
+    Arrays.sort(sorted);
+    assertThat(sorted).isEqualTo(IntStream.range(0, graph.vertexCount()).toArray());
+  }
+
+  @Test
+  void jgraphtViewHasSameStructure() {
+    // given
+    var documentContext = TestUtils.getDocumentContext(CODE);
+    var compact = documentContext.getControlFlowGraphs().get(documentContext.getAst().fileCodeBlock().codeBlock());
+
+    // when
+    var graph = compact.asGraph();
+
+    // then
+    assertThat(graph.getEntryPoint()).isSameAs(compact.vertex(compact.entryPoint()));
+    assertThat(graph.getExitPoint()).isSameAs(compact.vertex(compact.exitPoint()));
+    assertThat(graph.vertexSet()).hasSize(compact.vertexCount());
+    assertThat(graph.edgeSet()).hasSize(compact.edgeCount());
+    for (var edge : graph.edgeSet()) {
+      var source = compact.indexOf(graph.getEdgeSource(edge));
+      var target = compact.indexOf(graph.getEdgeTarget(edge));
+      assertThat(compact.containsEdge(source, target, edge.getType())).isTrue();
+    }
+  }
+
+  @Test
+  void graphsAreCachedPerBuildOptions() {
+    // given
+    var documentContext = TestUtils.getDocumentContext(CODE);
+    var codeBlock = documentContext.getAst().fileCodeBlock().codeBlock();
+    var graphs = documentContext.getControlFlowGraphs();
+
+    // when
+    var defaultGraph = graphs.get(codeBlock);
+    var withoutIterations = graphs.get(codeBlock, new CfgBuildOptions(false, true, false));
+
+    // then
+    assertThat(graphs.get(codeBlock, CfgBuildOptions.DEFAULT)).isSameAs(defaultGraph);
+    assertThat(withoutIterations).isNotSameAs(defaultGraph);
+    assertThat(withoutIterations.edgeCount()).isLessThan(defaultGraph.edgeCount());
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.cfg.dataflow;
+
+import com.github._1c_syntax.bsl.languageserver.cfg.CompactControlFlowGraph;
+import com.github._1c_syntax.bsl.languageserver.util.TestUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class LivenessTest {
+
+  @Test
+  void overwrittenValueIsDead() {
+    // given
+    var code = """
+      А = 1;
+      А = 2;
+      Сообщить(А);
+      """;
+
+    // when
+    var analysis = analyze(code);
+
+    // then
+    assertThat(isLiveAfterWrite(analysis, "А", 1)).isFalse();
+    assertThat(isLiveAfterWrite(analysis, "А", 2)).isTrue();
+  }
+
+  @Test
+  void valueReadOnNextIterationIsLive() {
+    // given
+    var code = """
+      Сч = 0;
+      Пока Сч < 10 Цикл
+        Сч = Сч + 1;
+      КонецЦикла;
+      Итог = 1;
+      """;
+
+    // when
+    var analysis = analyze(code);
+
+    // then
+    assertThat(isLiveAfterWrite(analysis, "Сч", 1)).isTrue();
+    assertThat(isLiveAfterWrite(analysis, "Сч", 3)).isTrue();
+    assertThat(isLiveAfterWrite(analysis, "Итог", 5)).isFalse();
+  }
+
+  @Test
+  void variableReadBeforeAssignmentIsLiveAtEntry() {
+    // given
+    var code = """
+      Б = А;
+      А = 1;
+      """;
+
+    var graph = graph(code);
+
+    // when
+    var analysis = Liveness.compute(graph);
+
+    // then
+    var accesses = analysis.getAccesses();
+    var liveIn = analysis.liveIn(graph.entryPoint());
+    assertThat(liveIn.get(accesses.variableIndex("а"))).isTrue();
+    assertThat(liveIn.get(accesses.variableIndex("Б"))).isFalse();
+  }
+
+  private static Liveness analyze(String code) {
+    return Liveness.compute(graph(code));
+  }
+
+  private static CompactControlFlowGraph graph(String code) {
+    var documentContext = TestUtils.getDocumentContext(code);
+    return documentContext.getControlFlowGraphs().get(documentContext.getAst().fileCodeBlock().codeBlock());
+  }
+
+  private static boolean isLiveAfterWrite(Liveness analysis, String variable, int line) {
+    var accesses = analysis.getAccesses();
+    var index = accesses.variableIndex(variable);
+    for (var vertex = 0; ; vertex++) {
+      var vertexAccesses = accesses.accesses(vertex);
+      for (var i = 0; i < vertexAccesses.size(); i++) {
+        var access = vertexAccesses.get(i);
+        if (access.write() && access.variable() == index && access.identifier().getSymbol().getLine() == line) {
+          return analysis.isLiveAfter(vertex, i);
+        }
+      }
+    }
+  }
+}
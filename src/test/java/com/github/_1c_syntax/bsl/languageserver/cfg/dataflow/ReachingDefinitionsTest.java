@@ -0,0 +1,106 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.cfg.dataflow;
+
+import com.github._1c_syntax.bsl.languageserver.util.TestUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ReachingDefinitionsTest {
+
+  @Test
+  void definitionsFromBothBranchesReachJoin() {
+    // given
+    var code = """
+      А = 1;
+      Если Условие Тогда
+        А = 2;
+      КонецЕсли;
+      Б = А;
+      """;
+
+    // when
+    var analysis = analyze(code);
+
+    // then
+    assertThat(definitionLines(analysis, "А", 5)).containsExactlyInAnyOrder(1, 3);
+  }
+
+  @Test
+  void laterAssignmentKillsEarlierOne() {
+    // given
+    var code = """
+      А = 1;
+      А = 2;
+      Б = А;
+      """;
+
+    // when
+    var analysis = analyze(code);
+
+    // then
+    assertThat(definitionLines(analysis, "А", 3)).containsExactly(2);
+  }
+
+  @Test
+  void definitionReachesNextLoopIteration() {
+    // given
+    var code = """
+      Для Каждого Элемент Из Коллекция Цикл
+        Сумма = Сумма + Элемент;
+      КонецЦикла;
+      """;
+
+    // when
+    var analysis = analyze(code);
+
+    // then
+    assertThat(definitionLines(analysis, "Сумма", 2)).containsExactly(2);
+    assertThat(definitionLines(analysis, "Элемент", 2)).containsExactly(1);
+    assertThat(definitionLines(analysis, "Коллекция", 1)).isEmpty();
+  }
+
+  private static ReachingDefinitions analyze(String code) {
+    var documentContext = TestUtils.getDocumentContext(code);
+    var graph = documentContext.getControlFlowGraphs().get(documentContext.getAst().fileCodeBlock().codeBlock());
+    return ReachingDefinitions.compute(graph);
+  }
+
+  private static int[] definitionLines(ReachingDefinitions analysis, String variable, int line) {
+    var accesses = analysis.getAccesses();
+    var index = accesses.variableIndex(variable);
+    for (var vertex = 0; ; vertex++) {
+      var vertexAccesses = accesses.accesses(vertex);
+      for (var i = 0; i < vertexAccesses.size(); i++) {
+        var access = vertexAccesses.get(i);
+        if (!access.write() && access.variable() == index && access.identifier().getSymbol().getLine() == line) {
+          return analysis.reachingDefinitions(vertex, i).stream()
+            .mapToInt(definition -> definition.identifier().getSymbol().getLine())
+            .toArray();
+        }
+      }
+    }
+  }
+}
@@ -23,15 +23,24 @@ package com.github._1c_syntax.bsl.languageserver.cli;
 
 import com.github._1c_syntax.bsl.languageserver.util.CleanupContextBeforeClassAndAfterEachTestMethod;
 import com.github._1c_syntax.bsl.languageserver.util.TestUtils;
+import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -120,6 +129,98 @@ class AnalyzeCommandTest {
     assertThat(exitCode).isZero();
   }
 
+  /** Повторный анализ с кэшем берет результаты из кэша, не перезаписывая его записи. */
+  @Test
+  void callWithCacheReusesResults() throws IOException {
+    // given
+    var cacheDir = tempDir.resolve("cache");
+
+    ReflectionTestUtils.setField(analyzeCommand, "srcDirOption", METADATA_PATH);
+    ReflectionTestUtils.setField(analyzeCommand, "workspaceDirOption", METADATA_PATH);
+    ReflectionTestUtils.setField(analyzeCommand, "outputDirOption", tempDir.toString());
+    ReflectionTestUtils.setField(analyzeCommand, "configurationOption", CONFIG_PATH);
+    ReflectionTestUtils.setField(analyzeCommand, "cacheDirOption", cacheDir.toString());
+    ReflectionTestUtils.setField(analyzeCommand, "silentMode", true);
+
+    // when
+    var firstExitCode = analyzeCommand.call();
+    var entriesAfterFirstRun = readCacheEntries(cacheDir);
+    var secondExitCode = analyzeCommand.call();
+    var entriesAfterSecondRun = readCacheEntries(cacheDir);
+
+    // then
+    assertThat(firstExitCode).isZero();
+    assertThat(secondExitCode).isZero();
+    assertThat(entriesAfterFirstRun).isNotEmpty();
+    assertThat(entriesAfterSecondRun).isEqualTo(entriesAfterFirstRun);
+
+    ReflectionTestUtils.setField(analyzeCommand, "cacheDirOption", "");
+  }
+
+  @Test
+  void callWithCacheRecomputesResultsWhenCalledModuleAppears() throws IOException {
+    // given
+    var workspaceDir = tempDir.resolve("workspace");
+    var cacheDir = tempDir.resolve("cache");
+    FileUtils.copyDirectory(Path.of(METADATA_PATH).toFile(), workspaceDir.toFile());
+    var calledModule = workspaceDir.resolve("CommonModules/КлиентскийОбщийМодуль/Ext/Module.bsl");
+    Files.delete(calledModule);
+    var caller = workspaceDir.resolve("Catalogs/СправочникСМенеджером/Ext/ObjectModule.bsl");
+    Files.writeString(caller, "\nПроцедура Вызов()\n  КлиентскийОбщийМодуль.НовыйМетод();\nКонецПроцедуры\n",
+      StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+    ReflectionTestUtils.setField(analyzeCommand, "srcDirOption", workspaceDir.toString());
+    ReflectionTestUtils.setField(analyzeCommand, "workspaceDirOption", workspaceDir.toString());
+    ReflectionTestUtils.setField(analyzeCommand, "outputDirOption", tempDir.toString());
+    ReflectionTestUtils.setField(analyzeCommand, "cacheDirOption", cacheDir.toString());
+    ReflectionTestUtils.setField(analyzeCommand, "silentMode", true);
+
+    // when
+    var firstExitCode = analyzeCommand.call();
+    var entriesAfterFirstRun = readCacheEntryContents(cacheDir);
+    Files.writeString(calledModule, "Процедура НовыйМетод() Экспорт\nКонецПроцедуры\n", StandardCharsets.UTF_8);
+    var secondExitCode = analyzeCommand.call();
+    var entriesAfterSecondRun = readCacheEntryContents(cacheDir);
+
+    // then
+    assertThat(firstExitCode).isZero();
+    assertThat(secondExitCode).isZero();
+    var recomputed = entriesAfterSecondRun.entrySet().stream()
+      .filter(entry -> entriesAfterFirstRun.containsKey(entry.getKey()))
+      .filter(entry -> !Objects.equals(entriesAfterFirstRun.get(entry.getKey()), entry.getValue()))
+      .map(Map.Entry::getValue)
+      .toList();
+    assertThat(recomputed)
+      .isNotEmpty()
+      .anySatisfy(content -> assertThat(content)
+        .contains("СправочникСМенеджером/Ext/ObjectModule.bsl")
+        .contains("mdo:CommonModule.КлиентскийОбщийМодуль"));
+
+    ReflectionTestUtils.setField(analyzeCommand, "cacheDirOption", "");
+  }
+
+  /** Записи кэша анализа с временем их последнего изменения. */
+  private static Map<Path, FileTime> readCacheEntries(Path cacheDir) throws IOException {
+    try (var paths = Files.walk(cacheDir)) {
+      var entries = new HashMap<Path, FileTime>();
+      for (var path : paths.filter(Files::isRegularFile).toList()) {
+        entries.put(path, Files.getLastModifiedTime(path));
+      }
+      return entries;
+    }
+  }
+
+  /** Записи кэша анализа с их содержимым. */
+  private static Map<Path, String> readCacheEntryContents(Path cacheDir) throws IOException {
+    try (var paths = Files.walk(cacheDir)) {
+      var entries = new HashMap<Path, String>();
+      for (var path : paths.filter(Files::isRegularFile).toList()) {
+        entries.put(path, Files.readString(path, StandardCharsets.UTF_8));
+      }
+      return entries;
+    }
+  }
+
   /** Возвращает абсолютный путь к тестовому конфигу с {@code excludePaths}. */
   private static String resolveConfigPath() {
     var resource = AnalyzeCommandTest.class.getResource("/.bsl-language-server-exclude-paths.json");
@@ -0,0 +1,181 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.cli;
+
+import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.context.ServerContext;
+import com.github._1c_syntax.bsl.languageserver.references.ReferenceIndex;
+import com.github._1c_syntax.bsl.mdo.MD;
+import com.github._1c_syntax.utils.Absolute;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChangedSinceScopeTest {
+
+  @TempDir
+  Path repositoryDir;
+
+  @Test
+  void testChangedPathsIncludeModifiedAndUntrackedFiles() throws IOException, GitAPIException {
+    // given
+    var srcDir = Files.createDirectories(repositoryDir.resolve("src"));
+    var modified = Files.writeString(srcDir.resolve("Modified.bsl"), "А = 1;");
+    var unchanged = Files.writeString(srcDir.resolve("Unchanged.bsl"), "Б = 1;");
+    try (var git = Git.init().setDirectory(repositoryDir.toFile()).call()) {
+      git.add().addFilepattern(".").call();
+      git.commit().setMessage("initial").setAuthor("test", "test@example.com").setSign(false).call();
+    }
+    Files.writeString(modified, "А = 2;");
+    var untracked = Files.writeString(srcDir.resolve("Untracked.bsl"), "В = 1;");
+
+    // when
+    var changedPaths = ChangedSinceScope.changedPaths(srcDir, "HEAD");
+
+    // then
+    assertThat(changedPaths)
+      .contains(Absolute.path(modified.toString()), Absolute.path(untracked.toString()))
+      .doesNotContain(Absolute.path(unchanged.toString()));
+  }
+
+  @Test
+  void testChangedPathsIncludeDeletedFiles() throws IOException, GitAPIException {
+    // given
+    var srcDir = Files.createDirectories(repositoryDir.resolve("src"));
+    var deleted = Files.writeString(srcDir.resolve("Deleted.bsl"), "А = 1;");
+    try (var git = Git.init().setDirectory(repositoryDir.toFile()).call()) {
+      git.add().addFilepattern(".").call();
+      git.commit().setMessage("initial").setAuthor("test", "test@example.com").setSign(false).call();
+    }
+    Files.delete(deleted);
+
+    // when
+    var changedPaths = ChangedSinceScope.changedPaths(srcDir, "HEAD");
+
+    // then
+    assertThat(changedPaths).contains(Absolute.path(deleted.toString()));
+  }
+
+  @Test
+  void testUnknownRevisionFails() throws GitAPIException {
+    // given
+    Git.init().setDirectory(repositoryDir.toFile()).call().close();
+
+    // then
+    assertThatThrownBy(() -> ChangedSinceScope.changedPaths(repositoryDir, "no-such-branch"))
+      .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void testSelectAddsDependentsFromReferenceIndex() throws IOException {
+    // given — модуль B обращается к символам измененного модуля A, модуль C ни к чему не обращается.
+    var moduleA = Files.writeString(repositoryDir.resolve("A.bsl"), "Процедура Метод() КонецПроцедуры").toFile();
+    var moduleB = Files.writeString(repositoryDir.resolve("B.bsl"), "A.Метод();").toFile();
+    var moduleC = Files.writeString(repositoryDir.resolve("C.bsl"), "В = 1;").toFile();
+
+    var serverContext = mock(ServerContext.class);
+    var referenceIndex = mock(ReferenceIndex.class);
+    var documentA = mock(DocumentContext.class);
+    when(serverContext.isReferenceableModule(any())).thenReturn(true);
+    when(serverContext.getDocument(Absolute.uri(moduleA))).thenReturn(documentA);
+    when(documentA.getMdObject()).thenReturn(Optional.empty());
+    when(referenceIndex.getDependentDocuments(documentA)).thenReturn(Set.of(Absolute.uri(moduleB)));
+
+    // when
+    var scope = new ChangedSinceScope(serverContext, referenceIndex)
+      .select(List.of(moduleA, moduleB, moduleC), Set.of(Absolute.path(moduleA)));
+
+    // then
+    assertThat(scope).containsExactly(moduleA, moduleB);
+  }
+
+  @Test
+  void testSelectAddsFormModuleMentioningChangedObject() throws IOException {
+    // given — модули форм не загружены в индекс ссылок и отбираются по тексту.
+    var objectModule = Files.writeString(repositoryDir.resolve("ObjectModule.bsl"), "А = 1;").toFile();
+    var formModule = Files.writeString(repositoryDir.resolve("Form.bsl"), "Товары.Метод();").toFile();
+    var otherForm = Files.writeString(repositoryDir.resolve("OtherForm.bsl"), "Склады.Метод();").toFile();
+
+    var serverContext = mock(ServerContext.class);
+    var referenceIndex = mock(ReferenceIndex.class);
+    var objectDocument = mock(DocumentContext.class);
+    var mdObject = mock(MD.class);
+    when(mdObject.getName()).thenReturn("Товары");
+    when(objectDocument.getMdObject()).thenReturn(Optional.of(mdObject));
+    when(serverContext.getDocument(Absolute.uri(objectModule))).thenReturn(objectDocument);
+    when(serverContext.isReferenceableModule(Absolute.uri(objectModule))).thenReturn(true);
+    when(referenceIndex.getDependentDocuments(objectDocument)).thenReturn(Set.of());
+
+    // when
+    var scope = new ChangedSinceScope(serverContext, referenceIndex)
+      .select(List.of(objectModule, formModule, otherForm), Set.of(Absolute.path(objectModule)));
+
+    // then
+    assertThat(scope).containsExactly(objectModule, formModule);
+  }
+
+  @Test
+  void testSelectAddsModulesMentioningDeletedModule() throws IOException {
+    // given — удаленный общий модуль в индексе ссылок не представлен, обращающиеся к нему модули
+    // отбираются по тексту независимо от вида модуля.
+    var deletedModule = repositoryDir.resolve("CommonModules/ОбщийМодуль1/Ext/Module.bsl");
+    var caller = Files.writeString(repositoryDir.resolve("Caller.bsl"), "ОбщийМодуль1.Метод();").toFile();
+    var other = Files.writeString(repositoryDir.resolve("Other.bsl"), "ОбщийМодуль2.Метод();").toFile();
+
+    var serverContext = mock(ServerContext.class);
+    var referenceIndex = mock(ReferenceIndex.class);
+    when(serverContext.isReferenceableModule(any())).thenReturn(true);
+
+    // when
+    var scope = new ChangedSinceScope(serverContext, referenceIndex)
+      .select(List.of(caller, other), Set.of(Absolute.path(deletedModule.toString())));
+
+    // then
+    assertThat(scope).containsExactly(caller);
+  }
+
+  @Test
+  void testFormerObjectName() {
+    assertThat(ChangedSinceScope.formerObjectName(Path.of("CommonModules/Модуль/Ext/Module.bsl")))
+      .contains("Модуль");
+    assertThat(ChangedSinceScope.formerObjectName(Path.of("Catalogs/Товары/Forms/ФормаЭлемента/Ext/Form/Module.bsl")))
+      .contains("Товары");
+    assertThat(ChangedSinceScope.formerObjectName(Path.of("src/Catalogs/Товары/ObjectModule.bsl")))
+      .contains("Товары");
+    assertThat(ChangedSinceScope.formerObjectName(Path.of("src/Catalogs/Товары/Commands/Печать/CommandModule.bsl")))
+      .contains("Товары");
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.context;
+
+import com.github._1c_syntax.bsl.languageserver.util.CleanupContextBeforeClassAndAfterEachTestMethod;
+import com.github._1c_syntax.bsl.languageserver.util.TestUtils;
+import com.github._1c_syntax.utils.Absolute;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@CleanupContextBeforeClassAndAfterEachTestMethod
+class ClosedDocumentAstCacheTest extends AbstractServerContextAwareTest {
+
+  private static final String PATH_TO_METADATA = "src/test/resources/metadata/designer";
+  private static final String PATH_TO_MODULE_FILE = "CommonModules/ПервыйОбщийМодуль/Ext/Module.bsl";
+  private static final String CONTENT = "Процедура Тест()\nКонецПроцедуры\n";
+
+  @Test
+  void testTakeReturnsContentParsedFromSameText() {
+    // given
+    var cache = new ClosedDocumentAstCache(1);
+    var documentContext = TestUtils.getDocumentContext(CONTENT);
+    var parsedContent = documentContext.releaseSecondaryData();
+    assertThat(parsedContent).isNotNull();
+    cache.put(documentContext, parsedContent);
+
+    // when
+    var taken = cache.take(documentContext, CONTENT);
+
+    // then
+    assertThat(taken).isSameAs(parsedContent);
+    assertThat(cache.take(documentContext, CONTENT)).isNull();
+  }
+
+  @Test
+  void testTakeDropsContentParsedFromOtherText() {
+    // given
+    var cache = new ClosedDocumentAstCache(1);
+    var documentContext = TestUtils.getDocumentContext(CONTENT);
+    var parsedContent = documentContext.releaseSecondaryData();
+    assertThat(parsedContent).isNotNull();
+    cache.put(documentContext, parsedContent);
+
+    // when
+    var taken = cache.take(documentContext, CONTENT + "\n");
+
+    // then
+    assertThat(taken).isNull();
+    assertThat(cache.take(documentContext, CONTENT)).isNull();
+  }
+
+  @Test
+  void testZeroBudgetDisablesCache() {
+    // given
+    var cache = new ClosedDocumentAstCache(0);
+    var documentContext = TestUtils.getDocumentContext(CONTENT);
+    var parsedContent = documentContext.releaseSecondaryData();
+    assertThat(parsedContent).isNotNull();
+
+    // when
+    cache.put(documentContext, parsedContent);
+
+    // then
+    assertThat(cache.take(documentContext, CONTENT)).isNull();
+  }
+
+  @Test
+  void testWeightGrowsWithDocumentSize() {
+    // given
+    var small = TestUtils.getDocumentContext(CONTENT).releaseSecondaryData();
+    var large = TestUtils.getDocumentContext(CONTENT.repeat(100)).releaseSecondaryData();
+    assertThat(small).isNotNull();
+    assertThat(large).isNotNull();
+
+    // when
+    var smallWeight = ClosedDocumentAstCache.weightInKilobytes(small);
+    var largeWeight = ClosedDocumentAstCache.weightInKilobytes(large);
+
+    // then
+    assertThat(smallWeight).isPositive();
+    assertThat(largeWeight).isGreaterThan(smallWeight);
+  }
+
+  @Test
+  void testClearedDocumentIsRebuiltFromCachedAst() {
+    // given
+    initServerContext(PATH_TO_METADATA, false);
+    var documentContext = context.addDocument(Absolute.uri(new File(PATH_TO_METADATA, PATH_TO_MODULE_FILE)));
+    context.rebuildDocument(documentContext);
+    var ast = documentContext.getAst();
+
+    // when
+    context.tryClearDocument(documentContext);
+    context.rebuildDocument(documentContext);
+
+    // then
+    assertThat(documentContext.getAst()).isSameAs(ast);
+    assertThat(documentContext.getSymbolTree().getMethods()).isNotEmpty();
+  }
+}
@@ -35,6 +35,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -63,6 +64,7 @@ class DocumentChangeExecutorTest {
     documentContext = mock(DocumentContext.class);
     serverContext = mock(ServerContext.class);
     when(documentContext.getContent()).thenReturn("base");
+    when(documentContext.getDocumentText()).thenReturn(DocumentText.of("base"));
     when(documentContext.getVersion()).thenReturn(0);
     when(documentContext.getUri()).thenReturn(TEST_URI);
     when(documentContext.getServerContext()).thenReturn(serverContext);
@@ -93,10 +95,10 @@ class DocumentChangeExecutorTest {
     WorkspaceContextHolder.unregisterWorkspace(WORKSPACE_URI);
   }
 
-  private static String apply(String base, List<TextDocumentContentChangeEvent> changes) {
-    String result = base;
+  private static DocumentText apply(DocumentText base, List<TextDocumentContentChangeEvent> changes) {
+    DocumentText result = base;
     for (var change : changes) {
-      result = change.getText();
+      result = DocumentText.of(change.getText());
     }
     return result;
   }
@@ -171,4 +173,82 @@ class DocumentChangeExecutorTest {
     executor.awaitLatest().get(1, TimeUnit.SECONDS);
     assertThat(executor.awaitLatest().isDone()).isTrue();
   }
+
+  @Test
+  void changesAreAppliedOnVirtualThread() throws Exception {
+    executor.shutdown();
+    executor.awaitTermination(1, TimeUnit.SECONDS);
+
+    var virtual = new AtomicReference<Boolean>();
+    listener = (ctx, content, version) -> virtual.set(Thread.currentThread().isVirtual());
+
+    executor = new DocumentChangeExecutor(
+      documentContext,
+      DocumentChangeExecutorTest::apply,
+      listener,
+      "test"
+    );
+
+    executor.submit(1, List.of(new TextDocumentContentChangeEvent("updated")));
+    executor.awaitLatest().get(1, TimeUnit.SECONDS);
+
+    assertThat(virtual.get()).isTrue();
+  }
+
+  @Test
+  void shutdownAppliesQueuedChanges() throws Exception {
+    executor.shutdown();
+    executor.awaitTermination(1, TimeUnit.SECONDS);
+
+    var appliedContent = new AtomicReference<String>();
+    var appliedVersion = new AtomicInteger();
+    listener = (ctx, content, version) -> {
+      appliedContent.set(content.toString());
+      appliedVersion.set(version);
+    };
+
+    executor = new DocumentChangeExecutor(
+      documentContext,
+      DocumentChangeExecutorTest::apply,
+      listener,
+      "test"
+    );
+
+    executor.submit(1, List.of(new TextDocumentContentChangeEvent("first")));
+    executor.submit(2, List.of(new TextDocumentContentChangeEvent("second")));
+    executor.submit(3, List.of(new TextDocumentContentChangeEvent("third")));
+    executor.shutdown();
+
+    assertThat(executor.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(appliedVersion.get()).isEqualTo(3);
+    assertThat(appliedContent.get()).isEqualTo("third");
+    assertThat(executor.awaitLatest().isDone()).isTrue();
+  }
+
+  @Test
+  void changesQueuedDuringUnexpectedErrorAreApplied() throws Exception {
+    // given — первое обращение к блокировке документа падает уже после постановки следующего изменения
+    var lockRequested = new CountDownLatch(1);
+    var secondChangeSubmitted = new CountDownLatch(1);
+    var firstCall = new AtomicBoolean(true);
+    var lock = new ReentrantReadWriteLock();
+    when(serverContext.getDocumentLock(any())).thenAnswer(invocation -> {
+      if (firstCall.compareAndSet(true, false)) {
+        lockRequested.countDown();
+        secondChangeSubmitted.await(1, TimeUnit.SECONDS);
+        throw new IllegalStateException("test");
+      }
+      return lock;
+    });
+
+    // when
+    executor.submit(1, List.of(new TextDocumentContentChangeEvent("first")));
+    assertThat(lockRequested.await(1, TimeUnit.SECONDS)).isTrue();
+    executor.submit(2, List.of(new TextDocumentContentChangeEvent("second")));
+    secondChangeSubmitted.countDown();
+
+    // then
+    executor.awaitLatest().get(1, TimeUnit.SECONDS);
+    assertThat(listenerCalls.get()).isEqualTo(2);
+  }
 }
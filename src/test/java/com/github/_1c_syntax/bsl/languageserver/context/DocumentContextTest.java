@@ -25,6 +25,8 @@ import com.github._1c_syntax.bsl.languageserver.context.symbol.MethodSymbol;
 import com.github._1c_syntax.bsl.languageserver.context.symbol.RegionSymbol;
 import com.github._1c_syntax.bsl.languageserver.util.CleanupContextBeforeClassAndAfterEachTestMethod;
 import com.github._1c_syntax.bsl.languageserver.util.TestUtils;
+import com.github._1c_syntax.bsl.languageserver.utils.Trees;
+import com.github._1c_syntax.bsl.parser.BSLParser;
 import lombok.SneakyThrows;
 import org.antlr.v4.runtime.Lexer;
 import org.antlr.v4.runtime.Token;
@@ -71,6 +73,42 @@ class DocumentContextTest {
     assertThat(tokenizer).isNull();
   }
 
+  @Test
+  void testParseTreeIndexIsRebuiltWithAst() throws IOException {
+    // given
+    var documentContext = getDocumentContext("./src/test/resources/context/DocumentContextRebuildFirstTest.bsl");
+    var index = documentContext.getParseTreeIndex();
+    assertThat(documentContext.getParseTreeIndex()).isSameAs(index);
+
+    // when
+    File file = new File("./src/test/resources/context/DocumentContextRebuildSecondTest.bsl");
+    String fileContent = FileUtils.readFileToString(file, StandardCharsets.UTF_8);
+    documentContext.rebuild(fileContent, documentContext.getVersion() + 1);
+
+    // then
+    assertThat(documentContext.getParseTreeIndex()).isNotSameAs(index);
+    assertThat(documentContext.getParseTreeIndex().findAllRuleNodes(BSLParser.RULE_statement))
+      .containsExactlyElementsOf(Trees.findAllRuleNodes(documentContext.getAst(), BSLParser.RULE_statement));
+  }
+
+  @Test
+  void testControlFlowGraphsAreRebuiltWithAst() throws IOException {
+    // given
+    var documentContext = getDocumentContext("./src/test/resources/context/DocumentContextRebuildFirstTest.bsl");
+    var codeBlock = documentContext.getAst().fileCodeBlock().codeBlock();
+    var graph = documentContext.getControlFlowGraphs().get(codeBlock);
+    assertThat(documentContext.getControlFlowGraphs().get(codeBlock)).isSameAs(graph);
+
+    // when
+    File file = new File("./src/test/resources/context/DocumentContextRebuildSecondTest.bsl");
+    String fileContent = FileUtils.readFileToString(file, StandardCharsets.UTF_8);
+    documentContext.rebuild(fileContent, documentContext.getVersion() + 1);
+
+    // then
+    var newCodeBlock = documentContext.getAst().fileCodeBlock().codeBlock();
+    assertThat(documentContext.getControlFlowGraphs().get(newCodeBlock)).isNotSameAs(graph);
+  }
+
   @Test
   void testMethodCompute() {
 
@@ -0,0 +1,230 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.context;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentTextTest {
+
+  private static final Pattern CONTENT_SPLIT_PATTERN = Pattern.compile("\r?\n|\r");
+
+  @Test
+  void testLines() {
+    // given
+    var documentText = DocumentText.of("first\r\nsecond\nthird\rlast\n");
+
+    // then
+    assertThat(documentText.getLineCount()).isEqualTo(5);
+    assertThat(documentText.getLines()).containsExactly("first", "second", "third", "last", "");
+    assertThat(documentText.getLine(1)).isEqualTo("second");
+    assertThat(documentText.getLine(4)).isEmpty();
+    assertThatThrownBy(() -> documentText.getLine(5)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void testOffset() {
+    // given
+    var documentText = DocumentText.of("ab\r\ncd\ref");
+
+    // then
+    assertThat(documentText.getOffset(0, 1)).isEqualTo(1);
+    assertThat(documentText.getOffset(1, 0)).isEqualTo(4);
+    assertThat(documentText.getOffset(2, 1)).isEqualTo(8);
+    assertThat(documentText.getOffset(2, 100)).isEqualTo(9);
+    assertThat(documentText.getOffset(10, 0)).isEqualTo(9);
+  }
+
+  @Test
+  void testReplaceKeepsPreviousVersion() {
+    // given
+    var documentText = DocumentText.of("Процедура Тест()\nКонецПроцедуры");
+
+    // when
+    var changed = documentText.replace(10, 14, "Проверка");
+
+    // then
+    assertThat(changed).hasToString("Процедура Проверка()\nКонецПроцедуры");
+    assertThat(documentText).hasToString("Процедура Тест()\nКонецПроцедуры");
+  }
+
+  @Test
+  void testReplaceJoinsCarriageReturnAndLineFeed() {
+    // given
+    var documentText = DocumentText.of("a\rb");
+
+    // when
+    var changed = documentText.replace(2, 3, "\nc");
+
+    // then
+    assertThat(changed.getLines()).containsExactly("a", "c");
+  }
+
+  @Test
+  void testRandomEditsMatchStringOperations() {
+    // given
+    var random = new Random(42);
+    var alphabet = "ab\r\n";
+    var content = "";
+    var documentText = DocumentText.of(content);
+
+    for (var i = 0; i < 2000; i++) {
+      // when
+      var start = random.nextInt(content.length() + 1);
+      var end = start + random.nextInt(content.length() - start + 1);
+      var text = new StringBuilder();
+      var length = random.nextInt(6);
+      for (var j = 0; j < length; j++) {
+        text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      content = content.substring(0, start) + text + content.substring(end);
+      documentText = documentText.replace(start, end, text.toString());
+
+      // then
+      assertThat(documentText).hasToString(content);
+      assertThat(documentText.getLines()).containsExactly(CONTENT_SPLIT_PATTERN.split(content, -1));
+      assertThat(DocumentText.splitLines(content)).containsExactly(CONTENT_SPLIT_PATTERN.split(content, -1));
+    }
+  }
+
+  @Test
+  void getOffset_emptyContent() {
+    // Empty content should return 0 for any position
+    assertThat(DocumentText.of("").getOffset(0, 0)).isZero();
+    assertThat(DocumentText.of("").getOffset(0, 5)).isZero();
+    assertThat(DocumentText.of("").getOffset(1, 0)).isZero();
+    assertThat(DocumentText.of("").getOffset(5, 10)).isZero();
+  }
+
+  @Test
+  void getOffset_singleLineContent() {
+    var content = "Hello, World!";
+    // Line 0 with various character positions
+    assertThat(DocumentText.of(content).getOffset(0, 0)).isZero();
+    assertThat(DocumentText.of(content).getOffset(0, 5)).isEqualTo(5);
+    assertThat(DocumentText.of(content).getOffset(0, 13)).isEqualTo(13);
+    // Character position beyond line length should be capped
+    assertThat(DocumentText.of(content).getOffset(0, 100)).isEqualTo(13);
+    // Line beyond content should return end of content
+    assertThat(DocumentText.of(content).getOffset(1, 0)).isEqualTo(13);
+  }
+
+  @Test
+  void getOffset_multiLineWithLF() {
+    var content = "Line1\nLine2\nLine3";
+    // Line 0
+    assertThat(DocumentText.of(content).getOffset(0, 0)).isZero();
+    assertThat(DocumentText.of(content).getOffset(0, 3)).isEqualTo(3);
+    // Line 1 starts at position 6 (after "Line1\n")
+    assertThat(DocumentText.of(content).getOffset(1, 0)).isEqualTo(6);
+    assertThat(DocumentText.of(content).getOffset(1, 3)).isEqualTo(9);
+    // Line 2 starts at position 12 (after "Line1\nLine2\n")
+    assertThat(DocumentText.of(content).getOffset(2, 0)).isEqualTo(12);
+    assertThat(DocumentText.of(content).getOffset(2, 5)).isEqualTo(17);
+    // Line beyond content
+    assertThat(DocumentText.of(content).getOffset(3, 0)).isEqualTo(17);
+  }
+
+  @Test
+  void getOffset_multiLineWithCRLF() {
+    var content = "Line1\r\nLine2\r\nLine3";
+    // Line 0
+    assertThat(DocumentText.of(content).getOffset(0, 0)).isZero();
+    assertThat(DocumentText.of(content).getOffset(0, 3)).isEqualTo(3);
+    // Line 1 starts at position 7 (after "Line1\r\n")
+    assertThat(DocumentText.of(content).getOffset(1, 0)).isEqualTo(7);
+    assertThat(DocumentText.of(content).getOffset(1, 3)).isEqualTo(10);
+    // Line 2 starts at position 14 (after "Line1\r\nLine2\r\n")
+    assertThat(DocumentText.of(content).getOffset(2, 0)).isEqualTo(14);
+    assertThat(DocumentText.of(content).getOffset(2, 5)).isEqualTo(19);
+  }
+
+  @Test
+  void getOffset_multiLineWithCR() {
+    var content = "Line1\rLine2\rLine3";
+    // Line 0
+    assertThat(DocumentText.of(content).getOffset(0, 0)).isZero();
+    // Line 1 starts at position 6 (after "Line1\r")
+    assertThat(DocumentText.of(content).getOffset(1, 0)).isEqualTo(6);
+    // Line 2 starts at position 12 (after "Line1\rLine2\r")
+    assertThat(DocumentText.of(content).getOffset(2, 0)).isEqualTo(12);
+  }
+
+  @Test
+  void getOffset_onlyLineBreaks() {
+    // Content with only LF line breaks
+    var lfOnly = "\n\n\n";
+    assertThat(DocumentText.of(lfOnly).getOffset(0, 0)).isZero();
+    assertThat(DocumentText.of(lfOnly).getOffset(1, 0)).isEqualTo(1);
+    assertThat(DocumentText.of(lfOnly).getOffset(2, 0)).isEqualTo(2);
+    assertThat(DocumentText.of(lfOnly).getOffset(3, 0)).isEqualTo(3);
+    assertThat(DocumentText.of(lfOnly).getOffset(4, 0)).isEqualTo(3);
+
+    // Content with only CRLF line breaks
+    var crlfOnly = "\r\n\r\n";
+    assertThat(DocumentText.of(crlfOnly).getOffset(0, 0)).isZero();
+    assertThat(DocumentText.of(crlfOnly).getOffset(1, 0)).isEqualTo(2);
+    assertThat(DocumentText.of(crlfOnly).getOffset(2, 0)).isEqualTo(4);
+    assertThat(DocumentText.of(crlfOnly).getOffset(3, 0)).isEqualTo(4);
+  }
+
+  @Test
+  void getOffset_characterBeyondLineLength() {
+    var content = "AB\nCD\nEF";
+    // Line 0 has length 2, character 10 should be capped to content length
+    assertThat(DocumentText.of(content).getOffset(0, 10)).isEqualTo(8);
+    // Line 1 starts at 3, character 10 would be 13, capped to 8
+    assertThat(DocumentText.of(content).getOffset(1, 10)).isEqualTo(8);
+    // Line 2 starts at 6, character 10 would be 16, capped to 8
+    assertThat(DocumentText.of(content).getOffset(2, 10)).isEqualTo(8);
+  }
+
+  @Test
+  void getOffset_lineBeyondDocumentLength() {
+    var content = "Only one line";
+    // Line 0 exists
+    assertThat(DocumentText.of(content).getOffset(0, 0)).isZero();
+    // Lines 1, 5, 100 don't exist, should return end of content
+    assertThat(DocumentText.of(content).getOffset(1, 0)).isEqualTo(13);
+    assertThat(DocumentText.of(content).getOffset(5, 0)).isEqualTo(13);
+    assertThat(DocumentText.of(content).getOffset(100, 0)).isEqualTo(13);
+  }
+
+  @Test
+  void getOffset_mixedLineEndings() {
+    // Mixed: LF, then CRLF, then CR
+    var content = "A\nB\r\nC\rD";
+    // Line 0: starts at 0
+    assertThat(DocumentText.of(content).getOffset(0, 0)).isZero();
+    // Line 1: starts at 2 (after "A\n")
+    assertThat(DocumentText.of(content).getOffset(1, 0)).isEqualTo(2);
+    // Line 2: starts at 5 (after "A\nB\r\n")
+    assertThat(DocumentText.of(content).getOffset(2, 0)).isEqualTo(5);
+    // Line 3: starts at 7 (after "A\nB\r\nC\r")
+    assertThat(DocumentText.of(content).getOffset(3, 0)).isEqualTo(7);
+  }
+}
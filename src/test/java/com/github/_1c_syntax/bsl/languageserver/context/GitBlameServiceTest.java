@@ -0,0 +1,201 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.context;
+
+import com.github._1c_syntax.bsl.languageserver.utils.Ranges;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.lsp4j.Diagnostic;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GitBlameServiceTest {
+
+  @TempDir
+  Path tempDir;
+
+  private final GitBlameService gitBlameService = new GitBlameService();
+
+  @AfterEach
+  void tearDown() {
+    gitBlameService.close();
+  }
+
+  @Test
+  void testEmptyIgnoredAuthors_returnsEmptyData() throws Exception {
+    // given
+    var testFile = tempDir.resolve("test.bsl");
+    Files.writeString(testFile, "А = 1;\n");
+
+    // when
+    var data = gitBlameService.getIgnorance(testFile.toUri(), Set.of());
+
+    // then
+    assertThat(data.diagnosticShouldBeIgnored(createDiagnostic(0))).isFalse();
+  }
+
+  @Test
+  void testEmptyIgnorance_alwaysReturnsFalse() {
+    // given
+    var data = GitBlameService.Ignorance.empty();
+
+    // then
+    assertThat(data.diagnosticShouldBeIgnored(createDiagnostic(0))).isFalse();
+    assertThat(data.diagnosticShouldBeIgnored(createDiagnostic(100))).isFalse();
+  }
+
+  @Test
+  void testFileNotInGitRepo_returnsEmptyData() throws Exception {
+    // given
+    var testFile = tempDir.resolve("test.bsl");
+    Files.writeString(testFile, "А = 1;\n");
+
+    // when
+    var data = gitBlameService.getIgnorance(testFile.toUri(), Set.of("author@example.com"));
+
+    // then
+    assertThat(data.diagnosticShouldBeIgnored(createDiagnostic(0))).isFalse();
+  }
+
+  @Test
+  void testIgnoredAuthorsAreAppliedToCachedBlame() throws Exception {
+    // given
+    var repoDir = tempDir.resolve("repo");
+    try (var git = initRepository(repoDir)) {
+      var testFile = repoDir.resolve("test.bsl");
+      commit(git, testFile, "А = 1;\nБ = 2;\n", "first@example.com");
+      commit(git, testFile, "А = 1;\nБ = 2;\nВ = 3;\n", "second@example.com");
+
+      // when
+      var firstIgnored = gitBlameService.getIgnorance(testFile.toUri(), Set.of("first@example.com"));
+      var secondIgnored = gitBlameService.getIgnorance(testFile.toUri(), Set.of("second@example.com"));
+
+      // then
+      assertThat(firstIgnored.diagnosticShouldBeIgnored(createDiagnostic(0))).isTrue();
+      assertThat(firstIgnored.diagnosticShouldBeIgnored(createDiagnostic(1))).isTrue();
+      assertThat(firstIgnored.diagnosticShouldBeIgnored(createDiagnostic(2))).isFalse();
+
+      assertThat(secondIgnored.diagnosticShouldBeIgnored(createDiagnostic(0))).isFalse();
+      assertThat(secondIgnored.diagnosticShouldBeIgnored(createDiagnostic(2))).isTrue();
+    }
+  }
+
+  @Test
+  void testNewCommitInvalidatesCachedBlame() throws Exception {
+    // given
+    var repoDir = tempDir.resolve("repo");
+    try (var git = initRepository(repoDir)) {
+      var testFile = repoDir.resolve("test.bsl");
+      commit(git, testFile, "А = 1;\n", "first@example.com");
+      var before = gitBlameService.getIgnorance(testFile.toUri(), Set.of("second@example.com"));
+
+      // when
+      commit(git, testFile, "А = 1;\nБ = 2;\n", "second@example.com");
+      var after = gitBlameService.getIgnorance(testFile.toUri(), Set.of("second@example.com"));
+
+      // then
+      assertThat(before.diagnosticShouldBeIgnored(createDiagnostic(1))).isFalse();
+      assertThat(after.diagnosticShouldBeIgnored(createDiagnostic(0))).isFalse();
+      assertThat(after.diagnosticShouldBeIgnored(createDiagnostic(1))).isTrue();
+    }
+  }
+
+  @Test
+  void testPrefetch() throws Exception {
+    // given
+    var repoDir = tempDir.resolve("repo");
+    try (var git = initRepository(repoDir)) {
+      var firstFile = repoDir.resolve("first.bsl");
+      var secondFile = repoDir.resolve("second.bsl");
+      commit(git, firstFile, "А = 1;\n", "first@example.com");
+      commit(git, secondFile, "Б = 2;\n", "second@example.com");
+
+      // when
+      gitBlameService.prefetch(List.of(firstFile.toUri(), secondFile.toUri()));
+
+      // then
+      assertThat(gitBlameService.getIgnorance(firstFile.toUri(), Set.of("first@example.com"))
+        .diagnosticShouldBeIgnored(createDiagnostic(0))).isTrue();
+      assertThat(gitBlameService.getIgnorance(secondFile.toUri(), Set.of("first@example.com"))
+        .diagnosticShouldBeIgnored(createDiagnostic(0))).isFalse();
+    }
+  }
+
+  @Test
+  void testGetUncommittedChanges() throws Exception {
+    // given
+    var repoDir = tempDir.resolve("repo");
+    try (var git = initRepository(repoDir)) {
+      var committed = repoDir.resolve("committed.bsl");
+      var modified = repoDir.resolve("modified.bsl");
+      var untracked = repoDir.resolve("untracked.bsl");
+      commit(git, committed, "А = 1;\n", "first@example.com");
+      commit(git, modified, "Б = 2;\n", "first@example.com");
+      Files.writeString(modified, "Б = 3;\n");
+      Files.writeString(untracked, "В = 4;\n");
+      var outside = tempDir.resolve("outside.bsl");
+      Files.writeString(outside, "Г = 5;\n");
+
+      // when
+      var changed = gitBlameService.getUncommittedChanges(
+        List.of(committed.toUri(), modified.toUri(), untracked.toUri(), outside.toUri())
+      );
+
+      // then
+      assertThat(changed).containsExactlyInAnyOrder(modified.toUri(), untracked.toUri());
+    }
+  }
+
+  private static Git initRepository(Path repoDir) throws Exception {
+    Files.createDirectories(repoDir);
+    var git = Git.init().setDirectory(repoDir.toFile()).call();
+    var config = git.getRepository().getConfig();
+    config.setBoolean("commit", null, "gpgSign", false);
+    config.setBoolean("tag", null, "gpgSign", false);
+    config.save();
+    return git;
+  }
+
+  private static void commit(Git git, Path file, String content, String email) throws Exception {
+    Files.writeString(file, content);
+    git.add().addFilepattern(file.getFileName().toString()).call();
+    git.commit()
+      .setAuthor("Author", email)
+      .setCommitter("Author", email)
+      .setMessage("Commit by " + email)
+      .call();
+  }
+
+  private static Diagnostic createDiagnostic(int line) {
+    var diagnostic = new Diagnostic();
+    diagnostic.setCode("TestDiagnostic");
+    diagnostic.setRange(Ranges.create(line, 0, line, 0));
+    return diagnostic;
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.context;
+
+import com.github._1c_syntax.bsl.parser.BSLParser;
+import com.github._1c_syntax.bsl.parser.BSLTokenizer;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncrementalSubParserTest {
+
+  private static final String CONTENT = """
+    Перем А;
+
+    // Описание
+    Процедура Первая()
+      А = 1;
+    КонецПроцедуры
+
+    &НаСервере
+    Функция Вторая(Параметр) Экспорт
+      Возврат Параметр + 1;
+    КонецФункции // комментарий
+
+    Процедура Третья()
+      Сообщить("Третья");
+    КонецПроцедуры
+
+    А = 2;
+    """;
+
+  @Test
+  void testEditInsideSubMatchesFullParse() {
+    // given
+    var newContent = CONTENT.replace("Возврат Параметр + 1;", "Б = Параметр;\n  Возврат Б\n    + 2;");
+
+    // then
+    assertReparsedLikeFullParse(newContent);
+  }
+
+  @Test
+  void testEditInsideFirstSubMatchesFullParse() {
+    // given
+    var newContent = CONTENT.replace("А = 1;", "А = 10; Б = 3;");
+
+    // then
+    assertReparsedLikeFullParse(newContent);
+  }
+
+  @Test
+  void testDeletionInsideLastSubMatchesFullParse() {
+    // given
+    var newContent = CONTENT.replace("Сообщить(\"Третья\");", "");
+
+    // then
+    assertReparsedLikeFullParse(newContent);
+  }
+
+  @Test
+  void testEditOutsideSubFallsBack() {
+    // given
+    var newContent = CONTENT.replace("А = 2;", "А = 3;");
+
+    // then
+    assertThat(reparse(newContent)).isNull();
+  }
+
+  @Test
+  void testEditOfSubBoundaryFallsBack() {
+    // given
+    var newContent = CONTENT.replace("КонецФункции // комментарий", "КонецФункции\nПроцедура Новая()");
+
+    // then
+    assertThat(reparse(newContent)).isNull();
+  }
+
+  @Test
+  void testSyntaxErrorFallsBack() {
+    // given
+    var newContent = CONTENT.replace("А = 1;", "Если А Тогда");
+
+    // then
+    assertThat(reparse(newContent)).isNull();
+  }
+
+  @Test
+  void testSyntaxErrorInOtherSubDoesNotPreventReparse() {
+    // given
+    var oldContent = CONTENT.replace("Сообщить(\"Третья\");", "Сообщить(\"Третья\";");
+    var newContent = oldContent.replace("А = 1;", "А = 10;");
+
+    // when
+    var reparsed = reparse(oldContent, newContent);
+
+    // then
+    assertThat(reparsed).isNotNull();
+  }
+
+  @Test
+  void testReparsedTreeReferencesOnlyNewTokens() {
+    // given
+    var newContent = CONTENT.replace("Возврат Параметр + 1;", "Возврат Параметр + 100;");
+
+    // when
+    var reparsed = reparse(newContent);
+
+    // then
+    assertThat(reparsed).isNotNull();
+    var tokens = Collections.newSetFromMap(new IdentityHashMap<Token, Boolean>());
+    tokens.addAll(reparsed.tokens());
+    assertThat(reparsed.tokens())
+      .allSatisfy(token -> assertThat(token.getInputStream().size()).isEqualTo(newContent.length()));
+    assertThat(terminalTokens(reparsed.ast())).allMatch(tokens::contains);
+  }
+
+  private static void assertReparsedLikeFullParse(String newContent) {
+    var reparsed = reparse(newContent);
+    assertThat(reparsed).isNotNull();
+
+    var expected = new BSLTokenizer(newContent);
+    assertThat(describeTokens(reparsed.tokens())).isEqualTo(describeTokens(expected.getTokens()));
+    assertThat(describeTree(reparsed.ast())).isEqualTo(describeTree(expected.getAst()));
+  }
+
+  private static Reparsed reparse(String newContent) {
+    return reparse(CONTENT, newContent);
+  }
+
+  private static Reparsed reparse(String oldContent, String newContent) {
+    var tokenizer = new BSLTokenizer(oldContent);
+    var ast = tokenizer.getAst();
+    return IncrementalSubParser.reparse(oldContent, tokenizer.getTokens(), ast, newContent)
+      .map(tokens -> new Reparsed(tokens, ast))
+      .orElse(null);
+  }
+
+  private static List<Token> terminalTokens(ParseTree tree) {
+    var result = new ArrayList<Token>();
+    collectTerminalTokens(tree, result);
+    return result;
+  }
+
+  private static void collectTerminalTokens(ParseTree tree, List<Token> result) {
+    if (tree instanceof TerminalNode terminal) {
+      result.add(terminal.getSymbol());
+    } else if (tree instanceof ParserRuleContext ctx) {
+      Stream.of(ctx.getStart(), ctx.getStop()).filter(Objects::nonNull).forEach(result::add);
+      for (var i = 0; i < ctx.getChildCount(); i++) {
+        collectTerminalTokens(ctx.getChild(i), result);
+      }
+    }
+  }
+
+  private static List<String> describeTokens(List<Token> tokens) {
+    return tokens.stream()
+      .map(token -> token.getType() + ":" + token.getText() + "@" + token.getLine() + ":"
+        + token.getCharPositionInLine() + "[" + token.getStartIndex() + "-" + token.getStopIndex() + "]#"
+        + token.getTokenIndex())
+      .toList();
+  }
+
+  private static List<String> describeTree(ParseTree tree) {
+    var result = new ArrayList<String>();
+    describeTree(tree, result);
+    return result;
+  }
+
+  private static void describeTree(ParseTree tree, List<String> result) {
+    if (tree instanceof TerminalNode terminal) {
+      var token = terminal.getSymbol();
+      result.add(token.getText() + "@" + token.getLine() + ":" + token.getCharPositionInLine() + "#" + token.getTokenIndex());
+    } else if (tree instanceof ParserRuleContext ctx) {
+      result.add(BSLParser.ruleNames[ctx.getRuleIndex()] + " " + ctx.getStart().getTokenIndex()
+        + "-" + ctx.getStop().getTokenIndex() + " parent=" + (ctx.getParent() == null ? -1 : ctx.getParent().getRuleIndex()));
+      for (var i = 0; i < ctx.getChildCount(); i++) {
+        describeTree(ctx.getChild(i), result);
+      }
+    }
+  }
+
+  private record Reparsed(List<Token> tokens, BSLParser.FileContext ast) {
+  }
+}
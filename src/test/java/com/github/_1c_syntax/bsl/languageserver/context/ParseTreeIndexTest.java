@@ -0,0 +1,114 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.context;
+
+import com.github._1c_syntax.bsl.languageserver.utils.Trees;
+import com.github._1c_syntax.bsl.parser.BSLLexer;
+import com.github._1c_syntax.bsl.parser.BSLParser;
+import com.github._1c_syntax.bsl.parser.BSLTokenizer;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParseTreeIndexTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+    "./src/test/resources/context/DocumentContextTest.bsl",
+    "./src/test/resources/context/DocumentContextParseErrorTest.bsl"
+  })
+  void testFindAllRuleNodesMatchesTreeTraversal(String path) throws IOException {
+    // given
+    var ast = parse(path);
+
+    // when
+    var index = build(ast);
+
+    // then
+    for (var ruleIndex = 0; ruleIndex < BSLParser.ruleNames.length; ruleIndex++) {
+      assertThat(index.findAllRuleNodes(ruleIndex))
+        .as(BSLParser.ruleNames[ruleIndex])
+        .containsExactlyElementsOf(Trees.findAllRuleNodes(ast, ruleIndex));
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+    "./src/test/resources/context/DocumentContextTest.bsl",
+    "./src/test/resources/context/DocumentContextParseErrorTest.bsl"
+  })
+  void testSubtreeViewsMatchTreeTraversal(String path) throws IOException {
+    // given
+    var ast = parse(path);
+    var index = build(ast);
+    var subtrees = Trees.findAllRuleNodes(ast, List.of(BSLParser.RULE_sub, BSLParser.RULE_codeBlock,
+      BSLParser.RULE_statement, BSLParser.RULE_expression));
+
+    for (var subtree : subtrees) {
+      for (var ruleIndex : List.of(BSLParser.RULE_codeBlock, BSLParser.RULE_statement,
+        BSLParser.RULE_expression, BSLParser.RULE_complexIdentifier, BSLParser.RULE_callParam)) {
+
+        // when
+        var nodes = index.findAllRuleNodes(subtree, ruleIndex);
+
+        // then
+        assertThat(nodes)
+          .as("%s in %s", BSLParser.ruleNames[ruleIndex], subtree.getText())
+          .containsExactlyElementsOf(Trees.findAllRuleNodes(subtree, ruleIndex));
+      }
+
+      assertThat(index.findAllTokenNodes(subtree, BSLParser.IDENTIFIER))
+        .containsExactlyElementsOf(Trees.findAllTokenNodes(subtree, BSLParser.IDENTIFIER));
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {BSLLexer.IDENTIFIER, BSLLexer.SEMICOLON, BSLLexer.RETURN_KEYWORD})
+  void testFindAllTokenNodesMatchesTreeTraversal(int tokenType) throws IOException {
+    // given
+    var ast = parse("./src/test/resources/context/DocumentContextTest.bsl");
+
+    // when
+    var index = build(ast);
+
+    // then
+    assertThat(index.findAllTokenNodes(tokenType))
+      .containsExactlyElementsOf(Trees.findAllTokenNodes(ast, tokenType));
+  }
+
+  private static BSLParser.FileContext parse(String path) throws IOException {
+    var content = FileUtils.readFileToString(new File(path), StandardCharsets.UTF_8);
+    return new BSLTokenizer(content).getAst();
+  }
+
+  private static ParseTreeIndex build(ParserRuleContext ast) {
+    return ParseTreeIndex.build(ast, BSLParser.ruleNames.length, BSLLexer.VOCABULARY.getMaxTokenType());
+  }
+}
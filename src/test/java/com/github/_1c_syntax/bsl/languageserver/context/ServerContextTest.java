@@ -42,6 +42,8 @@ class ServerContextTest extends AbstractServerContextAwareTest {
   private static final String PATH_TO_MODULE_FILE = "CommonModules/ПервыйОбщийМодуль/Ext/Module.bsl";
   private static final String PATH_TO_CATALOG_FILE = "Catalogs/Справочник1/Ext/ManagerModule.bsl";
   private static final String PATH_TO_CATALOG_MODULE_FILE = "Catalogs/Справочник1/Ext/ObjectModule.bsl";
+  private static final String PATH_TO_FORM_MODULE_FILE
+    = "Catalogs/Справочник1/Forms/ФормаЭлемента/Ext/Form/Module.bsl";
 
   @Test
   void testConfigurationMetadata() {
@@ -153,6 +155,36 @@ class ServerContextTest extends AbstractServerContextAwareTest {
     assertThat(commonModuleUris).isEmpty();
   }
 
+  @Test
+  void testIsReferenceableModule() {
+    // given
+    initServerContext(PATH_TO_METADATA);
+
+    // then
+    assertThat(context.isReferenceableModule(uriOf(PATH_TO_MODULE_FILE))).isTrue();
+    assertThat(context.isReferenceableModule(uriOf(PATH_TO_CATALOG_MODULE_FILE))).isTrue();
+    assertThat(context.isReferenceableModule(uriOf(PATH_TO_FORM_MODULE_FILE))).isFalse();
+  }
+
+  @Test
+  void testAnalyzeDocument() {
+    // given
+    initServerContext(PATH_TO_METADATA, false);
+    var uri = uriOf(PATH_TO_FORM_MODULE_FILE);
+
+    // when
+    var methodsCount = context.analyzeDocument(uri, (DocumentContext documentContext) -> {
+      assertThat(documentContext.getAst()).isNotNull();
+      return documentContext.getSymbolTree().getMethods().size();
+    });
+
+    // then
+    var documentContext = context.getDocument(uri);
+    assertThat(documentContext).isNotNull();
+    assertThat(documentContext.isComputedDataFrozen()).isTrue();
+    assertThat(documentContext.getSymbolTree().getMethods()).hasSize(methodsCount);
+  }
+
   private DocumentContext addDocumentContext(ServerContext serverContext, String path) {
     var file = new File(PATH_TO_METADATA, path);
     var uri = Absolute.uri(file);
@@ -160,4 +192,8 @@ class ServerContextTest extends AbstractServerContextAwareTest {
     serverContext.rebuildDocument(documentContext);
     return documentContext;
   }
+
+  private static URI uriOf(String path) {
+    return Absolute.uri(new File(PATH_TO_METADATA, path));
+  }
 }
@@ -0,0 +1,187 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.context;
+
+import com.github._1c_syntax.bsl.languageserver.context.symbol.MethodSymbol;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.SourceDefinedSymbol;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.SymbolTree;
+import com.github._1c_syntax.bsl.languageserver.context.symbol.VariableSymbol;
+import com.github._1c_syntax.bsl.languageserver.util.CleanupContextBeforeClassAndAfterEachTestMethod;
+import com.github._1c_syntax.bsl.languageserver.util.TestUtils;
+import com.github._1c_syntax.bsl.parser.description.SourceDefinedSymbolDescription;
+import com.github._1c_syntax.utils.StringInterner;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@CleanupContextBeforeClassAndAfterEachTestMethod
+class SymbolTreeSnapshotTest extends AbstractServerContextAwareTest {
+
+  private static final String PATH_TO_FILE = "./src/test/resources/context/symbol/variableSymbolTest.bsl";
+  private static final String PATH_TO_DESCRIPTIONS_FILE = "./src/test/resources/context/symbol/MethodDescription.bsl";
+
+  @Autowired
+  private SymbolTreeSnapshot snapshot;
+  @Autowired
+  private StringInterner stringInterner;
+  @Autowired
+  @Qualifier("ehcacheCacheManager")
+  private CacheManager cacheManager;
+
+  @Test
+  void testEncodeDecode() throws IOException {
+    // given
+    var documentContext = TestUtils.getDocumentContextFromFile(PATH_TO_FILE);
+    var symbolTree = documentContext.getSymbolTree();
+
+    // when
+    var decoded = SymbolTreeCodec.decode(
+      documentContext,
+      SymbolTreeCodec.encode(symbolTree, documentContext.getComments()),
+      stringInterner
+    );
+
+    // then
+    assertThat(decoded.getModule().getName()).isEqualTo(symbolTree.getModule().getName());
+    assertThat(decoded.getModule().getRange()).isEqualTo(symbolTree.getModule().getRange());
+    assertThat(describe(decoded)).isEqualTo(describe(symbolTree));
+    assertThat(decoded.getVariables()).isNotEmpty();
+  }
+
+  @Test
+  void testEncodeDecodeMethodDescriptions() throws IOException {
+    // given
+    var documentContext = TestUtils.getDocumentContextFromFile(PATH_TO_DESCRIPTIONS_FILE);
+    var symbolTree = documentContext.getSymbolTree();
+
+    // when
+    var decoded = SymbolTreeCodec.decode(
+      documentContext,
+      SymbolTreeCodec.encode(symbolTree, documentContext.getComments()),
+      stringInterner
+    );
+
+    // then
+    assertThat(describe(decoded)).isEqualTo(describe(symbolTree));
+    assertThat(decoded.getMethods())
+      .anySatisfy(method -> assertThat(method.getDescription()).isPresent());
+  }
+
+  @Test
+  void testRebuildFromSnapshotSkipsParsing() {
+    // given
+    var cache = cacheManager.getCache(SymbolTreeCacheRegistrar.CACHE_NAME);
+    assertThat(cache).isNotNull();
+    cache.clear();
+
+    var documentContext = TestUtils.getDocumentContextFromFile(PATH_TO_FILE);
+    var astCache = new ClosedDocumentAstCache(0);
+    documentContext.rebuildFromFileSystem(astCache, snapshot);
+    var parsedSymbols = describe(documentContext.getSymbolTree());
+    assertThat(documentContext.releaseSecondaryData()).isNotNull();
+
+    // when
+    documentContext.rebuildFromFileSystem(astCache, snapshot);
+
+    // then
+    assertThat(describe(documentContext.getSymbolTree())).isEqualTo(parsedSymbols);
+    assertThat(documentContext.releaseSecondaryData()).isNull();
+  }
+
+  @Test
+  void testRestoredDocumentIsParsedOnDemand() {
+    // given
+    var cache = cacheManager.getCache(SymbolTreeCacheRegistrar.CACHE_NAME);
+    assertThat(cache).isNotNull();
+    cache.clear();
+
+    var documentContext = TestUtils.getDocumentContextFromFile(PATH_TO_FILE);
+    var astCache = new ClosedDocumentAstCache(0);
+    documentContext.rebuildFromFileSystem(astCache, snapshot);
+    documentContext.releaseSecondaryData();
+
+    // when
+    documentContext.rebuildFromFileSystem(astCache, snapshot);
+
+    // then
+    assertThat(documentContext.getAst()).isNotNull();
+    assertThat(documentContext.getComments()).isNotEmpty();
+    assertThat(documentContext.releaseSecondaryData()).isNotNull();
+  }
+
+  @Test
+  void testDecodeCorruptedSnapshot() {
+    // given
+    var documentContext = TestUtils.getDocumentContextFromFile(PATH_TO_FILE);
+
+    // then
+    assertThatThrownBy(() -> SymbolTreeCodec.decode(documentContext, new byte[]{(byte) 0xFF}, stringInterner))
+      .isInstanceOf(IOException.class);
+  }
+
+  private static List<String> describe(SymbolTree symbolTree) {
+    return symbolTree.getChildrenFlat().stream()
+      .map(SymbolTreeSnapshotTest::describe)
+      .toList();
+  }
+
+  private static String describe(SourceDefinedSymbol symbol) {
+    var description = new StringBuilder()
+      .append(symbol.getClass().getSimpleName()).append(' ')
+      .append(symbol.getName()).append(' ')
+      .append(symbol.getRange()).append(' ')
+      .append(symbol.getSelectionRange()).append(' ')
+      .append(symbol.getParent().map(SourceDefinedSymbol::getName).orElse(""));
+
+    if (symbol instanceof MethodSymbol method) {
+      description
+        .append(method.isFunction()).append(method.isExport()).append(method.isDeprecated())
+        .append(method.getCompilerDirectiveKind())
+        .append(method.getAnnotations())
+        .append(method.getDescription().map(SourceDefinedSymbolDescription::getDescription));
+      method.getParameters().forEach(parameter -> description
+        .append(parameter.getName()).append(parameter.isByValue())
+        .append(parameter.getDefaultValue())
+        .append(parameter.getRange())
+        .append(parameter.getDescription().map(parameterDescription -> parameterDescription.name())));
+    } else if (symbol instanceof VariableSymbol variable) {
+      description
+        .append(variable.getKind()).append(variable.isExport())
+        .append(variable.getScope().getName())
+        .append(variable.getAnnotations())
+        .append(variable.getDescription().map(SourceDefinedSymbolDescription::getDescription))
+        .append(variable.getDescription()
+          .flatMap(variableDescription -> variableDescription.getTrailingDescription())
+          .map(SourceDefinedSymbolDescription::getDescription));
+    }
+    return description.toString();
+  }
+}
@@ -23,9 +23,15 @@ package com.github._1c_syntax.bsl.languageserver.context.computer;
 
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
 import com.github._1c_syntax.bsl.languageserver.util.TestUtils;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTree;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
@@ -53,4 +59,61 @@ class QueryComputerTest {
     assertThat(queries.get(8).getTokens().get(31).getLine()).isEqualTo(50);
     assertThat(queries.get(9).getTokens().get(31).getLine()).isEqualTo(62);
   }
-}
\ No newline at end of file
+
+  @Test
+  void reusesTokenizerOfUnchangedQuery() {
+    // given
+    var query = """
+      Запрос = Новый Запрос;
+      Запрос.Текст = "ВЫБРАТЬ
+      |  Товары.Ссылка КАК Ссылка
+      |ИЗ
+      |  Справочник.Товары КАК Товары";
+      """;
+    var documentContext = TestUtils.getDocumentContext(query);
+    var tokenizer = documentContext.getQueries().getFirst();
+    assertThat(tokenizer.getTokens().get(1).getLine()).isEqualTo(2);
+
+    // when
+    var content = "А = 1;\nБ = 2;\n" + query;
+    documentContext.getServerContext().rebuildDocument(documentContext, content, documentContext.getVersion() + 1);
+
+    // then
+    assertThat(documentContext.getQueries()).hasSize(1);
+    assertThat(documentContext.getQueries().getFirst()).isSameAs(tokenizer);
+    assertThat(tokenizer.getTokens().get(1).getLine()).isEqualTo(4);
+    assertThat(tokenizer.getAst().getStart().getLine()).isEqualTo(4);
+  }
+
+  @Test
+  void movesConjuredTokensOfErroneousQueryOnce() {
+    // given — в запросе не хватает закрывающей скобки, дерево запроса еще не строилось.
+    var query = """
+      Запрос.Текст = "ВЫБРАТЬ Товары.Ссылка ИЗ Справочник.Товары КАК Товары ГДЕ (Товары.Ссылка = 1";
+      """;
+    var documentContext = TestUtils.getDocumentContext(query);
+    var tokenizer = documentContext.getQueries().getFirst();
+
+    // when — запрос сдвинут до первого обращения к дереву.
+    var content = "А = 1;\nБ = 2;\n" + query;
+    documentContext.getServerContext().rebuildDocument(documentContext, content, documentContext.getVersion() + 1);
+
+    // then
+    assertThat(documentContext.getQueries().getFirst()).isSameAs(tokenizer);
+    var conjuredTokens = new ArrayList<Token>();
+    collectConjuredTokens(tokenizer.getAst(), conjuredTokens);
+    assertThat(conjuredTokens)
+      .isNotEmpty()
+      .allSatisfy(token -> assertThat(token.getLine()).isEqualTo(3));
+  }
+
+  private static void collectConjuredTokens(ParseTree tree, List<Token> conjuredTokens) {
+    if (tree instanceof ErrorNode errorNode && errorNode.getSymbol().getTokenIndex() < 0) {
+      conjuredTokens.add(errorNode.getSymbol());
+      return;
+    }
+    for (var i = 0; i < tree.getChildCount(); i++) {
+      collectConjuredTokens(tree.getChild(i), conjuredTokens);
+    }
+  }
+}
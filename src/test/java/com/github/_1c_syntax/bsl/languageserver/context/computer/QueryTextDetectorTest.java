@@ -0,0 +1,107 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.context.computer;
+
+import com.github._1c_syntax.utils.CaseInsensitivePattern;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryTextDetectorTest {
+
+  /**
+   * Регулярное выражение, по которому ранее распознавались запросы.
+   */
+  private static final Pattern QUERIES_ROOT_KEY = CaseInsensitivePattern.compile(
+    "(?:^|[\"\\|;][\\s\\|]*)\\s*" +
+      "(?:(?:(?:select|выбрать)[\\s\\|]+[\\w\\W]+[\\s\\|]+" +
+      "(?:как|as|из|from|где|where|соединение|join|объединить|union" +
+      "|сгруппировать|group|упорядочить|order|итоги|totals)(?:\\s|$))" +
+      "|" +
+      "(?:(?:уничтожить|drop)[\\s\\|]*.+))");
+
+  private static final String[] PIECES = {
+    "select", "ВЫБРАТЬ", "Выбрать", "выбратьX", "drop", "Уничтожить", " ", "  ", "\n", "\r", "\t", "|", "\"",
+    ";", "x", "Поле", "из", "ИЗ", "as", "Как", "from", "fromx", "как1", "1", ".", " "
+  };
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+    "ВЫБРАТЬ Поле ИЗ Справочник.Товары",
+    " | ВЫБРАТЬ Поле КАК Поле",
+    "ВЫБРАТЬ ИЗ",
+    "Выбрать из ",
+    "Выбрать a из",
+    "выбрать\nиз\nгде",
+    "Текст выбрать поле из таблицы",
+    "; select a from b",
+    "УНИЧТОЖИТЬ ВТ",
+    "drop\n",
+    "dropX",
+    "Выбрать a ИЗ ",
+    "Выбрать a ИЗ x",
+    "\"ВЫБРАТЬ Поле ИЗ"
+  })
+  void testMatchesRegex(String text) {
+    // when
+    var matched = new QueryTextDetector().add(text);
+
+    // then
+    assertThat(matched).isEqualTo(QUERIES_ROOT_KEY.matcher(text).find());
+  }
+
+  @Test
+  void testMatchesRegexOnPartsIncrementally() {
+    var random = new Random(42);
+    for (var sample = 0; sample < 50_000; sample++) {
+      // given
+      var detector = new QueryTextDetector();
+      var buffer = new StringJoiner("\n");
+      var parts = 1 + random.nextInt(3);
+
+      for (var part = 0; part < parts; part++) {
+        var text = new StringBuilder();
+        var length = random.nextInt(12);
+        for (var i = 0; i < length; i++) {
+          text.append(PIECES[random.nextInt(PIECES.length)]);
+        }
+        buffer.add(text);
+
+        // when
+        var matched = detector.add(text.toString());
+
+        // then
+        var expected = QUERIES_ROOT_KEY.matcher(buffer.toString()).find();
+        assertThat(matched).as(buffer.toString()).isEqualTo(expected);
+        if (expected) {
+          break;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,221 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.diagnostics;
+
+import com.github._1c_syntax.bsl.languageserver.context.AbstractServerContextAwareTest;
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.DiagnosticInfos;
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.DiagnosticObjectProvider;
+import com.github._1c_syntax.bsl.languageserver.diagnostics.infrastructure.FusedWalk;
+import com.github._1c_syntax.bsl.languageserver.diagnostics.info.DiagnosticInfo;
+import com.github._1c_syntax.bsl.languageserver.util.CleanupContextBeforeClassAndAfterClass;
+import com.github._1c_syntax.bsl.languageserver.util.TestUtils;
+import com.github._1c_syntax.bsl.parser.BSLParser;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.eclipse.lsp4j.Diagnostic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@CleanupContextBeforeClassAndAfterClass
+class FusedDiagnosticsWalkerTest extends AbstractServerContextAwareTest {
+
+  private static final Comparator<Diagnostic> DIAGNOSTIC_ORDER = Comparator
+    .comparing((Diagnostic diagnostic) -> diagnostic.getRange().getStart().getLine())
+    .thenComparing(diagnostic -> diagnostic.getRange().getStart().getCharacter())
+    .thenComparing(diagnostic -> diagnostic.getRange().getEnd().getLine())
+    .thenComparing(diagnostic -> diagnostic.getRange().getEnd().getCharacter())
+    .thenComparing(Diagnostic::getMessage);
+
+  @Autowired
+  private DiagnosticInfos diagnosticInfos;
+
+  @Autowired
+  private DiagnosticObjectProvider diagnosticObjectProvider;
+
+  @BeforeEach
+  void setUp() {
+    initServerContext();
+  }
+
+  @Test
+  void testFusedWalkMatchesStandaloneWalk() {
+    // given
+    var fusibleClasses = diagnosticInfos.getByClass().values().stream()
+      .map(DiagnosticInfo::getDiagnosticClass)
+      .filter(diagnosticClass -> FusedDiagnosticsWalker.isFusible(diagnosticObjectProvider.get(diagnosticClass)))
+      .toList();
+
+    assertThat(fusibleClasses)
+      .contains(ParseErrorDiagnostic.class, EmptyRegionDiagnostic.class, NestedTernaryOperatorDiagnostic.class)
+      .doesNotContain(CreateQueryInCycleDiagnostic.class, RedundantAccessToObjectDiagnostic.class);
+
+    for (var diagnosticClass : fusibleClasses) {
+      var fixture = Path.of("./src/test/resources/diagnostics", diagnosticClass.getSimpleName() + ".bsl");
+      if (!Files.exists(fixture)) {
+        continue;
+      }
+      var documentContext = TestUtils.getDocumentContextFromFile(fixture.toString(), context);
+
+      // when
+      var expected = diagnosticObjectProvider.get(diagnosticClass).getDiagnostics(documentContext);
+      var diagnosticUnderTest = diagnosticObjectProvider.get(diagnosticClass);
+      var code = diagnosticUnderTest.getInfo().getCode().getStringValue();
+      List<BSLDiagnostic> fused = List.of(
+        diagnosticObjectProvider.get(ParseErrorDiagnostic.class),
+        diagnosticUnderTest,
+        diagnosticObjectProvider.get(MagicNumberDiagnostic.class)
+      );
+      var actual = new FusedDiagnosticsWalker(fused).walk(documentContext).stream()
+        .filter(diagnostic -> code.equals(diagnostic.getCode().getLeft()))
+        .sorted(DIAGNOSTIC_ORDER)
+        .toList();
+
+      // then
+      assertThat(actual)
+        .as(diagnosticClass.getSimpleName())
+        .isEqualTo(expected.stream().sorted(DIAGNOSTIC_ORDER).toList());
+    }
+  }
+
+  @Test
+  void testSkipsSubtreeWhenVisitorDoesNotDescend() {
+    // given
+    var documentContext = TestUtils.getDocumentContext("""
+      Процедура Пропуск()
+        А = 1;
+        Б = 2;
+      КонецПроцедуры
+
+      Процедура Обход()
+        А = 1;
+      КонецПроцедуры
+      """, context);
+    var diagnostic = new StatementDiagnostic();
+    diagnostic.setInfo(diagnosticObjectProvider.get(EmptyStatementDiagnostic.class).getInfo());
+    var standalone = new StatementDiagnostic();
+    standalone.setInfo(diagnostic.getInfo());
+
+    // when
+    var diagnostics = new FusedDiagnosticsWalker(List.of(diagnostic)).walk(documentContext);
+
+    // then
+    assertThat(diagnostics)
+      .hasSize(1)
+      .isEqualTo(standalone.getDiagnostics(documentContext));
+    assertThat(diagnostics.get(0).getRange().getStart().getLine()).isEqualTo(6);
+  }
+
+  @Test
+  void testFailedDiagnosticIsIsolated() {
+    // given
+    var documentContext = TestUtils.getDocumentContext("Процедура Тест()\nКонецПроцедуры", context);
+    var failing = new FailingDiagnostic();
+    failing.setInfo(diagnosticObjectProvider.get(EmptyCodeBlockDiagnostic.class).getInfo());
+    var emptyCodeBlock = diagnosticObjectProvider.get(EmptyCodeBlockDiagnostic.class);
+
+    // when
+    var diagnostics = new FusedDiagnosticsWalker(List.of(failing, emptyCodeBlock)).walk(documentContext);
+
+    // then
+    assertThat(FusedDiagnosticsWalker.isFusible(failing)).isTrue();
+    assertThat(diagnostics).isEqualTo(emptyCodeBlock.getDiagnostics(documentContext));
+  }
+
+  @Test
+  void testReportsElapsedTimeOfEachDiagnostic() {
+    // given
+    var documentContext = TestUtils.getDocumentContext("Процедура Тест()\nКонецПроцедуры", context);
+    var parseError = diagnosticObjectProvider.get(ParseErrorDiagnostic.class);
+    var emptyCodeBlock = diagnosticObjectProvider.get(EmptyCodeBlockDiagnostic.class);
+    var walker = new FusedDiagnosticsWalker(List.of(parseError, emptyCodeBlock));
+    var elapsed = new HashMap<BSLDiagnostic, Long>();
+    walker.setElapsedTimeConsumer(elapsed::put);
+
+    // when
+    walker.walk(documentContext);
+    walker.setElapsedTimeConsumer(null);
+    walker.walk(documentContext);
+
+    // then
+    assertThat(elapsed)
+      .containsOnlyKeys(parseError, emptyCodeBlock)
+      .allSatisfy((diagnostic, nanos) -> assertThat(nanos).isPositive());
+  }
+
+  @Test
+  void testCancellationInterruptsWalk() {
+    // given
+    var documentContext = TestUtils.getDocumentContext("Процедура Тест()\nКонецПроцедуры", context);
+    var cancelled = new CancelledDiagnostic();
+    cancelled.setInfo(diagnosticObjectProvider.get(EmptyCodeBlockDiagnostic.class).getInfo());
+    var walker = new FusedDiagnosticsWalker(List.of(cancelled, diagnosticObjectProvider.get(EmptyCodeBlockDiagnostic.class)));
+
+    // then
+    assertThatThrownBy(() -> walker.walk(documentContext)).isInstanceOf(CancellationException.class);
+  }
+
+  @FusedWalk
+  private static class StatementDiagnostic extends AbstractVisitorDiagnostic {
+    @Override
+    public ParseTree visitSub(BSLParser.SubContext ctx) {
+      if (ctx.procedure() != null && "Пропуск".equals(ctx.procedure().procDeclaration().subName().getText())) {
+        return ctx;
+      }
+      return super.visitSub(ctx);
+    }
+
+    @Override
+    public ParseTree visitStatement(BSLParser.StatementContext ctx) {
+      diagnosticStorage.addDiagnostic(ctx);
+      return super.visitStatement(ctx);
+    }
+  }
+
+  @FusedWalk
+  private static class CancelledDiagnostic extends AbstractVisitorDiagnostic {
+    @Override
+    public ParseTree visitSub(BSLParser.SubContext ctx) {
+      throw new CancellationException("cancelled");
+    }
+  }
+
+  @FusedWalk
+  private static class FailingDiagnostic extends AbstractVisitorDiagnostic {
+    @Override
+    public ParseTree visitSub(BSLParser.SubContext ctx) {
+      diagnosticStorage.addDiagnostic(ctx);
+      throw new IllegalStateException("test");
+    }
+  }
+}
@@ -25,6 +25,7 @@ import com.github._1c_syntax.bsl.languageserver.configuration.Language;
 import com.github._1c_syntax.bsl.languageserver.configuration.LanguageServerConfiguration;
 import com.github._1c_syntax.bsl.languageserver.configuration.inlayhints.InlayHintOptions;
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.context.ParseTreeIndex;
 import com.github._1c_syntax.bsl.languageserver.types.TypeService;
 import com.github._1c_syntax.bsl.languageserver.types.model.MemberDescriptor;
 import com.github._1c_syntax.bsl.languageserver.types.model.ParameterDescriptor;
@@ -32,6 +33,8 @@ import com.github._1c_syntax.bsl.languageserver.types.model.SignatureDescriptor;
 import com.github._1c_syntax.bsl.languageserver.types.model.TypeSet;
 import com.github._1c_syntax.bsl.languageserver.utils.Ranges;
 import com.github._1c_syntax.bsl.languageserver.configuration.Resources;
+import com.github._1c_syntax.bsl.parser.BSLLexer;
+import com.github._1c_syntax.bsl.parser.BSLParser;
 import com.github._1c_syntax.bsl.parser.BSLTokenizer;
 import org.eclipse.lsp4j.InlayHint;
 import org.eclipse.lsp4j.InlayHintParams;
@@ -82,7 +85,7 @@ class PlatformMethodCallInlayHintCollectorUnitTest {
   void skippedArgumentShowsDefaultValueHint() {
     // given — реальный AST вызова с пропущенным средним аргументом, сигнатура
     // содержит средний параметр со значением по умолчанию.
-    when(documentContext.getAst()).thenReturn(new BSLTokenizer("СтрНайти(\"a\",,\"b\");\n").getAst());
+    when(documentContext.getParseTreeIndex()).thenReturn(parseTreeIndex("СтрНайти(\"a\",,\"b\");\n"));
 
     var signature = SignatureDescriptor.of(List.of(
       ParameterDescriptor.of("СтрокаПоиска"),
@@ -114,7 +117,7 @@ class PlatformMethodCallInlayHintCollectorUnitTest {
   void emptySingleArgumentDoesNotProduceHint() {
     // given — `Сообщить()` парсится как один пустой callParam; это ноль фактических
     // аргументов, а не пропущенный — хинт показывать нельзя.
-    when(documentContext.getAst()).thenReturn(new BSLTokenizer("Сообщить();\n").getAst());
+    when(documentContext.getParseTreeIndex()).thenReturn(parseTreeIndex("Сообщить();\n"));
 
     var signature = SignatureDescriptor.of(List.of(
       new ParameterDescriptor("ТекстСообщения", TypeSet.EMPTY, true, "", "Пустая строка")
@@ -136,4 +139,9 @@ class PlatformMethodCallInlayHintCollectorUnitTest {
     // then — ноль аргументов: хинтов нет.
     assertThat(hints).isEmpty();
   }
+
+  private static ParseTreeIndex parseTreeIndex(String content) {
+    var ast = new BSLTokenizer(content).getAst();
+    return ParseTreeIndex.build(ast, BSLParser.ruleNames.length, BSLLexer.VOCABULARY.getMaxTokenType());
+  }
 }
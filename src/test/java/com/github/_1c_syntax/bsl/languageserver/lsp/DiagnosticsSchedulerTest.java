@@ -0,0 +1,119 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.lsp;
+
+import com.github._1c_syntax.bsl.languageserver.configuration.LanguageServerConfiguration;
+import com.github._1c_syntax.bsl.languageserver.configuration.diagnostics.DiagnosticsOptions;
+import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.context.ServerContext;
+import com.github._1c_syntax.bsl.languageserver.providers.DiagnosticProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DiagnosticsSchedulerTest {
+
+  private static final URI DOCUMENT_URI = URI.create("file:///fake/module.bsl");
+
+  private final DiagnosticProvider diagnosticProvider = mock(DiagnosticProvider.class);
+  private final DocumentContext documentContext = mock(DocumentContext.class);
+  private final AtomicInteger documentVersion = new AtomicInteger(1);
+  private DiagnosticsScheduler scheduler;
+
+  @BeforeEach
+  void setUp() {
+    var diagnosticsOptions = new DiagnosticsOptions();
+    diagnosticsOptions.setComputeDelay(50);
+    var configuration = mock(LanguageServerConfiguration.class);
+    when(configuration.getDiagnosticsOptions()).thenReturn(diagnosticsOptions);
+
+    var serverContext = mock(ServerContext.class);
+    when(serverContext.getDocumentLock(DOCUMENT_URI)).thenReturn(new ReentrantReadWriteLock());
+    when(serverContext.isDocumentOpened(documentContext)).thenReturn(true);
+    when(serverContext.getWorkspaceUri()).thenReturn(URI.create("file:///fake/"));
+
+    when(documentContext.getUri()).thenReturn(DOCUMENT_URI);
+    when(documentContext.getServerContext()).thenReturn(serverContext);
+    when(documentContext.getVersion()).thenAnswer(invocation -> documentVersion.get());
+
+    scheduler = new DiagnosticsScheduler(diagnosticProvider, configuration);
+  }
+
+  @AfterEach
+  void tearDown() {
+    scheduler.shutdown();
+  }
+
+  @Test
+  void testRapidChangesAreCoalescedToLatestVersion() {
+    // given
+    var computedVersion = new AtomicInteger();
+    doAnswer(invocation -> {
+      computedVersion.set(documentVersion.get());
+      return null;
+    }).when(diagnosticProvider).computeAndPublishDiagnostics(any());
+
+    // when
+    for (var version = 1; version <= 5; version++) {
+      documentVersion.set(version);
+      scheduler.schedule(documentContext, version, documentVersion::get);
+    }
+
+    // then
+    verify(diagnosticProvider, after(500).times(1))
+      .computeAndPublishDiagnostics(documentContext);
+    await().atMost(Duration.ofSeconds(5)).until(() -> computedVersion.get() == 5);
+  }
+
+  @Test
+  void testCancelDropsPendingComputation() {
+    // when
+    scheduler.schedule(documentContext, 1, documentVersion::get);
+    scheduler.cancel(DOCUMENT_URI);
+
+    // then
+    verify(diagnosticProvider, after(500).never()).computeAndPublishDiagnostics(any());
+  }
+
+  @Test
+  void testSupersededVersionIsNotComputed() {
+    // when
+    scheduler.schedule(documentContext, 1, () -> 2);
+
+    // then
+    verify(diagnosticProvider, after(500).never()).computeAndPublishDiagnostics(any());
+  }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.providers;
+
+import com.github._1c_syntax.bsl.languageserver.client.LanguageClientHolder;
+import com.github._1c_syntax.bsl.languageserver.configuration.LanguageServerConfiguration;
+import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.context.ServerContext;
+import com.github._1c_syntax.bsl.languageserver.context.ServerContextProvider;
+import com.github._1c_syntax.bsl.languageserver.infrastructure.WorkspaceContextHolder;
+import com.github._1c_syntax.bsl.languageserver.util.CleanupContextBeforeClassAndAfterEachTestMethod;
+import com.github._1c_syntax.bsl.languageserver.util.TestUtils;
+import com.github._1c_syntax.utils.Absolute;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@CleanupContextBeforeClassAndAfterEachTestMethod
+class BackgroundAnalysisQueueTest {
+
+  private static final URI TEST_WORKSPACE_URI = Absolute.uri("file:///test-background-analysis-workspace");
+
+  @Autowired
+  private BackgroundAnalysisQueue backgroundAnalysisQueue;
+
+  @Autowired
+  private ServerContextProvider serverContextProvider;
+
+  @Autowired
+  private LanguageClientHolder languageClientHolder;
+
+  @Autowired
+  private LanguageServerConfiguration configuration;
+
+  @MockitoBean
+  private LanguageClient languageClient;
+
+  private ServerContext serverContext;
+
+  @BeforeEach
+  void setUp() {
+    serverContextProvider.clear();
+    serverContext = serverContextProvider.addWorkspace(TEST_WORKSPACE_URI);
+    WorkspaceContextHolder.set(serverContext.getWorkspaceUri());
+  }
+
+  @AfterEach
+  void tearDown() {
+    WorkspaceContextHolder.clear();
+  }
+
+  @Test
+  void testOpenedDocumentsGoFirst() {
+    // given
+    var closed = TestUtils.getDocumentContext(Absolute.uri("file:///fake/closed.bsl"), "А = 0;", serverContext);
+    var opened = TestUtils.getDocumentContext(Absolute.uri("file:///fake/opened.bsl"), "Б = 0;", serverContext);
+    serverContext.openDocument(opened, "Б = 0;", 1);
+
+    // when
+    var ordered = backgroundAnalysisQueue.prioritize(serverContext, List.of(closed, opened));
+
+    // then
+    assertThat(ordered).containsExactly(opened, closed);
+  }
+
+  @Test
+  void testDiagnosticsArePublishedInPriorityOrder() throws ExecutionException, InterruptedException {
+    // given
+    configuration.getDiagnosticsOptions().setAnalyzeOnStartThreads(1);
+    languageClientHolder.connect(languageClient);
+
+    var closed = TestUtils.getDocumentContext(Absolute.uri("file:///fake/closed.bsl"), "А = 0;", serverContext);
+    var opened = TestUtils.getDocumentContext(Absolute.uri("file:///fake/opened.bsl"), "Б = 0;", serverContext);
+    serverContext.openDocument(opened, "Б = 0;", 1);
+    var analyzed = new AtomicInteger();
+
+    // when
+    backgroundAnalysisQueue.analyze(serverContext, List.<DocumentContext>of(closed, opened), analyzed::incrementAndGet);
+
+    // then
+    var captor = ArgumentCaptor.forClass(PublishDiagnosticsParams.class);
+    verify(languageClient, times(2)).publishDiagnostics(captor.capture());
+    assertThat(captor.getAllValues())
+      .extracting(PublishDiagnosticsParams::getUri)
+      .containsExactly(opened.getUri().toString(), closed.getUri().toString());
+    assertThat(analyzed).hasValue(2);
+  }
+
+  @Test
+  void testFailedDocumentDoesNotStopAnalysis() throws ExecutionException, InterruptedException {
+    // given
+    configuration.getDiagnosticsOptions().setAnalyzeOnStartThreads(1);
+    languageClientHolder.connect(languageClient);
+
+    var broken = mock(DocumentContext.class);
+    when(broken.getUri()).thenReturn(Absolute.uri("file:///fake/broken.bsl"));
+    when(broken.getDiagnostics()).thenThrow(new IllegalStateException("broken document"));
+    var healthy = TestUtils.getDocumentContext(Absolute.uri("file:///fake/healthy.bsl"), "А = 0;", serverContext);
+    var analyzed = new AtomicInteger();
+
+    // when
+    backgroundAnalysisQueue.analyze(serverContext, List.of(broken, healthy), analyzed::incrementAndGet);
+
+    // then
+    var captor = ArgumentCaptor.forClass(PublishDiagnosticsParams.class);
+    verify(languageClient).publishDiagnostics(captor.capture());
+    assertThat(captor.getValue().getUri()).isEqualTo(healthy.getUri().toString());
+    assertThat(analyzed).hasValue(2);
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.references;
+
+import com.github._1c_syntax.bsl.languageserver.context.AbstractServerContextAwareTest;
+import com.github._1c_syntax.bsl.languageserver.util.CleanupContextBeforeClassAndAfterEachTestMethod;
+import com.github._1c_syntax.bsl.languageserver.types.oscript.OScriptLibraryIndex;
+import com.github._1c_syntax.bsl.languageserver.util.TestUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@CleanupContextBeforeClassAndAfterEachTestMethod
+class ReferenceIndexSnapshotTest extends AbstractServerContextAwareTest {
+
+  private static final String PATH_TO_FILE = "./src/test/resources/references/ReferenceIndexFillerTest.bsl";
+
+  @Autowired
+  private ReferenceIndexSnapshot snapshot;
+  @Autowired
+  private ReferenceIndex referenceIndex;
+  @Autowired
+  private OScriptLibraryIndex oScriptLibraryIndex;
+  @Autowired
+  @Qualifier("ehcacheCacheManager")
+  private CacheManager cacheManager;
+
+  @Test
+  void testRestoreFromSnapshot() {
+    // given
+    var documentContext = TestUtils.getDocumentContextFromFile(PATH_TO_FILE);
+    var uri = documentContext.getUri();
+    var occurrences = referenceIndex.getOccurrencesFrom(uri);
+    assertThat(occurrences).isNotEmpty();
+
+    referenceIndex.clearReferences(uri);
+    assertThat(referenceIndex.getOccurrencesFrom(uri)).isEmpty();
+
+    // when
+    var restored = snapshot.restore(documentContext);
+
+    // then
+    assertThat(restored).isTrue();
+    assertThat(referenceIndex.getOccurrencesFrom(uri)).isEqualTo(occurrences);
+  }
+
+  @Test
+  void testRestoreWithoutSnapshot() {
+    // given
+    var documentContext = TestUtils.getDocumentContextFromFile(PATH_TO_FILE);
+    var cache = cacheManager.getCache(ReferenceIndexCacheRegistrar.CACHE_NAME);
+    assertThat(cache).isNotNull();
+    cache.clear();
+
+    // when
+    var restored = snapshot.restore(documentContext);
+
+    // then
+    assertThat(restored).isFalse();
+  }
+
+  @Test
+  void testEncodeDecode() throws IOException {
+    // given
+    var documentContext = TestUtils.getDocumentContextFromFile(PATH_TO_FILE);
+    var uri = documentContext.getUri();
+    var occurrences = referenceIndex.getOccurrencesFrom(uri);
+
+    var dependencies = List.of(new ReferenceIndexDependencies.Dependency(
+      ReferenceIndexDependencies.Kind.COMMON_MODULE, "ОбщийМодуль", ""
+    ));
+
+    // when
+    var decoded = snapshot.decode(uri, ReferenceIndexSnapshot.encode(
+      new ReferenceIndexSnapshot.Content(occurrences, dependencies)
+    ));
+
+    // then
+    assertThat(decoded.symbolOccurrences()).isEqualTo(occurrences);
+    assertThat(decoded.dependencies()).isEqualTo(dependencies);
+  }
+
+  @Test
+  void testDependenciesDetectChangedAnswers() {
+    // given
+    initServerContext(TestUtils.PATH_TO_METADATA, false);
+    var dependencies = new ReferenceIndexDependencies(context, oScriptLibraryIndex);
+    var commonModule = dependencies.findCommonModule("ПервыйОбщийМодуль");
+    dependencies.findCommonModule("НесуществующийОбщийМодуль");
+    assertThat(commonModule).isPresent();
+
+    var recorded = dependencies.getDependencies();
+    var renamed = List.of(new ReferenceIndexDependencies.Dependency(
+      ReferenceIndexDependencies.Kind.COMMON_MODULE, "ПервыйОбщийМодуль", ""
+    ));
+    var added = List.of(new ReferenceIndexDependencies.Dependency(
+      ReferenceIndexDependencies.Kind.COMMON_MODULE,
+      "НесуществующийОбщийМодуль",
+      "CommonModule.НесуществующийОбщийМодуль"
+    ));
+
+    // then
+    assertThat(recorded)
+      .extracting(ReferenceIndexDependencies.Dependency::value)
+      .containsExactly(commonModule.get().getMdoRef(), "");
+    assertThat(dependencies.isSatisfied(recorded)).isTrue();
+    assertThat(dependencies.isSatisfied(renamed)).isFalse();
+    assertThat(dependencies.isSatisfied(added)).isFalse();
+  }
+
+  @Test
+  void testDecodeCorruptedSnapshot() {
+    // given
+    var documentContext = TestUtils.getDocumentContextFromFile(PATH_TO_FILE);
+    var uri = documentContext.getUri();
+
+    // then
+    assertThatThrownBy(() -> snapshot.decode(uri, new byte[]{(byte) 0xFF}))
+      .isInstanceOf(IOException.class);
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.references.model;
+
+import com.github._1c_syntax.bsl.types.ModuleType;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.SymbolKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SymbolOccurrenceRepositoryTest {
+
+  private static final URI FIRST_URI = URI.create("file:///first.bsl");
+  private static final URI SECOND_URI = URI.create("file:///second.bsl");
+
+  private SymbolOccurrenceRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    repository = new SymbolOccurrenceRepository();
+  }
+
+  @Test
+  void testGetAllBySymbol() {
+    // given
+    var method = symbol("метод");
+    var other = symbol("другой");
+    var second = occurrence(method, SECOND_URI, 1, 4);
+    var first = occurrence(method, FIRST_URI, 10, 2);
+    var firstOther = occurrence(other, FIRST_URI, 3, 0);
+
+    // when
+    repository.save(second);
+    repository.save(first);
+    repository.save(firstOther);
+
+    // then
+    assertThat(repository.getAllBySymbol(method)).containsExactly(first, second);
+    assertThat(repository.getAllBySymbol(other)).containsExactly(firstOther);
+    assertThat(repository.getAllBySymbol(symbol("неизвестный"))).isEmpty();
+  }
+
+  @Test
+  void testGetAllByLocationUri() {
+    // given
+    var method = symbol("метод");
+    var first = occurrence(method, FIRST_URI, 1, 0);
+    var definition = new SymbolOccurrence(
+      OccurrenceType.DEFINITION,
+      method,
+      new Location(FIRST_URI, 100_000, 70_000, 100_001, 3)
+    );
+
+    // when
+    repository.save(first);
+    repository.save(first);
+    repository.save(definition);
+    repository.save(occurrence(method, SECOND_URI, 1, 0));
+
+    // then
+    assertThat(repository.getAllByLocationUri(FIRST_URI)).containsExactlyInAnyOrder(first, definition);
+  }
+
+  @Test
+  void testDeleteAllByLocationUri() {
+    // given
+    var method = symbol("метод");
+    var onlyInFirst = symbol("локальный");
+    var second = occurrence(method, SECOND_URI, 5, 1);
+    repository.save(occurrence(method, FIRST_URI, 1, 0));
+    repository.save(occurrence(onlyInFirst, FIRST_URI, 2, 0));
+    repository.save(second);
+
+    // when
+    repository.deleteAllByLocationUri(FIRST_URI);
+
+    // then
+    assertThat(repository.getAllByLocationUri(FIRST_URI)).isEmpty();
+    assertThat(repository.getAllBySymbol(method)).containsExactly(second);
+    assertThat(repository.getAllBySymbol(onlyInFirst)).isEmpty();
+
+    // when
+    var reAdded = occurrence(onlyInFirst, FIRST_URI, 7, 0);
+    repository.save(reAdded);
+
+    // then
+    assertThat(repository.getAllBySymbol(onlyInFirst)).containsExactly(reAdded);
+  }
+
+  @Test
+  void testIdsAreReclaimedWithLastOccurrence() {
+    // given
+    var method = symbol("метод");
+    repository.save(occurrence(method, FIRST_URI, 1, 0));
+    repository.save(occurrence(method, SECOND_URI, 1, 0));
+    repository.save(occurrence(symbol("локальный"), FIRST_URI, 2, 0));
+
+    // when
+    repository.deleteAllByLocationUri(FIRST_URI);
+
+    // then
+    assertThat(repository.symbolIdCount()).isEqualTo(1);
+    assertThat(repository.uriIdCount()).isEqualTo(1);
+
+    // when
+    for (var i = 0; i < 100; i++) {
+      var uri = URI.create("file:///renamed" + i + ".bsl");
+      repository.save(occurrence(symbol("переименованный" + i), uri, 1, 0));
+      repository.deleteAllByLocationUri(uri);
+    }
+    repository.deleteAllByLocationUri(SECOND_URI);
+
+    // then
+    assertThat(repository.symbolIdCount()).isZero();
+    assertThat(repository.uriIdCount()).isZero();
+    assertThat(repository.getAllBySymbol(method)).isEmpty();
+  }
+
+  @Test
+  void testGetByLocationUriAndPosition() {
+    // given
+    var method = symbol("метод");
+    var other = symbol("другой");
+    var first = occurrence(method, FIRST_URI, 1, 0);
+    var second = occurrence(other, FIRST_URI, 1, 10);
+    repository.save(second);
+    repository.save(first);
+
+    // when
+    var found = repository.getByLocationUriAndPosition(FIRST_URI, new Position(1, 12));
+
+    // then
+    assertThat(found).contains(second);
+    assertThat(repository.getByLocationUriAndPosition(FIRST_URI, new Position(1, 5))).isEmpty();
+    assertThat(repository.getByLocationUriAndPosition(SECOND_URI, new Position(1, 0))).isEmpty();
+
+    // when
+    var third = occurrence(method, FIRST_URI, 2, 0);
+    repository.save(third);
+
+    // then
+    assertThat(repository.getByLocationUriAndPosition(FIRST_URI, new Position(2, 0))).contains(third);
+  }
+
+  @Test
+  void testGetLocationUrisByModules() {
+    // given
+    var commonModuleMethod = symbol("метод");
+    var objectModuleMethod = Symbol.builder()
+      .mdoRef("Catalog.Справочник")
+      .moduleType(ModuleType.ObjectModule)
+      .scopeName("")
+      .symbolKind(SymbolKind.Method)
+      .symbolName("метод")
+      .build();
+    repository.save(occurrence(commonModuleMethod, FIRST_URI, 1, 0));
+    repository.save(occurrence(symbol("другой"), SECOND_URI, 1, 0));
+    repository.save(occurrence(objectModuleMethod, SECOND_URI, 2, 0));
+
+    // when
+    var urisByModule = repository.getLocationUrisByModules(
+      (String mdoRef, ModuleType moduleType) -> moduleType == ModuleType.CommonModule ? mdoRef : null
+    );
+
+    // then
+    assertThat(urisByModule)
+      .containsOnlyKeys("CommonModule.ОбщийМодуль")
+      .containsEntry("CommonModule.ОбщийМодуль", Set.of(FIRST_URI, SECOND_URI));
+  }
+
+  private static Symbol symbol(String name) {
+    return Symbol.builder()
+      .mdoRef("CommonModule.ОбщийМодуль")
+      .moduleType(ModuleType.CommonModule)
+      .scopeName("")
+      .symbolKind(SymbolKind.Method)
+      .symbolName(name)
+      .build();
+  }
+
+  private static SymbolOccurrence occurrence(Symbol symbol, URI uri, int line, int character) {
+    return new SymbolOccurrence(
+      OccurrenceType.REFERENCE,
+      symbol,
+      new Location(uri, line, character, line, character + 5)
+    );
+  }
+}
@@ -86,4 +86,39 @@ class JsonReporterTest {
     Assertions.assertThat(report.fileinfos()).hasSize(1);
 
   }
-}
\ No newline at end of file
+
+  @Test
+  void reportSessionWritesFileInfosAsTheyArrive() {
+
+    // given
+    Diagnostic diagnostic = new Diagnostic(
+      Ranges.create(0, 1, 2, 3),
+      "message",
+      DiagnosticSeverity.Error,
+      "test-source",
+      "test"
+    );
+
+    String sourceDir = ".";
+    FileInfo first = new FileInfo(sourceDir, TestUtils.getDocumentContext(""), Collections.singletonList(diagnostic));
+    FileInfo second = new FileInfo(sourceDir, TestUtils.getDocumentContext(""), Collections.emptyList());
+
+    JsonReporter reporter = new JsonReporter();
+
+    // when
+    try (var session = reporter.startReport(LocalDateTime.now(), sourceDir, Path.of(sourceDir))) {
+      session.accept(first);
+      session.accept(second);
+    }
+
+    // then
+    var mapper = new AnalysisInfoJsonMapper();
+
+    AnalysisInfo report = mapper.readValue(file, AnalysisInfo.class);
+
+    Assertions.assertThat(report.fileinfos()).hasSize(2);
+    Assertions.assertThat(report.fileinfos().get(0).getDiagnostics()).hasSize(1);
+    Assertions.assertThat(report.sourceDir()).isEqualTo(sourceDir);
+
+  }
+}
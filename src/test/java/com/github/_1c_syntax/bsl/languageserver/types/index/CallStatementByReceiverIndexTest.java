@@ -22,18 +22,16 @@
 package com.github._1c_syntax.bsl.languageserver.types.index;
 
 import com.github._1c_syntax.bsl.languageserver.context.AbstractServerContextAwareTest;
+import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
 import com.github._1c_syntax.bsl.languageserver.context.events.DocumentContextContentChangedEvent;
 import com.github._1c_syntax.bsl.languageserver.context.events.ServerContextDocumentClearedEvent;
 import com.github._1c_syntax.bsl.languageserver.context.events.ServerContextDocumentClosedEvent;
 import com.github._1c_syntax.bsl.languageserver.context.events.ServerContextDocumentRemovedEvent;
 import com.github._1c_syntax.bsl.languageserver.util.TestUtils;
-import com.github._1c_syntax.bsl.parser.BSLParser;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 
-import java.net.URI;
-
 import static org.assertj.core.api.Assertions.assertThat;
 
 class CallStatementByReceiverIndexTest extends AbstractServerContextAwareTest {
@@ -54,26 +52,25 @@ class CallStatementByReceiverIndexTest extends AbstractServerContextAwareTest {
           Сообщить("без базового идентификатора");
       КонецПроцедуры
       """);
-    var ast = documentContext.getAst();
     var uri = documentContext.getUri();
     var serverContext = documentContext.getServerContext();
 
     // then — группировка по базовому идентификатору.
-    assertAllReceivers(uri, ast);
+    assertAllReceivers(documentContext);
 
     // when/then — каждое из 4 событий чистит индекс по URI; после него
     // индекс пересобирается целиком (проверяем все ресиверы, не один ключ).
     eventPublisher.publishEvent(new DocumentContextContentChangedEvent(documentContext));
-    assertAllReceivers(uri, ast);
+    assertAllReceivers(documentContext);
 
     eventPublisher.publishEvent(new ServerContextDocumentClearedEvent(serverContext, documentContext));
-    assertAllReceivers(uri, ast);
+    assertAllReceivers(documentContext);
 
     eventPublisher.publishEvent(new ServerContextDocumentClosedEvent(serverContext, documentContext));
-    assertAllReceivers(uri, ast);
+    assertAllReceivers(documentContext);
 
     eventPublisher.publishEvent(new ServerContextDocumentRemovedEvent(serverContext, uri));
-    assertAllReceivers(uri, ast);
+    assertAllReceivers(documentContext);
   }
 
   @Test
@@ -85,16 +82,13 @@ class CallStatementByReceiverIndexTest extends AbstractServerContextAwareTest {
           ТЗ.Очистить();
       КонецПроцедуры
       """);
-    var ast = documentContext.getAst();
-    var uri = documentContext.getUri();
-
     // then — оба вызова сгруппированы под одним ресивером.
-    assertThat(index.byReceiver(uri, ast, "ТЗ")).hasSize(2);
+    assertThat(index.byReceiver(documentContext, "ТЗ")).hasSize(2);
   }
 
-  private void assertAllReceivers(URI uri, BSLParser.FileContext ast) {
-    assertThat(index.byReceiver(uri, ast, "ТЗ")).hasSize(1);
-    assertThat(index.byReceiver(uri, ast, "СТР")).as("без учёта регистра").hasSize(1);
-    assertThat(index.byReceiver(uri, ast, "Нет")).isEmpty();
+  private void assertAllReceivers(DocumentContext documentContext) {
+    assertThat(index.byReceiver(documentContext, "ТЗ")).hasSize(1);
+    assertThat(index.byReceiver(documentContext, "СТР")).as("без учёта регистра").hasSize(1);
+    assertThat(index.byReceiver(documentContext, "Нет")).isEmpty();
   }
 }
@@ -0,0 +1,103 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.types.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FuzzyCandidateIndexTest {
+
+  @Test
+  void selectsNamesContainingEveryQueryCharacter() {
+    // given
+    var index = new FuzzyCandidateIndex();
+    index.add("провестидокумент");
+    index.add("получитьссылку");
+    index.add("документ");
+
+    // when
+    var candidates = index.candidates("пдк");
+
+    // then
+    assertThat(candidates).containsExactly("провестидокумент");
+  }
+
+  @Test
+  void keepsNameWhileAnyEntryReferencesIt() {
+    // given
+    var index = new FuzzyCandidateIndex();
+    index.add("документ");
+    index.add("документ");
+
+    // when
+    index.remove("документ");
+
+    // then
+    assertThat(index.candidates("кум")).containsExactly("документ");
+
+    // when
+    index.remove("документ");
+
+    // then
+    assertThat(index.candidates("кум")).isEmpty();
+
+    // when
+    index.add("документ");
+
+    // then
+    assertThat(index.candidates("кум")).containsExactly("документ");
+  }
+
+  @Test
+  void compactsDeadNames() {
+    // given
+    var index = new FuzzyCandidateIndex();
+    for (var i = 0; i < 3000; i++) {
+      index.add("метод" + i);
+    }
+
+    // when
+    for (var i = 0; i < 2000; i++) {
+      index.remove("метод" + i);
+    }
+    index.add("метод1");
+
+    // then
+    assertThat(index.candidates("метод")).hasSize(1001);
+    assertThat(index.candidates("метод2999")).containsExactly("метод2999");
+    assertThat(index.candidates("метод1")).contains("метод1", "метод2100");
+  }
+
+  @Test
+  void returnsNothingForUnknownCharacter() {
+    // given
+    var index = new FuzzyCandidateIndex();
+    index.add("документ");
+
+    // when
+    var candidates = index.candidates("док!");
+
+    // then
+    assertThat(candidates).isEmpty();
+  }
+}
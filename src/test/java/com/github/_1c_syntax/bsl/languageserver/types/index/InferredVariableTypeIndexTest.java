@@ -23,14 +23,18 @@ package com.github._1c_syntax.bsl.languageserver.types.index;
 
 import com.github._1c_syntax.bsl.languageserver.context.AbstractServerContextAwareTest;
 import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.context.events.ConfigurationTypesRegisteredEvent;
 import com.github._1c_syntax.bsl.languageserver.context.events.DocumentContextContentChangedEvent;
 import com.github._1c_syntax.bsl.languageserver.context.events.ServerContextDocumentClearedEvent;
 import com.github._1c_syntax.bsl.languageserver.context.events.ServerContextDocumentClosedEvent;
 import com.github._1c_syntax.bsl.languageserver.context.events.ServerContextDocumentRemovedEvent;
 import com.github._1c_syntax.bsl.languageserver.context.symbol.VariableSymbol;
 import com.github._1c_syntax.bsl.languageserver.types.inferencer.ExpressionTypeInferencer;
+import com.github._1c_syntax.bsl.languageserver.types.model.TypeKind;
 import com.github._1c_syntax.bsl.languageserver.types.model.TypeRef;
+import com.github._1c_syntax.bsl.languageserver.types.model.TypeSet;
 import com.github._1c_syntax.bsl.languageserver.util.TestUtils;
+import com.github._1c_syntax.utils.Absolute;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
@@ -137,6 +141,148 @@ class InferredVariableTypeIndexTest extends AbstractServerContextAwareTest {
     assertThat(index.get(variable)).as("кэш открытого документа сохранён").isNotNull();
   }
 
+  @Test
+  void invalidatesOnlyEntriesThatReadChangedDocument() {
+    // given — три документа: A читает документ B, C опирается на закэшированный тип A.
+    var documentA = TestUtils.getDocumentContext(Absolute.uri("file:///fake/a.bsl"), "Перем А;\n");
+    var documentB = TestUtils.getDocumentContext(Absolute.uri("file:///fake/b.bsl"), "Перем Б;\n");
+    var documentC = TestUtils.getDocumentContext(Absolute.uri("file:///fake/c.bsl"), "Перем В;\n");
+    var unrelated = TestUtils.getDocumentContext(Absolute.uri("file:///fake/unrelated.bsl"), "Перем Г;\n");
+    var a = variable(documentA, "А");
+    var b = variable(documentB, "Б");
+    var c = variable(documentC, "В");
+    var types = TypeSet.of(new TypeRef(TypeKind.PRIMITIVE, "Число"));
+
+    var aDependencies = index.newDependencies();
+    aDependencies.readSymbol(b);
+    index.put(a, types, aDependencies);
+    index.put(b, types, index.newDependencies());
+    var cDependencies = index.newDependencies();
+    cDependencies.readVariable(a);
+    index.put(c, types, cDependencies);
+
+    // when — правка документа, который никто не читал.
+    eventPublisher.publishEvent(new DocumentContextContentChangedEvent(unrelated));
+
+    // then — кэш цел.
+    assertThat(index.get(a)).isEqualTo(types);
+    assertThat(index.get(b)).isEqualTo(types);
+    assertThat(index.get(c)).isEqualTo(types);
+
+    // when — правка прочитанного документа B.
+    eventPublisher.publishEvent(new DocumentContextContentChangedEvent(documentB));
+
+    // then — сброшены B, читавшая его A и транзитивно C.
+    assertThat(index.get(b)).as("собственный бакет").isNull();
+    assertThat(index.get(a)).as("прочитала документ B").isNull();
+    assertThat(index.get(c)).as("опиралась на тип A").isNull();
+  }
+
+  @Test
+  void clearingEntryPrunesItsDependencyEdges() {
+    // given — A читает документ B и переменную C, C перезаписывается без зависимостей.
+    var documentA = TestUtils.getDocumentContext(Absolute.uri("file:///fake/a.bsl"), "Перем А;\n");
+    var documentB = TestUtils.getDocumentContext(Absolute.uri("file:///fake/b.bsl"), "Перем Б;\n");
+    var documentC = TestUtils.getDocumentContext(Absolute.uri("file:///fake/c.bsl"), "Перем В;\n");
+    var a = variable(documentA, "А");
+    var b = variable(documentB, "Б");
+    var c = variable(documentC, "В");
+    var types = TypeSet.of(new TypeRef(TypeKind.PRIMITIVE, "Число"));
+    var initialEdges = index.dependentCount();
+
+    var aDependencies = index.newDependencies();
+    aDependencies.readSymbol(b);
+    aDependencies.readVariable(c);
+    index.put(a, types, aDependencies);
+    var cDependencies = index.newDependencies();
+    cDependencies.readSymbol(b);
+    index.put(c, types, cDependencies);
+    index.put(c, types, index.newDependencies());
+    assertThat(index.dependentCount()).as("перезапись C сняла её старое ребро").isEqualTo(initialEdges + 2);
+
+    // when — сброс собственного документа A.
+    eventPublisher.publishEvent(new DocumentContextContentChangedEvent(documentA));
+
+    // then — A больше не числится зависимой ни от B, ни от C.
+    assertThat(index.get(a)).isNull();
+    assertThat(index.get(c)).isEqualTo(types);
+    assertThat(index.dependentCount()).isEqualTo(initialEdges);
+  }
+
+  @Test
+  void clearingDocumentDataDropsEdgesOfItsEntries() {
+    // given — A читает документ B и переменную C, C опирается на переменную A.
+    var documentA = TestUtils.getDocumentContext(Absolute.uri("file:///fake/a.bsl"), "Перем А;\n");
+    var documentB = TestUtils.getDocumentContext(Absolute.uri("file:///fake/b.bsl"), "Перем Б;\n");
+    var documentC = TestUtils.getDocumentContext(Absolute.uri("file:///fake/c.bsl"), "Перем В;\n");
+    var a = variable(documentA, "А");
+    var b = variable(documentB, "Б");
+    var c = variable(documentC, "В");
+    var types = TypeSet.of(new TypeRef(TypeKind.PRIMITIVE, "Число"));
+    var initialEdges = index.dependentCount();
+
+    var aDependencies = index.newDependencies();
+    aDependencies.readSymbol(b);
+    index.put(a, types, aDependencies);
+    var cDependencies = index.newDependencies();
+    cDependencies.readVariable(a);
+    index.put(c, types, cDependencies);
+
+    // when — освобождение вторичных данных документа A.
+    eventPublisher.publishEvent(new ServerContextDocumentClearedEvent(documentA.getServerContext(), documentA));
+
+    // then — ребро A от B снято, ребро C от A перевешено на документ A.
+    assertThat(index.get(a)).isNull();
+    assertThat(index.get(c)).isEqualTo(types);
+    assertThat(index.dependentCount()).isEqualTo(initialEdges + 1);
+
+    // when — правка документа A.
+    eventPublisher.publishEvent(new DocumentContextContentChangedEvent(documentA));
+
+    // then — C сброшена, ребер не осталось.
+    assertThat(index.get(c)).isNull();
+    assertThat(index.dependentCount()).isEqualTo(initialEdges);
+  }
+
+  @Test
+  void configurationRegistrationInvalidatesOnlyConfigurationDependentEntries() {
+    // given — литеральный вывод и вывод через реестр конфигурационных типов.
+    var documentContext = TestUtils.getDocumentContext("""
+      Процедура Тест()
+          Ч = 1;
+          С = Новый СправочникСсылка.Товары;
+      КонецПроцедуры
+      """);
+    var literal = variable(documentContext, "Ч");
+    var configured = variable(documentContext, "С");
+    inferencer.inferSymbol(literal);
+    inferencer.inferSymbol(configured);
+    assertThat(index.get(literal)).isNotNull();
+    assertThat(index.get(configured)).isNotNull();
+
+    // when
+    eventPublisher.publishEvent(new ConfigurationTypesRegisteredEvent(documentContext.getServerContext()));
+
+    // then
+    assertThat(index.get(literal)).as("литерал от конфигурации не зависит").isNotNull();
+    assertThat(index.get(configured)).as("тип из реестра пересчитывается").isNull();
+  }
+
+  @Test
+  void invalidationDuringInferenceSkipsCaching() {
+    // given — зависимости начаты до сброса.
+    var documentContext = TestUtils.getDocumentContext("Перем А;\n");
+    var variable = variable(documentContext, "А");
+    var dependencies = index.newDependencies();
+
+    // when — документ изменился, пока шёл инференс.
+    eventPublisher.publishEvent(new DocumentContextContentChangedEvent(documentContext));
+    index.put(variable, TypeSet.of(new TypeRef(TypeKind.PRIMITIVE, "Число")), dependencies);
+
+    // then
+    assertThat(index.get(variable)).isNull();
+  }
+
   private static VariableSymbol variable(DocumentContext documentContext, String name) {
     return documentContext.getSymbolTree().getVariables().stream()
       .filter(v -> v.getName().equalsIgnoreCase(name))
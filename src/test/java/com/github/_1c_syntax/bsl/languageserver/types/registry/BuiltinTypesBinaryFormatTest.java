@@ -0,0 +1,89 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.types.registry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BuiltinTypesBinaryFormatTest {
+
+  @Test
+  void typePacksRoundTripWithoutLoss() {
+    for (var resource : BuiltinTypesPackCompiler.TYPE_PACKS) {
+      // given
+      var parsed = BuiltinTypesJsonLoader.parse(resource);
+
+      // when
+      var restored = BuiltinTypesBinaryFormat.readTypes(BuiltinTypesBinaryFormat.writeTypes(parsed));
+
+      // then
+      assertThat(parsed).as(resource).isNotEmpty();
+      assertThat(restored).as(resource).isEqualTo(parsed);
+    }
+  }
+
+  @Test
+  void globalMemberPacksRoundTripWithoutLoss() {
+    for (var resource : BuiltinTypesPackCompiler.GLOBAL_MEMBER_PACKS) {
+      // given
+      var parsed = GlobalScopeProvider.parseGlobalContextMembers(resource);
+
+      // when
+      var restored = BuiltinTypesBinaryFormat.readMembers(BuiltinTypesBinaryFormat.writeMembers(parsed));
+
+      // then
+      assertThat(parsed).as(resource).isNotEmpty();
+      assertThat(restored).as(resource).isEqualTo(parsed);
+    }
+  }
+
+  @Test
+  void runtimeLoadMatchesJsonSource() {
+    for (var resource : BuiltinTypesPackCompiler.TYPE_PACKS) {
+      assertThat(BuiltinTypesJsonLoader.load(resource)).as(resource)
+        .isEqualTo(BuiltinTypesJsonLoader.parse(resource));
+    }
+    for (var resource : BuiltinTypesPackCompiler.GLOBAL_MEMBER_PACKS) {
+      assertThat(GlobalScopeProvider.globalContextMembers(resource)).as(resource)
+        .isEqualTo(GlobalScopeProvider.parseGlobalContextMembers(resource));
+    }
+  }
+
+  @Test
+  void packKindIsChecked() {
+    // given
+    var members = BuiltinTypesBinaryFormat.writeMembers(
+      GlobalScopeProvider.parseGlobalContextMembers(GlobalScopeProvider.RESOURCE_PATH));
+
+    // when/then
+    assertThatThrownBy(() -> BuiltinTypesBinaryFormat.readTypes(members))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void binaryResourceSitsNextToJson() {
+    assertThat(BuiltinTypesBinaryFormat.binaryResourceOf("a/b/builtin-platform-types.json"))
+      .isEqualTo("a/b/builtin-platform-types.bin");
+  }
+}
@@ -38,6 +38,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
@@ -62,7 +63,7 @@ class PlatformContextProviderFactoryTest {
   @Test
   void create_returnsEmpty_whenPropertyDisabled_withoutTouchingConfiguration() throws IOException {
     var configuration = mock(LanguageServerConfiguration.class);
-    var factory = new PlatformContextProviderFactory(configuration);
+    var factory = new PlatformContextProviderFactory(configuration, mock(PlatformContextSnapshot.class));
     ReflectionTestUtils.setField(factory, ENABLED_FIELD, false);
 
     Optional<ContextProvider> result = factory.create();
@@ -79,7 +80,7 @@ class PlatformContextProviderFactoryTest {
     when(options.isEnabled()).thenReturn(false);
 
     try (MockedStatic<PlatformContextGrabber> grabbers = mockStatic(PlatformContextGrabber.class)) {
-      var factory = new PlatformContextProviderFactory(configuration);
+      var factory = new PlatformContextProviderFactory(configuration, mock(PlatformContextSnapshot.class));
       ReflectionTestUtils.setField(factory, ENABLED_FIELD, true);
 
       Optional<ContextProvider> result = factory.create();
@@ -108,7 +109,7 @@ class PlatformContextProviderFactoryTest {
     try (MockedStatic<PlatformContextGrabber> grabbers = mockStatic(PlatformContextGrabber.class)) {
       grabbers.when(PlatformContextGrabber::autoDetect).thenReturn(grabber);
 
-      var factory = new PlatformContextProviderFactory(configuration);
+      var factory = new PlatformContextProviderFactory(configuration, mock(PlatformContextSnapshot.class));
       ReflectionTestUtils.setField(factory, ENABLED_FIELD, true);
 
       Optional<ContextProvider> result = factory.create();
@@ -138,7 +139,7 @@ class PlatformContextProviderFactoryTest {
     try (MockedStatic<PlatformContextGrabber> grabbers = mockStatic(PlatformContextGrabber.class)) {
       grabbers.when(() -> PlatformContextGrabber.fromPlatformBin(eq(binPath))).thenReturn(grabber);
 
-      var factory = new PlatformContextProviderFactory(configuration);
+      var factory = new PlatformContextProviderFactory(configuration, mock(PlatformContextSnapshot.class));
       ReflectionTestUtils.setField(factory, ENABLED_FIELD, true);
 
       Optional<ContextProvider> result = factory.create();
@@ -164,7 +165,7 @@ class PlatformContextProviderFactoryTest {
     try (MockedStatic<PlatformContextGrabber> grabbers = mockStatic(PlatformContextGrabber.class)) {
       grabbers.when(PlatformContextGrabber::autoDetect).thenReturn(grabber);
 
-      var factory = new PlatformContextProviderFactory(configuration);
+      var factory = new PlatformContextProviderFactory(configuration, mock(PlatformContextSnapshot.class));
       ReflectionTestUtils.setField(factory, ENABLED_FIELD, true);
 
       Optional<ContextProvider> result = factory.create();
@@ -173,4 +174,59 @@ class PlatformContextProviderFactoryTest {
       verify(grabber, times(1)).parse();
     }
   }
+
+  @Test
+  void create_restoresSnapshot_withoutParsing_whenBinPathConfigured() throws IOException {
+    var configuration = mock(LanguageServerConfiguration.class);
+    var options = mock(V8PlatformOptions.class);
+    Path binPath = Paths.get("/opt/1cv8/bin");
+    when(configuration.getV8PlatformOptions()).thenReturn(options);
+    when(options.isEnabled()).thenReturn(true);
+    when(options.getBinPath()).thenReturn(binPath);
+
+    var snapshot = mock(PlatformContextSnapshot.class);
+    var provider = mock(ContextProvider.class);
+    when(snapshot.load(binPath)).thenReturn(Optional.of(provider));
+
+    try (MockedStatic<PlatformContextGrabber> grabbers = mockStatic(PlatformContextGrabber.class)) {
+      var factory = new PlatformContextProviderFactory(configuration, snapshot);
+      ReflectionTestUtils.setField(factory, ENABLED_FIELD, true);
+
+      Optional<ContextProvider> result = factory.create();
+
+      assertThat(result).contains(provider);
+      grabbers.verifyNoInteractions();
+      verify(snapshot, never()).store(any(), any());
+    }
+  }
+
+  @Test
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  void create_storesSnapshot_afterParse() throws IOException {
+    var configuration = mock(LanguageServerConfiguration.class);
+    var options = mock(V8PlatformOptions.class);
+    Path binPath = Paths.get("/opt/1cv8/bin");
+    when(configuration.getV8PlatformOptions()).thenReturn(options);
+    when(options.isEnabled()).thenReturn(true);
+    when(options.getBinPath()).thenReturn(binPath);
+
+    var snapshot = mock(PlatformContextSnapshot.class);
+    when(snapshot.load(binPath)).thenReturn(Optional.empty());
+    var grabber = mock(PlatformContextGrabber.class);
+    var provider = mock(ContextProvider.class);
+    when(grabber.getProvider()).thenReturn(provider);
+    when(provider.getContexts()).thenReturn((List) Collections.<Context>emptyList());
+
+    try (MockedStatic<PlatformContextGrabber> grabbers = mockStatic(PlatformContextGrabber.class)) {
+      grabbers.when(() -> PlatformContextGrabber.fromPlatformBin(eq(binPath))).thenReturn(grabber);
+
+      var factory = new PlatformContextProviderFactory(configuration, snapshot);
+      ReflectionTestUtils.setField(factory, ENABLED_FIELD, true);
+
+      factory.create();
+
+      verify(grabber, times(1)).parse();
+      verify(snapshot, times(1)).store(binPath, provider);
+    }
+  }
 }
@@ -0,0 +1,207 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.types.registry;
+
+import com.github._1c_syntax.bsl.context.PlatformContextGrabber;
+import com.github._1c_syntax.bsl.context.api.ContextName;
+import com.github._1c_syntax.bsl.context.api.ContextProvider;
+import com.github._1c_syntax.bsl.context.api.LanguageKeywordCategory;
+import com.github._1c_syntax.bsl.context.api.LanguageKeywordSnippet;
+import com.github._1c_syntax.bsl.context.platform.PlatformContextProvider;
+import com.github._1c_syntax.bsl.context.platform.PlatformContextType;
+import com.github._1c_syntax.bsl.context.platform.PlatformLanguageKeyword;
+import com.github._1c_syntax.bsl.context.platform.internal.PlatformContextStorage;
+import com.github._1c_syntax.bsl.languageserver.infrastructure.CachePathProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PlatformContextSnapshotTest {
+
+  @TempDir
+  private Path tempDir;
+
+  private Path binPath;
+  private PlatformContextSnapshot snapshot;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    binPath = Files.createDirectories(tempDir.resolve("8.3.24.1342").resolve("bin"));
+    Files.writeString(binPath.resolve("shcntx_ru.hbk"), "hbk");
+    snapshot = new PlatformContextSnapshot(new CachePathProvider(), "", tempDir.resolve("cache").toString());
+  }
+
+  @Test
+  void keyDependsOnPlatformVersionAndHbkFiles() throws IOException {
+    // given
+    var key = PlatformContextSnapshot.computeKey(binPath);
+
+    // when
+    Files.writeString(binPath.resolve("shcntx_ru.hbk"), "updated hbk");
+
+    // then
+    assertThat(key).contains("8.3.24.1342");
+    assertThat(PlatformContextSnapshot.computeKey(binPath)).isNotEqualTo(key);
+  }
+
+  @Test
+  void keyIsAbsentWithoutHbkFiles() throws IOException {
+    // given
+    var emptyBin = Files.createDirectories(tempDir.resolve("empty").resolve("bin"));
+
+    // when
+    var key = PlatformContextSnapshot.computeKey(emptyBin);
+
+    // then
+    assertThat(key).isNull();
+  }
+
+  @Test
+  void loadIsEmptyWithoutSnapshot() {
+    // when
+    var restored = snapshot.load(binPath);
+
+    // then
+    assertThat(restored).isEmpty();
+  }
+
+  @Test
+  void nonSerializableProviderIsNotStored() {
+    // when
+    snapshot.store(binPath, mock(ContextProvider.class));
+
+    // then
+    assertThat(snapshot.snapshotFile(binPath)).doesNotExist();
+  }
+
+  @Test
+  void corruptedSnapshotIsDeleted() throws IOException {
+    // given
+    var file = snapshot.snapshotFile(binPath);
+    Files.createDirectories(file.getParent());
+    Files.write(file, new byte[]{1, 2, 3});
+
+    // when
+    var restored = snapshot.load(binPath);
+
+    // then
+    assertThat(restored).isEmpty();
+    assertThat(file).doesNotExist();
+  }
+
+  @Test
+  void platformContextProviderSurvivesRoundTrip() {
+    // given — провайдер bsl-context из тех же классов, что строит разбор HBK.
+    var type = PlatformContextType.builder()
+      .name(new ContextName("ТаблицаЗначений", "ValueTable"))
+      .methods(Collections.emptyList())
+      .properties(Collections.emptyList())
+      .events(Collections.emptyList())
+      .constructors(Collections.emptyList())
+      .build();
+    var keyword = PlatformLanguageKeyword.builder()
+      .name(new ContextName("Если", "If"))
+      .category(LanguageKeywordCategory.STATEMENT)
+      .description("")
+      .snippet(new LanguageKeywordSnippet("Если <?> Тогда\nКонецЕсли;", "If <?> Then\nEndIf;"))
+      .build();
+    var provider = new PlatformContextProvider(new PlatformContextStorage(new ArrayList<>(List.of(type, keyword))));
+
+    // when
+    snapshot.store(binPath, provider);
+    var restored = snapshot.load(binPath);
+
+    // then — граф сериализуем и проходит фильтр классов при чтении.
+    assertThat(snapshot.snapshotFile(binPath)).exists();
+    assertThat(restored).hasValueSatisfying(loaded -> {
+      assertThat(loaded).isInstanceOf(PlatformContextProvider.class);
+      assertThat(loaded.getContexts()).hasSameSizeAs(provider.getContexts());
+    });
+  }
+
+  @Test
+  void snapshotWithUnlistedClassIsRejected() throws IOException {
+    // given — снимок, из списка классов которого убран класс провайдера.
+    var provider = new PlatformContextProvider(new PlatformContextStorage(new ArrayList<>()));
+    snapshot.store(binPath, provider);
+    var file = snapshot.snapshotFile(binPath);
+    var tampered = new ByteArrayOutputStream();
+    try (var input = new DataInputStream(Files.newInputStream(file));
+         var output = new DataOutputStream(tampered)) {
+      output.writeInt(input.readInt());
+      output.writeUTF(input.readUTF());
+      var classNames = new ArrayList<String>();
+      var classCount = input.readInt();
+      for (var i = 0; i < classCount; i++) {
+        classNames.add(input.readUTF());
+      }
+      classNames.remove(PlatformContextProvider.class.getName());
+      output.writeInt(classNames.size());
+      for (var className : classNames) {
+        output.writeUTF(className);
+      }
+      input.transferTo(output);
+    }
+    Files.write(file, tampered.toByteArray());
+
+    // when
+    var restored = snapshot.load(binPath);
+
+    // then
+    assertThat(restored).isEmpty();
+    assertThat(file).doesNotExist();
+  }
+
+  @Test
+  @EnabledIfEnvironmentVariable(named = "BSL_LANGUAGE_SERVER_RUN_HBK_TESTS",
+    matches = "true",
+    disabledReason = "Требует HBK 1С (граф провайдера строится разбором синтакс-помощника)")
+  void parsedPlatformContextSurvivesRoundTrip() throws IOException {
+    // given
+    var grabber = PlatformContextGrabber.autoDetect();
+    grabber.parse();
+    var provider = grabber.getProvider();
+    assertThat(provider).isNotNull();
+
+    // when
+    snapshot.store(binPath, provider);
+    var restored = snapshot.load(binPath);
+
+    // then
+    assertThat(restored).hasValueSatisfying(loaded ->
+      assertThat(loaded.getContexts()).hasSameSizeAs(provider.getContexts()));
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.types.registry;
+
+import com.github._1c_syntax.bsl.languageserver.configuration.Language;
+import com.github._1c_syntax.bsl.languageserver.configuration.LanguageServerConfiguration;
+import com.github._1c_syntax.bsl.languageserver.configuration.events.LanguageServerConfigurationChangedEvent;
+import com.github._1c_syntax.bsl.languageserver.context.DocumentContext;
+import com.github._1c_syntax.bsl.languageserver.context.FileType;
+import com.github._1c_syntax.bsl.languageserver.context.events.DocumentContextContentChangedEvent;
+import com.github._1c_syntax.bsl.languageserver.types.model.MemberDescriptor;
+import com.github._1c_syntax.bsl.languageserver.types.model.MemberSource;
+import com.github._1c_syntax.bsl.languageserver.types.model.TypeKind;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit-тесты точечной инвалидации memo {@link TypeRegistry#getMembers}: правка документа
+ * сбрасывает только типы, чьи источники читают этот документ, и зависящие от них типы.
+ */
+class TypeRegistryMembersInvalidationTest {
+
+  private static final URI MODULE_URI = URI.create("file:///fake/CommonModules/Модуль/Ext/Module.bsl");
+  private static final URI OTHER_URI = URI.create("file:///fake/CommonModules/Другой/Ext/Module.bsl");
+
+  private final TypeRegistry registry = new TypeRegistry(
+    List.of(),
+    Mockito.mock(MemberMetadataIndex.class)
+  );
+
+  @Test
+  void changeOfUnrelatedDocumentKeepsMemoizedMembers() {
+    // given
+    var platformCalls = new AtomicInteger();
+    var moduleCalls = new AtomicInteger();
+    var platformRef = registry.intern(TypeKind.PLATFORM, "Массив");
+    var moduleRef = registry.intern(TypeKind.CONFIGURATION, "Модуль");
+    registry.registerMemberSource(platformRef, () -> {
+      platformCalls.incrementAndGet();
+      return List.of(MemberDescriptor.method("Добавить"));
+    }, FileType.BSL);
+    registry.registerMemberSource(moduleRef, MemberSource.readingDocument(MODULE_URI, () -> {
+      moduleCalls.incrementAndGet();
+      return List.of(MemberDescriptor.method("Экспортный"));
+    }), FileType.BSL);
+    registry.getMembers(platformRef, FileType.BSL);
+    registry.getMembers(moduleRef, FileType.BSL);
+
+    // when
+    registry.invalidateMembersCache(changed(OTHER_URI));
+    registry.getMembers(platformRef, FileType.BSL);
+    registry.getMembers(moduleRef, FileType.BSL);
+
+    // then
+    assertThat(platformCalls).hasValue(1);
+    assertThat(moduleCalls).hasValue(1);
+
+    // when
+    registry.invalidateMembersCache(changed(MODULE_URI));
+    registry.getMembers(platformRef, FileType.BSL);
+    registry.getMembers(moduleRef, FileType.BSL);
+
+    // then
+    assertThat(platformCalls).hasValue(1);
+    assertThat(moduleCalls).hasValue(2);
+  }
+
+  @Test
+  void changeOfDocumentInvalidatesTypesBuiltFromItsMembers() {
+    // given
+    var derivedCalls = new AtomicInteger();
+    var moduleRef = registry.intern(TypeKind.CONFIGURATION, "Модуль");
+    var derivedRef = registry.intern(TypeKind.PLATFORM, "Производный");
+    registry.registerMemberSource(moduleRef, MemberSource.readingDocument(MODULE_URI,
+      () -> List.of(MemberDescriptor.method("Экспортный"))), FileType.BSL);
+    registry.registerMemberSource(derivedRef, () -> {
+      derivedCalls.incrementAndGet();
+      return registry.getMembers(moduleRef, FileType.BSL);
+    }, FileType.BSL);
+    registry.getMembers(derivedRef, FileType.BSL);
+
+    // when
+    registry.invalidateMembersCache(changed(MODULE_URI));
+    registry.getMembers(derivedRef, FileType.BSL);
+
+    // then
+    assertThat(derivedCalls).hasValue(2);
+  }
+
+  @Test
+  void languageSwitchRebuildsLocalizedMembers() {
+    // given
+    var configuration = new LanguageServerConfiguration();
+    configuration.setLanguage(Language.RU);
+    var ref = registry.intern(TypeKind.CONFIGURATION, "СправочникОбъект.Товары");
+    registry.registerMemberSource(ref, () -> List.of(MemberDescriptor.property(
+      configuration.getLanguage() == Language.RU ? "Артикул" : "Article")), FileType.BSL);
+    var before = registry.getMembers(ref, FileType.BSL);
+
+    // when
+    configuration.setLanguage(Language.EN);
+    registry.invalidateMembersCache(new LanguageServerConfigurationChangedEvent(configuration));
+    var after = registry.getMembers(ref, FileType.BSL);
+
+    // then
+    assertThat(before).extracting(MemberDescriptor::name).containsExactly("Артикул");
+    assertThat(after).extracting(MemberDescriptor::name).containsExactly("Article");
+  }
+
+  private static DocumentContextContentChangedEvent changed(URI uri) {
+    var documentContext = Mockito.mock(DocumentContext.class);
+    when(documentContext.getUri()).thenReturn(uri);
+    return new DocumentContextContentChangedEvent(documentContext);
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.utils;
+
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CancelCheckersTest {
+
+  private static final CancelChecker CANCELLED = () -> {
+    throw new CancellationException();
+  };
+
+  @Test
+  void testNoCheckerBound() {
+    assertThat(CancelCheckers.current()).isSameAs(CancelCheckers.NONE);
+    assertThatCode(CancelCheckers::checkCanceled).doesNotThrowAnyException();
+  }
+
+  @Test
+  void testCheckerIsBoundOnlyDuringCall() {
+    // when
+    var result = CancelCheckers.callWith(CANCELLED, () -> {
+      assertThat(CancelCheckers.current()).isSameAs(CANCELLED);
+      assertThatThrownBy(CancelCheckers::checkCanceled).isInstanceOf(CancellationException.class);
+      return "done";
+    });
+
+    // then
+    assertThat(result).isEqualTo("done");
+    assertThat(CancelCheckers.current()).isSameAs(CancelCheckers.NONE);
+  }
+
+  @Test
+  void testNestedBindingRestoresPrevious() {
+    CancelCheckers.runWith(CANCELLED, () -> {
+      CancelCheckers.runWith(CancelCheckers.NONE, CancelCheckers::checkCanceled);
+      assertThat(CancelCheckers.current()).isSameAs(CANCELLED);
+    });
+  }
+
+  @Test
+  void testWithVersionCancelsSupersededVersion() {
+    // given
+    var latestVersion = new AtomicInteger(1);
+    var checker = CancelCheckers.withVersion(CancelCheckers.NONE, latestVersion::get, 1);
+
+    // then
+    assertThatCode(checker::checkCanceled).doesNotThrowAnyException();
+    latestVersion.set(2);
+    assertThatThrownBy(checker::checkCanceled).isInstanceOf(CancellationException.class);
+  }
+
+  @Test
+  void testWithVersionPropagatesClientCancellation() {
+    var checker = CancelCheckers.withVersion(CANCELLED, () -> 1, 1);
+
+    assertThatThrownBy(checker::checkCanceled).isInstanceOf(CancellationException.class);
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is a part of BSL Language Server.
+ *
+ * Copyright (c) 2018-2026
+ * Alexey Sosnoviy <labotamy@gmail.com>, Nikita Fedkin <nixel2007@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * BSL Language Server is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * BSL Language Server is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with BSL Language Server.
+ */
+package com.github._1c_syntax.bsl.languageserver.utils;
+
+import org.eclipse.lsp4j.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RangeIndexTest {
+
+  @Test
+  void testFind() {
+    // given
+    var ranges = List.of(
+      Ranges.create(5, 0, 5, 10),
+      Ranges.create(1, 0, 3, 0),
+      Ranges.create(1, 0, 1, 4)
+    );
+
+    // when
+    var index = RangeIndex.create(ranges);
+
+    // then
+    assertThat(index.size()).isEqualTo(3);
+    assertThat(index.find(Ranges.create(5, 0, 5, 10))).isZero();
+    assertThat(index.find(Ranges.create(1, 0, 3, 0))).isEqualTo(1);
+    assertThat(index.find(Ranges.create(1, 0, 1, 4))).isEqualTo(2);
+    assertThat(index.find(Ranges.create(1, 0, 1, 5))).isEqualTo(RangeIndex.NOT_FOUND);
+  }
+
+  @Test
+  void testFindContainingReturnsInnermostRange() {
+    // given
+    var index = RangeIndex.create(List.of(
+      Ranges.create(0, 0, 10, 0),
+      Ranges.create(2, 0, 4, 0),
+      Ranges.create(2, 0, 2, 5),
+      Ranges.create(6, 3, 6, 8)
+    ));
+
+    // then
+    assertThat(index.findContaining(new Position(2, 1))).isEqualTo(2);
+    assertThat(index.findContaining(new Position(3, 7))).isEqualTo(1);
+    assertThat(index.findContaining(new Position(6, 3))).isEqualTo(3);
+    assertThat(index.findContaining(new Position(6, 8))).isZero();
+    assertThat(index.findContaining(new Position(10, 0))).isEqualTo(RangeIndex.NOT_FOUND);
+  }
+
+  @Test
+  void testFindContainingMatchesRanges() {
+    // given
+    var ranges = List.of(
+      Ranges.create(1, 0, 1, 5),
+      Ranges.create(1, 5, 1, 5),
+      Ranges.create(1, 10, 2, 3),
+      Ranges.create(4, 0, 4, 2)
+    );
+    var index = RangeIndex.create(ranges);
+
+    for (var line = 0; line < 6; line++) {
+      for (var character = 0; character < 12; character++) {
+        var position = new Position(line, character);
+
+        // when
+        var found = index.findContaining(position);
+
+        // then
+        var expected = ranges.stream().anyMatch(range -> Ranges.containsPosition(range, position));
+        assertThat(found != RangeIndex.NOT_FOUND).as(position.toString()).isEqualTo(expected);
+        if (expected) {
+          assertThat(Ranges.containsPosition(ranges.get(found), position)).isTrue();
+        }
+      }
+    }
+  }
+
+  @Test
+  void testEmpty() {
+    var index = RangeIndex.create(List.of());
+
+    assertThat(index.size()).isZero();
+    assertThat(index.findContaining(new Position(0, 0))).isEqualTo(RangeIndex.NOT_FOUND);
+    assertThat(index.find(Ranges.create(0, 0, 0, 1))).isEqualTo(RangeIndex.NOT_FOUND);
+  }
+}